@@ -1,6 +1,7 @@
 package cn.jcodenest.framework.common.biz.system.permission;
 
 import cn.jcodenest.framework.common.biz.system.permission.dto.DeptDataPermissionRespDTO;
+import cn.jcodenest.framework.common.biz.system.permission.dto.UserPermissionRespDTO;
 import cn.jcodenest.framework.common.constants.RpcConstants;
 import cn.jcodenest.framework.common.pojo.CommonResult;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,6 +12,9 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * 权限 API
  *
@@ -47,4 +51,9 @@ public interface PermissionCommonApi {
     @Operation(summary = "获得登陆用户的部门数据权限")
     @Parameter(name = "userId", description = "用户编号", example = "2", required = true)
     CommonResult<DeptDataPermissionRespDTO> getDeptDataPermission(@RequestParam("userId") Long userId);
+
+    @GetMapping(PREFIX + "/get-user-permission-list")
+    @Operation(summary = "获得用户的全部权限与角色, 用于本地校验")
+    @Parameter(name = "userIds", description = "用户编号数组", example = "1,2", required = true)
+    CommonResult<List<UserPermissionRespDTO>> getUserPermissionList(@RequestParam("userIds") Collection<Long> userIds);
 }
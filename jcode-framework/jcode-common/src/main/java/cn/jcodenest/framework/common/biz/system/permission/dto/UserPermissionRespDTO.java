@@ -0,0 +1,36 @@
+package cn.jcodenest.framework.common.biz.system.permission.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 用户权限响应 DTO
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/1
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@Data
+@Accessors(chain = true)
+@Schema(description = "RPC 服务 - 用户的权限与角色 Response DTO")
+public class UserPermissionRespDTO {
+
+    @Schema(description = "用户编号", requiredMode = Schema.RequiredMode.REQUIRED, example = "1")
+    private Long userId;
+
+    @Schema(description = "是否超级管理员, 超级管理员拥有全部权限", requiredMode = Schema.RequiredMode.REQUIRED, example = "false")
+    private Boolean superAdmin = false;
+
+    @Schema(description = "拥有的权限标识数组", requiredMode = Schema.RequiredMode.REQUIRED, example = "[\"system:user:query\"]")
+    private Set<String> permissions = new HashSet<>();
+
+    @Schema(description = "拥有的角色标识数组", requiredMode = Schema.RequiredMode.REQUIRED, example = "[\"super_admin\"]")
+    private Set<String> roles = new HashSet<>();
+}
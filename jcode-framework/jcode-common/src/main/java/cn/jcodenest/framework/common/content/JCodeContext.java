@@ -0,0 +1,140 @@
+package cn.jcodenest.framework.common.content;
+
+import cn.hutool.core.collection.CollUtil;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.With;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 请求上下文的不可变快照, 由 {@link JCodeContextHolder} 存储在同一个 TransmittableThreadLocal 中
+ *
+ * <p>
+ * 包含以下内容, 各模块的 Holder 作为它的视图读写：
+ *  1. tenantId / tenantIgnore: 租户编号、是否忽略租户, 对应 TenantContextHolder
+ *  2. securityContext: Spring Security 的 SecurityContext, 对应 TransmittableThreadLocalSecurityContextHolderStrategy
+ *  3. dataPermissions: @DataPermission 注解栈, 对应 DataPermissionContextHolder
+ *  4. envTags: 开发环境标签栈, 对应 EnvContextHolder
+ * </p>
+ *
+ * <p>
+ * 每次修改都返回新的快照, 因此：
+ *  1. 传递给异步线程时只需要复制一个引用
+ *  2. 异步线程中的修改不会影响父线程, 反之亦然
+ * </p>
+ *
+ * <p>注意: securityContext、dataPermissions 使用 Object 存储, 避免 common 模块依赖 Spring Security、数据权限模块</p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class JCodeContext {
+
+    /**
+     * 空的上下文
+     */
+    public static final JCodeContext EMPTY = new JCodeContext(null, false, null,
+            Collections.emptyList(), Collections.emptyList());
+
+    /**
+     * 租户编号
+     */
+    @With
+    private final Long tenantId;
+
+    /**
+     * 是否忽略租户
+     */
+    @With
+    private final boolean tenantIgnore;
+
+    /**
+     * Spring Security 的 SecurityContext
+     */
+    @With
+    private final Object securityContext;
+
+    /**
+     * @DataPermission 注解栈, 栈顶为最后一个元素
+     */
+    @With
+    private final List<Object> dataPermissions;
+
+    /**
+     * 开发环境标签栈, 栈顶为最后一个元素
+     */
+    @With
+    private final List<String> envTags;
+
+    /**
+     * 入栈 @DataPermission 注解
+     *
+     * @param dataPermission @DataPermission 注解
+     * @return 新的上下文
+     */
+    public JCodeContext pushDataPermission(Object dataPermission) {
+        return new JCodeContext(tenantId, tenantIgnore, securityContext, push(dataPermissions, dataPermission), envTags);
+    }
+
+    /**
+     * 出栈 @DataPermission 注解
+     *
+     * @return 新的上下文
+     */
+    public JCodeContext popDataPermission() {
+        return new JCodeContext(tenantId, tenantIgnore, securityContext, pop(dataPermissions), envTags);
+    }
+
+    /**
+     * 入栈开发环境标签
+     *
+     * @param envTag 标签
+     * @return 新的上下文
+     */
+    public JCodeContext pushEnvTag(String envTag) {
+        return new JCodeContext(tenantId, tenantIgnore, securityContext, dataPermissions, push(envTags, envTag));
+    }
+
+    /**
+     * 出栈开发环境标签
+     *
+     * @return 新的上下文
+     */
+    public JCodeContext popEnvTag() {
+        return new JCodeContext(tenantId, tenantIgnore, securityContext, dataPermissions, pop(envTags));
+    }
+
+    /**
+     * 是否为空的上下文, 为空时 {@link JCodeContextHolder} 会清理 ThreadLocal
+     *
+     * @return 是否
+     */
+    public boolean isEmpty() {
+        return this == EMPTY || (tenantId == null && !tenantIgnore && securityContext == null
+                && dataPermissions.isEmpty() && envTags.isEmpty());
+    }
+
+    private static <T> List<T> push(List<T> stack, T element) {
+        List<T> newStack = new ArrayList<>(stack.size() + 1);
+        newStack.addAll(stack);
+        newStack.add(element);
+        return Collections.unmodifiableList(newStack);
+    }
+
+    private static <T> List<T> pop(List<T> stack) {
+        if (CollUtil.isEmpty(stack)) {
+            return stack;
+        }
+        return stack.size() == 1 ? Collections.emptyList() : stack.subList(0, stack.size() - 1);
+    }
+}
@@ -0,0 +1,61 @@
+package cn.jcodenest.framework.common.content;
+
+import com.alibaba.ttl.TransmittableThreadLocal;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link JCodeContext} 的 Holder, 所有请求上下文共用一个 TransmittableThreadLocal
+ *
+ * <p>TtlRunnable 等传递上下文时, 只需要捕获、回放一个不可变快照的引用</p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+public class JCodeContextHolder {
+
+    private static final ThreadLocal<JCodeContext> CONTEXT = new TransmittableThreadLocal<>();
+
+    /**
+     * 获得当前上下文
+     *
+     * @return 上下文, 不存在时返回 {@link JCodeContext#EMPTY}
+     */
+    public static JCodeContext get() {
+        JCodeContext context = CONTEXT.get();
+        return context != null ? context : JCodeContext.EMPTY;
+    }
+
+    /**
+     * 设置当前上下文, 为空时清理 ThreadLocal
+     *
+     * @param context 上下文
+     */
+    public static void set(JCodeContext context) {
+        if (context == null || context.isEmpty()) {
+            CONTEXT.remove();
+            return;
+        }
+        CONTEXT.set(context);
+    }
+
+    /**
+     * 基于当前上下文, 更新为新的上下文
+     *
+     * @param updater 更新函数
+     */
+    public static void update(UnaryOperator<JCodeContext> updater) {
+        set(updater.apply(get()));
+    }
+
+    /**
+     * 清空当前上下文
+     */
+    public static void clear() {
+        CONTEXT.remove();
+    }
+}
@@ -0,0 +1,88 @@
+package cn.jcodenest.framework.common.util.cache;
+
+import cn.jcodenest.framework.common.util.thread.VirtualThreadUtils;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link CacheUtils} 构建的缓存共享的刷新线程池
+ *
+ * <p>
+ * 线程池规则：
+ *  1. 并发数与队列长度均有上限, 刷新风暴时不会无限创建线程
+ *  2. 运行在 JDK 21+ 时使用虚拟线程, 刷新一般是阻塞的远程调用, 可以支持更高的并发数
+ *  3. 队列已满时拒绝提交, Caffeine 会放弃本次刷新并继续返回旧值, 下次读取时再次尝试刷新
+ * </p>
+ *
+ * <p>可通过 JVM 参数 jcode.cache.refresh-executor.max-size、jcode.cache.refresh-executor.queue-capacity 调整上限</p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+class CacheRefreshExecutor {
+
+    /**
+     * 线程名前缀
+     */
+    private static final String THREAD_NAME_PREFIX = "cache-refresh-";
+
+    /**
+     * 使用虚拟线程时的默认并发数
+     */
+    private static final int VIRTUAL_MAX_SIZE = 256;
+
+    /**
+     * 默认的队列长度
+     */
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private static final ThreadPoolExecutor INSTANCE = createExecutor();
+
+    static ThreadPoolExecutor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 按 JVM 参数创建刷新线程池, 每次调用读取最新的参数
+     *
+     * @return 刷新线程池
+     */
+    static ThreadPoolExecutor createExecutor() {
+        ThreadFactory virtualThreadFactory = VirtualThreadUtils.newVirtualThreadFactory(THREAD_NAME_PREFIX);
+        int defaultMaxSize = virtualThreadFactory != null ? VIRTUAL_MAX_SIZE
+                : Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        int maxSize = Integer.getInteger("jcode.cache.refresh-executor.max-size", defaultMaxSize);
+        int queueCapacity = Integer.getInteger("jcode.cache.refresh-executor.queue-capacity", DEFAULT_QUEUE_CAPACITY);
+        ThreadFactory threadFactory = virtualThreadFactory != null ? virtualThreadFactory : createPlatformThreadFactory();
+
+        // core = max, 配合 allowCoreThreadTimeOut, 空闲时不占用线程
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxSize, maxSize, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        log.info("[createExecutor][创建缓存刷新线程池, 虚拟线程({}) 并发数({}) 队列长度({})]",
+                virtualThreadFactory != null, maxSize, queueCapacity);
+        return executor;
+    }
+
+    private static ThreadFactory createPlatformThreadFactory() {
+        AtomicInteger index = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + index.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
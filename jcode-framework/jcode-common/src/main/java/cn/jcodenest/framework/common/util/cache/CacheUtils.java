@@ -1,16 +1,23 @@
 package cn.jcodenest.framework.common.util.cache;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
 import java.time.Duration;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
- * Cache 工具类
+ * Cache 工具类, 基于 Caffeine 构建本地缓存
+ *
+ * <p>
+ * 构建的缓存统一具备：
+ *  1. 必须指定的 maximumSize, 避免租户、用户较多时内存无限增长
+ *  2. 共享的有界刷新线程池 {@link CacheRefreshExecutor}, 避免每个缓存各自创建线程池
+ *  3. 开启 recordStats, 并按缓存名注册到 {@link LocalCacheRegistry}, 用于广播失效与 Metrics 统计; 缓存名重复时以后注册的为准
+ * </p>
  *
  * @author JCodeNest
  * @version 1.0.0
@@ -26,37 +33,134 @@ public class CacheUtils {
      * 构建异步刷新的 LoadingCache 对象
      *
      * <p>
-     * 注意：如果你的缓存和 ThreadLocal 有关系, 
+     * 注意：如果你的缓存和 ThreadLocal 有关系,
      *      要么自己处理 ThreadLocal 的传递
-     *      要么使用 {@link #buildCache(Duration, CacheLoader)} 方法
+     *      要么使用 {@link #buildCache(String, Duration, long, CacheLoader)} 方法
      * </p>
      *
      * <p>
      * 简单理解：
-     *  1. 和 “人” 相关的, 使用 {@link #buildCache(Duration, CacheLoader)} 方法
+     *  1. 和 “人” 相关的, 使用 {@link #buildCache(String, Duration, long, CacheLoader)} 方法
      *  2. 和 “全局”、“系统” 相关的, 使用当前缓存方法
      * </p>
      *
+     * @param name        缓存名
+     * @param duration    过期时间
+     * @param maximumSize 最大数量
+     * @param loader      CacheLoader 对象
+     * @return LoadingCache 对象
+     */
+    public static <K, V> LoadingCache<K, V> buildAsyncReloadingCache(String name, Duration duration, long maximumSize,
+                                                                     CacheLoader<K, V> loader) {
+        return buildAsyncReloadingCache(name, duration, null, maximumSize, loader);
+    }
+
+    /**
+     * 构建异步刷新的 LoadingCache 对象, 开启广播失效后使用更长的刷新间隔
+     *
+     * <p>
+     * 适用于写入方会调用 {@link LocalCacheRegistry#publish(String, java.util.Collection)} 的缓存：
+     * 本节点开启广播消费后, 数据变更由失效事件及时刷新, 定时刷新只作为兜底, 因此可以延长为 broadcastDuration
+     * </p>
+     *
+     * @param name              缓存名
+     * @param duration          过期时间
+     * @param broadcastDuration 开启广播消费后的过期时间, 为 null 表示不调整
+     * @param maximumSize       最大数量
+     * @param loader            CacheLoader 对象
+     * @return LoadingCache 对象
+     */
+    public static <K, V> LoadingCache<K, V> buildAsyncReloadingCache(String name, Duration duration, Duration broadcastDuration,
+                                                                     long maximumSize, CacheLoader<K, V> loader) {
+        LoadingCache<K, V> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                // 首次加载阻塞当前线程, 之后由共享的刷新线程池异步刷新, 期间返回旧值
+                .refreshAfterWrite(duration)
+                .executor(CacheRefreshExecutor.getInstance())
+                .recordStats()
+                .build(loader);
+        LocalCacheRegistry.register(name, cache, broadcastDuration);
+        return cache;
+    }
+
+    /**
+     * 构建同步刷新的 LoadingCache 对象
+     *
+     * <p>刷新在读取缓存的线程中执行, 因此可以使用当前线程的 ThreadLocal</p>
+     *
+     * @param name        缓存名
+     * @param duration    过期时间
+     * @param maximumSize 最大数量
+     * @param loader      CacheLoader 对象
+     * @return LoadingCache 对象
+     */
+    public static <K, V> LoadingCache<K, V> buildCache(String name, Duration duration, long maximumSize,
+                                                       CacheLoader<K, V> loader) {
+        return buildCache(name, duration, null, maximumSize, loader);
+    }
+
+    /**
+     * 构建同步刷新的 LoadingCache 对象, 开启广播失效后使用更长的刷新间隔
+     *
+     * @param name              缓存名
+     * @param duration          过期时间
+     * @param broadcastDuration 开启广播消费后的过期时间, 为 null 表示不调整
+     * @param maximumSize       最大数量
+     * @param loader            CacheLoader 对象
+     * @return LoadingCache 对象
+     * @see #buildAsyncReloadingCache(String, Duration, Duration, long, CacheLoader)
+     */
+    public static <K, V> LoadingCache<K, V> buildCache(String name, Duration duration, Duration broadcastDuration,
+                                                       long maximumSize, CacheLoader<K, V> loader) {
+        LoadingCache<K, V> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .refreshAfterWrite(duration)
+                // 使用调用线程执行刷新, 与 ThreadLocal 相关的缓存不能异步刷新
+                .executor(Runnable::run)
+                .recordStats()
+                .build(loader);
+        LocalCacheRegistry.register(name, cache, broadcastDuration);
+        return cache;
+    }
+
+    /**
+     * 构建异步刷新的 Guava LoadingCache 对象
+     *
      * @param duration 过期时间
      * @param loader   CacheLoader 对象
      * @return LoadingCache 对象
+     * @deprecated 未限制最大数量, 也不会注册到 {@link LocalCacheRegistry}, 请使用 {@link #buildAsyncReloadingCache(String, Duration, long, CacheLoader)}
      */
-    public static <K, V> LoadingCache<K, V> buildAsyncReloadingCache(Duration duration, CacheLoader<K, V> loader) {
-        return CacheBuilder.newBuilder()
+    @Deprecated
+    public static <K, V> com.google.common.cache.LoadingCache<K, V> buildAsyncReloadingCache(
+            Duration duration, com.google.common.cache.CacheLoader<K, V> loader) {
+        return com.google.common.cache.CacheBuilder.newBuilder()
                 // 只阻塞当前数据加载线程, 其他线程返回旧值
                 .refreshAfterWrite(duration)
-                // 通过 asyncReloading 实现全异步加载, 包括 refreshAfterWrite 被阻塞的加载线程
-                .build(CacheLoader.asyncReloading(loader, Executors.newCachedThreadPool()));
+                // 通过 asyncReloading 实现全异步加载, 使用共享的有界刷新线程池
+                .build(com.google.common.cache.CacheLoader.asyncReloading(loader, CacheRefreshExecutor.getInstance()));
     }
 
     /**
-     * 构建同步刷新的 LoadingCache 对象
+     * 构建同步刷新的 Guava LoadingCache 对象
      *
      * @param duration 过期时间
      * @param loader   CacheLoader 对象
      * @return LoadingCache 对象
+     * @deprecated 未限制最大数量, 也不会注册到 {@link LocalCacheRegistry}, 请使用 {@link #buildCache(String, Duration, long, CacheLoader)}
+     */
+    @Deprecated
+    public static <K, V> com.google.common.cache.LoadingCache<K, V> buildCache(
+            Duration duration, com.google.common.cache.CacheLoader<K, V> loader) {
+        return com.google.common.cache.CacheBuilder.newBuilder().refreshAfterWrite(duration).build(loader);
+    }
+
+    /**
+     * 获得共享的刷新线程池, 用于 Metrics 统计
+     *
+     * @return 刷新线程池
      */
-    public static <K, V> LoadingCache<K, V> buildCache(Duration duration, CacheLoader<K, V> loader) {
-        return CacheBuilder.newBuilder().refreshAfterWrite(duration).build(loader);
+    public static ThreadPoolExecutor getRefreshExecutor() {
+        return CacheRefreshExecutor.getInstance();
     }
 }
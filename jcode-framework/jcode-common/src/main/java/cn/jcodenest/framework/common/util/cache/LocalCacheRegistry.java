@@ -0,0 +1,248 @@
+package cn.jcodenest.framework.common.util.cache;
+
+import cn.hutool.core.collection.CollUtil;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * 本地缓存注册表, 按缓存名管理 {@link CacheUtils} 构建的 LoadingCache
+ *
+ * <p>
+ * 配合 Redis Pub/Sub 广播的失效事件, 每个节点只移除受影响的缓存项, 而不是等待定时刷新：
+ *  1. 写入方修改数据后调用 {@link #publish(String, Collection)}, 移除本节点的缓存项并广播到其它节点
+ *  2. 开启广播消费后（{@link #enableBroadcast()}）, 注册时声明了广播刷新间隔的缓存, 定时刷新间隔延长为该间隔
+ * </p>
+ *
+ * <p>
+ * 注意：同一个缓存名只对应一个缓存, 重复注册时以后注册的为准并打印告警（例如同一个 JVM 中有多个 Spring 容器）;
+ * 缓存使用弱引用持有, 随所属对象回收, 也可以通过 {@link #unregister(String, LoadingCache)} 主动注销
+ * </p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/7/27
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class LocalCacheRegistry {
+
+    /**
+     * 缓存名与缓存的映射
+     */
+    private static final Map<String, Registration> CACHES = new ConcurrentHashMap<>();
+
+    /**
+     * 注册监听器, 例如 Metrics 统计
+     */
+    private static final List<BiConsumer<String, LoadingCache<?, ?>>> LISTENERS = new CopyOnWriteArrayList<>();
+
+    /**
+     * 失效事件的广播发送者, 参数为 [缓存名, 缓存 key 的字符串集合], 为 null 表示只失效本节点
+     */
+    private static volatile BiConsumer<String, List<String>> publisher;
+
+    /**
+     * 是否已开启广播消费, 即本节点会收到其它节点的失效事件
+     */
+    private static volatile boolean broadcastEnabled;
+
+    /**
+     * 注册缓存
+     *
+     * @param name  缓存名
+     * @param cache 缓存
+     */
+    public static void register(String name, LoadingCache<?, ?> cache) {
+        register(name, cache, null);
+    }
+
+    /**
+     * 注册缓存
+     *
+     * @param name                     缓存名
+     * @param cache                    缓存
+     * @param broadcastRefreshInterval 开启广播消费后的刷新间隔, 为 null 表示不调整
+     */
+    public static void register(String name, LoadingCache<?, ?> cache, Duration broadcastRefreshInterval) {
+        Registration registration = new Registration(new WeakReference<>(cache), broadcastRefreshInterval);
+        Registration old = CACHES.put(name, registration);
+        LoadingCache<?, ?> oldCache = old != null ? old.cache().get() : null;
+        if (oldCache != null && oldCache != cache) {
+            // 多个 Spring 容器（例如测试的容器缓存、父子容器）会以相同的缓存名注册, 不阻止容器启动
+            log.warn("[register][缓存({}) 被重复注册, 将使用新的缓存]", name);
+        }
+        if (broadcastEnabled) {
+            registration.applyBroadcastRefreshInterval();
+        }
+        LISTENERS.forEach(listener -> listener.accept(name, cache));
+    }
+
+    /**
+     * 注销缓存, 只有注册的是同一个缓存时才注销
+     *
+     * @param name  缓存名
+     * @param cache 缓存
+     */
+    public static void unregister(String name, LoadingCache<?, ?> cache) {
+        CACHES.computeIfPresent(name, (key, old) -> {
+            LoadingCache<?, ?> oldCache = old.cache().get();
+            return oldCache == null || oldCache == cache ? null : old;
+        });
+    }
+
+    /**
+     * 添加注册监听器, 已注册的缓存会立即回调一次
+     *
+     * <p>缓存可能在 Spring 容器启动前就已构建（例如静态字段）, 因此需要回放已注册的缓存</p>
+     *
+     * @param listener 监听器, 参数为 [缓存名, 缓存]
+     */
+    public static void addListener(BiConsumer<String, LoadingCache<?, ?>> listener) {
+        LISTENERS.add(listener);
+        CACHES.forEach((name, registration) -> {
+            LoadingCache<?, ?> cache = registration.cache().get();
+            if (cache != null) {
+                listener.accept(name, cache);
+            }
+        });
+    }
+
+    /**
+     * 移除缓存注册的监听器, 例如 Spring 容器关闭时, 避免监听器持有的对象（例如 MeterRegistry）无法回收
+     *
+     * @param listener 监听器
+     */
+    public static void removeListener(BiConsumer<String, LoadingCache<?, ?>> listener) {
+        LISTENERS.remove(listener);
+    }
+
+    /**
+     * 获得已注册的缓存名
+     *
+     * @return 缓存名集合
+     */
+    public static Set<String> getNames() {
+        return CACHES.entrySet().stream()
+                .filter(entry -> entry.getValue().cache().get() != null)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * 设置失效事件的广播发送者, 由消息队列模块在启动时设置
+     *
+     * @param publisher 广播发送者, 参数为 [缓存名, 缓存 key 的字符串集合], 为 null 表示只失效本节点
+     */
+    public static void setPublisher(BiConsumer<String, List<String>> publisher) {
+        LocalCacheRegistry.publisher = publisher;
+    }
+
+    /**
+     * 开启广播消费, 由消息队列模块在注册失效事件的消费者时调用
+     *
+     * <p>本节点可以及时收到失效事件, 因此已注册的缓存延长为各自声明的广播刷新间隔</p>
+     */
+    public static void enableBroadcast() {
+        broadcastEnabled = true;
+        CACHES.values().forEach(Registration::applyBroadcastRefreshInterval);
+    }
+
+    /**
+     * 发布缓存失效事件, 供修改数据的写入方调用
+     *
+     * <p>本节点立即移除, 保证写入后本节点读取到新值; 设置了广播发送者时, 再广播到其它节点</p>
+     *
+     * @param name 缓存名
+     * @param keys 缓存 key 集合, 为空时移除全部
+     */
+    public static void publish(String name, Collection<?> keys) {
+        List<String> stringKeys = CollUtil.isEmpty(keys) ? null : keys.stream().map(String::valueOf).toList();
+        invalidate(name, stringKeys);
+
+        BiConsumer<String, List<String>> currentPublisher = publisher;
+        if (currentPublisher == null) {
+            return;
+        }
+        try {
+            currentPublisher.accept(name, stringKeys);
+        } catch (Exception ex) {
+            // 广播失败时, 其它节点依赖定时刷新, 不影响写入方的业务
+            log.error("[publish][缓存({}) keys({}) 广播失效事件失败]", name, stringKeys, ex);
+        }
+    }
+
+    /**
+     * 移除指定的缓存项
+     *
+     * <p>事件中的 key 统一为字符串, 因此通过 String.valueOf(key) 匹配缓存中已有的 key; 不存在的 key 无需处理</p>
+     *
+     * @param name 缓存名
+     * @param keys 缓存 key 的字符串集合, 为空时移除全部
+     */
+    public static void invalidate(String name, Collection<String> keys) {
+        Registration registration = CACHES.get(name);
+        LoadingCache<?, ?> cache = registration != null ? registration.cache().get() : null;
+        if (cache == null) {
+            return;
+        }
+        if (CollUtil.isEmpty(keys)) {
+            cache.invalidateAll();
+            return;
+        }
+
+        invalidate(cache, new HashSet<>(keys));
+    }
+
+    /**
+     * 移除缓存中与 keys 匹配的缓存项
+     *
+     * <p>
+     * 使用 invalidate 而不是 refresh: 失效事件在消息监听线程中处理, 该线程没有租户、登录等上下文,
+     * 在这里重新加载（例如通过 Feign 加载用户权限）会失败并保留旧值; 移除后由下一次读取在调用方的上下文中加载
+     * </p>
+     *
+     * @param cache 缓存
+     * @param keys  缓存 key 的字符串集合
+     */
+    private static <K> void invalidate(LoadingCache<K, ?> cache, Set<String> keys) {
+        List<K> matchedKeys = cache.asMap().keySet().stream()
+                .filter(key -> keys.contains(String.valueOf(key)))
+                .toList();
+        cache.invalidateAll(matchedKeys);
+    }
+
+    /**
+     * 缓存的注册信息
+     *
+     * @param cache                    缓存, 弱引用, 不阻止所属对象被回收
+     * @param broadcastRefreshInterval 开启广播消费后的刷新间隔, 为 null 表示不调整
+     */
+    private record Registration(WeakReference<LoadingCache<?, ?>> cache, Duration broadcastRefreshInterval) {
+
+        void applyBroadcastRefreshInterval() {
+            LoadingCache<?, ?> loadingCache = cache.get();
+            if (loadingCache == null || broadcastRefreshInterval == null) {
+                return;
+            }
+            loadingCache.policy().refreshAfterWrite()
+                    .ifPresent(refresh -> refresh.setRefreshesAfter(broadcastRefreshInterval));
+        }
+    }
+}
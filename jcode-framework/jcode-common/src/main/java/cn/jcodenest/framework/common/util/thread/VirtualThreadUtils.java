@@ -0,0 +1,63 @@
+package cn.jcodenest.framework.common.util.thread;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 虚拟线程工具类
+ *
+ * <p>项目以 JDK 17 编译, 因此通过反射调用 JDK 21+ 的虚拟线程 API, 运行在低版本 JDK 时返回 null, 由调用方回退到平台线程</p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class VirtualThreadUtils {
+
+    /**
+     * 创建虚拟线程的 ThreadFactory, 线程名为 namePrefix + 序号
+     *
+     * @param namePrefix 线程名前缀
+     * @return ThreadFactory, 不支持虚拟线程时返回 null
+     */
+    public static ThreadFactory newVirtualThreadFactory(String namePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Method nameMethod = builderClass.getMethod("name", String.class, long.class);
+            builder = nameMethod.invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (Exception ex) {
+            // JDK 21 以下不支持虚拟线程, 或者未开启预览特性
+            return null;
+        }
+    }
+
+    /**
+     * 创建每个任务一个虚拟线程的 ExecutorService
+     *
+     * @param namePrefix 线程名前缀
+     * @return ExecutorService, 不支持虚拟线程时返回 null
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor(String namePrefix) {
+        ThreadFactory threadFactory = newVirtualThreadFactory(namePrefix);
+        if (threadFactory == null) {
+            return null;
+        }
+        try {
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, threadFactory);
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package cn.jcodenest.framework.common.content;
+
+import com.alibaba.ttl.TransmittableThreadLocal;
+import com.alibaba.ttl.TransmittableThreadLocal.Transmitter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JCodeContextHolder} 的 JMH 基准测试, 对比异步传递上下文时 TTL 的捕获、回放开销
+ *
+ * <p>
+ * 对比对象：
+ *  1. legacy: 原有的 5 个独立 TransmittableThreadLocal（租户编号、忽略租户、SecurityContext、数据权限栈、环境标签栈）
+ *  2. single: 1 个 TransmittableThreadLocal 存储 {@link JCodeContext} 快照
+ * </p>
+ *
+ * <p>运行方式：直接运行 main 方法, 或者 mvn test-compile 后使用 org.openjdk.jmh.Main 运行</p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JCodeContextBenchmark {
+
+    @State(Scope.Thread)
+    public static class LegacyState {
+
+        private final ThreadLocal<Long> tenantId = new TransmittableThreadLocal<>();
+        private final ThreadLocal<Boolean> ignore = new TransmittableThreadLocal<>();
+        private final ThreadLocal<Object> securityContext = new TransmittableThreadLocal<>();
+        private final ThreadLocal<LinkedList<Object>> dataPermissions = TransmittableThreadLocal.withInitial(LinkedList::new);
+        private final ThreadLocal<List<String>> envTags = TransmittableThreadLocal.withInitial(ArrayList::new);
+
+        @Setup
+        public void setup() {
+            JCodeContextHolder.clear();
+            tenantId.set(1L);
+            ignore.set(false);
+            securityContext.set(new Object());
+            dataPermissions.get().addLast(new Object());
+            envTags.get().add("dev");
+        }
+
+        @TearDown
+        public void tearDown() {
+            tenantId.remove();
+            ignore.remove();
+            securityContext.remove();
+            dataPermissions.remove();
+            envTags.remove();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class SingleState {
+
+        @Setup
+        public void setup() {
+            JCodeContextHolder.set(JCodeContext.EMPTY.withTenantId(1L).withSecurityContext(new Object())
+                    .pushDataPermission(new Object()).pushEnvTag("dev"));
+        }
+
+        @TearDown
+        public void tearDown() {
+            JCodeContextHolder.clear();
+        }
+    }
+
+    @Benchmark
+    public Object legacyCaptureReplay(LegacyState state) {
+        return captureReplay();
+    }
+
+    @Benchmark
+    public Object singleCaptureReplay(SingleState state) {
+        return captureReplay();
+    }
+
+    /**
+     * 模拟 TtlRunnable 的执行过程：提交时捕获, 执行前回放, 执行后恢复
+     */
+    private static Object captureReplay() {
+        Object captured = Transmitter.capture();
+        Object backup = Transmitter.replay(captured);
+        Transmitter.restore(backup);
+        return captured;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JCodeContextBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,193 @@
+package cn.jcodenest.framework.common.content;
+
+import com.alibaba.ttl.threadpool.TtlExecutors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link JCodeContext}、{@link JCodeContextHolder} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class JCodeContextHolderTest {
+
+    @BeforeEach
+    void setUp() {
+        JCodeContextHolder.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        JCodeContextHolder.clear();
+    }
+
+    @Test
+    void testGet_empty() {
+        // 调用，并断言：不存在时返回空的上下文
+        JCodeContext context = JCodeContextHolder.get();
+        assertSame(JCodeContext.EMPTY, context);
+        assertTrue(context.isEmpty());
+        assertNull(context.getTenantId());
+        assertFalse(context.isTenantIgnore());
+        assertNull(context.getSecurityContext());
+        assertEquals(List.of(), context.getEnvTags());
+        assertEquals(List.of(), context.getDataPermissions());
+    }
+
+    @Test
+    void testUpdate_tenant() {
+        // 准备参数
+        Object securityContext = new Object();
+        JCodeContextHolder.update(context -> context.withSecurityContext(securityContext).pushEnvTag("dev"));
+
+        // 调用
+        JCodeContextHolder.update(context -> context.withTenantId(1L).withTenantIgnore(true));
+        // 断言：只修改租户，其它内容不变
+        JCodeContext context = JCodeContextHolder.get();
+        assertEquals(1L, context.getTenantId());
+        assertTrue(context.isTenantIgnore());
+        assertSame(securityContext, context.getSecurityContext());
+        assertEquals(List.of("dev"), context.getEnvTags());
+    }
+
+    @Test
+    void testUpdate_security() {
+        // 准备参数
+        JCodeContextHolder.update(context -> context.withTenantId(1L));
+        Object securityContext = new Object();
+
+        // 调用
+        JCodeContextHolder.update(context -> context.withSecurityContext(securityContext));
+        // 断言
+        assertSame(securityContext, JCodeContextHolder.get().getSecurityContext());
+        assertEquals(1L, JCodeContextHolder.get().getTenantId());
+
+        // 调用：清理 SecurityContext
+        JCodeContextHolder.update(context -> context.withSecurityContext(null));
+        // 断言：只清理 SecurityContext
+        assertNull(JCodeContextHolder.get().getSecurityContext());
+        assertEquals(1L, JCodeContextHolder.get().getTenantId());
+    }
+
+    @Test
+    void testEnvTags_stack() {
+        // 调用
+        JCodeContextHolder.update(context -> context.pushEnvTag("dev"));
+        JCodeContextHolder.update(context -> context.pushEnvTag("gray"));
+        // 断言：栈顶为最后一个元素，并且不可修改
+        List<String> envTags = JCodeContextHolder.get().getEnvTags();
+        assertEquals(List.of("dev", "gray"), envTags);
+        assertThrows(UnsupportedOperationException.class, () -> envTags.add("test"));
+
+        // 调用，并断言：出栈后恢复外层
+        JCodeContextHolder.update(JCodeContext::popEnvTag);
+        assertEquals(List.of("dev"), JCodeContextHolder.get().getEnvTags());
+        JCodeContextHolder.update(JCodeContext::popEnvTag);
+        assertSame(JCodeContext.EMPTY, JCodeContextHolder.get());
+        // 调用，并断言：空栈出栈忽略
+        JCodeContextHolder.update(JCodeContext::popEnvTag);
+        assertEquals(List.of(), JCodeContextHolder.get().getEnvTags());
+    }
+
+    @Test
+    void testUpdate_snapshotImmutable() {
+        // 准备参数
+        JCodeContextHolder.update(context -> context.withTenantId(1L).pushEnvTag("dev"));
+        JCodeContext snapshot = JCodeContextHolder.get();
+
+        // 调用
+        JCodeContextHolder.update(context -> context.withTenantId(2L).pushEnvTag("gray"));
+        // 断言：修改返回新的快照，不影响已有的快照
+        assertEquals(1L, snapshot.getTenantId());
+        assertEquals(List.of("dev"), snapshot.getEnvTags());
+        assertEquals(2L, JCodeContextHolder.get().getTenantId());
+    }
+
+    @Test
+    void testSet_emptyRemoved() {
+        // 准备参数
+        JCodeContextHolder.update(context -> context.withTenantId(1L));
+
+        // 调用：所有内容都清理后，上下文为空
+        JCodeContextHolder.update(context -> context.withTenantId(null));
+        // 断言：清理 ThreadLocal，返回同一个空的上下文
+        assertSame(JCodeContext.EMPTY, JCodeContextHolder.get());
+
+        // 调用，并断言：设置 null 同样清理
+        JCodeContextHolder.update(context -> context.withTenantId(1L));
+        JCodeContextHolder.set(null);
+        assertSame(JCodeContext.EMPTY, JCodeContextHolder.get());
+    }
+
+    @Test
+    void testClear() {
+        // 准备参数
+        JCodeContextHolder.update(context -> context.withTenantId(1L).withTenantIgnore(true)
+                .withSecurityContext(new Object()).pushDataPermission(new Object()).pushEnvTag("dev"));
+
+        // 调用
+        JCodeContextHolder.clear();
+        // 断言
+        assertSame(JCodeContext.EMPTY, JCodeContextHolder.get());
+    }
+
+    @Test
+    void testPropagation_childThread() throws Exception {
+        // 准备参数
+        Object securityContext = new Object();
+        JCodeContextHolder.update(context -> context.withTenantId(1L).withSecurityContext(securityContext).pushEnvTag("dev"));
+        AtomicReference<JCodeContext> childContext = new AtomicReference<>();
+
+        // 调用：子线程读取后修改
+        Thread child = new Thread(() -> {
+            childContext.set(JCodeContextHolder.get());
+            JCodeContextHolder.update(context -> context.withTenantId(2L).pushEnvTag("gray"));
+        });
+        child.start();
+        child.join();
+        // 断言：子线程继承父线程的上下文
+        assertEquals(1L, childContext.get().getTenantId());
+        assertSame(securityContext, childContext.get().getSecurityContext());
+        assertEquals(List.of("dev"), childContext.get().getEnvTags());
+        // 断言：子线程的修改不影响父线程
+        assertEquals(1L, JCodeContextHolder.get().getTenantId());
+        assertEquals(List.of("dev"), JCodeContextHolder.get().getEnvTags());
+    }
+
+    @Test
+    void testPropagation_ttlExecutor() throws Exception {
+        // 准备参数：线程池的线程在设置上下文之前创建，只能通过 TTL 传递
+        ExecutorService executor = TtlExecutors.getTtlExecutorService(Executors.newSingleThreadExecutor());
+        try {
+            executor.submit(() -> null).get(1, TimeUnit.SECONDS);
+            JCodeContextHolder.update(context -> context.withTenantId(1L).pushEnvTag("dev"));
+
+            // 调用
+            JCodeContext submitted = executor.submit(JCodeContextHolder::get).get(1, TimeUnit.SECONDS);
+            // 断言：提交任务时捕获上下文
+            assertSame(JCodeContextHolder.get(), submitted);
+
+            // 调用：父线程清理后提交
+            JCodeContextHolder.clear();
+            JCodeContext cleared = executor.submit(JCodeContextHolder::get).get(1, TimeUnit.SECONDS);
+            // 断言：线程池的线程不会残留上一个任务的上下文
+            assertSame(JCodeContext.EMPTY, cleared);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
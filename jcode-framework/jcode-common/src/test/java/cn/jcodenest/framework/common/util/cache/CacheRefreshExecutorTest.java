@@ -0,0 +1,74 @@
+package cn.jcodenest.framework.common.util.cache;
+
+import cn.jcodenest.framework.common.util.thread.VirtualThreadUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link CacheRefreshExecutor} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class CacheRefreshExecutorTest {
+
+    private static final String MAX_SIZE = "jcode.cache.refresh-executor.max-size";
+    private static final String QUEUE_CAPACITY = "jcode.cache.refresh-executor.queue-capacity";
+
+    private ThreadPoolExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(MAX_SIZE);
+        System.clearProperty(QUEUE_CAPACITY);
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCreateExecutor_default() {
+        // 准备参数：虚拟线程时 256，否则为 CPU 核数 * 2，至少 4
+        int expectedMaxSize = VirtualThreadUtils.newVirtualThreadFactory("test-") != null ? 256
+                : Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+        // 调用
+        executor = CacheRefreshExecutor.createExecutor();
+        // 断言
+        assertEquals(expectedMaxSize, executor.getCorePoolSize());
+        assertEquals(expectedMaxSize, executor.getMaximumPoolSize());
+        assertEquals(1024, executor.getQueue().remainingCapacity());
+        assertTrue(executor.allowsCoreThreadTimeOut());
+        // 断言：队列已满时拒绝提交，由 Caffeine 放弃本次刷新
+        assertInstanceOf(ThreadPoolExecutor.AbortPolicy.class, executor.getRejectedExecutionHandler());
+    }
+
+    @Test
+    void testCreateExecutor_systemProperties() {
+        // 准备参数
+        System.setProperty(MAX_SIZE, "8");
+        System.setProperty(QUEUE_CAPACITY, "16");
+
+        // 调用
+        executor = CacheRefreshExecutor.createExecutor();
+        // 断言
+        assertEquals(8, executor.getCorePoolSize());
+        assertEquals(8, executor.getMaximumPoolSize());
+        assertEquals(16, executor.getQueue().remainingCapacity());
+    }
+
+    @Test
+    void testGetInstance() {
+        // 调用，并断言：所有缓存共享同一个线程池
+        assertSame(CacheRefreshExecutor.getInstance(), CacheRefreshExecutor.getInstance());
+        assertSame(CacheRefreshExecutor.getInstance(), CacheUtils.getRefreshExecutor());
+    }
+}
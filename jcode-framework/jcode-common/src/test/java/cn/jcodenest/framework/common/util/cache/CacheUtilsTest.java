@@ -0,0 +1,96 @@
+package cn.jcodenest.framework.common.util.cache;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link CacheUtils} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class CacheUtilsTest {
+
+    @Test
+    void testBuildCache_register() {
+        // 调用
+        LoadingCache<Long, Long> cache = CacheUtils.buildCache("test:cache-utils:sync", Duration.ofMinutes(1), 100,
+                key -> key);
+        // 断言
+        assertRegistered("test:cache-utils:sync", cache);
+    }
+
+    @Test
+    void testBuildAsyncReloadingCache_register() {
+        // 调用
+        LoadingCache<Long, Long> cache = CacheUtils.buildAsyncReloadingCache("test:cache-utils:async",
+                Duration.ofMinutes(1), 100, key -> key);
+        // 断言
+        assertRegistered("test:cache-utils:async", cache);
+    }
+
+    @Test
+    void testBuildCache_refreshFailed() {
+        // 准备参数：第一次加载成功，之后加载失败
+        AtomicInteger loadCount = new AtomicInteger();
+        LoadingCache<Long, Integer> cache = CacheUtils.buildCache("test:cache-utils:sync-failed", Duration.ofMinutes(1),
+                100, key -> {
+                    if (loadCount.incrementAndGet() > 1) {
+                        throw new IllegalStateException("load failed");
+                    }
+                    return 1;
+                });
+        assertEquals(1, cache.get(1L));
+
+        // 调用：同步刷新，在当前线程执行
+        cache.refresh(1L);
+        // 断言：刷新失败时继续返回旧值
+        assertEquals(2, loadCount.get());
+        assertEquals(1, cache.get(1L));
+    }
+
+    @Test
+    void testBuildAsyncReloadingCache_refreshFailed() throws Exception {
+        // 准备参数：第一次加载成功，之后加载失败
+        AtomicInteger loadCount = new AtomicInteger();
+        LoadingCache<Long, Integer> cache = CacheUtils.buildAsyncReloadingCache("test:cache-utils:async-failed",
+                Duration.ofMinutes(1), 100, key -> {
+                    if (loadCount.incrementAndGet() > 1) {
+                        throw new IllegalStateException("load failed");
+                    }
+                    return 1;
+                });
+        assertEquals(1, cache.get(1L));
+
+        // 调用：异步刷新，在共享的刷新线程池执行
+        CompletableFuture<Integer> future = cache.refresh(1L);
+        // 断言：刷新失败时继续返回旧值
+        assertThrows(Exception.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertEquals(2, loadCount.get());
+        assertEquals(1, cache.get(1L));
+    }
+
+    private static void assertRegistered(String name, LoadingCache<?, ?> cache) {
+        // 断言：按缓存名注册，监听器回放已注册的缓存
+        assertTrue(LocalCacheRegistry.getNames().contains(name));
+        Map<String, LoadingCache<?, ?>> caches = new ConcurrentHashMap<>();
+        LocalCacheRegistry.addListener(caches::put);
+        assertSame(cache, caches.get(name));
+        // 断言：限制最大数量，并开启统计
+        assertEquals(100, cache.policy().eviction().orElseThrow().getMaximum());
+        assertTrue(cache.policy().isRecordingStats());
+    }
+}
@@ -0,0 +1,225 @@
+package cn.jcodenest.framework.common.util.cache;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link LocalCacheRegistry} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class LocalCacheRegistryTest {
+
+    private static final String CACHE_NAME = "test:local-cache-registry";
+
+    /**
+     * 每个 key 的加载次数
+     */
+    private final Map<Long, AtomicInteger> loadCounts = new ConcurrentHashMap<>();
+
+    private LoadingCache<Long, Integer> cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = CacheUtils.buildCache(CACHE_NAME, Duration.ofMinutes(10), 100,
+                key -> loadCounts.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet());
+    }
+
+    @AfterEach
+    void tearDown() {
+        LocalCacheRegistry.unregister(CACHE_NAME, cache);
+        LocalCacheRegistry.setPublisher(null);
+    }
+
+    @Test
+    void testRegister_duplicateName() {
+        // 准备参数
+        cache.get(1L);
+
+        // 调用：同一个缓存名注册另一个缓存（例如同一个 JVM 中有多个 Spring 容器），不抛出异常
+        LoadingCache<Long, Integer> other = assertDoesNotThrow(
+                () -> CacheUtils.buildCache(CACHE_NAME, Duration.ofMinutes(10), 100, key -> 0));
+        other.get(1L);
+        // 断言：以后注册的缓存为准
+        LocalCacheRegistry.invalidate(CACHE_NAME, List.of("1"));
+        assertFalse(other.asMap().containsKey(1L));
+        assertTrue(cache.asMap().containsKey(1L));
+
+        // 调用，并断言：注销旧的缓存不影响新的注册
+        LocalCacheRegistry.unregister(CACHE_NAME, cache);
+        assertTrue(LocalCacheRegistry.getNames().contains(CACHE_NAME));
+        cache = other;
+
+        // 调用，并断言：重复注册同一个缓存，不抛出异常
+        assertDoesNotThrow(() -> LocalCacheRegistry.register(CACHE_NAME, cache));
+    }
+
+    @Test
+    void testUnregister() {
+        // 准备参数
+        cache.get(1L);
+
+        // 调用：注销的不是同一个缓存时，忽略
+        LoadingCache<Long, Integer> other = CacheUtils.buildCache("test:local-cache-registry-other",
+                Duration.ofMinutes(10), 100, key -> 0);
+        LocalCacheRegistry.unregister(CACHE_NAME, other);
+        LocalCacheRegistry.unregister("test:local-cache-registry-other", other);
+        // 断言
+        assertTrue(LocalCacheRegistry.getNames().contains(CACHE_NAME));
+        assertFalse(LocalCacheRegistry.getNames().contains("test:local-cache-registry-other"));
+
+        // 调用
+        LocalCacheRegistry.unregister(CACHE_NAME, cache);
+        // 断言：注销后不再失效，并且缓存名可以重新注册
+        LocalCacheRegistry.invalidate(CACHE_NAME, List.of("1"));
+        assertTrue(cache.asMap().containsKey(1L));
+        assertFalse(LocalCacheRegistry.getNames().contains(CACHE_NAME));
+        cache = CacheUtils.buildCache(CACHE_NAME, Duration.ofMinutes(10), 100, key -> 0);
+        assertTrue(LocalCacheRegistry.getNames().contains(CACHE_NAME));
+    }
+
+    @Test
+    void testRemoveListener() {
+        // 准备参数
+        List<String> names = new CopyOnWriteArrayList<>();
+        BiConsumer<String, LoadingCache<?, ?>> listener = (name, registered) -> names.add(name);
+        LocalCacheRegistry.addListener(listener);
+        // 断言：添加时回放已注册的缓存
+        assertTrue(names.contains(CACHE_NAME));
+
+        // 调用
+        LocalCacheRegistry.removeListener(listener);
+        names.clear();
+        LoadingCache<Long, Integer> other = CacheUtils.buildCache("test:local-cache-registry-listener",
+                Duration.ofMinutes(10), 100, key -> 0);
+        try {
+            // 断言：移除后不再回调
+            assertTrue(names.isEmpty());
+        } finally {
+            LocalCacheRegistry.unregister("test:local-cache-registry-listener", other);
+        }
+    }
+
+    @Test
+    void testPublish() {
+        // 准备参数
+        cache.get(1L);
+        cache.get(2L);
+        List<String> published = new CopyOnWriteArrayList<>();
+        LocalCacheRegistry.setPublisher((name, keys) -> published.add(name + "=" + keys));
+
+        // 调用
+        LocalCacheRegistry.publish(CACHE_NAME, List.of(1L));
+        // 断言：本节点立即移除，并广播字符串 key
+        assertFalse(cache.asMap().containsKey(1L));
+        assertEquals(1, cache.asMap().get(2L));
+        assertEquals(List.of(CACHE_NAME + "=[1]"), published);
+
+        // 调用：key 为空时，移除全部，并广播 null
+        LocalCacheRegistry.publish(CACHE_NAME, null);
+        // 断言
+        assertTrue(cache.asMap().isEmpty());
+        assertEquals(CACHE_NAME + "=null", published.get(1));
+    }
+
+    @Test
+    void testPublish_publisherError() {
+        // 准备参数
+        cache.get(1L);
+        LocalCacheRegistry.setPublisher((name, keys) -> {
+            throw new IllegalStateException("broadcast error");
+        });
+
+        // 调用，并断言：广播失败不影响写入方，本节点仍然移除
+        assertDoesNotThrow(() -> LocalCacheRegistry.publish(CACHE_NAME, List.of(1L)));
+        assertFalse(cache.asMap().containsKey(1L));
+    }
+
+    @Test
+    void testEnableBroadcast() {
+        // 准备参数
+        String name = "test:local-cache-registry-broadcast";
+        LoadingCache<Long, Integer> broadcastCache = CacheUtils.buildCache(name, Duration.ofMinutes(1),
+                Duration.ofMinutes(30), 100, key -> 0);
+        try {
+            // 调用
+            LocalCacheRegistry.enableBroadcast();
+            // 断言：声明了广播刷新间隔的缓存延长，未声明的不调整
+            assertEquals(Duration.ofMinutes(30), broadcastCache.policy().refreshAfterWrite().orElseThrow().getRefreshesAfter());
+            assertEquals(Duration.ofMinutes(10), cache.policy().refreshAfterWrite().orElseThrow().getRefreshesAfter());
+        } finally {
+            LocalCacheRegistry.unregister(name, broadcastCache);
+        }
+    }
+
+    @Test
+    void testInvalidate_nonStringKey() {
+        // 准备参数
+        cache.get(1L);
+        cache.get(2L);
+
+        // 调用：事件中的 key 为字符串，按 String.valueOf(key) 匹配 Long 类型的 key
+        LocalCacheRegistry.invalidate(CACHE_NAME, List.of("1"));
+        // 断言：移除而不是刷新，在监听线程中不触发加载，由下一次读取重新加载
+        assertFalse(cache.asMap().containsKey(1L));
+        assertEquals(1, loadCounts.get(1L).get());
+        assertEquals(1, cache.asMap().get(2L));
+        assertEquals(2, cache.get(1L));
+    }
+
+    @Test
+    void testInvalidate_absentKey() {
+        // 准备参数
+        cache.get(1L);
+
+        // 调用
+        LocalCacheRegistry.invalidate(CACHE_NAME, List.of("3"));
+        // 断言：不存在的 key 无需加载
+        assertFalse(cache.asMap().containsKey(3L));
+        assertFalse(loadCounts.containsKey(3L));
+        assertEquals(1, cache.asMap().get(1L));
+    }
+
+    @Test
+    void testInvalidate_emptyKeys() {
+        // 准备参数
+        cache.get(1L);
+        cache.get(2L);
+
+        // 调用：key 为空时，清空全部的缓存项
+        LocalCacheRegistry.invalidate(CACHE_NAME, Collections.emptyList());
+        // 断言
+        assertTrue(cache.asMap().isEmpty());
+
+        // 调用：key 为 null 时，同样清空
+        cache.get(1L);
+        LocalCacheRegistry.invalidate(CACHE_NAME, null);
+        // 断言
+        assertTrue(cache.asMap().isEmpty());
+    }
+
+    @Test
+    void testInvalidate_unknownCache() {
+        // 调用，并断言：未注册的缓存名忽略
+        assertDoesNotThrow(() -> LocalCacheRegistry.invalidate("test:unknown", List.of("1")));
+        assertDoesNotThrow(() -> LocalCacheRegistry.invalidate("test:unknown", null));
+    }
+}
@@ -1,10 +1,12 @@
 package cn.jcodenest.framework.datapermission.config;
 
 import cn.jcodenest.framework.datapermission.core.aop.DataPermissionAnnotationAdvisor;
+import cn.jcodenest.framework.datapermission.core.db.CachedDataPermissionInterceptor;
 import cn.jcodenest.framework.datapermission.core.db.DataPermissionRuleHandler;
 import cn.jcodenest.framework.datapermission.core.rule.DataPermissionRule;
 import cn.jcodenest.framework.datapermission.core.rule.DataPermissionRuleFactory;
 import cn.jcodenest.framework.datapermission.core.rule.DataPermissionRuleFactoryImpl;
+import cn.jcodenest.framework.mybatis.core.rewrite.SqlRewriteCache;
 import cn.jcodenest.framework.mybatis.core.util.MyBatisUtils;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.DataPermissionInterceptor;
@@ -43,10 +45,11 @@ public class JCodeDataPermissionAutoConfiguration {
      * @return 数据权限规则列表
      */
     @Bean
-    public DataPermissionRuleHandler dataPermissionRuleHandler(MybatisPlusInterceptor interceptor, DataPermissionRuleFactory ruleFactory) {
-        // 创建 DataPermissionInterceptor 拦截器
+    public DataPermissionRuleHandler dataPermissionRuleHandler(MybatisPlusInterceptor interceptor, DataPermissionRuleFactory ruleFactory,
+                                                               SqlRewriteCache sqlRewriteCache) {
+        // 创建 DataPermissionInterceptor 拦截器, 重写结果由 SqlRewriteCache 缓存
         DataPermissionRuleHandler handler = new DataPermissionRuleHandler(ruleFactory);
-        DataPermissionInterceptor inner = new DataPermissionInterceptor(handler);
+        DataPermissionInterceptor inner = new CachedDataPermissionInterceptor(handler, sqlRewriteCache);
 
         // 添加到 interceptor 中
         // 需要加在首个，主要是为了在分页插件前面, 这个是 MyBatis Plus 的规定
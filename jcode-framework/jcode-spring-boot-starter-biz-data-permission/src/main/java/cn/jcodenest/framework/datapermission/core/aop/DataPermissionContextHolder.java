@@ -1,14 +1,20 @@
 package cn.jcodenest.framework.datapermission.core.aop;
 
+import cn.hutool.core.collection.CollUtil;
+import cn.jcodenest.framework.common.content.JCodeContext;
+import cn.jcodenest.framework.common.content.JCodeContextHolder;
 import cn.jcodenest.framework.datapermission.core.annotation.DataPermission;
-import com.alibaba.ttl.TransmittableThreadLocal;
 
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * {@link DataPermission} 注解的 Context 上下文
  *
+ * <p>作为 {@link JCodeContext} 的视图, 读写其中的 dataPermissions 注解栈</p>
+ *
  * @author JCodeNest
  * @version 1.0.0
  * @since 2025/8/2
@@ -18,19 +24,13 @@ import java.util.List;
  */
 public class DataPermissionContextHolder {
 
-    /**
-     * 使用 List 的原因，可能存在方法的嵌套调用
-     */
-    private static final ThreadLocal<LinkedList<DataPermission>> DATA_PERMISSIONS =
-            TransmittableThreadLocal.withInitial(LinkedList::new);
-
     /**
      * 获得当前的 DataPermission 注解
      *
      * @return DataPermission 注解
      */
     public static DataPermission get() {
-        return DATA_PERMISSIONS.get().peekLast();
+        return (DataPermission) CollUtil.getLast(JCodeContextHolder.get().getDataPermissions());
     }
 
     /**
@@ -39,30 +39,34 @@ public class DataPermissionContextHolder {
      * @param dataPermission DataPermission 注解
      */
     public static void add(DataPermission dataPermission) {
-        DATA_PERMISSIONS.get().addLast(dataPermission);
+        JCodeContextHolder.update(context -> context.pushDataPermission(dataPermission));
     }
 
     /**
      * 出栈 DataPermission 注解
      *
      * @return DataPermission 注解
+     * @throws NoSuchElementException 栈为空时
      */
     public static DataPermission remove() {
-        DataPermission dataPermission = DATA_PERMISSIONS.get().removeLast();
-        // 无元素时，清空 ThreadLocal
-        if (DATA_PERMISSIONS.get().isEmpty()) {
-            DATA_PERMISSIONS.remove();
+        JCodeContext context = JCodeContextHolder.get();
+        if (CollUtil.isEmpty(context.getDataPermissions())) {
+            throw new NoSuchElementException();
         }
+        DataPermission dataPermission = (DataPermission) CollUtil.getLast(context.getDataPermissions());
+        // 无元素时，JCodeContextHolder 会清空 ThreadLocal
+        JCodeContextHolder.set(context.popDataPermission());
         return dataPermission;
     }
 
     /**
      * 获得所有 DataPermission
      *
-     * @return DataPermission 队列
+     * @return DataPermission 队列, 为上下文的副本, 修改不会影响上下文
      */
+    @SuppressWarnings("unchecked")
     public static List<DataPermission> getAll() {
-        return DATA_PERMISSIONS.get();
+        return new LinkedList<>((List<DataPermission>) (List<?>) JCodeContextHolder.get().getDataPermissions());
     }
 
     /**
@@ -71,6 +75,6 @@ public class DataPermissionContextHolder {
      * 目前仅仅用于单测
      */
     public static void clear() {
-        DATA_PERMISSIONS.remove();
+        JCodeContextHolder.update(context -> context.withDataPermissions(Collections.emptyList()));
     }
 }
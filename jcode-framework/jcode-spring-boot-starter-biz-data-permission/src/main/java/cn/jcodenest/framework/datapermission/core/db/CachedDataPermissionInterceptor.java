@@ -0,0 +1,79 @@
+package cn.jcodenest.framework.datapermission.core.db;
+
+import cn.jcodenest.framework.mybatis.core.rewrite.SqlRewriteCache;
+import com.baomidou.mybatisplus.core.plugins.InterceptorIgnoreHelper;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.baomidou.mybatisplus.extension.plugins.inner.DataPermissionInterceptor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.sql.Connection;
+
+/**
+ * 基于 {@link SqlRewriteCache} 缓存重写结果的数据权限拦截器
+ *
+ * <p>
+ * 与 {@link DataPermissionInterceptor} 的逻辑一致, 区别在于：
+ *  1. 重写结果按 mappedStatementId + 生效规则的 shape 签名 + 原 SQL 缓存, 命中时不再解析 SQL
+ *  2. 查询时部门编号、用户编号等作为绑定参数, 同一条 SQL 在相同 shape 的用户之间复用; 增删改时以字面量拼接
+ *  3. 任一生效规则无法提供 shape 签名时, 每次都重新重写 SQL
+ * </p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+public class CachedDataPermissionInterceptor extends DataPermissionInterceptor {
+
+    /**
+     * 重写器标识
+     */
+    private static final String REWRITER = "data-permission";
+
+    private final DataPermissionRuleHandler ruleHandler;
+
+    private final SqlRewriteCache sqlRewriteCache;
+
+    public CachedDataPermissionInterceptor(DataPermissionRuleHandler ruleHandler, SqlRewriteCache sqlRewriteCache) {
+        super(ruleHandler);
+        this.ruleHandler = ruleHandler;
+        this.sqlRewriteCache = sqlRewriteCache;
+    }
+
+    @Override
+    public void beforeQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds,
+                            ResultHandler resultHandler, BoundSql boundSql) {
+        if (InterceptorIgnoreHelper.willIgnoreDataPermission(ms.getId())) {
+            return;
+        }
+
+        PluginUtils.MPBoundSql mpBs = PluginUtils.mpBoundSql(boundSql);
+        sqlRewriteCache.rewrite(REWRITER, ms, mpBs, ruleHandler.getShapeKey(ms.getId()), true,
+                sql -> parserSingle(sql, ms.getId()));
+    }
+
+    @Override
+    public void beforePrepare(StatementHandler sh, Connection connection, Integer transactionTimeout) {
+        PluginUtils.MPStatementHandler mpSh = PluginUtils.mpStatementHandler(sh);
+        MappedStatement ms = mpSh.mappedStatement();
+        SqlCommandType sct = ms.getSqlCommandType();
+        if (sct != SqlCommandType.UPDATE && sct != SqlCommandType.DELETE) {
+            return;
+        }
+        if (InterceptorIgnoreHelper.willIgnoreDataPermission(ms.getId())) {
+            return;
+        }
+
+        PluginUtils.MPBoundSql mpBs = mpSh.mPBoundSql();
+        sqlRewriteCache.rewrite(REWRITER, ms, mpBs, ruleHandler.getShapeKey(ms.getId()), false,
+                sql -> parserMulti(sql, ms.getId()));
+    }
+}
@@ -58,16 +58,75 @@ public class DataPermissionRuleHandler implements MultiDataPermissionHandler {
         Expression allExpression = null;
         String tableName = MyBatisUtils.getTableName(table);
         for (DataPermissionRule rule : rules) {
-            // 跳过不匹配的表名或无有效表达式的规则
-            if (!rule.getTableNames().contains(tableName) || rule.getExpression(tableName, table.getAlias()) == null) {
+            // 跳过不匹配的表名
+            if (!rule.getTableNames().contains(tableName)) {
                 continue;
             }
 
-            // 单条规则的条件
+            // 单条规则的条件, 跳过无有效表达式的规则
             Expression oneExpress = rule.getExpression(tableName, table.getAlias());
+            if (oneExpress == null) {
+                continue;
+            }
             // 拼接到 allExpression 中
             allExpression = allExpression == null ? oneExpress : new AndExpression(allExpression, oneExpress);
         }
         return allExpression;
     }
+
+    /**
+     * 获得 SQL 重写缓存的 shape 签名, 由生效的规则及其 shape 签名组成
+     * <p>
+     * 规则以其在 {@link DataPermissionRuleFactory#getDataPermissionRules()} 中的下标区分, 同一个规则类的多个实例也不会共用签名
+     *
+     * @param mappedStatementId Mapper 方法的编号
+     * @return shape 签名, 任一规则无法缓存时返回 null
+     */
+    public String getShapeKey(String mappedStatementId) {
+        // 特殊：跨租户访问
+        if (SecurityFrameworkUtils.skipPermissionCheck()) {
+            return "skip";
+        }
+
+        List<DataPermissionRule> rules = ruleFactory.getDataPermissionRule(mappedStatementId);
+        if (CollUtil.isEmpty(rules)) {
+            return "none";
+        }
+
+        List<DataPermissionRule> allRules = ruleFactory.getDataPermissionRules();
+        StringBuilder shape = new StringBuilder();
+        for (DataPermissionRule rule : rules) {
+            // 不在规则列表中的规则无法唯一标识, 不缓存
+            int index = indexOf(allRules, rule);
+            if (index < 0) {
+                return null;
+            }
+            String ruleShape = rule.getShapeKey();
+            if (ruleShape == null) {
+                return null;
+            }
+            shape.append(index).append(':').append(rule.getClass().getName())
+                    .append('=').append(ruleShape).append(';');
+        }
+        return shape.toString();
+    }
+
+    /**
+     * 按引用查找规则的下标, 规则可能未实现 equals, 也可能有多个相等的实例
+     *
+     * @param rules 规则列表
+     * @param rule  规则
+     * @return 下标, 不存在时返回 -1
+     */
+    private static int indexOf(List<DataPermissionRule> rules, DataPermissionRule rule) {
+        if (rules == null) {
+            return -1;
+        }
+        for (int i = 0; i < rules.size(); i++) {
+            if (rules.get(i) == rule) {
+                return i;
+            }
+        }
+        return -1;
+    }
 }
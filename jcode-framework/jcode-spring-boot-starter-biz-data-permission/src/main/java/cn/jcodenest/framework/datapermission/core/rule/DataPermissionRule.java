@@ -36,4 +36,16 @@ public interface DataPermissionRule {
      * @return 过滤条件 Expression 表达式
      */
     Expression getExpression(String tableName, Alias tableAlias);
+
+    /**
+     * 获得当前上下文下, 影响 {@link #getExpression(String, Alias)} 结构的 shape 签名, 用于 SQL 重写缓存
+     * <p>
+     * shape 签名相同时, 生成的过滤条件结构必须相同, 不同的只能是通过 SqlRewriteBinds#bind 绑定的值（例如部门编号）;
+     * 默认返回 null, 表示无法缓存, 每次都重新重写 SQL
+     *
+     * @return shape 签名
+     */
+    default String getShapeKey() {
+        return null;
+    }
 }
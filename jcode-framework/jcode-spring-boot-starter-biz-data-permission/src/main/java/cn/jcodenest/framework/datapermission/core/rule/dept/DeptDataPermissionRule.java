@@ -6,10 +6,10 @@ import cn.hutool.core.util.StrUtil;
 import cn.jcodenest.framework.common.biz.system.permission.PermissionCommonApi;
 import cn.jcodenest.framework.common.biz.system.permission.dto.DeptDataPermissionRespDTO;
 import cn.jcodenest.framework.common.enums.UserTypeEnum;
-import cn.jcodenest.framework.common.util.collection.CollectionUtils;
 import cn.jcodenest.framework.common.util.json.JsonUtils;
 import cn.jcodenest.framework.datapermission.core.rule.DataPermissionRule;
 import cn.jcodenest.framework.mybatis.core.dataobject.BaseDO;
+import cn.jcodenest.framework.mybatis.core.rewrite.SqlRewriteBinds;
 import cn.jcodenest.framework.mybatis.core.util.MyBatisUtils;
 import cn.jcodenest.framework.security.core.LoginUser;
 import cn.jcodenest.framework.security.core.util.SecurityFrameworkUtils;
@@ -18,7 +18,6 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.sf.jsqlparser.expression.Alias;
 import net.sf.jsqlparser.expression.Expression;
-import net.sf.jsqlparser.expression.LongValue;
 import net.sf.jsqlparser.expression.NullValue;
 import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
 import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
@@ -26,8 +25,10 @@ import net.sf.jsqlparser.expression.operators.relational.ExpressionList;
 import net.sf.jsqlparser.expression.operators.relational.InExpression;
 import net.sf.jsqlparser.expression.operators.relational.ParenthesedExpressionList;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -63,6 +64,11 @@ public class DeptDataPermissionRule implements DataPermissionRule {
      */
     protected static final String CONTEXT_KEY = DeptDataPermissionRule.class.getSimpleName();
 
+    /**
+     * LoginUser 的 Context 缓存 Key, 缓存部门编号数组, 用于按下标获取绑定参数
+     */
+    private static final String CONTEXT_DEPT_IDS_KEY = CONTEXT_KEY + ".deptIds";
+
     /**
      * 部门编号字段的默认值
      */
@@ -139,18 +145,10 @@ public class DeptDataPermissionRule implements DataPermissionRule {
         }
 
         // 获得数据权限
-        DeptDataPermissionRespDTO deptDataPermission = loginUser.getContext(CONTEXT_KEY, DeptDataPermissionRespDTO.class);
-
-        // 从上下文中拿不到，则调用逻辑进行获取
+        DeptDataPermissionRespDTO deptDataPermission = getDeptDataPermission(loginUser);
         if (deptDataPermission == null) {
-            deptDataPermission = permissionApi.getDeptDataPermission(loginUser.getId()).getCheckedData();
-            if (deptDataPermission == null) {
-                log.error("[getExpression][LoginUser({}) 获取数据权限为 null]", JsonUtils.toJsonString(loginUser));
-                throw new NullPointerException(String.format("LoginUser(%d) Table(%s/%s) 未返回数据权限", loginUser.getId(), tableName, tableAlias.getName()));
-            }
-
-            // 添加到上下文中，避免重复计算
-            loginUser.setContext(CONTEXT_KEY, deptDataPermission);
+            log.error("[getExpression][LoginUser({}) 获取数据权限为 null]", JsonUtils.toJsonString(loginUser));
+            throw new NullPointerException(String.format("LoginUser(%d) Table(%s/%s) 未返回数据权限", loginUser.getId(), tableName, tableAlias.getName()));
         }
 
         // 情况一: 如果是 ALL 可查看全部，则无需拼接条件
@@ -166,7 +164,7 @@ public class DeptDataPermissionRule implements DataPermissionRule {
 
         // 情况三: 拼接 Dept 和 User 的条件，最后组合
         Expression deptExpression = buildDeptExpression(tableName, tableAlias, deptDataPermission.getDeptIds());
-        Expression userExpression = buildUserExpression(tableName, tableAlias, deptDataPermission.getSelf(), loginUser.getId());
+        Expression userExpression = buildUserExpression(tableName, tableAlias, deptDataPermission.getSelf());
         if (deptExpression == null && userExpression == null) {
             // TODO：获得不到条件的时候，暂时不抛出异常，而是不返回数据
             log.warn("[getExpression][LoginUser({}) Table({}/{}) DeptDataPermission({}) 构建的条件为空]",
@@ -188,6 +186,75 @@ public class DeptDataPermissionRule implements DataPermissionRule {
         return new ParenthesedExpressionList<>(new OrExpression(deptExpression, userExpression));
     }
 
+    /**
+     * 获得 shape 签名, 与 {@link #getExpression(String, Alias)} 的分支一一对应
+     * <p>
+     * 部门编号、用户编号作为绑定参数, 因此只有部门数量、是否查看自己影响条件的结构
+     *
+     * @return shape 签名
+     */
+    @Override
+    public String getShapeKey() {
+        LoginUser loginUser = SecurityFrameworkUtils.getLoginUser();
+        if (loginUser == null) {
+            return "anonymous";
+        }
+        if (ObjectUtil.notEqual(loginUser.getUserType(), UserTypeEnum.ADMIN.getValue())) {
+            return "non-admin";
+        }
+
+        // 获取不到数据权限时无法缓存, 交给 getExpression 抛出异常
+        DeptDataPermissionRespDTO deptDataPermission = getDeptDataPermission(loginUser);
+        if (deptDataPermission == null) {
+            return null;
+        }
+        if (Boolean.TRUE.equals(deptDataPermission.getAll())) {
+            return "all";
+        }
+        if (CollUtil.isEmpty(deptDataPermission.getDeptIds()) && Boolean.FALSE.equals(deptDataPermission.getSelf())) {
+            return "deny";
+        }
+        return "d" + CollUtil.size(deptDataPermission.getDeptIds()) + ":s" + !Boolean.FALSE.equals(deptDataPermission.getSelf());
+    }
+
+    /**
+     * 获得登录用户的部门数据权限, 优先从上下文中获取
+     *
+     * @param loginUser 登录用户
+     * @return 部门数据权限
+     */
+    private DeptDataPermissionRespDTO getDeptDataPermission(LoginUser loginUser) {
+        DeptDataPermissionRespDTO deptDataPermission = loginUser.getContext(CONTEXT_KEY, DeptDataPermissionRespDTO.class);
+
+        // 从上下文中拿不到，则调用逻辑进行获取
+        if (deptDataPermission == null) {
+            deptDataPermission = permissionApi.getDeptDataPermission(loginUser.getId()).getCheckedData();
+            if (deptDataPermission == null) {
+                return null;
+            }
+
+            // 添加到上下文中，避免重复计算
+            loginUser.setContext(CONTEXT_KEY, deptDataPermission);
+        }
+        return deptDataPermission;
+    }
+
+    /**
+     * 获得当前登录用户的第 index 个部门编号, 作为 SQL 重写缓存的绑定参数
+     *
+     * @param index 下标
+     * @return 部门编号
+     */
+    private Long getLoginUserDeptId(int index) {
+        LoginUser loginUser = SecurityFrameworkUtils.getLoginUser();
+        Long[] deptIds = loginUser.getContext(CONTEXT_DEPT_IDS_KEY, Long[].class);
+        if (deptIds == null) {
+            deptIds = getDeptDataPermission(loginUser).getDeptIds().toArray(new Long[0]);
+            loginUser.setContext(CONTEXT_DEPT_IDS_KEY, deptIds);
+        }
+        return deptIds[index];
+    }
+
     /**
      * 构建部门条件
      *
@@ -208,10 +275,15 @@ public class DeptDataPermissionRule implements DataPermissionRule {
             return null;
         }
 
-        // 拼接条件
+        // 拼接条件, 部门编号按下标绑定, 同部门数量的用户复用 SQL 重写结果
+        List<Expression> deptIdExpressions = new ArrayList<>(deptIds.size());
+        for (int i = 0; i < deptIds.size(); i++) {
+            int index = i;
+            deptIdExpressions.add(SqlRewriteBinds.bind(() -> getLoginUserDeptId(index)));
+        }
         return new InExpression(MyBatisUtils.buildColumn(tableName, tableAlias, columnName),
                 // Parenthesis 的目的，是提供 (1,2,3) 的 () 左右括号
-                new ParenthesedExpressionList<>(new ExpressionList<LongValue>(CollectionUtils.convertList(deptIds, LongValue::new))));
+                new ParenthesedExpressionList<>(new ExpressionList<>(deptIdExpressions)));
     }
 
     /**
@@ -220,10 +292,9 @@ public class DeptDataPermissionRule implements DataPermissionRule {
      * @param tableName  表名
      * @param tableAlias 别名
      * @param self 是否查看自己
-     * @param userId 用户编号
      * @return 用户条件
      */
-    private Expression buildUserExpression(String tableName, Alias tableAlias, Boolean self, Long userId) {
+    private Expression buildUserExpression(String tableName, Alias tableAlias, Boolean self) {
         // 如果不查看自己，则无需作为条件
         if (Boolean.FALSE.equals(self)) {
             return null;
@@ -234,8 +305,9 @@ public class DeptDataPermissionRule implements DataPermissionRule {
             return null;
         }
 
-        // 拼接条件
-        return new EqualsTo(MyBatisUtils.buildColumn(tableName, tableAlias, columnName), new LongValue(userId));
+        // 拼接条件, 用户编号作为绑定参数
+        return new EqualsTo(MyBatisUtils.buildColumn(tableName, tableAlias, columnName),
+                SqlRewriteBinds.bind(() -> SecurityFrameworkUtils.getLoginUser().getId()));
     }
 
     // ==================== 添加配置 ====================
@@ -4,8 +4,10 @@ import cn.jcodenest.framework.datapermission.core.annotation.DataPermission;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertSame;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
 
 /**
@@ -69,4 +71,44 @@ class DataPermissionContextHolderTest {
         assertSame(result, dataPermission02);
         assertEquals(1, DataPermissionContextHolder.getAll().size());
     }
+
+    @Test
+    void testRemove_empty() {
+        // 调用，并断言：与 LinkedList.removeLast 一致，空栈时抛出异常
+        assertThrows(NoSuchElementException.class, DataPermissionContextHolder::remove);
+    }
+
+    @Test
+    void testNesting() {
+        // 准备参数
+        DataPermission outer = mock(DataPermission.class);
+        DataPermission inner = mock(DataPermission.class);
+
+        // 调用：模拟方法的嵌套调用
+        DataPermissionContextHolder.add(outer);
+        assertSame(outer, DataPermissionContextHolder.get());
+        DataPermissionContextHolder.add(inner);
+        assertSame(inner, DataPermissionContextHolder.get());
+        assertSame(inner, DataPermissionContextHolder.remove());
+        // 断言：内层出栈后，恢复外层
+        assertSame(outer, DataPermissionContextHolder.get());
+        assertSame(outer, DataPermissionContextHolder.remove());
+        assertNull(DataPermissionContextHolder.get());
+        assertTrue(DataPermissionContextHolder.getAll().isEmpty());
+    }
+
+    @Test
+    void testGetAll_mutable() {
+        // mock 方法
+        DataPermission dataPermission01 = mock(DataPermission.class);
+        DataPermissionContextHolder.add(dataPermission01);
+
+        // 调用：修改返回的队列
+        List<DataPermission> all = DataPermissionContextHolder.getAll();
+        all.add(mock(DataPermission.class));
+        // 断言：返回的是可修改的副本，不影响上下文
+        assertEquals(2, all.size());
+        assertEquals(1, DataPermissionContextHolder.getAll().size());
+        assertSame(dataPermission01, DataPermissionContextHolder.get());
+    }
 }
@@ -0,0 +1,288 @@
+package cn.jcodenest.framework.datapermission.core.db;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.jcodenest.framework.common.biz.system.permission.PermissionCommonApi;
+import cn.jcodenest.framework.common.biz.system.permission.dto.DeptDataPermissionRespDTO;
+import cn.jcodenest.framework.common.enums.UserTypeEnum;
+import cn.jcodenest.framework.datapermission.core.rule.DataPermissionRule;
+import cn.jcodenest.framework.datapermission.core.rule.DataPermissionRuleFactory;
+import cn.jcodenest.framework.datapermission.core.rule.dept.DeptDataPermissionRule;
+import cn.jcodenest.framework.mybatis.config.properties.SqlRewriteCacheProperties;
+import cn.jcodenest.framework.mybatis.core.rewrite.SqlRewriteCache;
+import cn.jcodenest.framework.security.core.LoginUser;
+import cn.jcodenest.framework.test.core.ut.BaseMockitoUnitTest;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import net.sf.jsqlparser.expression.Alias;
+import net.sf.jsqlparser.expression.Expression;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.statement.RoutingStatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static cn.jcodenest.framework.common.pojo.CommonResult.success;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link CachedDataPermissionInterceptor} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class CachedDataPermissionInterceptorTest extends BaseMockitoUnitTest {
+
+    private static final MybatisConfiguration CONFIGURATION = new MybatisConfiguration();
+
+    private static final String SQL = "SELECT * FROM t_user WHERE id = ?";
+
+    @Mock
+    private PermissionCommonApi permissionApi;
+
+    @Mock
+    private DataPermissionRuleFactory ruleFactory;
+
+    private SqlRewriteCache sqlRewriteCache;
+
+    private CachedDataPermissionInterceptor interceptor;
+
+    /**
+     * 按部门、用户过滤 t_user 的规则
+     */
+    private DeptDataPermissionRule deptUserRule;
+
+    /**
+     * 只按用户过滤 t_user 的规则, 与 deptUserRule 是同一个规则类
+     */
+    private DeptDataPermissionRule userRule;
+
+    @BeforeEach
+    public void setUp() {
+        deptUserRule = new DeptDataPermissionRule(permissionApi);
+        deptUserRule.addDeptColumn("t_user", "dept_id");
+        deptUserRule.addUserColumn("t_user", "user_id");
+        userRule = new DeptDataPermissionRule(permissionApi);
+        userRule.addUserColumn("t_user", "creator");
+
+        sqlRewriteCache = newSqlRewriteCache(true);
+        interceptor = new CachedDataPermissionInterceptor(new DataPermissionRuleHandler(ruleFactory), sqlRewriteCache);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test // 相同 shape 的不同用户, 复用重写结果, 但绑定各自的部门、用户编号
+    public void testBeforeQuery_crossUser() {
+        // mock 方法
+        mockRules(deptUserRule);
+        mockDeptDataPermission(1L, CollUtil.newLinkedHashSet(10L, 20L));
+        mockDeptDataPermission(2L, CollUtil.newLinkedHashSet(30L, 40L));
+
+        // 调用
+        BoundSql boundSql01 = query(1L);
+        BoundSql boundSql02 = query(2L);
+
+        // 断言
+        assertEquals("SELECT * FROM t_user WHERE id = ? AND (t_user.dept_id IN (?, ?) OR t_user.user_id = ?)",
+                boundSql01.getSql());
+        assertEquals(boundSql01.getSql(), boundSql02.getSql());
+        assertEquals(List.of(10L, 20L, 1L), getBindValues(boundSql01));
+        assertEquals(List.of(30L, 40L, 2L), getBindValues(boundSql02));
+        assertEquals(1, sqlRewriteCache.getNativeCache().stats().hitCount());
+    }
+
+    @Test // 部门数量不同的用户, 不能命中彼此的重写结果
+    public void testBeforeQuery_differentDeptShape() {
+        // mock 方法
+        mockRules(deptUserRule);
+        mockDeptDataPermission(1L, CollUtil.newLinkedHashSet(10L, 20L));
+        mockDeptDataPermission(2L, CollUtil.newLinkedHashSet(30L));
+
+        // 调用
+        BoundSql boundSql01 = query(1L);
+        BoundSql boundSql02 = query(2L);
+
+        // 断言
+        assertTrue(boundSql01.getSql().contains("t_user.dept_id IN (?, ?)"));
+        assertTrue(boundSql02.getSql().contains("t_user.dept_id IN (?)"));
+        assertEquals(List.of(10L, 20L, 1L), getBindValues(boundSql01));
+        assertEquals(List.of(30L, 2L), getBindValues(boundSql02));
+        assertEquals(0, sqlRewriteCache.getNativeCache().stats().hitCount());
+    }
+
+    @Test // 同一个规则类的不同实例, shape 签名相同时也不能命中彼此的重写结果
+    public void testBeforeQuery_differentRuleSet() {
+        // mock 方法
+        when(ruleFactory.getDataPermissionRules()).thenReturn(List.of(deptUserRule, userRule));
+        mockDeptDataPermission(1L, Collections.emptySet());
+
+        // 调用
+        when(ruleFactory.getDataPermissionRule(any())).thenReturn(List.of(deptUserRule));
+        BoundSql boundSql01 = query(1L);
+        when(ruleFactory.getDataPermissionRule(any())).thenReturn(List.of(userRule));
+        BoundSql boundSql02 = query(1L);
+
+        // 断言
+        assertEquals("SELECT * FROM t_user WHERE id = ? AND t_user.user_id = ?", boundSql01.getSql());
+        assertEquals("SELECT * FROM t_user WHERE id = ? AND t_user.creator = ?", boundSql02.getSql());
+        assertEquals(0, sqlRewriteCache.getNativeCache().stats().hitCount());
+    }
+
+    @Test // 不在规则列表中的规则无法唯一标识, 每次都重新重写
+    public void testBeforeQuery_unknownRule() {
+        // mock 方法
+        when(ruleFactory.getDataPermissionRules()).thenReturn(List.of(deptUserRule));
+        when(ruleFactory.getDataPermissionRule(any())).thenReturn(List.of(userRule));
+        mockDeptDataPermission(1L, Collections.emptySet());
+
+        // 调用
+        BoundSql boundSql = query(1L);
+
+        // 断言
+        assertEquals("SELECT * FROM t_user WHERE id = ? AND t_user.creator = 1", boundSql.getSql());
+        assertEquals(0, sqlRewriteCache.getNativeCache().estimatedSize());
+    }
+
+    @Test // 规则无法提供 shape 签名时, 每次都重新重写
+    public void testBeforeQuery_noShapeKey() {
+        // 准备参数
+        DataPermissionRule rule = new DataPermissionRule() {
+
+            @Override
+            public Set<String> getTableNames() {
+                return deptUserRule.getTableNames();
+            }
+
+            @Override
+            public Expression getExpression(String tableName, Alias tableAlias) {
+                return deptUserRule.getExpression(tableName, tableAlias);
+            }
+        };
+        mockRules(rule);
+        mockDeptDataPermission(1L, CollUtil.newLinkedHashSet(10L));
+
+        // 调用
+        BoundSql boundSql = query(1L);
+
+        // 断言
+        assertEquals("SELECT * FROM t_user WHERE id = ? AND (t_user.dept_id IN (10) OR t_user.user_id = 1)",
+                boundSql.getSql());
+        assertEquals(0, sqlRewriteCache.getNativeCache().estimatedSize());
+    }
+
+    @Test // 未开启缓存时, 与原有的重写结果一致
+    public void testBeforeQuery_disabled() {
+        // 准备参数
+        interceptor = new CachedDataPermissionInterceptor(new DataPermissionRuleHandler(ruleFactory), newSqlRewriteCache(false));
+        // mock 方法
+        mockRules(deptUserRule);
+        mockDeptDataPermission(1L, CollUtil.newLinkedHashSet(10L, 20L));
+
+        // 调用
+        BoundSql boundSql = query(1L);
+
+        // 断言
+        assertEquals("SELECT * FROM t_user WHERE id = ? AND (t_user.dept_id IN (10, 20) OR t_user.user_id = 1)",
+                boundSql.getSql());
+        assertEquals(1, boundSql.getParameterMappings().size());
+    }
+
+    @Test // 增删改时, 复用重写结果, 但以字面量拼接各自的部门、用户编号
+    public void testBeforePrepare_crossUser() {
+        // mock 方法
+        mockRules(deptUserRule);
+        mockDeptDataPermission(1L, CollUtil.newLinkedHashSet(10L, 20L));
+        mockDeptDataPermission(2L, CollUtil.newLinkedHashSet(30L, 40L));
+
+        // 调用
+        String sql = "UPDATE t_user SET name = ? WHERE id = ?";
+        BoundSql boundSql01 = update(sql, 1L);
+        BoundSql boundSql02 = update(sql, 2L);
+
+        // 断言
+        assertEquals("UPDATE t_user SET name = ? WHERE id = ? AND (t_user.dept_id IN (10, 20) OR t_user.user_id = 1)",
+                boundSql01.getSql());
+        assertEquals("UPDATE t_user SET name = ? WHERE id = ? AND (t_user.dept_id IN (30, 40) OR t_user.user_id = 2)",
+                boundSql02.getSql());
+        assertEquals(1, sqlRewriteCache.getNativeCache().stats().hitCount());
+    }
+
+    private static SqlRewriteCache newSqlRewriteCache(boolean enable) {
+        SqlRewriteCacheProperties properties = new SqlRewriteCacheProperties();
+        properties.setEnable(enable);
+        return new SqlRewriteCache(properties);
+    }
+
+    private void mockRules(DataPermissionRule rule) {
+        when(ruleFactory.getDataPermissionRules()).thenReturn(List.of(rule));
+        when(ruleFactory.getDataPermissionRule(any())).thenReturn(List.of(rule));
+    }
+
+    private void mockDeptDataPermission(Long userId, Set<Long> deptIds) {
+        when(permissionApi.getDeptDataPermission(eq(userId)))
+                .thenReturn(success(new DeptDataPermissionRespDTO().setDeptIds(deptIds).setSelf(true)));
+    }
+
+    /**
+     * 以指定用户登录, 每次都是新的 LoginUser, 与真实请求一致
+     */
+    private static void login(Long userId) {
+        LoginUser loginUser = new LoginUser().setId(userId).setUserType(UserTypeEnum.ADMIN.getValue());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(loginUser, null, Collections.emptyList()));
+    }
+
+    private BoundSql query(Long userId) {
+        login(userId);
+        MappedStatement ms = new MappedStatement.Builder(CONFIGURATION, "test.select",
+                new StaticSqlSource(CONFIGURATION, SQL), SqlCommandType.SELECT).build();
+        List<ParameterMapping> mappings = new ArrayList<>();
+        mappings.add(new ParameterMapping.Builder(CONFIGURATION, "param0", Object.class).build());
+        BoundSql boundSql = new BoundSql(CONFIGURATION, SQL, mappings, null);
+        interceptor.beforeQuery(null, ms, null, null, null, boundSql);
+        return boundSql;
+    }
+
+    private BoundSql update(String sql, Long userId) {
+        login(userId);
+        MappedStatement ms = new MappedStatement.Builder(CONFIGURATION, "test.update",
+                new StaticSqlSource(CONFIGURATION, sql), SqlCommandType.UPDATE).build();
+        BoundSql boundSql = new BoundSql(CONFIGURATION, sql, new ArrayList<>(), null);
+        interceptor.beforePrepare(new RoutingStatementHandler(null, ms, null, RowBounds.DEFAULT, null, boundSql),
+                null, null);
+        return boundSql;
+    }
+
+    /**
+     * 获得重写时追加的绑定参数的值, 跳过原 SQL 的参数
+     */
+    private static List<Object> getBindValues(BoundSql boundSql) {
+        List<Object> values = new ArrayList<>();
+        List<ParameterMapping> mappings = boundSql.getParameterMappings();
+        for (int i = 1; i < mappings.size(); i++) {
+            values.add(boundSql.getAdditionalParameter(mappings.get(i).getProperty()));
+        }
+        return values;
+    }
+}
@@ -247,4 +247,58 @@ class DeptDataPermissionRuleTest extends BaseMockitoUnitTest {
             assertSame(deptDataPermission, loginUser.getContext(DeptDataPermissionRule.CONTEXT_KEY, DeptDataPermissionRespDTO.class));
         }
     }
+
+    @Test // shape 签名只由部门数量、是否查看自己决定, 与具体的部门、用户编号无关
+    public void testGetShapeKey() {
+        try (MockedStatic<SecurityFrameworkUtils> securityFrameworkUtilsMock = mockStatic(SecurityFrameworkUtils.class)) {
+            // 调用，并断言：无 LoginUser
+            assertEquals("anonymous", rule.getShapeKey());
+
+            // mock 方法（LoginUser）
+            LoginUser loginUser01 = randomPojo(LoginUser.class, o -> o.setId(1L).setUserType(UserTypeEnum.ADMIN.getValue()));
+            LoginUser loginUser02 = randomPojo(LoginUser.class, o -> o.setId(2L).setUserType(UserTypeEnum.ADMIN.getValue()));
+            LoginUser loginUser03 = randomPojo(LoginUser.class, o -> o.setId(3L).setUserType(UserTypeEnum.ADMIN.getValue()));
+            // mock 方法（DeptDataPermissionRespDTO）
+            when(permissionApi.getDeptDataPermission(same(1L))).thenReturn(success(
+                    new DeptDataPermissionRespDTO().setDeptIds(CollUtil.newLinkedHashSet(10L, 20L)).setSelf(true)));
+            when(permissionApi.getDeptDataPermission(same(2L))).thenReturn(success(
+                    new DeptDataPermissionRespDTO().setDeptIds(CollUtil.newLinkedHashSet(30L, 40L)).setSelf(true)));
+            when(permissionApi.getDeptDataPermission(same(3L))).thenReturn(success(
+                    new DeptDataPermissionRespDTO().setDeptIds(CollUtil.newLinkedHashSet(10L)).setSelf(false)));
+
+            // 调用
+            securityFrameworkUtilsMock.when(SecurityFrameworkUtils::getLoginUser).thenReturn(loginUser01);
+            String shapeKey01 = rule.getShapeKey();
+            securityFrameworkUtilsMock.when(SecurityFrameworkUtils::getLoginUser).thenReturn(loginUser02);
+            String shapeKey02 = rule.getShapeKey();
+            securityFrameworkUtilsMock.when(SecurityFrameworkUtils::getLoginUser).thenReturn(loginUser03);
+            String shapeKey03 = rule.getShapeKey();
+
+            // 断言
+            assertEquals(shapeKey01, shapeKey02);
+            assertNotEquals(shapeKey01, shapeKey03);
+        }
+    }
+
+    @Test // 全部、无权限两种情况的 shape 签名互不相同
+    public void testGetShapeKey_allAndDeny() {
+        try (MockedStatic<SecurityFrameworkUtils> securityFrameworkUtilsMock = mockStatic(SecurityFrameworkUtils.class)) {
+            // mock 方法（LoginUser）
+            LoginUser loginUser01 = randomPojo(LoginUser.class, o -> o.setId(1L).setUserType(UserTypeEnum.ADMIN.getValue()));
+            LoginUser loginUser02 = randomPojo(LoginUser.class, o -> o.setId(2L).setUserType(UserTypeEnum.ADMIN.getValue()));
+            // mock 方法（DeptDataPermissionRespDTO）
+            when(permissionApi.getDeptDataPermission(same(1L))).thenReturn(success(new DeptDataPermissionRespDTO().setAll(true)));
+            when(permissionApi.getDeptDataPermission(same(2L))).thenReturn(success(new DeptDataPermissionRespDTO()));
+
+            // 调用
+            securityFrameworkUtilsMock.when(SecurityFrameworkUtils::getLoginUser).thenReturn(loginUser01);
+            String shapeKey01 = rule.getShapeKey();
+            securityFrameworkUtilsMock.when(SecurityFrameworkUtils::getLoginUser).thenReturn(loginUser02);
+            String shapeKey02 = rule.getShapeKey();
+
+            // 断言
+            assertEquals("all", shapeKey01);
+            assertEquals("deny", shapeKey02);
+        }
+    }
 }
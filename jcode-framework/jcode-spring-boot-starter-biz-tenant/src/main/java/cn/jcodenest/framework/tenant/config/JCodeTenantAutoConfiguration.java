@@ -3,14 +3,20 @@ package cn.jcodenest.framework.tenant.config;
 import cn.hutool.extra.spring.SpringUtil;
 import cn.jcodenest.framework.common.biz.system.tenant.TenantCommonApi;
 import cn.jcodenest.framework.common.constants.WebFilterOrderConstants;
+import cn.jcodenest.framework.mybatis.core.rewrite.SqlRewriteCache;
 import cn.jcodenest.framework.mybatis.core.util.MyBatisUtils;
 import cn.jcodenest.framework.redis.config.properties.JCodeCacheProperties;
+import cn.jcodenest.framework.redis.core.RedisCacheGenerations;
 import cn.jcodenest.framework.security.core.service.SecurityFrameworkService;
 import cn.jcodenest.framework.tenant.config.properties.TenantProperties;
 import cn.jcodenest.framework.tenant.core.aop.TenantIgnore;
 import cn.jcodenest.framework.tenant.core.aop.TenantIgnoreAspect;
+import cn.jcodenest.framework.tenant.core.db.CachedTenantLineInnerInterceptor;
 import cn.jcodenest.framework.tenant.core.db.TenantDatabaseInterceptor;
+import cn.jcodenest.framework.tenant.core.job.MicrometerTenantJobMetrics;
 import cn.jcodenest.framework.tenant.core.job.TenantJobAspect;
+import cn.jcodenest.framework.tenant.core.job.TenantJobExecutor;
+import cn.jcodenest.framework.tenant.core.job.TenantJobMetrics;
 import cn.jcodenest.framework.tenant.core.mq.rabbitmq.TenantRabbitMQInitializer;
 import cn.jcodenest.framework.tenant.core.mq.redis.TenantRedisMessageInterceptor;
 import cn.jcodenest.framework.tenant.core.mq.rocketmq.TenantRocketMQInitializer;
@@ -24,7 +30,9 @@ import cn.jcodenest.framework.web.config.WebProperties;
 import cn.jcodenest.framework.web.core.handler.GlobalExceptionHandler;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.Resource;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.cache.CacheProperties;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -108,16 +116,30 @@ public class JCodeTenantAutoConfiguration {
 
     // ========== DB ==========
 
+    /**
+     * 多租户 MyBatis 的处理器，所有 Bean 初始化完成后预加载表的多租户配置
+     *
+     * @param properties 多租户配置
+     * @return TenantDatabaseInterceptor Bean
+     */
+    @Bean
+    public TenantDatabaseInterceptor tenantDatabaseInterceptor(TenantProperties properties) {
+        return new TenantDatabaseInterceptor(properties);
+    }
+
     /**
      * 多租户 MyBatis 的拦截器
      *
-     * @param properties  多租户配置
-     * @param interceptor 多租户拦截器
+     * @param tenantDatabaseInterceptor 多租户处理器
+     * @param interceptor               多租户拦截器
+     * @param sqlRewriteCache           SQL 重写缓存
      * @return TenantLineInnerInterceptor Bean
      */
     @Bean
-    public TenantLineInnerInterceptor tenantLineInnerInterceptor(TenantProperties properties, MybatisPlusInterceptor interceptor) {
-        TenantLineInnerInterceptor inner = new TenantLineInnerInterceptor(new TenantDatabaseInterceptor(properties));
+    public TenantLineInnerInterceptor tenantLineInnerInterceptor(TenantDatabaseInterceptor tenantDatabaseInterceptor,
+                                                                 MybatisPlusInterceptor interceptor,
+                                                                 SqlRewriteCache sqlRewriteCache) {
+        TenantLineInnerInterceptor inner = new CachedTenantLineInnerInterceptor(tenantDatabaseInterceptor, sqlRewriteCache);
         // 添加到 interceptor 中
         // 需要加在首个，主要是为了在分页插件前面，这个是 MyBatis Plus 的规定
         MyBatisUtils.addInterceptor(interceptor, inner, 0);
@@ -223,15 +245,57 @@ public class JCodeTenantAutoConfiguration {
     // ========== Job ==========
 
     /**
-     * 创建 TenantJobAspect Bean
-     *
-     * @param tenantFrameworkService 多租户 Service Bean
-     * @return TenantJobAspect Bean
+     * 多租户 Job 的配置类
+     * <p>
+     * 单独一个配置类的原因与 {@link TenantRedisMQAutoConfiguration} 相同，避免未引入 XXL-Job 时报类不存在的错误
      */
-    @Bean
+    @Configuration(proxyBeanMethods = false)
     @ConditionalOnClass(name = "com.xxl.job.core.handler.annotation.XxlJob")
-    public TenantJobAspect tenantJobAspect(TenantFrameworkService tenantFrameworkService) {
-        return new TenantJobAspect(tenantFrameworkService);
+    public static class TenantJobAutoConfiguration {
+
+        /**
+         * 创建 TenantJobExecutor Bean，容器关闭时自动调用 shutdown 方法关闭线程池
+         *
+         * @param properties 多租户配置
+         * @param metrics    多租户 Job 的执行统计，未引入 Micrometer 时不统计
+         * @return TenantJobExecutor Bean
+         */
+        @Bean
+        public TenantJobExecutor tenantJobExecutor(TenantProperties properties, ObjectProvider<TenantJobMetrics> metrics) {
+            return new TenantJobExecutor(properties.getJob(), metrics.getIfAvailable(() -> TenantJobMetrics.NOOP));
+        }
+
+        /**
+         * 创建 TenantJobAspect Bean
+         *
+         * @param tenantFrameworkService 多租户 Service Bean
+         * @param tenantJobExecutor      多租户 Job 的执行器
+         * @return TenantJobAspect Bean
+         */
+        @Bean
+        public TenantJobAspect tenantJobAspect(TenantFrameworkService tenantFrameworkService, TenantJobExecutor tenantJobExecutor) {
+            return new TenantJobAspect(tenantFrameworkService, tenantJobExecutor);
+        }
+    }
+
+    /**
+     * 多租户 Job 的 Metrics 配置类，仅在引入 Micrometer 时生效
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = {"com.xxl.job.core.handler.annotation.XxlJob", "io.micrometer.core.instrument.MeterRegistry"})
+    public static class TenantJobMetricsAutoConfiguration {
+
+        /**
+         * 创建 TenantJobMetrics Bean
+         *
+         * @param meterRegistry Micrometer 注册表，不存在时不统计
+         * @return TenantJobMetrics Bean
+         */
+        @Bean
+        public TenantJobMetrics tenantJobMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            return registry != null ? new MicrometerTenantJobMetrics(registry) : TenantJobMetrics.NOOP;
+        }
     }
 
     // ========== MQ ==========
@@ -282,6 +346,7 @@ public class JCodeTenantAutoConfiguration {
      * @param redisCacheConfiguration Redis 缓存配置
      * @param jCodeCacheProperties 缓存属性
      * @param tenantProperties 多租户属性
+     * @param generationsProvider 缓存的代数管理器，未开启时为空
      * @return RedisCacheManager Bean
      */
     @Bean
@@ -289,12 +354,16 @@ public class JCodeTenantAutoConfiguration {
     public RedisCacheManager tenantRedisCacheManager(RedisTemplate<String, Object> redisTemplate,
                                                      RedisCacheConfiguration redisCacheConfiguration,
                                                      JCodeCacheProperties jCodeCacheProperties,
-                                                     TenantProperties tenantProperties) {
+                                                     TenantProperties tenantProperties,
+                                                     ObjectProvider<RedisCacheGenerations> generationsProvider) {
         // 创建 RedisCacheWriter 对象
         RedisConnectionFactory connectionFactory = Objects.requireNonNull(redisTemplate.getConnectionFactory());
         RedisCacheWriter cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory, BatchStrategies.scan(jCodeCacheProperties.getRedisScanBatchSize()));
 
-        // 创建 TenantRedisCacheManager 对象
-        return new TenantRedisCacheManager(cacheWriter, redisCacheConfiguration, tenantProperties.getIgnoreCaches());
+        // 创建 TenantRedisCacheManager 对象，与 TimeoutRedisCacheManager 一致，未开启缓存击穿防护时忽略防护选项
+        TenantRedisCacheManager cacheManager = new TenantRedisCacheManager(cacheWriter, redisCacheConfiguration,
+                tenantProperties.getIgnoreCaches(), generationsProvider.getIfAvailable());
+        cacheManager.setStampedeEnabled(Boolean.TRUE.equals(jCodeCacheProperties.getStampede().getEnable()));
+        return cacheManager;
     }
 }
@@ -58,4 +58,38 @@ public class TenantProperties {
      * 即默认所有缓存都开启多租户的功能，所以记得添加对应的 tenant_id 字段。
      */
     private Set<String> ignoreCaches = Collections.emptySet();
+
+    /**
+     * 多租户 Job 的配置
+     */
+    private Job job = new Job();
+
+    /**
+     * 多租户 Job 的配置
+     */
+    @Data
+    public static class Job {
+
+        /**
+         * 是否使用虚拟线程执行, 默认关闭
+         * <p>
+         * 需要 JDK 21+, 低版本 JDK 下自动使用平台线程
+         */
+        private Boolean virtualThreads = false;
+
+        /**
+         * 平台线程池的最大线程数, 所有 Job 共享
+         */
+        private Integer maxPoolSize = 16;
+
+        /**
+         * 平台线程池的队列长度, 队列已满时拒绝执行, 对应租户标记为执行失败
+         */
+        private Integer queueCapacity = 1024;
+
+        /**
+         * 单个 Job 默认同时执行的租户数, 可通过 {@code @TenantJob(concurrency = ...)} 覆盖
+         */
+        private Integer concurrency = 4;
+    }
 }
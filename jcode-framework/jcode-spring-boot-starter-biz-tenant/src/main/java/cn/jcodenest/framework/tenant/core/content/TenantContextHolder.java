@@ -1,11 +1,14 @@
 package cn.jcodenest.framework.tenant.core.content;
 
+import cn.jcodenest.framework.common.content.JCodeContext;
+import cn.jcodenest.framework.common.content.JCodeContextHolder;
 import cn.jcodenest.framework.common.enums.DocumentEnum;
-import com.alibaba.ttl.TransmittableThreadLocal;
 
 /**
  * 多租户上下文 Holder
  *
+ * <p>作为 {@link JCodeContext} 的视图, 读写其中的 tenantId、tenantIgnore</p>
+ *
  * @author JCodeNest
  * @version 1.0.0
  * @since 2025/8/2
@@ -15,23 +18,13 @@ import com.alibaba.ttl.TransmittableThreadLocal;
  */
 public class TenantContextHolder {
 
-    /**
-     * 当前租户编号
-     */
-    private static final ThreadLocal<Long> TENANT_ID = new TransmittableThreadLocal<>();
-
-    /**
-     * 是否忽略租户
-     */
-    private static final ThreadLocal<Boolean> IGNORE = new TransmittableThreadLocal<>();
-
     /**
      * 获得租户编号
      *
      * @return 租户编号
      */
     public static Long getTenantId() {
-        return TENANT_ID.get();
+        return JCodeContextHolder.get().getTenantId();
     }
 
     /**
@@ -54,7 +47,7 @@ public class TenantContextHolder {
      * @param tenantId 租户编号
      */
     public static void setTenantId(Long tenantId) {
-        TENANT_ID.set(tenantId);
+        JCodeContextHolder.update(context -> context.withTenantId(tenantId));
     }
 
     /**
@@ -63,7 +56,7 @@ public class TenantContextHolder {
      * @param ignore 是否忽略
      */
     public static void setIgnore(Boolean ignore) {
-        IGNORE.set(ignore);
+        JCodeContextHolder.update(context -> context.withTenantIgnore(Boolean.TRUE.equals(ignore)));
     }
 
     /**
@@ -72,14 +65,13 @@ public class TenantContextHolder {
      * @return 是否忽略
      */
     public static boolean isIgnore() {
-        return Boolean.TRUE.equals(IGNORE.get());
+        return JCodeContextHolder.get().isTenantIgnore();
     }
 
     /**
      * 清空
      */
     public static void clear() {
-        TENANT_ID.remove();
-        IGNORE.remove();
+        JCodeContextHolder.update(context -> context.withTenantId(null).withTenantIgnore(false));
     }
 }
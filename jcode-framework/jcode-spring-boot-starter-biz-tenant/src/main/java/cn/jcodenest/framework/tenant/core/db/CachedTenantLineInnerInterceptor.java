@@ -0,0 +1,85 @@
+package cn.jcodenest.framework.tenant.core.db;
+
+import cn.jcodenest.framework.mybatis.core.rewrite.SqlRewriteCache;
+import cn.jcodenest.framework.tenant.core.content.TenantContextHolder;
+import com.baomidou.mybatisplus.core.plugins.InterceptorIgnoreHelper;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
+import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.sql.Connection;
+
+/**
+ * 基于 {@link SqlRewriteCache} 缓存重写结果的多租户拦截器
+ *
+ * <p>
+ * 与 {@link TenantLineInnerInterceptor} 的逻辑一致, 区别在于：
+ *  1. 重写结果按 mappedStatementId + 是否忽略租户 + 原 SQL 缓存, 命中时不再解析 SQL
+ *  2. 查询时租户编号作为绑定参数, 同一条 SQL 在不同租户之间复用; 增删改时租户编号以字面量拼接,
+ *     因为 BatchExecutor 按 SQL 文本复用 Statement, 不能在 prepare 阶段新增参数
+ * </p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+public class CachedTenantLineInnerInterceptor extends TenantLineInnerInterceptor {
+
+    /**
+     * 重写器标识
+     */
+    private static final String REWRITER = "tenant";
+
+    private final SqlRewriteCache sqlRewriteCache;
+
+    public CachedTenantLineInnerInterceptor(TenantLineHandler tenantLineHandler, SqlRewriteCache sqlRewriteCache) {
+        super(tenantLineHandler);
+        this.sqlRewriteCache = sqlRewriteCache;
+    }
+
+    @Override
+    public void beforeQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds,
+                            ResultHandler resultHandler, BoundSql boundSql) {
+        if (InterceptorIgnoreHelper.willIgnoreTenantLine(ms.getId())) {
+            return;
+        }
+
+        PluginUtils.MPBoundSql mpBs = PluginUtils.mpBoundSql(boundSql);
+        sqlRewriteCache.rewrite(REWRITER, ms, mpBs, getShape(), true, sql -> parserSingle(sql, null));
+    }
+
+    @Override
+    public void beforePrepare(StatementHandler sh, Connection connection, Integer transactionTimeout) {
+        PluginUtils.MPStatementHandler mpSh = PluginUtils.mpStatementHandler(sh);
+        MappedStatement ms = mpSh.mappedStatement();
+        SqlCommandType sct = ms.getSqlCommandType();
+        if (sct != SqlCommandType.INSERT && sct != SqlCommandType.UPDATE && sct != SqlCommandType.DELETE) {
+            return;
+        }
+        if (InterceptorIgnoreHelper.willIgnoreTenantLine(ms.getId())) {
+            return;
+        }
+
+        PluginUtils.MPBoundSql mpBs = mpSh.mPBoundSql();
+        sqlRewriteCache.rewrite(REWRITER, ms, mpBs, getShape(), false, sql -> parserMulti(sql, null));
+    }
+
+    /**
+     * 获得 shape 签名, 影响重写结果的只有是否忽略租户, 租户编号以绑定参数传入
+     *
+     * @return shape 签名
+     */
+    private static String getShape() {
+        return TenantContextHolder.isIgnore() ? "ignore" : "tenant";
+    }
+}
@@ -1,5 +1,6 @@
 package cn.jcodenest.framework.tenant.core.db;
 
+import cn.jcodenest.framework.mybatis.core.rewrite.SqlRewriteBinds;
 import cn.jcodenest.framework.tenant.config.properties.TenantProperties;
 import cn.jcodenest.framework.tenant.core.aop.TenantIgnore;
 import cn.jcodenest.framework.tenant.core.content.TenantContextHolder;
@@ -7,14 +8,18 @@ import com.baomidou.mybatisplus.core.metadata.TableInfo;
 import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
 import com.baomidou.mybatisplus.extension.toolkit.SqlParserUtils;
+import lombok.extern.slf4j.Slf4j;
 import net.sf.jsqlparser.expression.Expression;
-import net.sf.jsqlparser.expression.LongValue;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * 基于 MyBatis Plus 多租户的功能，实现 DB 层面的多租户的功能
+ * <p>
+ * 所有 Bean 初始化完成后（此时 MyBatis Plus 已解析全部实体），预先计算所有表是否忽略多租户，
+ * 之后每条 SQL 只需无锁地查询 {@link TenantTableRegistry}
  *
  * @author JCodeNest
  * @version 1.0.0
@@ -23,15 +28,18 @@ import java.util.Map;
  * Copyright (c) 2025 JCodeNest-Cloud-Initializer
  * All rights reserved.
  */
-public class TenantDatabaseInterceptor implements TenantLineHandler {
+@Slf4j
+public class TenantDatabaseInterceptor implements TenantLineHandler, SmartInitializingSingleton {
 
     /**
-     * 忽略的表
-     * <p>
-     * KEY：表名
-     * VALUE：是否忽略
+     * 表是否忽略多租户的注册表, 大小写不敏感
+     */
+    private final TenantTableRegistry ignoreTables = new TenantTableRegistry();
+
+    /**
+     * 配置的忽略表, 优先级高于根据实体计算的结果
      */
-    private final Map<String, Boolean> ignoreTables = new HashMap<>();
+    private final Map<String, Boolean> configuredTables = new HashMap<>();
 
     /**
      * 构造器
@@ -39,20 +47,38 @@ public class TenantDatabaseInterceptor implements TenantLineHandler {
      * @param properties 配置
      */
     public TenantDatabaseInterceptor(TenantProperties properties) {
-        // 不同 DB 下大小写的习惯不同，所以需要都添加进去
-        properties.getIgnoreTables().forEach(table -> addIgnoreTable(table, true));
+        // 注册表大小写不敏感，不同 DB 下大小写的习惯不同也无需重复添加
+        properties.getIgnoreTables().forEach(table -> configuredTables.put(table, true));
         // 在 OracleKeyGenerator 中生成主键时会查询这个表，查询这个表后会自动拼接 TENANT_ID 导致报错
-        addIgnoreTable("DUAL", true);
+        configuredTables.put("DUAL", true);
+        ignoreTables.putAll(configuredTables);
+    }
+
+    /**
+     * 预先计算所有实体对应的表是否忽略多租户
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        Map<String, Boolean> tables = new HashMap<>();
+        for (TableInfo tableInfo : TableInfoHelper.getTableInfos()) {
+            tables.put(tableInfo.getTableName(), computeIgnoreTable(tableInfo));
+        }
+        // 配置的忽略表覆盖计算结果
+        tables.putAll(configuredTables);
+        ignoreTables.putAll(tables);
+        log.info("[afterSingletonsInstantiated][预加载 {} 个表的多租户配置]", ignoreTables.size());
     }
 
     /**
      * 获取租户的 SQL
+     * <p>
+     * 租户编号作为 SQL 重写缓存的绑定参数, 同一条 SQL 在不同租户之间复用重写结果
      *
      * @return  SQL
      */
     @Override
     public Expression getTenantId() {
-        return new LongValue(TenantContextHolder.getRequiredTenantId());
+        return SqlRewriteBinds.bind(TenantContextHolder::getRequiredTenantId);
     }
 
     /**
@@ -68,39 +94,26 @@ public class TenantDatabaseInterceptor implements TenantLineHandler {
             return true;
         }
 
-        // 情况二：忽略多租户的表
-        tableName = SqlParserUtils.removeWrapperSymbol(tableName);
-        Boolean ignore = ignoreTables.get(tableName.toLowerCase());
+        // 情况二：忽略多租户的表，注册表会自动忽略包裹符号与大小写
+        Boolean ignore = ignoreTables.get(tableName);
         if (ignore == null) {
-            ignore = computeIgnoreTable(tableName);
-            synchronized (ignoreTables) {
-                addIgnoreTable(tableName, ignore);
-            }
+            // 启动后才发现的表（例如延迟加载的 Mapper），计算后发布到注册表，并发计算的结果相同，重复写入无影响
+            tableName = SqlParserUtils.removeWrapperSymbol(tableName);
+            ignore = computeIgnoreTable(TableInfoHelper.getTableInfo(tableName));
+            ignoreTables.put(tableName, ignore);
         }
 
         return ignore;
     }
 
-    /**
-     * 添加忽略的表
-     *
-     * @param tableName 表名
-     * @param ignore 是否忽略
-     */
-    private void addIgnoreTable(String tableName, boolean ignore) {
-        ignoreTables.put(tableName.toLowerCase(), ignore);
-        ignoreTables.put(tableName.toUpperCase(), ignore);
-    }
-
     /**
      * 计算是否忽略某个表
      *
-     * @param tableName 表名
+     * @param tableInfo 表信息，可能为空
      * @return 是否忽略
      */
-    private boolean computeIgnoreTable(String tableName) {
+    private static boolean computeIgnoreTable(TableInfo tableInfo) {
         // 找不到的表，说明不是 jcode 项目里的，不进行拦截（忽略租户）
-        TableInfo tableInfo = TableInfoHelper.getTableInfo(tableName);
         if (tableInfo == null) {
             return true;
         }
@@ -0,0 +1,269 @@
+package cn.jcodenest.framework.tenant.core.db;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 表名 -> 是否忽略多租户 的注册表
+ *
+ * <p>
+ * 设计要点：
+ *  1. 启动时批量注册的表（{@link #putAll(Map)}）存储在不可变的开放寻址哈希表中, 读取时无锁、无内存分配
+ *  2. 表名大小写不敏感, 并忽略 `、"、[、&lt; 等包裹符号, 规则与 SqlParserUtils#removeWrapperSymbol 一致,
+ *     查询时无需 removeWrapperSymbol、toLowerCase 生成新的字符串
+ *  3. 启动后新发现的表（{@link #put(String, boolean)}）存储在 ConcurrentHashMap 中, 不复制哈希表;
+ *     数量达到 {@link #MAX_DISCOVERED_TABLES} 后不再注册, 避免动态表名（例如按日期分表）导致无限增长, 调用方每次重新计算即可
+ * </p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+final class TenantTableRegistry {
+
+    /**
+     * 每个表存储的写法数量：小写、大写, 以及它们被 ` 或 " 包裹的写法
+     */
+    private static final int VARIANT_COUNT = 6;
+
+    /**
+     * 启动后新发现的表的数量上限
+     */
+    static final int MAX_DISCOVERED_TABLES = 4096;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+
+    /**
+     * 启动后新发现的表, KEY 为标准化后的表名
+     */
+    private final Map<String, Boolean> discoveredTables = new ConcurrentHashMap<>();
+
+    /**
+     * 获得表是否忽略多租户
+     *
+     * @param tableName 表名, 可包含包裹符号, 大小写不敏感
+     * @return 是否忽略, 未注册时返回 null
+     */
+    Boolean get(String tableName) {
+        Boolean ignore = snapshot.get().get(tableName);
+        if (ignore != null || discoveredTables.isEmpty()) {
+            return ignore;
+        }
+        return discoveredTables.get(normalize(tableName));
+    }
+
+    /**
+     * 注册启动后新发现的表
+     * <p>
+     * 已达到数量上限时不注册, 之后的查询返回 null
+     *
+     * @param tableName 表名, 可包含包裹符号, 大小写不敏感
+     * @param ignore    是否忽略
+     */
+    void put(String tableName, boolean ignore) {
+        String key = normalize(tableName);
+        // 已批量注册的表, 覆盖时仍然发布新的快照, 保证快照中的值最新
+        if (snapshot.get().get(key) != null) {
+            putAll(Map.of(key, ignore));
+            return;
+        }
+        if (discoveredTables.size() >= MAX_DISCOVERED_TABLES && !discoveredTables.containsKey(key)) {
+            return;
+        }
+        discoveredTables.put(key, ignore);
+    }
+
+    /**
+     * 批量注册表, 只发布一次新的快照, 用于启动时预加载
+     *
+     * @param tables KEY：表名; VALUE：是否忽略
+     */
+    void putAll(Map<String, Boolean> tables) {
+        if (tables.isEmpty()) {
+            return;
+        }
+
+        Map<String, Boolean> normalized = new HashMap<>(tables.size() * 2);
+        tables.forEach((tableName, ignore) -> normalized.put(normalize(tableName), ignore));
+        Snapshot current;
+        Snapshot updated;
+        do {
+            current = snapshot.get();
+            updated = current.with(normalized);
+        } while (!snapshot.compareAndSet(current, updated));
+        // 快照优先, 移除重复的新发现的表
+        normalized.keySet().forEach(discoveredTables::remove);
+    }
+
+    /**
+     * 获得已注册的表数量
+     *
+     * @return 数量
+     */
+    int size() {
+        return snapshot.get().size + discoveredTables.size();
+    }
+
+    /**
+     * 标准化表名：去除包裹符号, 并转为小写
+     *
+     * @param tableName 表名
+     * @return 标准化后的表名
+     */
+    static String normalize(String tableName) {
+        int begin = begin(tableName);
+        int end = end(tableName, begin);
+        StringBuilder builder = new StringBuilder(end - begin);
+        for (int i = begin; i < end; i++) {
+            builder.append(lower(tableName.charAt(i)));
+        }
+        return builder.toString();
+    }
+
+    private static int begin(String tableName) {
+        if (tableName.length() < 2) {
+            return 0;
+        }
+        char first = tableName.charAt(0);
+        return first == '`' || first == '"' || first == '[' || first == '<' ? 1 : 0;
+    }
+
+    private static int end(String tableName, int begin) {
+        return begin == 0 ? tableName.length() : tableName.length() - 1;
+    }
+
+    private static char lower(char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+
+    /**
+     * 按小写字符计算 hash, 结果与标准化后表名的 {@link String#hashCode()} 相同
+     */
+    private static int lowerHash(String tableName, int begin, int end) {
+        int h = 0;
+        for (int i = begin; i < end; i++) {
+            h = 31 * h + lower(tableName.charAt(i));
+        }
+        return h;
+    }
+
+    private static int spread(int h) {
+        // 表名常以序号区分（例如 xxx_1、xxx_2）, 乘以黄金分割数打散, 避免线性探测时聚集
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * 不可变的开放寻址哈希表, 线性探测, 负载因子不超过 0.5
+     * <p>
+     * 每个表额外存储大写、`xxx`、"xxx" 等常见写法, 大多数查询可直接使用 String 缓存的 hashCode 与 equals 命中;
+     * 未命中时再按大小写不敏感的方式查找
+     */
+    private static final class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(Map.of());
+
+        /**
+         * 标准化后的表名 -> 是否忽略, 用于复制出新的快照
+         */
+        private final Map<String, Boolean> tables;
+
+        /**
+         * 表名的各种写法, null 表示空槽
+         */
+        private final String[] keys;
+        private final boolean[] ignores;
+        private final int mask;
+        private final int size;
+
+        private Snapshot(Map<String, Boolean> tables) {
+            this.tables = tables;
+            this.size = tables.size();
+            int capacity = 2;
+            while (capacity < size * VARIANT_COUNT * 2) {
+                capacity <<= 1;
+            }
+            this.keys = new String[capacity];
+            this.ignores = new boolean[capacity];
+            this.mask = capacity - 1;
+            tables.forEach((key, ignore) -> {
+                String upper = key.toUpperCase(Locale.ROOT);
+                insert(key, ignore);
+                insert(upper, ignore);
+                insert('`' + key + '`', ignore);
+                insert('`' + upper + '`', ignore);
+                insert('"' + key + '"', ignore);
+                insert('"' + upper + '"', ignore);
+            });
+        }
+
+        private void insert(String key, boolean ignore) {
+            int index = spread(key.hashCode()) & mask;
+            while (keys[index] != null) {
+                if (keys[index].equals(key)) {
+                    return;
+                }
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            ignores[index] = ignore;
+        }
+
+        private Boolean get(String tableName) {
+            // 快速路径：常见写法直接命中
+            for (int index = spread(tableName.hashCode()) & mask; ; index = (index + 1) & mask) {
+                String key = keys[index];
+                if (key == null) {
+                    break;
+                }
+                if (key.equals(tableName)) {
+                    return ignores[index];
+                }
+            }
+
+            // 慢速路径：去除包裹符号, 大小写不敏感地查找
+            int begin = begin(tableName);
+            int end = end(tableName, begin);
+            int length = end - begin;
+            for (int index = spread(lowerHash(tableName, begin, end)) & mask; ; index = (index + 1) & mask) {
+                String key = keys[index];
+                if (key == null) {
+                    return null;
+                }
+                if (key.length() == length && matches(key, tableName, begin)) {
+                    return ignores[index];
+                }
+            }
+        }
+
+        private static boolean matches(String key, String tableName, int begin) {
+            for (int i = 0; i < key.length(); i++) {
+                if (key.charAt(i) != lower(tableName.charAt(begin + i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 复制出包含新增表的快照
+         *
+         * @param added KEY：标准化后的表名; VALUE：是否忽略
+         * @return 新的快照
+         */
+        private Snapshot with(Map<String, Boolean> added) {
+            Map<String, Boolean> newTables = new HashMap<>(tables);
+            newTables.putAll(added);
+            return new Snapshot(Map.copyOf(newTables));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package cn.jcodenest.framework.tenant.core.job;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 基于 Micrometer 的 {@link TenantJobMetrics} 实现
+ *
+ * <p>
+ * 指标：
+ *  1. jcode.tenant.job.duration: 单个租户的执行耗时, 按 job、result 区分;
+ *     租户数量可能成千上万, 因此不以租户编号作为 tag, 单个租户的耗时记录在 XXL-Job 的执行日志中
+ *  2. jcode.tenant.job.tenants.total / jcode.tenant.job.tenants.completed: 最近一次执行的进度, 按 job 区分
+ * </p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@RequiredArgsConstructor
+public class MicrometerTenantJobMetrics implements TenantJobMetrics {
+
+    private final MeterRegistry registry;
+
+    /**
+     * 各 Job 的进度
+     * <p>
+     * KEY：Job 名
+     */
+    private final Map<String, Progress> progresses = new ConcurrentHashMap<>();
+
+    @Override
+    public void start(String jobName, int total) {
+        Progress progress = progresses.computeIfAbsent(jobName, this::registerProgress);
+        progress.total.set(total);
+        progress.completed.set(0);
+    }
+
+    @Override
+    public void record(String jobName, Long tenantId, boolean success, long durationNanos) {
+        Timer.builder("jcode.tenant.job.duration")
+                .tag("job", jobName)
+                .tag("result", success ? "success" : "failure")
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        Progress progress = progresses.get(jobName);
+        if (progress != null) {
+            progress.completed.incrementAndGet();
+        }
+    }
+
+    private Progress registerProgress(String jobName) {
+        Progress progress = new Progress();
+        Gauge.builder("jcode.tenant.job.tenants.total", progress.total, AtomicInteger::get)
+                .tag("job", jobName).register(registry);
+        Gauge.builder("jcode.tenant.job.tenants.completed", progress.completed, AtomicInteger::get)
+                .tag("job", jobName).register(registry);
+        return progress;
+    }
+
+    /**
+     * Job 的执行进度
+     */
+    private static class Progress {
+
+        private final AtomicInteger total = new AtomicInteger();
+
+        private final AtomicInteger completed = new AtomicInteger();
+    }
+}
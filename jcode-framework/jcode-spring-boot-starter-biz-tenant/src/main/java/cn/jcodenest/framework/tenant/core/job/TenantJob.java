@@ -4,9 +4,12 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 多租户 Job 注解
+ * <p>
+ * 任务执行时, 按 XXL-Job 的分片将租户分配到各个执行器实例, 每个实例通过 {@link TenantJobExecutor} 并发执行分配到的租户
  *
  * @author JCodeNest
  * @version 1.0.0
@@ -18,4 +21,21 @@ import java.lang.annotation.Target;
 @Target({ElementType.METHOD})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface TenantJob {
+
+    /**
+     * 同时执行的租户数, 默认为 0 表示使用 jcode.tenant.job.concurrency 配置
+     */
+    int concurrency() default 0;
+
+    /**
+     * 单个租户的执行超时时间, 默认为 0 表示不超时
+     * <p>
+     * 超时后中断执行线程, 并标记该租户执行失败
+     */
+    int timeout() default 0;
+
+    /**
+     * 时间单位，默认为 SECONDS 秒
+     */
+    TimeUnit timeUnit() default TimeUnit.SECONDS;
 }
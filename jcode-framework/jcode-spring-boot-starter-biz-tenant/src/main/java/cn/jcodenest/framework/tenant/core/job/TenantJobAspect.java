@@ -1,24 +1,18 @@
 package cn.jcodenest.framework.tenant.core.job;
 
 import cn.hutool.core.collection.CollUtil;
-import cn.hutool.core.exceptions.ExceptionUtil;
 import cn.hutool.core.util.StrUtil;
 import cn.jcodenest.framework.common.util.json.JsonUtils;
 import cn.jcodenest.framework.tenant.core.service.TenantFrameworkService;
-import cn.jcodenest.framework.tenant.core.util.TenantUtils;
-import com.xxl.job.core.context.XxlJobContext;
 import com.xxl.job.core.context.XxlJobHelper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 /**
  * 多租户 JobHandler AOP，任务执行时会按照租户逐个执行 Job 的逻辑
@@ -27,6 +21,11 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * 注意，需要保证 JobHandler 的幂等性。因为 Job 因为某个租户执行失败重试时，之前执行成功的租户也会再次执行。
  * </p>
  *
+ * <p>
+ * 使用 XXL-Job 的分片广播时，按租户编号将租户分配到各个执行器实例，每个实例只执行分配到的租户，
+ * 租户较多时可以通过增加实例水平扩展
+ * </p>
+ *
  * @author JCodeNest
  * @version 1.0.0
  * @since 2025/8/2
@@ -41,54 +40,54 @@ public class TenantJobAspect {
 
     private final TenantFrameworkService tenantFrameworkService;
 
+    private final TenantJobExecutor tenantJobExecutor;
+
     /**
      * 拦截有 {@link TenantJob} 注解的方法
      *
      * @param joinPoint 切点
      * @param tenantJob 注解
+     * @throws InterruptedException 调度线程被中断
      */
     @Around("@annotation(tenantJob)")
-    public void around(ProceedingJoinPoint joinPoint, TenantJob tenantJob) {
-        // 获得租户列表
-        List<Long> tenantIds = tenantFrameworkService.getTenantIds();
+    public void around(ProceedingJoinPoint joinPoint, TenantJob tenantJob) throws InterruptedException {
+        // 获得当前分片的租户列表
+        List<Long> tenantIds = getShardTenantIds(tenantFrameworkService.getTenantIds());
         if (CollUtil.isEmpty(tenantIds)) {
             return;
         }
 
         // 逐个租户执行 Job
-        Map<Long, String> results = new ConcurrentHashMap<>();
-        // 标记，是否存在失败的情况
-        AtomicBoolean success = new AtomicBoolean(true);
-        // XXL-Job 上下文
-        XxlJobContext xxlJobContext = XxlJobContext.getXxlJobContext();
-
-        tenantIds.parallelStream().forEach(tenantId -> {
-            // TODO：先通过 parallel 实现并行
-            //  1）多个租户是一条执行日志
-            //  2）异常的情况
-            TenantUtils.execute(tenantId, () -> {
-                try {
-                    XxlJobContext.setXxlJobContext(xxlJobContext);
-
-                    // 执行 Job
-                    Object result = joinPoint.proceed();
-                    results.put(tenantId, StrUtil.toStringOrEmpty(result));
-                } catch (Throwable e) {
-                    results.put(tenantId, ExceptionUtil.getRootCauseMessage(e));
-                    success.set(false);
-
-                    // 打印异常
-                    XxlJobHelper.log(StrUtil.format("[多租户({}) 执行任务({})，发生异常：{}]",
-                            tenantId, joinPoint.getSignature(), ExceptionUtils.getStackTrace(e)));
-                }
-            });
-        });
+        String jobName = joinPoint.getSignature().getDeclaringType().getSimpleName() + "#" + joinPoint.getSignature().getName();
+        XxlJobHelper.log(StrUtil.format("[任务({}) 分片({}/{}) 开始执行，租户数：{}]",
+                jobName, XxlJobHelper.getShardIndex(), XxlJobHelper.getShardTotal(), tenantIds.size()));
+        TenantJobExecutor.Result result = tenantJobExecutor.execute(jobName, tenantIds, tenantJob, joinPoint::proceed);
 
         // 记录执行结果
-        if (success.get()) {
-            XxlJobHelper.handleSuccess(JsonUtils.toJsonString(results));
+        if (result.success()) {
+            XxlJobHelper.handleSuccess(JsonUtils.toJsonString(result.results()));
         } else {
-            XxlJobHelper.handleFail(JsonUtils.toJsonString(results));
+            XxlJobHelper.handleFail(JsonUtils.toJsonString(result.results()));
         }
     }
+
+    /**
+     * 获得当前分片的租户列表
+     * <p>
+     * 按租户编号取模分配，与租户列表的顺序无关，各个实例获取到的租户列表不一致时也不会重复执行
+     *
+     * @param tenantIds 全部租户编号
+     * @return 当前分片的租户编号
+     */
+    private static List<Long> getShardTenantIds(List<Long> tenantIds) {
+        int shardTotal = XxlJobHelper.getShardTotal();
+        if (CollUtil.isEmpty(tenantIds) || shardTotal <= 1) {
+            return tenantIds;
+        }
+
+        int shardIndex = XxlJobHelper.getShardIndex();
+        return tenantIds.stream()
+                .filter(tenantId -> Math.floorMod(Long.hashCode(tenantId), shardTotal) == shardIndex)
+                .collect(Collectors.toList());
+    }
 }
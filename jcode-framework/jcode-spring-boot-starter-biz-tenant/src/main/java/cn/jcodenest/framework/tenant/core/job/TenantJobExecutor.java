@@ -0,0 +1,223 @@
+package cn.jcodenest.framework.tenant.core.job;
+
+import cn.hutool.core.exceptions.ExceptionUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.jcodenest.framework.common.util.thread.VirtualThreadUtils;
+import cn.jcodenest.framework.tenant.config.properties.TenantProperties;
+import cn.jcodenest.framework.tenant.core.util.TenantUtils;
+import com.xxl.job.core.context.XxlJobContext;
+import com.xxl.job.core.context.XxlJobHelper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 多租户 Job 的执行器, 使用独立的线程池按租户并发执行 Job
+ *
+ * <p>
+ * 执行规则：
+ *  1. 所有 Job 共享一个线程池：有界的平台线程池, 或者 JDK 21+ 下的虚拟线程
+ *  2. 单个 Job 同时执行的租户数由 {@link TenantJob#concurrency()} 限制, 避免一个 Job 占满线程池
+ *  3. 单个租户执行超时后中断执行线程, 并标记该租户执行失败, 不影响其它租户
+ *  4. 并发许可在执行线程真正结束时才释放, 因此超时后仍未响应中断的任务会继续占用许可, 并发数不会超过限制
+ *  5. 线程池已满时拒绝执行, 并标记该租户执行失败, 不会由调度线程执行（否则无法中断, 超时也不会生效）
+ * </p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@Slf4j
+public class TenantJobExecutor {
+
+    /**
+     * 线程名前缀
+     */
+    private static final String THREAD_NAME_PREFIX = "tenant-job-";
+
+    /**
+     * 进度日志的打印间隔, 每完成 10% 打印一次
+     */
+    private static final int PROGRESS_LOG_STEPS = 10;
+
+    private final ExecutorService executor;
+
+    private final int defaultConcurrency;
+
+    private final TenantJobMetrics metrics;
+
+    public TenantJobExecutor(TenantProperties.Job properties, TenantJobMetrics metrics) {
+        this.executor = createExecutor(properties);
+        this.defaultConcurrency = properties.getConcurrency();
+        this.metrics = metrics;
+    }
+
+    /**
+     * 按租户执行 Job
+     *
+     * @param jobName   Job 名
+     * @param tenantIds 租户编号数组
+     * @param tenantJob 注解, 用于获取并发数、超时时间
+     * @param task      Job 逻辑, 执行时已设置租户上下文
+     * @return 执行结果
+     * @throws InterruptedException 调度线程被中断
+     */
+    public Result execute(String jobName, List<Long> tenantIds, TenantJob tenantJob, Task task) throws InterruptedException {
+        int concurrency = tenantJob.concurrency() > 0 ? tenantJob.concurrency() : defaultConcurrency;
+        long timeoutNanos = tenantJob.timeUnit().toNanos(tenantJob.timeout());
+        Map<Long, String> results = new ConcurrentHashMap<>();
+        // 标记，是否存在失败的情况
+        AtomicBoolean success = new AtomicBoolean(true);
+        AtomicInteger completed = new AtomicInteger();
+        // XXL-Job 上下文，传递给执行线程，用于记录执行日志
+        XxlJobContext xxlJobContext = XxlJobContext.getXxlJobContext();
+
+        metrics.start(jobName, tenantIds.size());
+        Semaphore permits = new Semaphore(concurrency);
+        CompletableFuture<?>[] futures = new CompletableFuture[tenantIds.size()];
+        for (int i = 0; i < tenantIds.size(); i++) {
+            Long tenantId = tenantIds.get(i);
+            permits.acquire();
+            long startTime = System.nanoTime();
+            CompletableFuture<Object> future = new CompletableFuture<>();
+            // 标记，许可是否已被领取：执行线程开始执行时领取，结束时释放；超时时尚未开始执行的，由超时处理释放
+            AtomicBoolean claimed = new AtomicBoolean();
+            Future<?> running = submit(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return;
+                }
+                // 执行线程会被复用，因此执行完成后恢复原有的上下文
+                XxlJobContext previousContext = XxlJobContext.getXxlJobContext();
+                XxlJobContext.setXxlJobContext(xxlJobContext);
+                try {
+                    TenantUtils.execute(tenantId, () -> {
+                        try {
+                            future.complete(task.execute());
+                        } catch (Throwable e) {
+                            future.completeExceptionally(e);
+                            // 打印异常
+                            XxlJobHelper.log(StrUtil.format("[多租户({}) 执行任务({})，发生异常：{}]",
+                                    tenantId, jobName, ExceptionUtils.getStackTrace(e)));
+                        }
+                    });
+                } finally {
+                    logProgress(jobName, completed.incrementAndGet(), tenantIds.size());
+                    XxlJobContext.setXxlJobContext(previousContext);
+                    permits.release();
+                }
+            }, future);
+            if (running == null) {
+                permits.release();
+            }
+            if (timeoutNanos > 0) {
+                future.orTimeout(timeoutNanos, TimeUnit.NANOSECONDS);
+            }
+
+            futures[i] = future.handle((result, ex) -> {
+                long duration = System.nanoTime() - startTime;
+                if (ex == null) {
+                    results.put(tenantId, StrUtil.toStringOrEmpty(result));
+                } else {
+                    // 超时的情况，中断执行线程；尚未开始执行的，直接释放许可
+                    if (ex instanceof TimeoutException && running != null) {
+                        running.cancel(true);
+                        if (claimed.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                    results.put(tenantId, ex instanceof TimeoutException ? "执行超时" : ExceptionUtil.getRootCauseMessage(ex));
+                    success.set(false);
+                }
+                metrics.record(jobName, tenantId, ex == null, duration);
+                return null;
+            });
+        }
+
+        CompletableFuture.allOf(futures).join();
+        return new Result(results, success.get());
+    }
+
+    /**
+     * 提交任务, 线程池拒绝时直接标记失败
+     *
+     * @param runnable 任务
+     * @param future   任务对应的结果
+     * @return 执行中的任务, 被拒绝时返回 null
+     */
+    private Future<?> submit(Runnable runnable, CompletableFuture<Object> future) {
+        try {
+            return executor.submit(runnable);
+        } catch (RejectedExecutionException ex) {
+            future.completeExceptionally(ex);
+            return null;
+        }
+    }
+
+    private static void logProgress(String jobName, int completed, int total) {
+        int step = Math.max(1, total / PROGRESS_LOG_STEPS);
+        if (completed % step == 0 || completed == total) {
+            XxlJobHelper.log(StrUtil.format("[任务({}) 执行进度：{}/{}]", jobName, completed, total));
+        }
+    }
+
+    /**
+     * 关闭线程池, 由 Spring 在容器关闭时调用
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static ExecutorService createExecutor(TenantProperties.Job properties) {
+        if (Boolean.TRUE.equals(properties.getVirtualThreads())) {
+            ExecutorService executor = VirtualThreadUtils.newVirtualThreadPerTaskExecutor(THREAD_NAME_PREFIX);
+            if (executor != null) {
+                log.info("[createExecutor][创建多租户 Job 线程池, 使用虚拟线程]");
+                return executor;
+            }
+            log.warn("[createExecutor][当前 JDK 不支持虚拟线程, 多租户 Job 改为使用平台线程]");
+        }
+
+        AtomicInteger index = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(properties.getMaxPoolSize(), properties.getMaxPoolSize(),
+                60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> new Thread(runnable, THREAD_NAME_PREFIX + index.getAndIncrement()),
+                // 队列已满时拒绝执行，由 submit 标记失败；不使用 CallerRunsPolicy，调度线程执行时无法中断，超时不会生效
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        log.info("[createExecutor][创建多租户 Job 线程池, 最大线程数({}) 队列长度({})]",
+                properties.getMaxPoolSize(), properties.getQueueCapacity());
+        return executor;
+    }
+
+    /**
+     * Job 逻辑
+     */
+    @FunctionalInterface
+    public interface Task {
+
+        /**
+         * 执行 Job
+         *
+         * @return 执行结果
+         * @throws Throwable 执行异常
+         */
+        Object execute() throws Throwable;
+    }
+
+    /**
+     * 执行结果
+     *
+     * @param results KEY：租户编号; VALUE：执行结果或者异常信息
+     * @param success 是否全部成功
+     */
+    public record Result(Map<Long, String> results, boolean success) {
+    }
+}
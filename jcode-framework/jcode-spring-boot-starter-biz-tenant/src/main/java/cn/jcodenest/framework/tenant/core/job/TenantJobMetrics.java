@@ -0,0 +1,40 @@
+package cn.jcodenest.framework.tenant.core.job;
+
+/**
+ * 多租户 Job 的执行统计
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+public interface TenantJobMetrics {
+
+    /**
+     * 不做任何统计的实现, 未引入 Micrometer 时使用
+     */
+    TenantJobMetrics NOOP = new TenantJobMetrics() {
+    };
+
+    /**
+     * Job 开始执行
+     *
+     * @param jobName Job 名
+     * @param total   当前实例分配到的租户数
+     */
+    default void start(String jobName, int total) {
+    }
+
+    /**
+     * 单个租户执行完成
+     *
+     * @param jobName       Job 名
+     * @param tenantId      租户编号
+     * @param success       是否成功
+     * @param durationNanos 执行耗时, 单位：纳秒
+     */
+    default void record(String jobName, Long tenantId, boolean success, long durationNanos) {
+    }
+}
@@ -1,10 +1,12 @@
 package cn.jcodenest.framework.tenant.core.redis;
 
 import cn.hutool.core.collection.CollUtil;
+import cn.jcodenest.framework.redis.core.RedisCacheGenerations;
 import cn.jcodenest.framework.redis.core.TimeoutRedisCacheManager;
 import cn.jcodenest.framework.tenant.core.content.TenantContextHolder;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.cache.RedisCacheWriter;
@@ -13,7 +15,14 @@ import java.util.Set;
 
 /**
  * 多租户的 {@link RedisCacheManager} 实现类
- * 操作指定 name 的 {@link Cache} 时，自动拼接租户后缀，格式为 name + ":" + tenantId + 后缀
+ * 操作指定 name 的 {@link Cache} 时，自动拼接租户前缀，Redis Key 格式为 name + ":" + tenantId + ":" + key
+ *
+ * <p>
+ * 租户编号在计算 Key 前缀时拼接，而不是拼接到缓存名上，因此：
+ *  1. 每个缓存名只有一个 {@link RedisCache} 对象，不会随着租户数量增长
+ *  2. 缓存名中的过期时间只在创建 {@link RedisCache} 时解析一次
+ *  3. 开启代数清空时，每个租户有独立的代数，清空缓存只影响当前租户
+ * </p>
  *
  * @author JCodeNest
  * @version 1.0.0
@@ -26,7 +35,7 @@ import java.util.Set;
 public class TenantRedisCacheManager extends TimeoutRedisCacheManager {
 
     /**
-     * 忽略的缓存名称
+     * 忽略的缓存名称，按 cacheNames 原样匹配（包括 "#ttl" 部分）
      */
     private final Set<String> ignoreCaches;
 
@@ -38,24 +47,38 @@ public class TenantRedisCacheManager extends TimeoutRedisCacheManager {
      * @param ignoreCaches     忽略的缓存名称
      */
     public TenantRedisCacheManager(RedisCacheWriter cacheWriter, RedisCacheConfiguration defaultCacheConfiguration, Set<String> ignoreCaches) {
-        super(cacheWriter, defaultCacheConfiguration);
+        this(cacheWriter, defaultCacheConfiguration, ignoreCaches, null);
+    }
+
+    /**
+     * 构造器
+     *
+     * @param cacheWriter      缓存写入器
+     * @param defaultCacheConfiguration 默认缓存配置
+     * @param ignoreCaches     忽略的缓存名称
+     * @param generations      缓存的代数管理器，允许为 null
+     */
+    public TenantRedisCacheManager(RedisCacheWriter cacheWriter, RedisCacheConfiguration defaultCacheConfiguration,
+                                   Set<String> ignoreCaches, RedisCacheGenerations generations) {
+        super(cacheWriter, defaultCacheConfiguration, generations);
         this.ignoreCaches = ignoreCaches;
     }
 
     /**
-     * 获取缓存
+     * 未忽略多租户的缓存，使用当前租户编号作为 Key 的命名空间
      *
      * @param name 缓存名称
-     * @return 缓存
+     * @return 租户编号，忽略时返回 null
      */
     @Override
-    public Cache getCache(String name) {
-        // 如果开启多租户则 name 拼接租户后缀
-        if (!TenantContextHolder.isIgnore() && TenantContextHolder.getTenantId() != null && !CollUtil.contains(ignoreCaches, name)) {
-            name = name + ":" + TenantContextHolder.getTenantId();
+    protected String getKeyNamespace(String name) {
+        if (CollUtil.contains(ignoreCaches, name)) {
+            return null;
         }
-
-        // 继续基于父方法
-        return super.getCache(name);
+        Long tenantId = TenantContextHolder.getTenantId();
+        if (TenantContextHolder.isIgnore() || tenantId == null) {
+            return null;
+        }
+        return String.valueOf(tenantId);
     }
 }
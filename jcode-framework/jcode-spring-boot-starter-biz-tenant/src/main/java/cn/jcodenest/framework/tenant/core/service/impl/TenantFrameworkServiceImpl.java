@@ -2,9 +2,10 @@ package cn.jcodenest.framework.tenant.core.service.impl;
 
 import cn.jcodenest.framework.common.biz.system.tenant.TenantCommonApi;
 import cn.jcodenest.framework.common.pojo.CommonResult;
+import cn.jcodenest.framework.common.util.cache.LocalCacheRegistry;
 import cn.jcodenest.framework.tenant.core.service.TenantFrameworkService;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 
@@ -26,6 +27,20 @@ import static cn.jcodenest.framework.common.util.cache.CacheUtils.buildAsyncRelo
 @RequiredArgsConstructor
 public class TenantFrameworkServiceImpl implements TenantFrameworkService {
 
+    /**
+     * {@link #getTenantIds()} 的缓存名, 用于广播失效
+     *
+     * <p>新增、删除租户后, 写入方调用 {@link LocalCacheRegistry#publish(String, java.util.Collection)} 失效全部</p>
+     */
+    public static final String TENANT_IDS_CACHE_NAME = "tenant:ids";
+
+    /**
+     * {@link #validTenant(Long)} 的缓存名, 用于广播失效
+     *
+     * <p>修改租户状态、过期时间后, 写入方以租户编号调用 {@link LocalCacheRegistry#publish(String, java.util.Collection)}</p>
+     */
+    public static final String VALID_TENANT_CACHE_NAME = "tenant:valid";
+
     /**
      * 多租户通用 API
      */
@@ -35,8 +50,13 @@ public class TenantFrameworkServiceImpl implements TenantFrameworkService {
      * 针对 {@link #getTenantIds()} 的缓存
      */
     private final LoadingCache<Object, List<Long>> getTenantIdsCache = buildAsyncReloadingCache(
+            TENANT_IDS_CACHE_NAME,
             // 过期时间 1 分钟
             Duration.ofMinutes(1L),
+            // 开启广播消费后, 依赖失效事件刷新, 过期时间延长为 10 分钟
+            Duration.ofMinutes(10L),
+            // 只有一个 key
+            1L,
             new CacheLoader<>() {
                 @Override
                 public List<Long> load(Object key) {
@@ -48,8 +68,13 @@ public class TenantFrameworkServiceImpl implements TenantFrameworkService {
      * 针对 {@link #validTenant(Long)} 的缓存
      */
     private final LoadingCache<Long, CommonResult<Boolean>> validTenantCache = buildAsyncReloadingCache(
+            VALID_TENANT_CACHE_NAME,
             // 过期时间 1 分钟
             Duration.ofMinutes(1L),
+            // 开启广播消费后, 依赖失效事件刷新, 过期时间延长为 10 分钟
+            Duration.ofMinutes(10L),
+            // 最多缓存 10000 个租户
+            10000L,
             new CacheLoader<>() {
                 @Override
                 public CommonResult<Boolean> load(Long id) {
@@ -78,4 +103,12 @@ public class TenantFrameworkServiceImpl implements TenantFrameworkService {
     public void validTenant(Long id) {
         validTenantCache.get(id).checkError();
     }
+
+    /**
+     * 注销本地缓存, 由 Spring 容器关闭时调用
+     */
+    public void close() {
+        LocalCacheRegistry.unregister(TENANT_IDS_CACHE_NAME, getTenantIdsCache);
+        LocalCacheRegistry.unregister(VALID_TENANT_CACHE_NAME, validTenantCache);
+    }
 }
@@ -0,0 +1,117 @@
+package cn.jcodenest.framework.tenant.core.content;
+
+import cn.jcodenest.framework.common.content.JCodeContext;
+import cn.jcodenest.framework.common.content.JCodeContextHolder;
+import com.alibaba.ttl.threadpool.TtlExecutors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link TenantContextHolder} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class TenantContextHolderTest {
+
+    @BeforeEach
+    void setUp() {
+        JCodeContextHolder.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        JCodeContextHolder.clear();
+    }
+
+    @Test
+    void testSetTenantId() {
+        // 调用
+        TenantContextHolder.setTenantId(1L);
+        // 断言：写入共享的上下文
+        assertEquals(1L, TenantContextHolder.getTenantId());
+        assertEquals(1L, TenantContextHolder.getRequiredTenantId());
+        assertEquals(1L, JCodeContextHolder.get().getTenantId());
+    }
+
+    @Test
+    void testGetRequiredTenantId_notExists() {
+        // 调用，并断言
+        assertNull(TenantContextHolder.getTenantId());
+        assertThrows(NullPointerException.class, TenantContextHolder::getRequiredTenantId);
+    }
+
+    @Test
+    void testSetIgnore() {
+        // 调用，并断言
+        TenantContextHolder.setIgnore(true);
+        assertTrue(TenantContextHolder.isIgnore());
+        // 调用，并断言：null 视为不忽略
+        TenantContextHolder.setIgnore(null);
+        assertFalse(TenantContextHolder.isIgnore());
+    }
+
+    @Test
+    void testClear() {
+        // 准备参数：其它模块写入的内容
+        Object securityContext = new Object();
+        JCodeContextHolder.update(context -> context.withSecurityContext(securityContext).pushEnvTag("dev"));
+        TenantContextHolder.setTenantId(1L);
+        TenantContextHolder.setIgnore(true);
+
+        // 调用
+        TenantContextHolder.clear();
+        // 断言：只清理租户，不影响其它模块
+        assertNull(TenantContextHolder.getTenantId());
+        assertFalse(TenantContextHolder.isIgnore());
+        assertSame(securityContext, JCodeContextHolder.get().getSecurityContext());
+        assertEquals(List.of("dev"), JCodeContextHolder.get().getEnvTags());
+
+        // 调用，并断言：只有租户时，清理后上下文为空
+        JCodeContextHolder.clear();
+        TenantContextHolder.setTenantId(1L);
+        TenantContextHolder.clear();
+        assertSame(JCodeContext.EMPTY, JCodeContextHolder.get());
+    }
+
+    @Test
+    void testPropagation_childThread() throws Exception {
+        // 准备参数：线程池的线程在设置租户之前创建，只能通过 TTL 传递
+        ExecutorService executor = TtlExecutors.getTtlExecutorService(Executors.newSingleThreadExecutor());
+        try {
+            executor.submit(() -> null).get(1, TimeUnit.SECONDS);
+            TenantContextHolder.setTenantId(1L);
+            TenantContextHolder.setIgnore(true);
+
+            // 调用：子线程读取后修改
+            Long childTenantId = executor.submit(() -> {
+                Long tenantId = TenantContextHolder.getTenantId();
+                assertTrue(TenantContextHolder.isIgnore());
+                TenantContextHolder.setTenantId(2L);
+                return tenantId;
+            }).get(1, TimeUnit.SECONDS);
+            // 断言：子线程继承父线程的租户，修改不影响父线程
+            assertEquals(1L, childTenantId);
+            assertEquals(1L, TenantContextHolder.getTenantId());
+
+            // 调用：父线程清理后提交
+            TenantContextHolder.clear();
+            // 断言
+            assertNull(executor.submit(TenantContextHolder::getTenantId).get(1, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
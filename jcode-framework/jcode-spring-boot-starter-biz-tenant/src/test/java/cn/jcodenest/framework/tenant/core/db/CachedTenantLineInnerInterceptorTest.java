@@ -0,0 +1,152 @@
+package cn.jcodenest.framework.tenant.core.db;
+
+import cn.jcodenest.framework.mybatis.config.properties.SqlRewriteCacheProperties;
+import cn.jcodenest.framework.mybatis.core.rewrite.SqlRewriteCache;
+import cn.jcodenest.framework.tenant.config.properties.TenantProperties;
+import cn.jcodenest.framework.tenant.core.content.TenantContextHolder;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link CachedTenantLineInnerInterceptor} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class CachedTenantLineInnerInterceptorTest {
+
+    private static final MybatisConfiguration CONFIGURATION = new MybatisConfiguration();
+
+    private SqlRewriteCache sqlRewriteCache;
+
+    private CachedTenantLineInnerInterceptor interceptor;
+
+    @BeforeAll
+    static void initTableInfo() {
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(CONFIGURATION, ""), TestTenantDO.class);
+    }
+
+    @BeforeEach
+    void setUp() {
+        TenantProperties tenantProperties = new TenantProperties();
+        tenantProperties.setIgnoreTables(Set.of("system_config"));
+        SqlRewriteCacheProperties sqlRewriteCacheProperties = new SqlRewriteCacheProperties();
+        sqlRewriteCacheProperties.setEnable(true);
+        sqlRewriteCache = new SqlRewriteCache(sqlRewriteCacheProperties);
+        interceptor = new CachedTenantLineInnerInterceptor(new TenantDatabaseInterceptor(tenantProperties), sqlRewriteCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    void testBeforeQuery_crossTenant() {
+        // 准备参数
+        String sql = "SELECT * FROM test_tenant WHERE id = ?";
+
+        // 调用：同一条 SQL，先后在两个租户下执行
+        TenantContextHolder.setTenantId(1L);
+        BoundSql boundSql01 = query(sql, 1);
+        TenantContextHolder.setTenantId(2L);
+        BoundSql boundSql02 = query(sql, 1);
+
+        // 断言：复用同一个重写结果，但各自绑定当前租户的编号
+        assertEquals(boundSql01.getSql(), boundSql02.getSql());
+        assertTrue(boundSql01.getSql().contains("tenant_id = ?"));
+        assertEquals(1L, getTenantIdValue(boundSql01));
+        assertEquals(2L, getTenantIdValue(boundSql02));
+        assertEquals(1, sqlRewriteCache.getNativeCache().stats().hitCount());
+    }
+
+    @Test
+    void testBeforeQuery_placeholderInStringAndComment() {
+        // 准备参数
+        String sql = "SELECT * FROM test_tenant /* ? */ WHERE name = '?' AND id = ?";
+        TenantContextHolder.setTenantId(1L);
+
+        // 调用
+        BoundSql boundSql = query(sql, 1);
+        // 断言：原有参数与租户编号的顺序正确
+        List<ParameterMapping> mappings = boundSql.getParameterMappings();
+        assertEquals(2, mappings.size());
+        assertEquals("param0", mappings.get(0).getProperty());
+        assertTrue(boundSql.getSql().contains("'?'"));
+        assertEquals(1L, getTenantIdValue(boundSql));
+    }
+
+    @Test
+    void testBeforeQuery_ignoreTable() {
+        // 准备参数
+        TenantContextHolder.setTenantId(1L);
+
+        // 调用，并断言：配置的忽略表、非本项目的表都不拼接租户条件
+        assertFalse(query("SELECT * FROM system_config WHERE id = ?", 1).getSql().contains("tenant_id"));
+        assertFalse(query("SELECT * FROM `SYSTEM_CONFIG` WHERE id = ?", 1).getSql().contains("tenant_id"));
+        assertFalse(query("SELECT * FROM unknown_table WHERE id = ?", 1).getSql().contains("tenant_id"));
+    }
+
+    @Test
+    void testBeforeQuery_ignoreTenant() {
+        // 准备参数
+        String sql = "SELECT * FROM test_tenant WHERE id = ?";
+        TenantContextHolder.setTenantId(1L);
+        BoundSql tenantBoundSql = query(sql, 1);
+
+        // 调用：忽略租户后，不能命中租户模式下的重写结果
+        TenantContextHolder.setIgnore(true);
+        BoundSql ignoreBoundSql = query(sql, 1);
+
+        // 断言
+        assertTrue(tenantBoundSql.getSql().contains("tenant_id"));
+        assertFalse(ignoreBoundSql.getSql().contains("tenant_id"));
+        assertEquals(1, ignoreBoundSql.getParameterMappings().size());
+    }
+
+    private BoundSql query(String sql, int parameterCount) {
+        MappedStatement ms = new MappedStatement.Builder(CONFIGURATION, "test.select",
+                new StaticSqlSource(CONFIGURATION, sql), SqlCommandType.SELECT).build();
+        List<ParameterMapping> mappings = new ArrayList<>();
+        for (int i = 0; i < parameterCount; i++) {
+            mappings.add(new ParameterMapping.Builder(CONFIGURATION, "param" + i, Object.class).build());
+        }
+        BoundSql boundSql = new BoundSql(CONFIGURATION, sql, mappings, null);
+        interceptor.beforeQuery(null, ms, null, null, null, boundSql);
+        return boundSql;
+    }
+
+    private static Object getTenantIdValue(BoundSql boundSql) {
+        List<ParameterMapping> mappings = boundSql.getParameterMappings();
+        return boundSql.getAdditionalParameter(mappings.get(mappings.size() - 1).getProperty());
+    }
+
+    @TableName("test_tenant")
+    public static class TestTenantDO extends TenantBaseDO {
+
+        private Long id;
+
+        private String name;
+    }
+}
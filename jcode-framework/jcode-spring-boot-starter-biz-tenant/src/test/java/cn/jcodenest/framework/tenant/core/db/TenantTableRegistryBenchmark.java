@@ -0,0 +1,96 @@
+package cn.jcodenest.framework.tenant.core.db;
+
+import com.baomidou.mybatisplus.extension.toolkit.SqlParserUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TenantTableRegistry} 的 JMH 基准测试, 对比 {@link TenantDatabaseInterceptor#ignoreTable(String)} 查询表的开销
+ *
+ * <p>
+ * 对比对象：
+ *  1. legacy: 原有的 Map, 每次查询前 removeWrapperSymbol + toLowerCase
+ *  2. registry: 不可变的开放寻址哈希表, 查询时不生成新的字符串
+ * </p>
+ *
+ * <p>运行方式：直接运行 main 方法, 或者 mvn test-compile 后使用 org.openjdk.jmh.Main 运行</p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TenantTableRegistryBenchmark {
+
+    /**
+     * 模拟的表数量
+     */
+    private static final int TABLE_COUNT = 200;
+
+    /**
+     * 查询的表名, 包含 SQL 中常见的大小写、包裹符号写法
+     */
+    private final String[] queries = new String[64];
+
+    private final Map<String, Boolean> legacy = new ConcurrentHashMap<>();
+
+    private final TenantTableRegistry registry = new TenantTableRegistry();
+
+    private int index;
+
+    @Setup
+    public void setup() {
+        Map<String, Boolean> tables = new HashMap<>();
+        for (int i = 0; i < TABLE_COUNT; i++) {
+            String tableName = "system_table_" + i;
+            boolean ignore = i % 3 == 0;
+            tables.put(tableName, ignore);
+            legacy.put(tableName.toLowerCase(), ignore);
+            legacy.put(tableName.toUpperCase(), ignore);
+        }
+        registry.putAll(tables);
+
+        for (int i = 0; i < queries.length; i++) {
+            String tableName = "system_table_" + (i * 3);
+            queries[i] = switch (i % 3) {
+                case 0 -> tableName;
+                case 1 -> "`" + tableName + "`";
+                default -> tableName.toUpperCase();
+            };
+        }
+    }
+
+    @Benchmark
+    public Boolean legacy() {
+        String tableName = SqlParserUtils.removeWrapperSymbol(nextQuery());
+        return legacy.get(tableName.toLowerCase());
+    }
+
+    @Benchmark
+    public Boolean registry() {
+        return registry.get(nextQuery());
+    }
+
+    private String nextQuery() {
+        return queries[index++ & (queries.length - 1)];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TenantTableRegistryBenchmark.class.getSimpleName()).build()).run();
+    }
+}
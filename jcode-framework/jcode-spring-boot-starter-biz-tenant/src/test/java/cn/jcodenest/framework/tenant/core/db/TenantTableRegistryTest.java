@@ -0,0 +1,126 @@
+package cn.jcodenest.framework.tenant.core.db;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link TenantTableRegistry} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class TenantTableRegistryTest {
+
+    @Test
+    void testGet_caseInsensitive() {
+        // 准备参数
+        TenantTableRegistry registry = new TenantTableRegistry();
+        registry.putAll(Map.of("system_users", false, "DUAL", true));
+
+        // 调用，并断言
+        assertEquals(false, registry.get("system_users"));
+        assertEquals(false, registry.get("SYSTEM_USERS"));
+        assertEquals(false, registry.get("System_Users"));
+        assertEquals(true, registry.get("dual"));
+        assertEquals(true, registry.get("Dual"));
+        assertNull(registry.get("system_role"));
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    void testGet_wrapperSymbol() {
+        // 准备参数
+        TenantTableRegistry registry = new TenantTableRegistry();
+        registry.put("`system_users`", false);
+
+        // 调用，并断言：与 SqlParserUtils#removeWrapperSymbol 一致，忽略包裹符号
+        assertEquals(false, registry.get("system_users"));
+        assertEquals(false, registry.get("`system_users`"));
+        assertEquals(false, registry.get("`SYSTEM_USERS`"));
+        assertEquals(false, registry.get("\"System_Users\""));
+        assertEquals(false, registry.get("[system_users]"));
+        assertEquals(false, registry.get("<system_users>"));
+        assertNull(registry.get("`system_role`"));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void testGet_turkishLocale() {
+        // 准备参数：土耳其语下 "i".toUpperCase() 为 "İ"，不能影响注册表
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            TenantTableRegistry registry = new TenantTableRegistry();
+            registry.put("infra_file", false);
+
+            // 调用，并断言
+            assertEquals(false, registry.get("INFRA_FILE"));
+            assertEquals(false, registry.get("`INFRA_FILE`"));
+            assertEquals(false, registry.get("infra_file"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void testPut_override() {
+        // 准备参数
+        TenantTableRegistry registry = new TenantTableRegistry();
+        registry.put("system_users", true);
+
+        // 调用
+        registry.put("SYSTEM_USERS", false);
+        // 断言：大小写不同视为同一个表
+        assertEquals(false, registry.get("system_users"));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void testPut_overrideSnapshot() {
+        // 准备参数
+        TenantTableRegistry registry = new TenantTableRegistry();
+        registry.putAll(Map.of("system_users", true));
+
+        // 调用
+        registry.put("`SYSTEM_USERS`", false);
+        // 断言：覆盖批量注册的表，不重复计数
+        assertEquals(false, registry.get("system_users"));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void testPut_maxDiscoveredTables() {
+        // 准备参数：启动后发现的表达到上限
+        TenantTableRegistry registry = new TenantTableRegistry();
+        registry.putAll(Map.of("system_users", false));
+        for (int i = 0; i < TenantTableRegistry.MAX_DISCOVERED_TABLES; i++) {
+            registry.put("log_" + i, true);
+        }
+
+        // 调用
+        registry.put("log_overflow", true);
+        registry.put("LOG_0", false);
+        // 断言：超过上限的表不再注册，已注册的表仍然可以更新
+        assertNull(registry.get("log_overflow"));
+        assertEquals(false, registry.get("log_0"));
+        assertEquals(true, registry.get("`LOG_1`"));
+        assertEquals(false, registry.get("system_users"));
+        assertEquals(TenantTableRegistry.MAX_DISCOVERED_TABLES + 1, registry.size());
+    }
+
+    @Test
+    void testNormalize() {
+        assertEquals("system_users", TenantTableRegistry.normalize("`SYSTEM_USERS`"));
+        assertEquals("system_users", TenantTableRegistry.normalize("\"System_Users\""));
+        assertEquals("system_users", TenantTableRegistry.normalize("system_users"));
+        assertEquals("`", TenantTableRegistry.normalize("`"));
+    }
+}
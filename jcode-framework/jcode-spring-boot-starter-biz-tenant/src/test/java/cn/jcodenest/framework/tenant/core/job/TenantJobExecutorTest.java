@@ -0,0 +1,199 @@
+package cn.jcodenest.framework.tenant.core.job;
+
+import cn.jcodenest.framework.tenant.config.properties.TenantProperties;
+import cn.jcodenest.framework.tenant.core.content.TenantContextHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link TenantJobExecutor} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class TenantJobExecutorTest {
+
+    private TenantJobExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testExecute_success() throws InterruptedException {
+        // 准备参数
+        executor = new TenantJobExecutor(buildProperties(4, 16), TenantJobMetrics.NOOP);
+
+        // 调用：执行时已设置租户上下文
+        TenantJobExecutor.Result result = executor.execute("test", List.of(1L, 2L, 3L), buildTenantJob(2, 0),
+                TenantContextHolder::getRequiredTenantId);
+
+        // 断言
+        assertTrue(result.success());
+        assertEquals("1", result.results().get(1L));
+        assertEquals("2", result.results().get(2L));
+        assertEquals("3", result.results().get(3L));
+    }
+
+    @Test
+    void testExecute_exception() throws InterruptedException {
+        // 准备参数
+        executor = new TenantJobExecutor(buildProperties(4, 16), TenantJobMetrics.NOOP);
+
+        // 调用：租户 2 执行失败，不影响其它租户
+        TenantJobExecutor.Result result = executor.execute("test", List.of(1L, 2L, 3L), buildTenantJob(2, 0), () -> {
+            if (TenantContextHolder.getRequiredTenantId() == 2L) {
+                throw new IllegalStateException("租户 2 执行失败");
+            }
+            return "ok";
+        });
+
+        // 断言
+        assertFalse(result.success());
+        assertEquals("ok", result.results().get(1L));
+        assertTrue(result.results().get(2L).contains("租户 2 执行失败"));
+        assertEquals("ok", result.results().get(3L));
+    }
+
+    @Test
+    void testExecute_concurrency() throws InterruptedException {
+        // 准备参数
+        executor = new TenantJobExecutor(buildProperties(8, 16), TenantJobMetrics.NOOP);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        // 调用
+        TenantJobExecutor.Result result = executor.execute("test", List.of(1L, 2L, 3L, 4L, 5L, 6L), buildTenantJob(2, 0), () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return "ok";
+        });
+
+        // 断言
+        assertTrue(result.success());
+        assertEquals(2, maxRunning.get());
+    }
+
+    @Test
+    void testExecute_timeoutHoldsPermitUntilWorkerExits() throws InterruptedException {
+        // 准备参数
+        executor = new TenantJobExecutor(buildProperties(4, 16), TenantJobMetrics.NOOP);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        AtomicBoolean firstExited = new AtomicBoolean();
+        AtomicBoolean startedBeforeFirstExited = new AtomicBoolean();
+
+        // 调用：租户 1 超时被中断后，继续执行一段时间才退出
+        TenantJobExecutor.Result result = executor.execute("test", List.of(1L, 2L), buildTenantJob(1, 100), () -> {
+            if (TenantContextHolder.getRequiredTenantId() == 2L) {
+                startedBeforeFirstExited.set(!firstExited.get());
+                return "ok";
+            }
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+                // 模拟不立即响应中断的任务
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+                while (System.nanoTime() < deadline) {
+                    Thread.onSpinWait();
+                }
+            } finally {
+                firstExited.set(true);
+            }
+            return "ok";
+        });
+
+        // 断言：超时中断执行线程，并且执行线程退出前，不会开始执行下一个租户
+        assertFalse(result.success());
+        assertEquals("执行超时", result.results().get(1L));
+        assertEquals("ok", result.results().get(2L));
+        assertTrue(interrupted.get());
+        assertFalse(startedBeforeFirstExited.get());
+    }
+
+    @Test
+    void testExecute_rejected() throws InterruptedException {
+        // 准备参数：1 个线程、队列长度 1，同时提交 3 个租户
+        CountDownLatch rejected = new CountDownLatch(1);
+        TenantJobMetrics metrics = new TenantJobMetrics() {
+
+            @Override
+            public void record(String jobName, Long tenantId, boolean success, long durationNanos) {
+                if (!success) {
+                    rejected.countDown();
+                }
+            }
+
+        };
+        executor = new TenantJobExecutor(buildProperties(1, 1), metrics);
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+        // 调用：租户 1 等待租户 3 被拒绝后才结束
+        TenantJobExecutor.Result result = executor.execute("test", List.of(1L, 2L, 3L), buildTenantJob(3, 0), () -> {
+            threadNames.add(Thread.currentThread().getName());
+            if (TenantContextHolder.getRequiredTenantId() == 1L) {
+                assertTrue(rejected.await(5, TimeUnit.SECONDS));
+            }
+            return "ok";
+        });
+
+        // 断言：被拒绝的租户标记失败，不会由调度线程执行
+        assertFalse(result.success());
+        assertEquals("ok", result.results().get(1L));
+        assertEquals("ok", result.results().get(2L));
+        assertNotEquals("ok", result.results().get(3L));
+        assertTrue(threadNames.stream().allMatch(name -> name.startsWith("tenant-job-")));
+    }
+
+    private static TenantProperties.Job buildProperties(int maxPoolSize, int queueCapacity) {
+        TenantProperties.Job properties = new TenantProperties.Job();
+        properties.setMaxPoolSize(maxPoolSize);
+        properties.setQueueCapacity(queueCapacity);
+        return properties;
+    }
+
+    private static TenantJob buildTenantJob(int concurrency, int timeoutMillis) {
+        return new TenantJob() {
+
+            @Override
+            public int concurrency() {
+                return concurrency;
+            }
+
+            @Override
+            public int timeout() {
+                return timeoutMillis;
+            }
+
+            @Override
+            public TimeUnit timeUnit() {
+                return TimeUnit.MILLISECONDS;
+            }
+
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return TenantJob.class;
+            }
+
+        };
+    }
+}
@@ -0,0 +1,185 @@
+package cn.jcodenest.framework.tenant.core.redis;
+
+import cn.jcodenest.framework.redis.core.RedisCacheGenerations;
+import cn.jcodenest.framework.tenant.core.content.TenantContextHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link TenantRedisCacheManager} 的单元测试，断言写入 Redis 的 Key
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@ExtendWith(MockitoExtension.class)
+class TenantRedisCacheManagerTest {
+
+    @Mock
+    private RedisCacheWriter cacheWriter;
+    @Mock
+    private RedisCacheGenerations generations;
+
+    private TenantRedisCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new TenantRedisCacheManager(cacheWriter, buildCacheConfiguration(), Set.of("global", "config#10m"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    void testPut_tenant() {
+        // 准备参数
+        TenantContextHolder.setTenantId(1L);
+
+        // 调用
+        cacheManager.getCache("user").put(10L, "value");
+        // 断言：Key 格式为 name:tenantId:key
+        assertEquals("user:1:10", capturePutKey(Duration.ZERO));
+    }
+
+    @Test
+    void testPut_tenantWithTtl() {
+        // 准备参数
+        TenantContextHolder.setTenantId(1L);
+
+        // 调用
+        cacheManager.getCache("user#10m").put(10L, "value");
+        // 断言：缓存名中的过期时间不出现在 Key 中
+        assertEquals("user:1:10", capturePutKey(Duration.ofMinutes(10)));
+    }
+
+    @Test
+    void testPut_switchTenant() {
+        // 准备参数
+        Cache cache = cacheManager.getCache("user");
+
+        // 调用：不同租户共享同一个 Cache 对象，Key 前缀在每次访问时计算
+        TenantContextHolder.setTenantId(1L);
+        cache.put(10L, "value");
+        TenantContextHolder.setTenantId(2L);
+        cacheManager.getCache("user").put(10L, "value");
+        // 断言
+        assertSame(cache, cacheManager.getCache("user"));
+        ArgumentCaptor<byte[]> keyCaptor = ArgumentCaptor.forClass(byte[].class);
+        verify(cacheWriter, times(2)).put(eq("user"), keyCaptor.capture(), any(byte[].class), any());
+        assertEquals("user:1:10", toString(keyCaptor.getAllValues().get(0)));
+        assertEquals("user:2:10", toString(keyCaptor.getAllValues().get(1)));
+    }
+
+    @Test
+    void testPut_ignoreCache() {
+        // 准备参数
+        TenantContextHolder.setTenantId(1L);
+
+        // 调用
+        cacheManager.getCache("global").put(10L, "value");
+        // 断言：忽略的缓存不拼接租户编号
+        assertEquals("global:10", capturePutKey(Duration.ZERO));
+    }
+
+    @Test
+    void testPut_ignoreCacheWithTtl() {
+        // 准备参数
+        TenantContextHolder.setTenantId(1L);
+
+        // 调用
+        cacheManager.getCache("config#10m").put(10L, "value");
+        // 断言：按 cacheNames 原样匹配忽略的缓存，不拼接租户编号
+        assertEquals("config:10", capturePutKey(Duration.ofMinutes(10)));
+    }
+
+    @Test
+    void testPut_tenantIgnore() {
+        // 准备参数
+        TenantContextHolder.setTenantId(1L);
+        TenantContextHolder.setIgnore(true);
+
+        // 调用
+        cacheManager.getCache("user").put(10L, "value");
+        // 断言：忽略租户时不拼接租户编号
+        assertEquals("user:10", capturePutKey(Duration.ZERO));
+    }
+
+    @Test
+    void testPut_tenantNull() {
+        // 调用
+        cacheManager.getCache("user").put(10L, "value");
+        // 断言：没有租户编号时不拼接租户编号
+        assertEquals("user:10", capturePutKey(Duration.ZERO));
+    }
+
+    @Test
+    void testClear_tenant() {
+        // 准备参数
+        TenantContextHolder.setTenantId(1L);
+
+        // 调用
+        cacheManager.getCache("user#10m").clear();
+        // 断言：只清空当前租户的 Key
+        ArgumentCaptor<byte[]> patternCaptor = ArgumentCaptor.forClass(byte[].class);
+        verify(cacheWriter).clean(eq("user"), patternCaptor.capture());
+        assertEquals("user:1:*", toString(patternCaptor.getValue()));
+    }
+
+    @Test
+    void testClear_generations() {
+        // 准备参数
+        cacheManager = new TenantRedisCacheManager(cacheWriter, buildCacheConfiguration(), Set.of("global", "config#10m"), generations);
+        TenantContextHolder.setTenantId(1L);
+        // mock 方法
+        when(generations.get(anyString())).thenReturn(0L);
+
+        // 调用
+        cacheManager.getCache("user#10m").put(10L, "value");
+        cacheManager.getCache("user#10m").clear();
+        // 断言：Key 格式为 name:v代数:tenantId:v租户代数:key
+        assertEquals("user:v0:1:v0:10", capturePutKey(Duration.ofMinutes(10)));
+        verify(generations, atLeastOnce()).get(eq("user:"));
+        verify(generations, atLeastOnce()).get(eq("user:1:"));
+        // 断言：只递增当前租户的代数，不 SCAN + DEL
+        verify(generations).increment(eq("user:1:"));
+        verify(cacheWriter, never()).clean(anyString(), any(byte[].class));
+    }
+
+    private String capturePutKey(Duration ttl) {
+        ArgumentCaptor<byte[]> keyCaptor = ArgumentCaptor.forClass(byte[].class);
+        verify(cacheWriter).put(anyString(), keyCaptor.capture(), any(byte[].class), eq(ttl));
+        return toString(keyCaptor.getValue());
+    }
+
+    private static RedisCacheConfiguration buildCacheConfiguration() {
+        return RedisCacheConfiguration.defaultCacheConfig().computePrefixWith(name -> name + ":");
+    }
+
+    private static String toString(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
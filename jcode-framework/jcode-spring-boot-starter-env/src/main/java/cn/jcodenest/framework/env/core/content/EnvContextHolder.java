@@ -1,14 +1,14 @@
 package cn.jcodenest.framework.env.core.content;
 
 import cn.hutool.core.collection.CollUtil;
-import com.alibaba.ttl.TransmittableThreadLocal;
-
-import java.util.ArrayList;
-import java.util.List;
+import cn.jcodenest.framework.common.content.JCodeContext;
+import cn.jcodenest.framework.common.content.JCodeContextHolder;
 
 /**
  * 开发环境上下文
  *
+ * <p>作为 {@link JCodeContext} 的视图, 读写其中的 envTags 标签栈</p>
+ *
  * @author JCodeNest
  * @version 1.0.0
  * @since 2025/8/2
@@ -18,20 +18,15 @@ import java.util.List;
  */
 public class EnvContextHolder {
 
-    /**
-     * 标签的上下文
-     * <p>
-     * 使用 {@link List} 的原因是可能存在多层设置或者清理
-     */
-    private static final ThreadLocal<List<String>> TAG_CONTEXT = TransmittableThreadLocal.withInitial(ArrayList::new);
-
     /**
      * 设置标签
+     * <p>
+     * 使用栈的原因是可能存在多层设置或者清理
      *
      * @param tag 标签
      */
     public static void setTag(String tag) {
-        TAG_CONTEXT.get().add(tag);
+        JCodeContextHolder.update(context -> context.pushEnvTag(tag));
     }
 
     /**
@@ -40,18 +35,13 @@ public class EnvContextHolder {
      * @return 标签
      */
     public static String getTag() {
-        return CollUtil.getLast(TAG_CONTEXT.get());
+        return CollUtil.getLast(JCodeContextHolder.get().getEnvTags());
     }
 
     /**
      * 清理标签
      */
     public static void removeTag() {
-        List<String> tags = TAG_CONTEXT.get();
-        if (CollUtil.isEmpty(tags)) {
-            return;
-        }
-
-        tags.remove(tags.size() - 1);
+        JCodeContextHolder.update(JCodeContext::popEnvTag);
     }
 }
@@ -4,13 +4,15 @@ import cn.hutool.core.collection.CollUtil;
 import cn.jcodenest.framework.common.biz.system.dict.DictDataCommonApi;
 import cn.jcodenest.framework.common.biz.system.dict.dto.DictDataRespDTO;
 import cn.jcodenest.framework.common.util.cache.CacheUtils;
+import cn.jcodenest.framework.common.util.cache.LocalCacheRegistry;
 import cn.jcodenest.framework.common.util.collection.CollectionUtils;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 
@@ -27,6 +29,11 @@ import java.util.Objects;
 @Slf4j
 public class DictFrameworkUtils {
 
+    /**
+     * 字典数据的缓存名, 用于广播失效
+     */
+    public static final String DICT_DATA_CACHE_NAME = "dict:data";
+
     /**
      * 字典数据 API
      */
@@ -36,8 +43,13 @@ public class DictFrameworkUtils {
      * 针对 dictType 的字段数据缓存
      */
     private static final LoadingCache<String, List<DictDataRespDTO>> GET_DICT_DATA_CACHE = CacheUtils.buildAsyncReloadingCache(
+            DICT_DATA_CACHE_NAME,
             // 过期时间 1 分钟
             Duration.ofMinutes(1L),
+            // 开启广播消费后, 依赖失效事件刷新, 过期时间延长为 10 分钟
+            Duration.ofMinutes(10L),
+            // 最多缓存 1000 个字典类型
+            1000L,
             new CacheLoader<>() {
 
                 /**
@@ -63,10 +75,24 @@ public class DictFrameworkUtils {
     }
 
     /**
-     * 清空缓存
+     * 清空缓存, 并广播到其它节点
      */
     public static void clearCache() {
-        GET_DICT_DATA_CACHE.invalidateAll();
+        LocalCacheRegistry.publish(DICT_DATA_CACHE_NAME, null);
+    }
+
+    /**
+     * 失效指定字典类型的缓存, 并广播到其它节点
+     *
+     * <p>修改字典数据后调用, 其它节点无需等待定时刷新</p>
+     *
+     * @param dictTypes 字典类型集合
+     */
+    public static void clearCache(Collection<String> dictTypes) {
+        if (CollUtil.isEmpty(dictTypes)) {
+            return;
+        }
+        LocalCacheRegistry.publish(DICT_DATA_CACHE_NAME, dictTypes);
     }
 
     /**
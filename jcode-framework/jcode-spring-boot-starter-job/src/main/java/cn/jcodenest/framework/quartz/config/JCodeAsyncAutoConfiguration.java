@@ -48,6 +48,7 @@ public class JCodeAsyncAutoConfiguration {
 
                 // 处理 SimpleAsyncTaskExecutor
                 // 参考 https://t.zsxq.com/CBoks 增加
+                // 开启 jcode.threads.virtual 时, @Async 与 @Scheduled 使用的 SimpleAsyncTaskExecutor、SimpleAsyncTaskScheduler 均运行在虚拟线程上
                 if (bean instanceof SimpleAsyncTaskExecutor executor) {
                     executor.setTaskDecorator(TtlRunnable::get);
                     return executor;
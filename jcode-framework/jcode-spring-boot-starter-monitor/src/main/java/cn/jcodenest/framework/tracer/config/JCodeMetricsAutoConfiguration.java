@@ -1,5 +1,7 @@
 package cn.jcodenest.framework.tracer.config;
 
+import cn.jcodenest.framework.tracer.core.metrics.LocalCacheMetricsBinder;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
@@ -7,6 +9,7 @@ import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 
 /**
  * Metrics 配置类
@@ -34,4 +37,22 @@ public class JCodeMetricsAutoConfiguration {
     public MeterRegistryCustomizer<MeterRegistry> metricsCommonTags(@Value("${spring.application.name}") String applicationName) {
         return registry -> registry.config().commonTags("application", applicationName);
     }
+
+    /**
+     * 本地缓存的 Metrics 配置类
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Caffeine.class)
+    static class LocalCacheMetricsConfiguration {
+
+        /**
+         * 注册 CacheUtils 构建的本地缓存、刷新线程池的 Metrics
+         *
+         * @return LocalCacheMetricsBinder Bean
+         */
+        @Bean
+        public LocalCacheMetricsBinder localCacheMetricsBinder() {
+            return new LocalCacheMetricsBinder();
+        }
+    }
 }
@@ -0,0 +1,64 @@
+package cn.jcodenest.framework.tracer.core.metrics;
+
+import cn.jcodenest.framework.common.util.cache.CacheUtils;
+import cn.jcodenest.framework.common.util.cache.LocalCacheRegistry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * {@link CacheUtils} 构建的本地缓存的 Metrics 统计
+ *
+ * <p>
+ * 统计内容：
+ *  1. 每个缓存按缓存名注册 cache.* 指标, 包括命中率、加载耗时、驱逐数量等, 之后构建的缓存也会自动注册
+ *  2. 共享的刷新线程池注册 executor.* 指标, 名字为 jcode.cache.refresh
+ *  3. 同一个 MeterRegistry 重复绑定时只注册一次, 避免重复添加 {@link LocalCacheRegistry} 的监听器
+ *  4. 销毁时移除添加的监听器; 监听器由静态的 {@link LocalCacheRegistry} 持有, 否则 Spring 容器关闭后 MeterRegistry 无法回收,
+ *     并且之后构建的缓存仍然绑定到已关闭的 MeterRegistry
+ * </p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+public class LocalCacheMetricsBinder implements MeterBinder, DisposableBean {
+
+    /**
+     * 刷新线程池的名字
+     */
+    private static final String REFRESH_EXECUTOR_NAME = "jcode.cache.refresh";
+
+    /**
+     * 已绑定的 MeterRegistry 与添加的监听器
+     */
+    private final Map<MeterRegistry, BiConsumer<String, LoadingCache<?, ?>>> listeners = new IdentityHashMap<>();
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        if (listeners.containsKey(registry)) {
+            return;
+        }
+        BiConsumer<String, LoadingCache<?, ?>> listener = (name, cache) -> CaffeineCacheMetrics.monitor(registry, cache, name);
+        listeners.put(registry, listener);
+        LocalCacheRegistry.addListener(listener);
+        new ExecutorServiceMetrics(CacheUtils.getRefreshExecutor(), REFRESH_EXECUTOR_NAME, Tags.empty()).bindTo(registry);
+    }
+
+    @Override
+    public synchronized void destroy() {
+        listeners.values().forEach(LocalCacheRegistry::removeListener);
+        listeners.clear();
+    }
+}
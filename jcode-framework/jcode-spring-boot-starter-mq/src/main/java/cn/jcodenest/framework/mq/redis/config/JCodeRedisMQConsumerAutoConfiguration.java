@@ -4,17 +4,27 @@ import cn.hutool.core.map.MapUtil;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.system.SystemUtil;
 import cn.jcodenest.framework.common.enums.DocumentEnum;
+import cn.jcodenest.framework.common.util.cache.LocalCacheRegistry;
 import cn.jcodenest.framework.mq.redis.core.RedisMQTemplate;
-import cn.jcodenest.framework.mq.redis.core.job.RedisPendingMessageResendJob;
+import cn.jcodenest.framework.mq.redis.core.cache.LocalCacheInvalidateMessageListener;
+import cn.jcodenest.framework.mq.redis.config.properties.JCodeRedisMQProperties;
+import cn.jcodenest.framework.mq.redis.core.job.RedisPendingMessageReclaimJob;
 import cn.jcodenest.framework.mq.redis.core.job.RedisStreamMessageCleanupJob;
 import cn.jcodenest.framework.mq.redis.core.pubsub.AbstractRedisChannelMessageListener;
+import cn.jcodenest.framework.mq.redis.core.stream.AbstractRedisStreamBatchMessageListener;
 import cn.jcodenest.framework.mq.redis.core.stream.AbstractRedisStreamMessageListener;
+import cn.jcodenest.framework.mq.redis.core.stream.RedisStreamBatchMessageListenerContainer;
+import cn.jcodenest.framework.mq.redis.core.stream.RedisStreamDispatcherRegistry;
+import cn.jcodenest.framework.mq.redis.core.stream.RedisStreamListener;
+import cn.jcodenest.framework.mq.redis.core.stream.RedisStreamPartitionListenerContainer;
+import cn.jcodenest.framework.mq.redis.core.stream.RedisStreamPartitions;
 import cn.jcodenest.framework.redis.config.JCodeRedisAutoConfiguration;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RedissonClient;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.redis.connection.RedisServerCommands;
 import org.springframework.data.redis.connection.stream.Consumer;
@@ -25,6 +35,7 @@ import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.stream.StreamListener;
 import org.springframework.data.redis.stream.StreamMessageListenerContainer;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
@@ -42,10 +53,24 @@ import java.util.Properties;
  * All rights reserved.
  */
 @Slf4j
-@EnableScheduling // 启用定时任务，用于 RedisPendingMessageResendJob 重发消息
+@EnableScheduling // 启用定时任务，用于 RedisPendingMessageReclaimJob 认领消息
 @AutoConfiguration(after = JCodeRedisAutoConfiguration.class)
+@EnableConfigurationProperties(JCodeRedisMQProperties.class)
 public class JCodeRedisMQConsumerAutoConfiguration {
 
+    /**
+     * 创建本地缓存失效的广播消费者, 失效 CacheUtils 构建的本地缓存
+     * 只有开启 jcode.mq.redis.local-cache-invalidate-enable 的时候，才需要注册
+     * 本节点可以及时收到失效事件, 因此开启 {@link LocalCacheRegistry} 的广播消费, 延长相关缓存的定时刷新间隔
+     * 注意：需要声明在 redisMessageListenerContainer 之前, 保证 @ConditionalOnBean 生效
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "jcode.mq.redis", name = "local-cache-invalidate-enable", havingValue = "true")
+    public LocalCacheInvalidateMessageListener localCacheInvalidateMessageListener() {
+        LocalCacheRegistry.enableBroadcast();
+        return new LocalCacheInvalidateMessageListener();
+    }
+
     /**
      * 创建 Redis Pub/Sub 广播消费的容器
      * 只有 AbstractChannelMessageListener 存在的时候，才需要注册 Redis pubsub 监听
@@ -67,29 +92,40 @@ public class JCodeRedisMQConsumerAutoConfiguration {
     }
 
     /**
-     * 创建 Redis Stream 重新消费的任务
-     * 只有 AbstractStreamMessageListener 存在的时候，才需要注册 Redis pubsub 监听
+     * 创建 Redis Stream Pending 消息认领的任务
+     * 只有 Stream 监听器（逐条或批量消费）存在的时候，才需要注册
      */
     @Bean
-    @ConditionalOnBean(AbstractRedisStreamMessageListener.class)
-    public RedisPendingMessageResendJob redisPendingMessageResendJob(List<AbstractRedisStreamMessageListener<?>> listeners,
-                                                                     RedisMQTemplate redisTemplate,
-                                                                     @Value("${spring.application.name}") String groupName,
-                                                                     RedissonClient redissonClient) {
-        return new RedisPendingMessageResendJob(listeners, redisTemplate, groupName, redissonClient);
+    @ConditionalOnBean(RedisStreamListener.class)
+    public RedisPendingMessageReclaimJob redisPendingMessageReclaimJob(List<RedisStreamListener> listeners,
+                                                                       RedisMQTemplate redisTemplate,
+                                                                       RedissonClient redissonClient,
+                                                                       JCodeRedisMQProperties properties,
+                                                                       RedisStreamDispatcherRegistry dispatcherRegistry) {
+        return new RedisPendingMessageReclaimJob(listeners, redisTemplate, redissonClient, properties.getReclaim(),
+                buildConsumerName(), dispatcherRegistry);
     }
 
     /**
      * 创建 Redis Stream 消息清理任务
      */
     @Bean
-    @ConditionalOnBean(AbstractRedisStreamMessageListener.class)
-    public RedisStreamMessageCleanupJob redisStreamMessageCleanupJob(List<AbstractRedisStreamMessageListener<?>> listeners,
+    @ConditionalOnBean(RedisStreamListener.class)
+    public RedisStreamMessageCleanupJob redisStreamMessageCleanupJob(List<RedisStreamListener> listeners,
                                                                      RedisMQTemplate redisTemplate,
                                                                      RedissonClient redissonClient) {
         return new RedisStreamMessageCleanupJob(listeners, redisTemplate, redissonClient);
     }
 
+    /**
+     * 创建 Redis Stream 消息分发器的注册表，按监听器声明的 maxInFlight 分发消息
+     */
+    @Bean
+    @ConditionalOnBean(RedisStreamListener.class)
+    public RedisStreamDispatcherRegistry redisStreamDispatcherRegistry() {
+        return new RedisStreamDispatcherRegistry();
+    }
+
     /**
      * 创建 Redis Stream 集群消费的容器
      * 只有 AbstractStreamMessageListener 存在的时候，才需要注册 Redis pubsub 监听
@@ -99,7 +135,8 @@ public class JCodeRedisMQConsumerAutoConfiguration {
     @Bean(initMethod = "start", destroyMethod = "stop")
     @ConditionalOnBean(AbstractRedisStreamMessageListener.class)
     public StreamMessageListenerContainer<String, ObjectRecord<String, String>> redisStreamMessageListenerContainer(
-            RedisMQTemplate redisMQTemplate, List<AbstractRedisStreamMessageListener<?>> listeners) {
+            RedisMQTemplate redisMQTemplate, List<AbstractRedisStreamMessageListener<?>> listeners,
+            RedisStreamDispatcherRegistry dispatcherRegistry) {
 
         RedisTemplate<String, ?> redisTemplate = redisMQTemplate.getRedisTemplate();
         checkRedisVersion(redisTemplate);
@@ -120,36 +157,122 @@ public class JCodeRedisMQConsumerAutoConfiguration {
                 StreamMessageListenerContainer.create(redisMQTemplate.getRedisTemplate().getRequiredConnectionFactory(), containerOptions);
 
         // 第二步：注册监听器，消费对应的 Stream 主题
+        // 分区的监听器由 redisStreamPartitionListenerContainer 消费
         String consumerName = buildConsumerName();
-        listeners.parallelStream().forEach(listener -> {
+        listeners.parallelStream().filter(listener -> listener.getPartitions() <= 0).forEach(listener -> {
             log.info("[redisStreamMessageListenerContainer][开始注册 StreamKey({}) 对应的监听器({})]", listener.getStreamKey(), listener.getClass().getName());
 
             // 创建 listener 对应的消费者分组
-            try {
-                redisTemplate.opsForStream().createGroup(listener.getStreamKey(), listener.getGroup());
-            } catch (Exception ignore) {
-                // ignore
-            }
+            createGroup(redisTemplate, listener);
 
             // 设置 listener 对应的 redisTemplate
             listener.setRedisMQTemplate(redisMQTemplate);
-            // 创建 Consumer 对象
-            Consumer consumer = Consumer.from(listener.getGroup(), consumerName);
             // 设置 Consumer 消费进度，以最小消费进度为准
             StreamOffset<String> streamOffset = StreamOffset.create(listener.getStreamKey(), ReadOffset.lastConsumed());
-            // 设置 Consumer 监听
-            StreamMessageListenerContainer.StreamReadRequestBuilder<String> builder = StreamMessageListenerContainer.StreamReadRequest
-                    .builder(streamOffset).consumer(consumer)
-                    // 不自动 ack
-                    .autoAcknowledge(false)
-                    // 默认配置，发生异常就取消消费，显然不符合预期；因此，我们设置为 false
-                    .cancelOnError(throwable -> false);
-            container.register(builder.build(), listener);
-            log.info("[redisStreamMessageListenerContainer][完成注册 StreamKey({}) 对应的监听器({})]", listener.getStreamKey(), listener.getClass().getName());
+            // 按并发度注册多个 Consumer，每个 Consumer 一个拉取线程，消息通过分发器处理
+            StreamListener<String, ObjectRecord<String, String>> streamListener = dispatcherRegistry.get(listener).wrap(listener);
+            for (int i = 0; i < listener.getConcurrency(); i++) {
+                // 创建 Consumer 对象
+                Consumer consumer = Consumer.from(listener.getGroup(), buildConsumerName(consumerName, i));
+                // 设置 Consumer 监听
+                StreamMessageListenerContainer.StreamReadRequestBuilder<String> builder = StreamMessageListenerContainer.StreamReadRequest
+                        .builder(streamOffset).consumer(consumer)
+                        // 不自动 ack
+                        .autoAcknowledge(false)
+                        // 默认配置，发生异常就取消消费，显然不符合预期；因此，我们设置为 false
+                        .cancelOnError(throwable -> false);
+                container.register(builder.build(), streamListener);
+            }
+            log.info("[redisStreamMessageListenerContainer][完成注册 StreamKey({}) 对应的监听器({})，concurrency({}) maxInFlight({})]",
+                    listener.getStreamKey(), listener.getClass().getName(), listener.getConcurrency(), listener.getMaxInFlight());
+        });
+        return container;
+    }
+
+    /**
+     * 创建 Redis Stream 批量消费的容器
+     * 只有 AbstractRedisStreamBatchMessageListener 存在的时候，才需要注册
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnBean(AbstractRedisStreamBatchMessageListener.class)
+    public RedisStreamBatchMessageListenerContainer redisStreamBatchMessageListenerContainer(
+            RedisMQTemplate redisMQTemplate, List<AbstractRedisStreamBatchMessageListener<?>> listeners,
+            RedisStreamDispatcherRegistry dispatcherRegistry) {
+
+        RedisTemplate<String, ?> redisTemplate = redisMQTemplate.getRedisTemplate();
+        checkRedisVersion(redisTemplate);
+
+        // 创建容器，并注册监听器
+        RedisStreamBatchMessageListenerContainer container = new RedisStreamBatchMessageListenerContainer(redisTemplate, dispatcherRegistry);
+        // 分区的监听器由 redisStreamPartitionListenerContainer 消费
+        String consumerName = buildConsumerName();
+        listeners.stream().filter(listener -> listener.getPartitions() <= 0).forEach(listener -> {
+            // 创建 listener 对应的消费者分组
+            createGroup(redisTemplate, listener);
+            // 设置 listener 对应的 redisTemplate
+            listener.setRedisMQTemplate(redisMQTemplate);
+            // 按并发度注册多个 Consumer
+            for (int i = 0; i < listener.getConcurrency(); i++) {
+                container.register(listener, buildConsumerName(consumerName, i));
+            }
+            log.info("[redisStreamBatchMessageListenerContainer][完成注册 StreamKey({}) 对应的监听器({})，batchSize({}) pollTimeout({}) concurrency({}) maxInFlight({})]",
+                    listener.getStreamKey(), listener.getClass().getName(), listener.getBatchSize(), listener.getPollTimeout(),
+                    listener.getConcurrency(), listener.getMaxInFlight());
+        });
+        return container;
+    }
+
+    /**
+     * 创建 Redis Stream 分区消费的容器
+     * 只有分区数量大于 0 的 Stream 监听器存在的时候，容器才会启动
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnBean(RedisStreamListener.class)
+    public RedisStreamPartitionListenerContainer redisStreamPartitionListenerContainer(
+            RedisMQTemplate redisMQTemplate, List<RedisStreamListener> listeners, RedissonClient redissonClient) {
+
+        RedisTemplate<String, ?> redisTemplate = redisMQTemplate.getRedisTemplate();
+        RedisStreamPartitionListenerContainer container = new RedisStreamPartitionListenerContainer(redisTemplate,
+                redissonClient, buildConsumerName());
+        List<RedisStreamListener> partitionListeners = listeners.stream().filter(listener -> listener.getPartitions() > 0).toList();
+        if (partitionListeners.isEmpty()) {
+            return container;
+        }
+
+        // 注册监听器
+        checkRedisVersion(redisTemplate);
+        partitionListeners.forEach(listener -> {
+            // 创建每个分区对应的消费者分组
+            createGroup(redisTemplate, listener);
+            // 设置 listener 对应的 redisTemplate
+            if (listener instanceof AbstractRedisStreamMessageListener<?> messageListener) {
+                messageListener.setRedisMQTemplate(redisMQTemplate);
+            } else if (listener instanceof AbstractRedisStreamBatchMessageListener<?> batchListener) {
+                batchListener.setRedisMQTemplate(redisMQTemplate);
+            }
+            container.register(listener);
+            log.info("[redisStreamPartitionListenerContainer][完成注册 StreamKey({}) 对应的监听器({})，partitions({})]",
+                    listener.getStreamKey(), listener.getClass().getName(), listener.getPartitions());
         });
         return container;
     }
 
+    /**
+     * 创建 listener 对应的消费者分组，已存在时忽略；分区模式下，为每个分区创建
+     *
+     * @param redisTemplate Redis 模板
+     * @param listener      监听器
+     */
+    private static void createGroup(RedisTemplate<String, ?> redisTemplate, RedisStreamListener listener) {
+        RedisStreamPartitions.getStreamKeys(listener).forEach(streamKey -> {
+            try {
+                redisTemplate.opsForStream().createGroup(streamKey, listener.getGroup());
+            } catch (Exception ignore) {
+                // ignore
+            }
+        });
+    }
+
     /**
      * 构建消费者名字，使用本地 IP + 进程编号的方式
      * 参考自 RocketMQ clientId 的实现
@@ -160,6 +283,18 @@ public class JCodeRedisMQConsumerAutoConfiguration {
         return String.format("%s@%d", SystemUtil.getHostInfo().getAddress(), SystemUtil.getCurrentPID());
     }
 
+    /**
+     * 构建同一节点第 index 个消费者的名字
+     * 第 0 个消费者沿用节点的消费者名字，保证未开启并发时与原有 Pending 消息的归属一致
+     *
+     * @param consumerName 节点的消费者名字
+     * @param index        序号
+     * @return 消费者名字
+     */
+    private static String buildConsumerName(String consumerName, int index) {
+        return index == 0 ? consumerName : consumerName + "-" + index;
+    }
+
     /**
      * 校验 Redis 版本号，是否满足最低的版本号要求
      */
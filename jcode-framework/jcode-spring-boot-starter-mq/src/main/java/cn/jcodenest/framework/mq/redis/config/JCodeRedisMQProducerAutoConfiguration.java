@@ -1,12 +1,18 @@
 package cn.jcodenest.framework.mq.redis.config;
 
+import cn.jcodenest.framework.common.util.cache.LocalCacheRegistry;
 import cn.jcodenest.framework.mq.redis.core.RedisMQTemplate;
+import cn.jcodenest.framework.mq.redis.core.cache.LocalCacheInvalidateProducer;
 import cn.jcodenest.framework.mq.redis.core.interceptor.RedisMessageInterceptor;
 import cn.jcodenest.framework.redis.config.JCodeRedisAutoConfiguration;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.util.ClassUtils;
 
 import java.util.List;
 
@@ -24,6 +30,11 @@ import java.util.List;
 @AutoConfiguration(after = JCodeRedisAutoConfiguration.class)
 public class JCodeRedisMQProducerAutoConfiguration {
 
+    /**
+     * Reactor 的类名，响应式 Redis 模板依赖 Reactor
+     */
+    private static final String REACTOR_CLASS_NAME = "reactor.core.publisher.Mono";
+
     /**
      * 创建 RedisMQTemplate
      *
@@ -33,9 +44,30 @@ public class JCodeRedisMQProducerAutoConfiguration {
      */
     @Bean
     public RedisMQTemplate redisMQTemplate(StringRedisTemplate redisTemplate, List<RedisMessageInterceptor> interceptors) {
+        // 连接工厂支持响应式（例如 Redisson）时，创建响应式 Redis 模板，用于异步发送消息
+        ReactiveStringRedisTemplate reactiveRedisTemplate = null;
+        RedisConnectionFactory connectionFactory = redisTemplate.getRequiredConnectionFactory();
+        if (connectionFactory instanceof ReactiveRedisConnectionFactory reactiveConnectionFactory
+                && ClassUtils.isPresent(REACTOR_CLASS_NAME, getClass().getClassLoader())) {
+            reactiveRedisTemplate = new ReactiveStringRedisTemplate(reactiveConnectionFactory);
+        }
+
         // 添加拦截器
-        RedisMQTemplate redisMQTemplate = new RedisMQTemplate(redisTemplate);
+        RedisMQTemplate redisMQTemplate = new RedisMQTemplate(redisTemplate, reactiveRedisTemplate);
         interceptors.forEach(redisMQTemplate::addInterceptor);
         return redisMQTemplate;
     }
+
+    /**
+     * 创建本地缓存失效的广播生产者, 并设置为 {@link LocalCacheRegistry} 的广播发送者
+     *
+     * @param redisMQTemplate RedisMQTemplate
+     * @return 本地缓存失效的广播生产者
+     */
+    @Bean
+    public LocalCacheInvalidateProducer localCacheInvalidateProducer(RedisMQTemplate redisMQTemplate) {
+        LocalCacheInvalidateProducer producer = new LocalCacheInvalidateProducer(redisMQTemplate);
+        LocalCacheRegistry.setPublisher(producer::sendInvalidateMessage);
+        return producer;
+    }
 }
@@ -0,0 +1,83 @@
+package cn.jcodenest.framework.mq.redis.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Redis 消息队列属性配置类
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@Data
+@Validated
+@ConfigurationProperties("jcode.mq.redis")
+public class JCodeRedisMQProperties {
+
+    /**
+     * 是否开启本地缓存失效的广播消费
+     * <p>
+     * 开启后，注册 LocalCacheInvalidateMessageListener，订阅 Redis Pub/Sub 刷新 CacheUtils 构建的本地缓存，
+     * 并把声明了广播刷新间隔的缓存（例如字典、租户、用户权限）的定时刷新从 1 分钟延长为 10 分钟；
+     * 默认关闭，避免未使用本地缓存的应用创建 Pub/Sub 监听容器
+     * <p>
+     * 失效事件的发送不受该配置影响：写入方调用 LocalCacheRegistry#publish 时，总是通过 LocalCacheInvalidateProducer 广播
+     */
+    private Boolean localCacheInvalidateEnable = false;
+
+    /**
+     * Pending 消息的认领配置
+     */
+    private Reclaim reclaim = new Reclaim();
+
+    /**
+     * Pending 消息的认领配置
+     * <p>
+     * 消费者 crash 或消费失败时，消息留在 Pending 队列中；空闲超过 minIdleTime 的消息会被其它节点认领（XCLAIM）并重新消费，
+     * 投递次数达到 maxDeliveryCount 的消息会被移动到死信 Stream（Stream Key + deadLetterSuffix）
+     */
+    @Data
+    public static class Reclaim {
+
+        /**
+         * 扫描 Pending 队列的间隔
+         */
+        private Duration interval = Duration.ofSeconds(10);
+
+        /**
+         * 消息的最小空闲时间，超过该时间未 ack 的消息才会被认领
+         * <p>
+         * 空闲时间从消息被拉取（XREADGROUP）时开始计算，处理期间不会重置，因此需要大于消息从拉取到 ack 的最长时间。
+         * 批量消费时每段消息处理完成后立即 ack，即需要大于一批消息中单段的最长处理时间（包括排在它前面的段）；
+         * 启动时 minIdleTime 不大于批量监听器 pollTimeout 的会打印告警日志
+         */
+        private Duration minIdleTime = Duration.ofSeconds(30);
+
+        /**
+         * 最大投递次数，达到该次数的消息移动到死信 Stream
+         */
+        private Integer maxDeliveryCount = 16;
+
+        /**
+         * 每次从 Pending 队列中读取的消息数量
+         */
+        private Integer batchSize = 100;
+
+        /**
+         * 死信 Stream Key 的后缀
+         */
+        private String deadLetterSuffix = ":dlq";
+
+        /**
+         * 死信 Stream 保留的最大消息数量（近似）
+         */
+        private Long deadLetterMaxLength = 10000L;
+    }
+}
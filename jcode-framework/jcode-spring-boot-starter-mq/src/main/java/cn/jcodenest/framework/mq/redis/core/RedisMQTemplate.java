@@ -1,18 +1,26 @@
 package cn.jcodenest.framework.mq.redis.core;
 
+import cn.hutool.core.collection.CollUtil;
 import cn.jcodenest.framework.common.util.json.JsonUtils;
 import cn.jcodenest.framework.mq.redis.core.interceptor.RedisMessageInterceptor;
 import cn.jcodenest.framework.mq.redis.core.message.AbstractRedisMessage;
 import cn.jcodenest.framework.mq.redis.core.pubsub.AbstractRedisChannelMessage;
 import cn.jcodenest.framework.mq.redis.core.stream.AbstractRedisStreamMessage;
-import lombok.AllArgsConstructor;
+import cn.jcodenest.framework.mq.redis.core.stream.RedisStreamPartitions;
 import lombok.Getter;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
 import org.springframework.data.redis.connection.stream.RecordId;
 import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Redis MQ 操作模板类
@@ -24,7 +32,6 @@ import java.util.List;
  * Copyright (c) 2025 JCodeNest-Cloud-Initializer
  * All rights reserved.
  */
-@AllArgsConstructor
 public class RedisMQTemplate {
 
     /**
@@ -33,12 +40,26 @@ public class RedisMQTemplate {
     @Getter
     private final RedisTemplate<String, ?> redisTemplate;
 
+    /**
+     * 响应式 Redis 模板，用于异步发送消息，允许为 null
+     */
+    private final ReactiveRedisTemplate<String, ?> reactiveRedisTemplate;
+
     /**
      * 拦截器数组
      */
     @Getter
     private final List<RedisMessageInterceptor> interceptors = new ArrayList<>();
 
+    public RedisMQTemplate(RedisTemplate<String, ?> redisTemplate) {
+        this(redisTemplate, null);
+    }
+
+    public RedisMQTemplate(RedisTemplate<String, ?> redisTemplate, ReactiveRedisTemplate<String, ?> reactiveRedisTemplate) {
+        this.redisTemplate = redisTemplate;
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+    }
+
     /**
      * 发送 Redis 消息，基于 Redis pub/sub 实现
      *
@@ -67,15 +88,118 @@ public class RedisMQTemplate {
             // 发送消息之前调用拦截器
             sendMessageBefore(message);
             // 发送消息: 设置内容、设置 stream key
-            return redisTemplate.opsForStream().add(StreamRecords.newRecord()
-                    .ofObject(JsonUtils.toJsonString(message))
-                    .withStreamKey(message.getStreamKey()));
+            return redisTemplate.opsForStream().add(buildStreamRecord(message));
         } finally {
              // 发送消息之后调用拦截器
             sendMessageAfter(message);
         }
     }
 
+    /**
+     * 异步发送 Redis 消息，基于 Redis Stream 实现
+     *
+     * <p>
+     * 1. sendMessageBefore 在调用线程中执行，与 {@link #send(AbstractRedisStreamMessage)} 一致，因此可以读取调用线程的上下文（例如租户编号）
+     * 2. XADD 基于响应式 Redis 模板非阻塞地执行；未配置响应式 Redis 模板时，退化为同步发送
+     * 3. sendMessageAfter 在 XADD 完成（成功或失败）之后调用，通常在 Redis 客户端的 I/O 线程中执行，而不是调用线程，
+     *    因此拦截器在 sendMessageAfter 中不能依赖调用线程的 ThreadLocal；发送前即失败时，在调用线程中立即调用
+     * </p>
+     *
+     * @param message 消息
+     * @return 消息记录的编号对象
+     */
+    public <T extends AbstractRedisStreamMessage> CompletableFuture<RecordId> sendAsync(T message) {
+        if (reactiveRedisTemplate == null) {
+            try {
+                return CompletableFuture.completedFuture(send(message));
+            } catch (Exception ex) {
+                return CompletableFuture.failedFuture(ex);
+            }
+        }
+
+        CompletableFuture<RecordId> future;
+        try {
+            // 发送消息之前调用拦截器
+            sendMessageBefore(message);
+            // 发送消息: 设置内容、设置 stream key
+            future = reactiveRedisTemplate.opsForStream().add(buildStreamRecord(message)).toFuture();
+        } catch (Exception ex) {
+            // 发送消息之后调用拦截器
+            sendMessageAfter(message);
+            return CompletableFuture.failedFuture(ex);
+        }
+        // 发送消息之后调用拦截器：等待 XADD 完成，避免拦截器在消息发送之前认为已发送
+        return future.whenComplete((recordId, ex) -> sendMessageAfter(message));
+    }
+
+    /**
+     * 批量发送 Redis 消息，所有的 XADD、PUBLISH 命令通过一次 pipeline 发送
+     *
+     * <p>
+     * 1. 支持 {@link AbstractRedisStreamMessage}、{@link AbstractRedisChannelMessage} 混合发送，按顺序执行
+     * 2. 每条消息都会调用拦截器：发送前依次调用 sendMessageBefore，发送后依次调用 sendMessageAfter
+     * </p>
+     *
+     * @param messages 消息列表
+     * @return 消息记录的编号对象列表，与 messages 一一对应；{@link AbstractRedisChannelMessage} 对应的元素为 null
+     */
+    public <T extends AbstractRedisMessage> List<RecordId> sendBatch(Collection<T> messages) {
+        if (CollUtil.isEmpty(messages)) {
+            return Collections.emptyList();
+        }
+        messages.forEach(message -> {
+            if (!(message instanceof AbstractRedisStreamMessage) && !(message instanceof AbstractRedisChannelMessage)) {
+                throw new IllegalArgumentException("不支持的消息类型：" + message.getClass().getName());
+            }
+        });
+
+        List<T> prepared = new ArrayList<>(messages.size());
+        try {
+            // 发送消息之前调用拦截器
+            for (T message : messages) {
+                sendMessageBefore(message);
+                prepared.add(message);
+            }
+            // 发送消息：一次 pipeline 发送所有命令
+            List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, ?> redisOperations = (RedisOperations<String, ?>) operations;
+                    prepared.forEach(message -> {
+                        if (message instanceof AbstractRedisStreamMessage streamMessage) {
+                            redisOperations.opsForStream().add(buildStreamRecord(streamMessage));
+                        } else {
+                            AbstractRedisChannelMessage channelMessage = (AbstractRedisChannelMessage) message;
+                            redisOperations.convertAndSend(channelMessage.getChannel(), JsonUtils.toJsonString(channelMessage));
+                        }
+                    });
+                    return null;
+                }
+            });
+            // 转换结果
+            List<RecordId> recordIds = new ArrayList<>(results.size());
+            results.forEach(result -> recordIds.add(result instanceof RecordId recordId ? recordId : null));
+            return recordIds;
+        } finally {
+            // 发送消息之后调用拦截器
+            prepared.forEach(this::sendMessageAfter);
+        }
+    }
+
+    /**
+     * 构建 Redis Stream 消息记录，分区模式下按分区 Key 路由到分区的 Stream
+     *
+     * @param message 消息
+     * @return 消息记录
+     */
+    private static ObjectRecord<String, String> buildStreamRecord(AbstractRedisStreamMessage message) {
+        return StreamRecords.newRecord()
+                .ofObject(JsonUtils.toJsonString(message))
+                .withStreamKey(RedisStreamPartitions.resolveStreamKey(message));
+    }
+
     /**
      * 添加拦截器
      *
@@ -0,0 +1,58 @@
+package cn.jcodenest.framework.mq.redis.core.cache;
+
+import cn.jcodenest.framework.common.util.cache.LocalCacheRegistry;
+import cn.jcodenest.framework.mq.redis.core.pubsub.AbstractRedisChannelMessage;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.experimental.Accessors;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 本地缓存失效的广播消息, 由 {@link LocalCacheInvalidateMessageListener} 在每个节点失效 {@link LocalCacheRegistry} 中对应的缓存
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Accessors(chain = true)
+public class LocalCacheInvalidateMessage extends AbstractRedisChannelMessage {
+
+    /**
+     * 缓存名
+     */
+    private String cacheName;
+
+    /**
+     * 缓存 key 的字符串数组, 为空时失效全部
+     */
+    private List<String> keys;
+
+    /**
+     * 创建失效指定缓存项的消息
+     *
+     * @param cacheName 缓存名
+     * @param keys      缓存 key 集合
+     * @return 消息
+     */
+    public static LocalCacheInvalidateMessage of(String cacheName, Collection<?> keys) {
+        return new LocalCacheInvalidateMessage().setCacheName(cacheName)
+                .setKeys(keys.stream().map(String::valueOf).toList());
+    }
+
+    /**
+     * 创建失效全部缓存项的消息
+     *
+     * @param cacheName 缓存名
+     * @return 消息
+     */
+    public static LocalCacheInvalidateMessage ofAll(String cacheName) {
+        return new LocalCacheInvalidateMessage().setCacheName(cacheName);
+    }
+}
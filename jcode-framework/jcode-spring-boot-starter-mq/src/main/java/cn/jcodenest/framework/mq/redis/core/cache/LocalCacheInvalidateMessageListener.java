@@ -0,0 +1,30 @@
+package cn.jcodenest.framework.mq.redis.core.cache;
+
+import cn.jcodenest.framework.common.util.cache.LocalCacheRegistry;
+import cn.jcodenest.framework.mq.redis.core.pubsub.AbstractRedisChannelMessageListener;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link LocalCacheInvalidateMessage} 广播消息的消费者, 失效本节点 {@link LocalCacheRegistry} 中对应的缓存
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@Slf4j
+public class LocalCacheInvalidateMessageListener extends AbstractRedisChannelMessageListener<LocalCacheInvalidateMessage> {
+
+    /**
+     * 监听 Redis 发送的消息
+     *
+     * @param message 消息
+     */
+    @Override
+    public void onMessage(LocalCacheInvalidateMessage message) {
+        log.info("[onMessage][失效本地缓存({}) keys({})]", message.getCacheName(), message.getKeys());
+        LocalCacheRegistry.invalidate(message.getCacheName(), message.getKeys());
+    }
+}
@@ -0,0 +1,52 @@
+package cn.jcodenest.framework.mq.redis.core.cache;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.jcodenest.framework.common.util.cache.LocalCacheRegistry;
+import cn.jcodenest.framework.mq.redis.core.RedisMQTemplate;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+
+/**
+ * {@link LocalCacheInvalidateMessage} 广播消息的生产者
+ *
+ * <p>
+ * 作为 {@link LocalCacheRegistry} 的广播发送者, 写入方调用 {@link LocalCacheRegistry#publish(String, Collection)} 时,
+ * 由本类把失效事件广播到其它节点; 也可以直接调用本类的方法, 只广播不失效本节点
+ * </p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@RequiredArgsConstructor
+public class LocalCacheInvalidateProducer {
+
+    private final RedisMQTemplate redisMQTemplate;
+
+    /**
+     * 发送失效指定缓存项的消息
+     *
+     * @param cacheName 缓存名
+     * @param keys      缓存 key 集合, 为空时失效全部
+     */
+    public void sendInvalidateMessage(String cacheName, Collection<?> keys) {
+        if (CollUtil.isEmpty(keys)) {
+            sendInvalidateAllMessage(cacheName);
+            return;
+        }
+        redisMQTemplate.send(LocalCacheInvalidateMessage.of(cacheName, keys));
+    }
+
+    /**
+     * 发送失效全部缓存项的消息
+     *
+     * @param cacheName 缓存名
+     */
+    public void sendInvalidateAllMessage(String cacheName) {
+        redisMQTemplate.send(LocalCacheInvalidateMessage.ofAll(cacheName));
+    }
+}
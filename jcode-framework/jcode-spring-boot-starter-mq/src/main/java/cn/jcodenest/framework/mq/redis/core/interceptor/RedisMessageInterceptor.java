@@ -28,6 +28,9 @@ public interface RedisMessageInterceptor {
 
     /**
      * 发送消息之后进行拦截处理
+     * <p>
+     * 注意：{@link cn.jcodenest.framework.mq.redis.core.RedisMQTemplate#sendAsync} 在 XADD 完成之后调用，
+     * 可能不在发送消息的线程中执行
      *
      * @param message 消息
      */
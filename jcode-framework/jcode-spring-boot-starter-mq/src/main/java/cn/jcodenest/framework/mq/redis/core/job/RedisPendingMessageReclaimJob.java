@@ -0,0 +1,326 @@
+package cn.jcodenest.framework.mq.redis.core.job;
+
+import cn.jcodenest.framework.mq.redis.config.properties.JCodeRedisMQProperties;
+import cn.jcodenest.framework.mq.redis.core.RedisMQTemplate;
+import cn.jcodenest.framework.mq.redis.core.stream.AbstractRedisStreamBatchMessageListener;
+import cn.jcodenest.framework.mq.redis.core.stream.RedisStreamDispatcher;
+import cn.jcodenest.framework.mq.redis.core.stream.RedisStreamDispatcherRegistry;
+import cn.jcodenest.framework.mq.redis.core.stream.RedisStreamListener;
+import cn.jcodenest.framework.mq.redis.core.stream.RedisStreamPartitions;
+import cn.hutool.core.thread.ThreadUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JOB：认领 Pending 队列中超时未 ack 的消息，用于处理 crash 之后的消费者未消费完的消息、消费失败的消息
+ *
+ * <p>
+ * 1. 每个 Stream 单独加锁，各节点按随机顺序遍历 Stream，因此不同的 Stream 由不同的节点同时处理，而不是由一个节点串行处理所有 Stream
+ * 2. 分页读取 Pending 队列（XPENDING），空闲超过 minIdleTime 的消息通过一次 XCLAIM 认领到当前节点的消费者；
+ *    XCLAIM 带有 minIdleTime 条件，即使多个节点同时认领，同一条消息也只会被一个节点认领成功
+ * 3. 投递次数（XPENDING 返回的 delivery count）达到 maxDeliveryCount 的消息，通过一次 pipeline 移动到死信 Stream（XADD + XACK），
+ *    其余消息交给监听器在当前节点重新消费，消费成功后 ack，失败则投递次数 +1 等待下次认领
+ * 4. 消息保留原有的编号重新消费，不再重新发送（XADD）新消息，因此投递次数可以累计
+ * 5. 重新消费通过监听器的 {@link RedisStreamDispatcher} 异步执行，不占用定时任务线程，也不在持有锁时执行；
+ *    认领前按可用的许可数量（maxInFlight）认领，处理中的消息达到上限时，剩余的消息留给下次认领
+ * </p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@Slf4j
+public class RedisPendingMessageReclaimJob implements DisposableBean {
+
+    /**
+     * 锁的 key 前缀，后面拼接 Stream Key、消费者分组
+     */
+    private static final String LOCK_KEY_PREFIX = "redis:stream:pending-message-reclaim:lock:";
+
+    /**
+     * 每次执行时，单个 Stream 最多读取的 Pending 队列页数，避免单个 Stream 占用过久
+     */
+    private static final int MAX_PAGES = 10;
+
+    /**
+     * 关闭时等待重新消费的消息提交完成的最长时间，单位：毫秒
+     */
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000;
+
+    /**
+     * 监听者列表
+     */
+    private final List<RedisStreamListener> listeners;
+
+    /**
+     * Redis 模板
+     */
+    private final RedisMQTemplate redisTemplate;
+
+    /**
+     * Redisson 客户端
+     */
+    private final RedissonClient redissonClient;
+
+    /**
+     * 认领配置
+     */
+    private final JCodeRedisMQProperties.Reclaim properties;
+
+    /**
+     * 认领消息的消费者名字，即当前节点的消费者名字
+     */
+    private final String consumerName;
+
+    /**
+     * 消息分发器的注册表，重新消费的消息通过监听器的分发器处理
+     */
+    private final RedisStreamDispatcherRegistry dispatcherRegistry;
+
+    /**
+     * 重新消费的线程：分发器开启 maxInFlight 时只负责提交给分发器的线程池，否则直接处理消息
+     */
+    private final ExecutorService retryExecutor = Executors.newSingleThreadExecutor(
+            ThreadUtil.newNamedThreadFactory("redis-stream-reclaim-", true));
+
+    public RedisPendingMessageReclaimJob(List<RedisStreamListener> listeners, RedisMQTemplate redisTemplate,
+                                         RedissonClient redissonClient, JCodeRedisMQProperties.Reclaim properties,
+                                         String consumerName, RedisStreamDispatcherRegistry dispatcherRegistry) {
+        this.listeners = listeners;
+        this.redisTemplate = redisTemplate;
+        this.redissonClient = redissonClient;
+        this.properties = properties;
+        this.consumerName = consumerName;
+        this.dispatcherRegistry = dispatcherRegistry;
+        checkMinIdleTime();
+    }
+
+    /**
+     * 校验 minIdleTime 是否大于批量监听器的拉取等待时间，作为兜底的告警
+     *
+     * <p>批量消息逐段 ack，处理中的消息也会计入空闲时间；minIdleTime 过小时，处理中的消息会被认领并重复消费</p>
+     */
+    private void checkMinIdleTime() {
+        for (RedisStreamListener listener : listeners) {
+            if (!(listener instanceof AbstractRedisStreamBatchMessageListener<?> batchListener)) {
+                continue;
+            }
+            if (properties.getMinIdleTime().compareTo(batchListener.getPollTimeout()) <= 0) {
+                log.warn("[checkMinIdleTime][StreamKey({}) 的 minIdleTime({}) 不大于 pollTimeout({})，处理中的消息可能被重复认领，" +
+                                "请调大 jcode.mq.redis.reclaim.min-idle-time]", listener.getStreamKey(), properties.getMinIdleTime(),
+                        batchListener.getPollTimeout());
+            }
+        }
+    }
+
+    /**
+     * 按 jcode.mq.redis.reclaim.interval 间隔执行，默认 10 秒
+     */
+    @Scheduled(initialDelayString = "${jcode.mq.redis.reclaim.interval:10s}",
+            fixedDelayString = "${jcode.mq.redis.reclaim.interval:10s}")
+    public void messageReclaim() {
+        // 随机顺序遍历，使各节点优先处理不同的 Stream；分区模式下，每个分区是一个 Stream
+        List<Map.Entry<RedisStreamListener, String>> streams = new ArrayList<>();
+        listeners.forEach(listener -> RedisStreamPartitions.getStreamKeys(listener)
+                .forEach(streamKey -> streams.add(Map.entry(listener, streamKey))));
+        Collections.shuffle(streams);
+        streams.forEach(stream -> {
+            RedisStreamListener listener = stream.getKey();
+            String streamKey = stream.getValue();
+            // 创建锁，每个 Stream 一把
+            RLock lock = redissonClient.getLock(LOCK_KEY_PREFIX + streamKey + ":" + listener.getGroup());
+            // 尝试加锁，失败说明其它节点正在处理该 Stream
+            if (!lock.tryLock()) {
+                return;
+            }
+            try {
+                execute(listener, streamKey);
+            } catch (Exception ex) {
+                log.error("[messageReclaim][StreamKey({}) 执行异常]", streamKey, ex);
+            } finally {
+                // 解锁
+                lock.unlock();
+            }
+        });
+    }
+
+    /**
+     * 分页读取 Pending 队列，认领空闲超时的消息
+     *
+     * @param listener  监听器
+     * @param streamKey Stream Key，分区模式下为分区的 Stream Key
+     */
+    private void execute(RedisStreamListener listener, String streamKey) {
+        StreamOperations<String, Object, Object> ops = redisTemplate.getRedisTemplate().opsForStream();
+        long minIdleMillis = properties.getMinIdleTime().toMillis();
+        Range<String> range = Range.unbounded();
+        for (int page = 0; page < MAX_PAGES; page++) {
+            PendingMessages pendingMessages = ops.pending(streamKey, listener.getGroup(), range, properties.getBatchSize());
+            if (pendingMessages == null || pendingMessages.isEmpty()) {
+                return;
+            }
+
+            // 过滤出空闲超时的消息，并认领
+            List<PendingMessage> idleMessages = pendingMessages.stream()
+                    .filter(pendingMessage -> pendingMessage.getElapsedTimeSinceLastDelivery().toMillis() >= minIdleMillis)
+                    .toList();
+            if (!idleMessages.isEmpty()) {
+                reclaim(listener, streamKey, ops, idleMessages);
+            }
+
+            // 读取下一页：从最后一条消息的下一个编号开始，兼容不支持排他区间的 Redis 版本
+            if (pendingMessages.size() < properties.getBatchSize()) {
+                return;
+            }
+            RecordId lastId = pendingMessages.get(pendingMessages.size() - 1).getId();
+            range = Range.of(Range.Bound.inclusive(lastId.getTimestamp() + "-" + (lastId.getSequence() + 1)), Range.Bound.unbounded());
+        }
+    }
+
+    /**
+     * 认领消息：投递次数达到上限的移动到死信 Stream，其余的重新消费
+     *
+     * @param listener     监听器
+     * @param streamKey    Stream Key
+     * @param ops          Stream 操作
+     * @param idleMessages 空闲超时的消息
+     */
+    private void reclaim(RedisStreamListener listener, String streamKey, StreamOperations<String, Object, Object> ops, List<PendingMessage> idleMessages) {
+        // 按投递次数划分：死信消息、重新消费的消息
+        Map<RecordId, Long> deliveryCounts = new HashMap<>(idleMessages.size() * 2);
+        List<RecordId> deadLetterIds = new ArrayList<>();
+        List<RecordId> retryIds = new ArrayList<>();
+        idleMessages.forEach(pendingMessage -> {
+            deliveryCounts.put(pendingMessage.getId(), pendingMessage.getTotalDeliveryCount());
+            (pendingMessage.getTotalDeliveryCount() >= properties.getMaxDeliveryCount() ? deadLetterIds : retryIds)
+                    .add(pendingMessage.getId());
+        });
+
+        // 重新消费的消息需要分发器的许可，许可不足时只认领部分，其余的留给下次认领，避免认领后无法处理而累计投递次数
+        RedisStreamDispatcher dispatcher = dispatcherRegistry.get(listener);
+        int permits = dispatcher.tryAcquire(retryIds.size());
+        List<RecordId> claimIds = new ArrayList<>(deadLetterIds);
+        claimIds.addAll(retryIds.subList(0, permits));
+        if (claimIds.isEmpty()) {
+            return;
+        }
+
+        // 认领消息，同时投递次数 +1；XCLAIM 带 minIdleTime 条件，已被其它节点认领或消费中的消息不会被认领
+        List<MapRecord<String, Object, Object>> records;
+        try {
+            records = ops.claim(streamKey, listener.getGroup(), consumerName,
+                    properties.getMinIdleTime(), claimIds.toArray(new RecordId[0]));
+        } catch (RuntimeException ex) {
+            dispatcher.release(permits);
+            throw ex;
+        }
+        List<MapRecord<String, Object, Object>> deadLetters = new ArrayList<>();
+        List<MapRecord<String, Object, Object>> retries = new ArrayList<>();
+        if (records != null) {
+            records.forEach(record -> {
+                long deliveryCount = deliveryCounts.getOrDefault(record.getId(), 0L);
+                if (deliveryCount >= properties.getMaxDeliveryCount()) {
+                    deadLetters.add(record);
+                    log.warn("[reclaim][StreamKey({}) 消息({}) 投递次数({}) 达到上限，移动到死信 Stream]",
+                            streamKey, record.getId(), deliveryCount);
+                } else {
+                    retries.add(record);
+                }
+            });
+        }
+        // 归还未认领成功的消息的许可
+        dispatcher.release(permits - retries.size());
+
+        // 移动到死信 Stream
+        if (!deadLetters.isEmpty()) {
+            moveToDeadLetter(listener, streamKey, deadLetters);
+        }
+        // 重新消费，消费成功的消息由监听器 ack
+        if (!retries.isEmpty()) {
+            log.info("[reclaim][StreamKey({}) 认领消息数量({})，重新消费]", streamKey, retries.size());
+            try {
+                dispatch(listener, dispatcher, streamKey, ops.map(retries, String.class));
+            } catch (RuntimeException ex) {
+                dispatcher.release(retries.size());
+                throw ex;
+            }
+        }
+    }
+
+    /**
+     * 通过分发器异步重新消费消息，提交后许可在消费完成时由分发器归还
+     *
+     * @param listener   监听器
+     * @param dispatcher 监听器的分发器
+     * @param streamKey  Stream Key
+     * @param records    消息记录，已获取对应数量的许可
+     * @throws RejectedExecutionException 任务已关闭时抛出，由调用方归还许可
+     */
+    private void dispatch(RedisStreamListener listener, RedisStreamDispatcher dispatcher, String streamKey,
+                          List<ObjectRecord<String, String>> records) {
+        retryExecutor.execute(() -> {
+            try {
+                dispatcher.execute(() -> listener.onRecords(records), records.size());
+            } catch (Exception ex) {
+                // 消费失败的消息留在 Pending 队列中，等待下次认领
+                log.error("[dispatch][StreamKey({}) 重新消费消息异常]", streamKey, ex);
+            }
+        });
+    }
+
+    /**
+     * 移动消息到死信 Stream：所有的 XADD 与一次 XACK 通过一次 pipeline 执行
+     *
+     * @param listener    监听器
+     * @param streamKey   Stream Key
+     * @param deadLetters 死信消息
+     */
+    private void moveToDeadLetter(RedisStreamListener listener, String streamKey, List<MapRecord<String, Object, Object>> deadLetters) {
+        String deadLetterKey = streamKey + properties.getDeadLetterSuffix();
+        RedisStreamCommands.XAddOptions addOptions = RedisStreamCommands.XAddOptions.maxlen(properties.getDeadLetterMaxLength())
+                .approximateTrimming(true);
+        RecordId[] ids = deadLetters.stream().map(MapRecord::getId).toArray(RecordId[]::new);
+        redisTemplate.getRedisTemplate().executePipelined(new SessionCallback<Object>() {
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                StreamOperations<String, Object, Object> pipelineOps = ((RedisOperations<String, ?>) operations).opsForStream();
+                deadLetters.forEach(record -> pipelineOps.add(MapRecord.create(deadLetterKey, record.getValue()), addOptions));
+                pipelineOps.acknowledge(streamKey, listener.getGroup(), ids);
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        retryExecutor.shutdown();
+        try {
+            if (!retryExecutor.awaitTermination(SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                retryExecutor.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            retryExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,7 +1,8 @@
 package cn.jcodenest.framework.mq.redis.core.job;
 
 import cn.jcodenest.framework.mq.redis.core.RedisMQTemplate;
-import cn.jcodenest.framework.mq.redis.core.stream.AbstractRedisStreamMessageListener;
+import cn.jcodenest.framework.mq.redis.core.stream.RedisStreamListener;
+import cn.jcodenest.framework.mq.redis.core.stream.RedisStreamPartitions;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RLock;
@@ -39,7 +40,7 @@ public class RedisStreamMessageCleanupJob {
     /**
      * 监听器列表
      */
-    private final List<AbstractRedisStreamMessageListener<?>> listeners;
+    private final List<RedisStreamListener> listeners;
 
     /**
      * Redis MQ 模板
@@ -77,16 +78,16 @@ public class RedisStreamMessageCleanupJob {
      */
     private void execute() {
         StreamOperations<String, Object, Object> ops = redisTemplate.getRedisTemplate().opsForStream();
-        listeners.forEach(listener -> {
+        listeners.forEach(listener -> RedisStreamPartitions.getStreamKeys(listener).forEach(streamKey -> {
             try {
-                // 使用 XTRIM 命令清理消息，只保留最近的 MAX_LEN 条消息
-                Long trimCount = ops.trim(listener.getStreamKey(), MAX_COUNT, true);
+                // 使用 XTRIM 命令清理消息，只保留最近的 MAX_LEN 条消息；分区模式下每个分区各自保留
+                Long trimCount = ops.trim(streamKey, MAX_COUNT, true);
                 if (trimCount != null && trimCount > 0) {
-                    log.info("[execute][Stream({}) 清理消息数量({})]", listener.getStreamKey(), trimCount);
+                    log.info("[execute][Stream({}) 清理消息数量({})]", streamKey, trimCount);
                 }
             } catch (Exception ex) {
-                log.error("[execute][Stream({}) 清理异常]", listener.getStreamKey(), ex);
+                log.error("[execute][Stream({}) 清理异常]", streamKey, ex);
             }
-        });
+        }));
     }
 }
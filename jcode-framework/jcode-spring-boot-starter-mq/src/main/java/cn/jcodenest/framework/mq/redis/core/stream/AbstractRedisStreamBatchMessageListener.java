@@ -0,0 +1,233 @@
+package cn.jcodenest.framework.mq.redis.core.stream;
+
+import cn.hutool.core.util.TypeUtil;
+import cn.jcodenest.framework.common.util.json.JsonUtils;
+import cn.jcodenest.framework.mq.redis.core.RedisMQTemplate;
+import cn.jcodenest.framework.mq.redis.core.interceptor.RedisMessageInterceptor;
+import cn.jcodenest.framework.mq.redis.core.message.AbstractRedisMessage;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Redis Stream 批量消费的监听器抽象类，用于实现集群消费
+ *
+ * <p>
+ * 1. 每次拉取（XREADGROUP COUNT batchSize BLOCK pollTimeout）最多 batchSize 条消息，整批交给 {@link #onMessage(List)} 处理，
+ *    适合日志、通知扇出等高吞吐的场景
+ * 2. 拦截器按消息调用。由于拦截器基于消息头设置上下文（例如租户编号），一批消息按顺序切分成消息头相同的若干段，
+ *    每段调用一次 {@link #onMessage(List)}，保证同一段内的消息处于相同的上下文
+ * 3. 每段处理完成后立即使用一次 XACK 确认该段消息：Pending 消息的空闲时间从拉取时开始计算、处理期间不会重置，
+ *    逐段确认可以让后面的段不必等待整批处理完成，避免处理中的消息空闲超过 minIdleTime 被其它节点认领
+ * 4. 某段处理失败时，停止处理后续的段，已处理成功的段已确认，其余消息留在 Pending 队列中等待重投
+ * 5. 子类可通过构造方法设置 batchSize、pollTimeout
+ * </p>
+ *
+ * @param <T> 消息类型，一定要填写，不然会报错
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@Slf4j
+public abstract class AbstractRedisStreamBatchMessageListener<T extends AbstractRedisStreamMessage> implements RedisStreamListener {
+
+    /**
+     * 默认每次拉取的最大消息数量
+     */
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    /**
+     * 默认拉取的阻塞等待时间
+     */
+    public static final Duration DEFAULT_POLL_TIMEOUT = Duration.ofSeconds(2);
+
+    /**
+     * 消息类型
+     */
+    private final Class<T> messageType;
+
+    /**
+     * Redis Channel
+     */
+    @Getter
+    private final String streamKey;
+
+    /**
+     * 分区数量，0 表示不分区
+     */
+    @Getter
+    private final int partitions;
+
+    /**
+     * 每次拉取的最大消息数量
+     */
+    @Getter
+    private final int batchSize;
+
+    /**
+     * 拉取的阻塞等待时间
+     */
+    @Getter
+    private final Duration pollTimeout;
+
+    /**
+     * Redis 消费者分组，默认使用 spring.application.name 名字
+     */
+    @Value("${spring.application.name}")
+    @Getter
+    private String group;
+
+    /**
+     * RedisMQTemplate
+     */
+    @Setter
+    private RedisMQTemplate redisMQTemplate;
+
+    /**
+     * 默认构造器，使用默认的 batchSize、pollTimeout
+     */
+    protected AbstractRedisStreamBatchMessageListener() {
+        this(DEFAULT_BATCH_SIZE, DEFAULT_POLL_TIMEOUT);
+    }
+
+    /**
+     * 构造器
+     *
+     * @param batchSize   每次拉取的最大消息数量
+     * @param pollTimeout 拉取的阻塞等待时间
+     */
+    @SneakyThrows
+    protected AbstractRedisStreamBatchMessageListener(int batchSize, Duration pollTimeout) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be greater than 0");
+        }
+        this.batchSize = batchSize;
+        this.pollTimeout = Objects.requireNonNull(pollTimeout, "pollTimeout must not be null");
+        this.messageType = getMessageClass();
+        T message = messageType.getDeclaredConstructor().newInstance();
+        this.streamKey = message.getStreamKey();
+        this.partitions = message.getPartitions();
+    }
+
+    /**
+     * 拉取到一批消息时，会调用此方法
+     *
+     * @param records 一次拉取到的消息记录，来自同一个 Stream，never {@literal null}
+     */
+    @Override
+    public void onRecords(List<ObjectRecord<String, String>> records) {
+        int from = 0;
+        try {
+            while (from < records.size()) {
+                // 切分出消息头相同的一段
+                List<T> messages = new ArrayList<>();
+                T first = JsonUtils.parseObject(records.get(from).getValue(), messageType);
+                messages.add(first);
+                int to = from + 1;
+                for (; to < records.size(); to++) {
+                    T message = JsonUtils.parseObject(records.get(to).getValue(), messageType);
+                    if (!Objects.equals(first.getHeaders(), message.getHeaders())) {
+                        break;
+                    }
+                    messages.add(message);
+                }
+
+                // 消费该段消息，并立即 ack
+                consume(messages);
+                acknowledge(records.subList(from, to));
+                from = to;
+            }
+        } catch (Exception ex) {
+            log.error("[onRecords][StreamKey({}) 消费消息失败，已处理({}/{})条]", streamKey, from, records.size(), ex);
+        }
+    }
+
+    /**
+     * ack 一段消费完成的消息，一段只需一次 XACK；同一批消息来自同一个 Stream（分区模式下为分区的 Stream）
+     *
+     * @param records 消费完成的消息记录
+     */
+    private void acknowledge(List<ObjectRecord<String, String>> records) {
+        RecordId[] ids = records.stream().map(ObjectRecord::getId).toArray(RecordId[]::new);
+        redisMQTemplate.getRedisTemplate().opsForStream().acknowledge(records.get(0).getStream(), group, ids);
+    }
+
+    /**
+     * 处理一批消息
+     *
+     * @param messages 消息列表，同一批消息的消息头相同
+     */
+    public abstract void onMessage(List<T> messages);
+
+    /**
+     * 调用拦截器，并处理一批消息
+     *
+     * @param messages 消息列表
+     */
+    private void consume(List<T> messages) {
+        try {
+            // 消费消息之前调用拦截器
+            messages.forEach(this::consumeMessageBefore);
+            // 消费消息
+            this.onMessage(messages);
+        } finally {
+            // 消费消息之后调用拦截器
+            for (int i = messages.size() - 1; i >= 0; i--) {
+                consumeMessageAfter(messages.get(i));
+            }
+        }
+    }
+
+    /**
+     * 通过解析类上的泛型，获得消息类型
+     *
+     * @return 消息类型
+     */
+    @SuppressWarnings("unchecked")
+    private Class<T> getMessageClass() {
+        Type type = TypeUtil.getTypeArgument(getClass(), 0);
+        if (type == null) {
+            throw new IllegalStateException(String.format("类型(%s) 需要设置消息类型", getClass().getName()));
+        }
+        return (Class<T>) type;
+    }
+
+    /**
+     * 消费消息之前调用拦截器
+     *
+     * @param message 消息
+     */
+    private void consumeMessageBefore(AbstractRedisMessage message) {
+        assert redisMQTemplate != null;
+        List<RedisMessageInterceptor> interceptors = redisMQTemplate.getInterceptors();
+        // 正序处理拦截器
+        interceptors.forEach(interceptor -> interceptor.consumeMessageBefore(message));
+    }
+
+    /**
+     * 消费消息之后调用拦截器
+     *
+     * @param message 消息
+     */
+    private void consumeMessageAfter(AbstractRedisMessage message) {
+        assert redisMQTemplate != null;
+        List<RedisMessageInterceptor> interceptors = redisMQTemplate.getInterceptors();
+        // 倒序处理拦截器
+        for (int i = interceptors.size() - 1; i >= 0; i--) {
+            interceptors.get(i).consumeMessageAfter(message);
+        }
+    }
+}
@@ -24,4 +24,29 @@ public abstract class AbstractRedisStreamMessage extends AbstractRedisMessage {
     public String getStreamKey() {
         return getClass().getSimpleName();
     }
+
+    /**
+     * 获取分区数量，大于 0 时开启分区模式，默认 0 不分区
+     * <p>
+     * 分区模式下，一个逻辑 Stream 分散到多个 Stream Key（见 {@link RedisStreamPartitions#buildStreamKey(String, int)}），
+     * Redis Cluster 下分布在不同的分片上，吞吐随分片数量扩展；同一个 {@link #getPartitionKey()} 的消息路由到同一个分区，保证顺序
+     * <p>
+     * 注意：分区数量修改后，同一个分区 Key 可能路由到不同的分区，需要等旧分区的消息消费完成
+     *
+     * @return 分区数量
+     */
+    @JsonIgnore // 避免序列化
+    public int getPartitions() {
+        return 0;
+    }
+
+    /**
+     * 获取分区 Key，例如用户编号；为 null 时随机选择分区
+     *
+     * @return 分区 Key
+     */
+    @JsonIgnore // 避免序列化
+    public String getPartitionKey() {
+        return null;
+    }
 }
@@ -8,6 +8,7 @@ import cn.jcodenest.framework.mq.redis.core.message.AbstractRedisMessage;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.connection.stream.ObjectRecord;
 import org.springframework.data.redis.stream.StreamListener;
@@ -26,8 +27,9 @@ import java.util.List;
  * Copyright (c) 2025 JCodeNest-Cloud-Initializer
  * All rights reserved.
  */
+@Slf4j
 public abstract class AbstractRedisStreamMessageListener<T extends AbstractRedisStreamMessage>
-        implements StreamListener<String, ObjectRecord<String, String>> {
+        implements StreamListener<String, ObjectRecord<String, String>>, RedisStreamListener {
 
     /**
      * 消息类型
@@ -40,6 +42,12 @@ public abstract class AbstractRedisStreamMessageListener<T extends AbstractRedis
     @Getter
     private final String streamKey;
 
+    /**
+     * 分区数量，0 表示不分区
+     */
+    @Getter
+    private final int partitions;
+
     /**
      * Redis 消费者分组，默认使用 spring.application.name 名字
      */
@@ -59,7 +67,9 @@ public abstract class AbstractRedisStreamMessageListener<T extends AbstractRedis
     @SneakyThrows
     protected AbstractRedisStreamMessageListener() {
         this.messageType = getMessageClass();
-        this.streamKey = messageType.getDeclaredConstructor().newInstance().getStreamKey();
+        T message = messageType.getDeclaredConstructor().newInstance();
+        this.streamKey = message.getStreamKey();
+        this.partitions = message.getPartitions();
     }
 
     /**
@@ -92,6 +102,22 @@ public abstract class AbstractRedisStreamMessageListener<T extends AbstractRedis
         }
     }
 
+    /**
+     * 逐条处理消息记录，单条消息处理失败不影响其它消息
+     *
+     * @param records 消息记录
+     */
+    @Override
+    public void onRecords(List<ObjectRecord<String, String>> records) {
+        records.forEach(record -> {
+            try {
+                onMessage(record);
+            } catch (Exception ex) {
+                log.error("[onRecords][StreamKey({}) 消息({}) 消费失败]", streamKey, record.getId(), ex);
+            }
+        });
+    }
+
     /**
      * 处理消息
      *
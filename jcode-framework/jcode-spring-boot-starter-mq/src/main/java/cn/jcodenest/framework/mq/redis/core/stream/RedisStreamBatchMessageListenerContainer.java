@@ -0,0 +1,189 @@
+package cn.jcodenest.framework.mq.redis.core.stream;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.thread.ThreadUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Redis Stream 批量消费的容器
+ *
+ * <p>
+ * {@link org.springframework.data.redis.stream.StreamMessageListenerContainer} 虽然可以批量拉取，但仍逐条回调、逐条 ack，
+ * 因此为每个 {@link AbstractRedisStreamBatchMessageListener} 的每个消费者启动一个拉取线程，循环执行
+ * XREADGROUP COUNT batchSize BLOCK pollTimeout，并将整批消息通过 {@link RedisStreamDispatcher} 交给监听器处理
+ * </p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@Slf4j
+public class RedisStreamBatchMessageListenerContainer {
+
+    /**
+     * 拉取线程的名字前缀
+     */
+    private static final String THREAD_NAME_PREFIX = "redis-stream-batch-";
+
+    /**
+     * 拉取消息失败（例如 Redis 不可用）时，下次拉取前的等待时间，避免空转刷日志
+     */
+    private static final long ERROR_BACKOFF_MILLIS = 1000;
+
+    /**
+     * Redis 模板
+     */
+    private final RedisTemplate<String, ?> redisTemplate;
+
+    /**
+     * 消息分发器的注册表
+     */
+    private final RedisStreamDispatcherRegistry dispatcherRegistry;
+
+    /**
+     * 已注册的消费者，每个消费者一个拉取线程
+     */
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /**
+     * 拉取线程池，每个消费者一个线程
+     */
+    private ExecutorService executor;
+
+    /**
+     * 是否运行中
+     */
+    private volatile boolean running;
+
+    public RedisStreamBatchMessageListenerContainer(RedisTemplate<String, ?> redisTemplate,
+                                                    RedisStreamDispatcherRegistry dispatcherRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.dispatcherRegistry = dispatcherRegistry;
+    }
+
+    /**
+     * 注册监听器的一个消费者，需要在 {@link #start()} 之前调用
+     *
+     * @param listener     监听器
+     * @param consumerName 消费者名字
+     */
+    public void register(AbstractRedisStreamBatchMessageListener<?> listener, String consumerName) {
+        subscriptions.add(new Subscription(listener, consumerName));
+    }
+
+    /**
+     * 启动容器，为每个消费者启动一个拉取线程
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        executor = Executors.newCachedThreadPool(ThreadUtil.newNamedThreadFactory(THREAD_NAME_PREFIX, true));
+        subscriptions.forEach(subscription -> executor.execute(() -> poll(subscription)));
+    }
+
+    /**
+     * 停止容器，阻塞中的拉取会被中断
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        executor.shutdownNow();
+    }
+
+    /**
+     * 循环拉取消息，直到容器停止
+     *
+     * @param subscription 消费者
+     */
+    private void poll(Subscription subscription) {
+        AbstractRedisStreamBatchMessageListener<?> listener = subscription.listener();
+        RedisStreamDispatcher dispatcher = dispatcherRegistry.get(listener);
+        StreamOperations<String, Object, Object> ops = redisTemplate.opsForStream();
+        Consumer consumer = Consumer.from(listener.getGroup(), subscription.consumerName());
+        StreamOffset<String> streamOffset = StreamOffset.create(listener.getStreamKey(), ReadOffset.lastConsumed());
+        while (running) {
+            // 获取许可，处理中的消息达到上限时阻塞，即停止拉取
+            int permits;
+            try {
+                permits = dispatcher.acquire(listener.getBatchSize());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            // 拉取消息，最多拉取 permits 条
+            List<ObjectRecord<String, String>> records;
+            try {
+                StreamReadOptions readOptions = StreamReadOptions.empty().count(permits).block(listener.getPollTimeout());
+                records = read(ops, consumer, readOptions, streamOffset);
+            } catch (Exception ex) {
+                dispatcher.release(permits);
+                if (!running) {
+                    break;
+                }
+                log.error("[poll][StreamKey({}) 拉取消息失败]", listener.getStreamKey(), ex);
+                ThreadUtil.sleep(ERROR_BACKOFF_MILLIS);
+                continue;
+            }
+            int size = CollUtil.size(records);
+            dispatcher.release(permits - size);
+            if (size == 0) {
+                continue;
+            }
+
+            // 处理消息
+            try {
+                dispatcher.execute(() -> listener.onRecords(records), size);
+            } catch (Exception ex) {
+                log.error("[poll][StreamKey({}) 处理或确认消息失败]", listener.getStreamKey(), ex);
+                ThreadUtil.sleep(ERROR_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * 拉取一个 Stream 的消息
+     * <p>
+     * {@link StreamOperations} 只提供可变参数的 read 方法，传入泛型的 {@link StreamOffset} 时会产生 unchecked 警告；
+     * 这里只传入一个 StreamOffset，创建的数组仅由 read 方法读取，不会被写入或暴露，因此是安全的
+     *
+     * @param ops          Stream 操作
+     * @param consumer     消费者
+     * @param readOptions  拉取选项
+     * @param streamOffset Stream 及消费进度
+     * @return 消息记录
+     */
+    @SuppressWarnings("unchecked")
+    static List<ObjectRecord<String, String>> read(StreamOperations<String, Object, Object> ops, Consumer consumer,
+                                                   StreamReadOptions readOptions, StreamOffset<String> streamOffset) {
+        return ops.read(String.class, consumer, readOptions, streamOffset);
+    }
+
+    /**
+     * 消费者
+     *
+     * @param listener     监听器
+     * @param consumerName 消费者名字
+     */
+    private record Subscription(AbstractRedisStreamBatchMessageListener<?> listener, String consumerName) {
+    }
+}
@@ -0,0 +1,202 @@
+package cn.jcodenest.framework.mq.redis.core.stream;
+
+import cn.hutool.core.thread.ThreadUtil;
+import cn.jcodenest.framework.common.util.thread.VirtualThreadUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.stream.StreamListener;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis Stream 监听器的消息分发器，每个监听器一个
+ *
+ * <p>
+ * 1. {@link RedisStreamListener#getMaxInFlight()} 为 0 时，在拉取线程中直接处理消息，与分发器不存在时一致
+ * 2. 大于 0 时，拉取到的消息交给线程池（平台线程或虚拟线程）处理，拉取线程立即继续拉取，慢处理不再阻塞 Stream
+ * 3. 处理中的消息数量使用信号量限制，达到 maxInFlight 时拉取线程阻塞在 {@link #acquire(int)}，即停止拉取，起到反压的作用
+ * </p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@Slf4j
+public class RedisStreamDispatcher {
+
+    /**
+     * 处理线程的名字前缀
+     */
+    private static final String THREAD_NAME_PREFIX = "redis-stream-handler-";
+
+    /**
+     * Redis Stream Key
+     */
+    private final String streamKey;
+
+    /**
+     * 处理中的消息数量的许可，为 null 时在拉取线程中直接处理
+     */
+    private final Semaphore permits;
+
+    /**
+     * 处理消息的线程池，为 null 时在拉取线程中直接处理
+     */
+    private final ExecutorService executor;
+
+    public RedisStreamDispatcher(RedisStreamListener listener) {
+        this.streamKey = listener.getStreamKey();
+        int maxInFlight = listener.getMaxInFlight();
+        if (maxInFlight <= 0) {
+            this.permits = null;
+            this.executor = null;
+            return;
+        }
+        this.permits = new Semaphore(maxInFlight);
+        this.executor = createExecutor(streamKey, maxInFlight, listener.isVirtualThreads());
+    }
+
+    /**
+     * 获取处理消息的许可，处理中的消息达到上限时阻塞，直到有消息处理完成
+     *
+     * @param max 最多获取的许可数量，即本次最多拉取的消息数量
+     * @return 获取到的许可数量，至少为 1
+     * @throws InterruptedException 等待时被中断，例如容器停止
+     */
+    public int acquire(int max) throws InterruptedException {
+        if (permits == null) {
+            return max;
+        }
+        permits.acquire();
+        // 尽量多获取许可，减少拉取次数
+        int acquired = 1;
+        while (acquired < max && permits.tryAcquire()) {
+            acquired++;
+        }
+        return acquired;
+    }
+
+    /**
+     * 尝试获取处理消息的许可，不阻塞，例如 Pending 消息认领任务按可用的许可数量认领消息
+     *
+     * @param max 最多获取的许可数量
+     * @return 获取到的许可数量，可能为 0
+     */
+    public int tryAcquire(int max) {
+        if (permits == null) {
+            return max;
+        }
+        int acquired = 0;
+        while (acquired < max && permits.tryAcquire()) {
+            acquired++;
+        }
+        return acquired;
+    }
+
+    /**
+     * 归还未使用的许可，例如拉取到的消息少于获取的许可数量
+     *
+     * @param count 许可数量
+     */
+    public void release(int count) {
+        if (permits != null && count > 0) {
+            permits.release(count);
+        }
+    }
+
+    /**
+     * 处理消息，处理完成后归还许可
+     * <p>
+     * 线程池拒绝执行时（例如分发器已关闭），立即归还许可并抛出异常，消息留在 Pending 队列中等待重投
+     *
+     * @param task  处理任务
+     * @param count 任务占用的许可数量，即任务包含的消息数量
+     * @throws RejectedExecutionException 线程池拒绝执行
+     */
+    public void execute(Runnable task, int count) {
+        if (executor == null) {
+            task.run();
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (Exception ex) {
+                    log.error("[execute][StreamKey({}) 处理消息异常]", streamKey, ex);
+                } finally {
+                    release(count);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            release(count);
+            throw ex;
+        }
+    }
+
+    /**
+     * 包装逐条消费的监听器，用于注册到 {@link org.springframework.data.redis.stream.StreamMessageListenerContainer}
+     *
+     * @param listener 监听器
+     * @return 经过分发器处理的监听器
+     */
+    public StreamListener<String, ObjectRecord<String, String>> wrap(StreamListener<String, ObjectRecord<String, String>> listener) {
+        if (executor == null) {
+            return listener;
+        }
+        return message -> {
+            try {
+                acquire(1);
+            } catch (InterruptedException ex) {
+                // 容器停止，消息留在 Pending 队列中等待重投
+                Thread.currentThread().interrupt();
+                return;
+            }
+            execute(() -> listener.onMessage(message), 1);
+        };
+    }
+
+    /**
+     * 关闭分发器，等待处理中的消息处理完成
+     *
+     * @param timeoutMillis 最长等待时间，单位：毫秒
+     */
+    public void shutdown(long timeoutMillis) {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("[shutdown][StreamKey({}) 仍有消息处理中，未确认的消息将由 Pending 重投处理]", streamKey);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ExecutorService createExecutor(String streamKey, int maxInFlight, boolean virtualThreads) {
+        String namePrefix = THREAD_NAME_PREFIX + streamKey + "-";
+        if (virtualThreads) {
+            ExecutorService executor = VirtualThreadUtils.newVirtualThreadPerTaskExecutor(namePrefix);
+            if (executor != null) {
+                log.info("[createExecutor][StreamKey({}) 使用虚拟线程处理消息，最大处理中消息数({})]", streamKey, maxInFlight);
+                return executor;
+            }
+            log.warn("[createExecutor][当前 JDK 不支持虚拟线程, StreamKey({}) 改为使用平台线程]", streamKey);
+        }
+
+        // 信号量保证提交的任务不超过 maxInFlight，因此固定大小的线程池不会排队
+        log.info("[createExecutor][StreamKey({}) 使用线程池处理消息，最大处理中消息数({})]", streamKey, maxInFlight);
+        return Executors.newFixedThreadPool(maxInFlight, ThreadUtil.newNamedThreadFactory(namePrefix, true));
+    }
+}
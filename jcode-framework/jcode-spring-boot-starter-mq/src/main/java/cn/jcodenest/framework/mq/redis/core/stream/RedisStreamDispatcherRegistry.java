@@ -0,0 +1,50 @@
+package cn.jcodenest.framework.mq.redis.core.stream;
+
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis Stream 消息分发器的注册表，每个监听器一个 {@link RedisStreamDispatcher}
+ *
+ * <p>
+ * 监听容器依赖该注册表，因此 Spring 关闭时先停止容器的拉取，再关闭分发器，等待处理中的消息处理完成
+ * </p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+public class RedisStreamDispatcherRegistry implements DisposableBean {
+
+    /**
+     * 关闭时等待处理中的消息处理完成的最长时间，单位：毫秒
+     */
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+
+    /**
+     * 监听器 -> 分发器
+     */
+    private final Map<RedisStreamListener, RedisStreamDispatcher> dispatchers = new ConcurrentHashMap<>();
+
+    /**
+     * 获得监听器对应的分发器，不存在时创建
+     *
+     * @param listener 监听器
+     * @return 分发器
+     */
+    public RedisStreamDispatcher get(RedisStreamListener listener) {
+        return dispatchers.computeIfAbsent(listener, RedisStreamDispatcher::new);
+    }
+
+    @Override
+    public void destroy() {
+        long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_MILLIS;
+        dispatchers.values().forEach(dispatcher ->
+                dispatcher.shutdown(Math.max(0, deadline - System.currentTimeMillis())));
+    }
+}
@@ -0,0 +1,87 @@
+package cn.jcodenest.framework.mq.redis.core.stream;
+
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+
+import java.util.List;
+
+/**
+ * Redis Stream 监听器，描述消费的 Stream 与消费者分组
+ *
+ * <p>
+ * 逐条消费的 {@link AbstractRedisStreamMessageListener} 与批量消费的 {@link AbstractRedisStreamBatchMessageListener} 均实现该接口，
+ * 便于 Pending 消息重投、消息清理等任务统一处理
+ * </p>
+ *
+ * <p>
+ * 消费的并发度可按监听器重写以下方法声明，默认与单个消费者顺序处理一致：
+ * 1. {@link #getConcurrency()}：每个节点在同一分组下注册的消费者数量，每个消费者一个拉取线程
+ * 2. {@link #getMaxInFlight()}：大于 0 时，消息交给线程池处理，处理中的消息达到该数量时停止拉取
+ * 3. {@link #isVirtualThreads()}：处理消息的线程池是否使用虚拟线程，否则使用 maxInFlight 个平台线程
+ * </p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+public interface RedisStreamListener {
+
+    /**
+     * 获得 Redis Stream Key
+     *
+     * @return Stream Key
+     */
+    String getStreamKey();
+
+    /**
+     * 获得 Redis 消费者分组
+     *
+     * @return 消费者分组
+     */
+    String getGroup();
+
+    /**
+     * 获得分区数量，与消息的 {@link AbstractRedisStreamMessage#getPartitions()} 一致
+     *
+     * @return 分区数量，0 表示不分区
+     */
+    int getPartitions();
+
+    /**
+     * 处理一批消息记录，处理成功的消息会被 ack
+     * <p>
+     * 用于处理 Pending 队列中被重新认领（XCLAIM）的消息
+     *
+     * @param records 消息记录，来自同一个 Stream
+     */
+    void onRecords(List<ObjectRecord<String, String>> records);
+
+    /**
+     * 获得每个节点的消费者数量
+     *
+     * @return 消费者数量，默认 1
+     */
+    default int getConcurrency() {
+        return 1;
+    }
+
+    /**
+     * 获得处理中的消息数量上限
+     *
+     * @return 上限，默认 0，即在拉取线程中直接处理
+     */
+    default int getMaxInFlight() {
+        return 0;
+    }
+
+    /**
+     * 获得处理消息时是否使用虚拟线程，仅 {@link #getMaxInFlight()} 大于 0 时生效
+     *
+     * @return 是否使用虚拟线程，默认 false；JDK 不支持时使用平台线程
+     */
+    default boolean isVirtualThreads() {
+        return false;
+    }
+}
@@ -0,0 +1,340 @@
+package cn.jcodenest.framework.mq.redis.core.stream;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.thread.ThreadUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Redis Stream 分区消费的容器，用于 {@link AbstractRedisStreamMessage#getPartitions()} 大于 0 的监听器
+ *
+ * <p>
+ * 1. 分区分配：每个节点定时在 Redis 中登记心跳（ZSET，score 为心跳时间），存活节点按名字排序后，第 index 个节点分配
+ *    partition % 节点数 == index 的分区；节点上下线后，下一次心跳重新分配
+ * 2. 分区独占：节点获得分区的锁（Redisson 看门狗续期）之后才开始消费该分区，不再分配给自己时，等消费完当前批次再释放锁，
+ *    因此同一时刻一个分区只有一个消费者，分区内的消息按顺序消费；节点 crash 时，锁在看门狗超时后释放
+ * 3. 分区内顺序消费，不使用 {@link RedisStreamDispatcher} 并发处理；消费失败的消息留在 Pending 队列中，
+ *    由 Pending 消息认领任务重新消费，此时不保证顺序
+ * 4. 锁的获取、释放都在同一个分配线程中执行，满足 Redisson 锁与线程绑定的要求
+ * </p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@Slf4j
+public class RedisStreamPartitionListenerContainer {
+
+    /**
+     * 节点心跳 ZSET 的 key 前缀，后面拼接 Stream Key、消费者分组
+     */
+    private static final String NODES_KEY_PREFIX = "redis:stream:partition:nodes:";
+
+    /**
+     * 分区锁的 key 前缀，后面拼接分区的 Stream Key、消费者分组
+     */
+    private static final String LOCK_KEY_PREFIX = "redis:stream:partition:lock:";
+
+    /**
+     * 心跳、重新分配的间隔
+     */
+    private static final long HEARTBEAT_INTERVAL_MILLIS = 5000;
+
+    /**
+     * 逐条消费的监听器每次拉取的最大消息数量，与 StreamMessageListenerContainer 的配置一致
+     */
+    private static final int DEFAULT_BATCH_SIZE = 10;
+
+    /**
+     * 逐条消费的监听器拉取的阻塞等待时间
+     */
+    private static final Duration DEFAULT_POLL_TIMEOUT = Duration.ofSeconds(2);
+
+    /**
+     * 拉取消息失败（例如 Redis 不可用）时，下次拉取前的等待时间，避免空转刷日志
+     */
+    private static final long ERROR_BACKOFF_MILLIS = 1000;
+
+    /**
+     * Redis 模板
+     */
+    private final RedisTemplate<String, ?> redisTemplate;
+
+    /**
+     * Redisson 客户端
+     */
+    private final RedissonClient redissonClient;
+
+    /**
+     * 消费者名字，即当前节点的名字
+     */
+    private final String consumerName;
+
+    /**
+     * 心跳、重新分配的间隔，单位：毫秒
+     */
+    private final long heartbeatIntervalMillis;
+
+    /**
+     * 节点心跳超时时间，超过该时间未心跳的节点视为下线，单位：毫秒
+     */
+    private final long nodeTimeoutMillis;
+
+    /**
+     * 已注册的监听器
+     */
+    private final List<RedisStreamListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 当前节点消费中的分区，KEY：分区的 Stream Key + 消费者分组；仅在分配线程中访问
+     */
+    private final Map<String, PartitionTask> tasks = new HashMap<>();
+
+    /**
+     * 分配线程，执行心跳、分区分配，以及锁的获取、释放
+     */
+    private ScheduledExecutorService assigner;
+
+    /**
+     * 周期执行的心跳、分区分配任务
+     */
+    private ScheduledFuture<?> heartbeat;
+
+    /**
+     * 拉取线程池，每个分区一个线程
+     */
+    private ExecutorService pollers;
+
+    public RedisStreamPartitionListenerContainer(RedisTemplate<String, ?> redisTemplate, RedissonClient redissonClient,
+                                                 String consumerName) {
+        this(redisTemplate, redissonClient, consumerName, HEARTBEAT_INTERVAL_MILLIS);
+    }
+
+    RedisStreamPartitionListenerContainer(RedisTemplate<String, ?> redisTemplate, RedissonClient redissonClient,
+                                          String consumerName, long heartbeatIntervalMillis) {
+        this.redisTemplate = redisTemplate;
+        this.redissonClient = redissonClient;
+        this.consumerName = consumerName;
+        this.heartbeatIntervalMillis = heartbeatIntervalMillis;
+        this.nodeTimeoutMillis = 3 * heartbeatIntervalMillis;
+    }
+
+    /**
+     * 注册监听器，需要在 {@link #start()} 之前调用
+     *
+     * @param listener 监听器，分区数量需要大于 0
+     */
+    public void register(RedisStreamListener listener) {
+        if (listener.getPartitions() <= 0) {
+            throw new IllegalArgumentException(String.format("监听器(%s) 未开启分区", listener.getClass().getName()));
+        }
+        listeners.add(listener);
+    }
+
+    /**
+     * 启动容器，没有注册监听器时不执行任何操作
+     */
+    public synchronized void start() {
+        if (listeners.isEmpty() || assigner != null) {
+            return;
+        }
+        assigner = Executors.newSingleThreadScheduledExecutor(ThreadUtil.newNamedThreadFactory("redis-stream-partition-assigner-", true));
+        pollers = Executors.newCachedThreadPool(ThreadUtil.newNamedThreadFactory("redis-stream-partition-", true));
+        heartbeat = assigner.scheduleWithFixedDelay(this::rebalance, 0, heartbeatIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 停止容器：停止拉取，等待当前批次消费完成后释放分区的锁，并注销节点，其它节点在下一次心跳时接管分区
+     */
+    public synchronized void stop() {
+        if (assigner == null) {
+            return;
+        }
+        // 先取消心跳，避免释放分区之后、关闭分配线程之前，再次心跳并重新获得分区的锁
+        heartbeat.cancel(false);
+        Future<?> future = assigner.submit(this::releaseAll);
+        try {
+            future.get(nodeTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (Exception ex) {
+            log.warn("[stop][释放分区超时或失败，分区的锁将在看门狗超时后释放]", ex);
+        }
+        assigner.shutdownNow();
+        pollers.shutdownNow();
+        assigner = null;
+        heartbeat = null;
+    }
+
+    /**
+     * 心跳，并按存活节点重新分配分区
+     */
+    private void rebalance() {
+        long now = System.currentTimeMillis();
+        listeners.forEach(listener -> {
+            try {
+                // 心跳，并获得存活节点
+                RScoredSortedSet<String> nodes = getNodes(listener);
+                nodes.add(now, consumerName);
+                nodes.removeRangeByScore(0, true, now - nodeTimeoutMillis, false);
+                List<String> aliveNodes = new ArrayList<>(nodes.readAll());
+                Collections.sort(aliveNodes);
+                int index = aliveNodes.indexOf(consumerName);
+
+                // 按分区分配
+                for (int partition = 0; partition < listener.getPartitions(); partition++) {
+                    boolean assigned = index >= 0 && partition % aliveNodes.size() == index;
+                    rebalance(listener, RedisStreamPartitions.buildStreamKey(listener.getStreamKey(), partition), assigned);
+                }
+            } catch (Exception ex) {
+                log.error("[rebalance][StreamKey({}) 分配分区异常]", listener.getStreamKey(), ex);
+            }
+        });
+    }
+
+    /**
+     * 重新分配一个分区
+     *
+     * @param listener  监听器
+     * @param streamKey 分区的 Stream Key
+     * @param assigned  是否分配给当前节点
+     */
+    private void rebalance(RedisStreamListener listener, String streamKey, boolean assigned) {
+        String taskKey = streamKey + ":" + listener.getGroup();
+        PartitionTask task = tasks.get(taskKey);
+        // 情况一：消费中的分区，不再分配给当前节点，或锁已丢失（例如 Redis 故障导致看门狗续期失败），或拉取任务意外退出，停止消费
+        if (task != null) {
+            if (task.running && (!assigned || task.future.isDone() || !task.lock.isHeldByCurrentThread())) {
+                task.running = false;
+                log.info("[rebalance][分区({}) 停止消费]", streamKey);
+            }
+            // 当前批次消费完成后，释放锁
+            if (!task.running && task.future.isDone()) {
+                tasks.remove(taskKey);
+                unlock(task.lock);
+            }
+            return;
+        }
+
+        // 情况二：分配给当前节点的分区，获得锁后开始消费；获取失败说明上一个节点尚未释放，下一次心跳重试
+        if (!assigned) {
+            return;
+        }
+        RLock lock = redissonClient.getLock(LOCK_KEY_PREFIX + taskKey);
+        if (!lock.tryLock()) {
+            return;
+        }
+        PartitionTask newTask = new PartitionTask(lock);
+        newTask.future = pollers.submit(() -> poll(listener, streamKey, newTask));
+        tasks.put(taskKey, newTask);
+        log.info("[rebalance][分区({}) 开始消费]", streamKey);
+    }
+
+    /**
+     * 释放所有分区，并注销当前节点
+     */
+    private void releaseAll() {
+        tasks.values().forEach(task -> task.running = false);
+        tasks.values().forEach(task -> {
+            try {
+                task.future.get();
+            } catch (Exception ignore) {
+                // 拉取异常已在拉取线程中记录
+            }
+            unlock(task.lock);
+        });
+        tasks.clear();
+        listeners.forEach(listener -> {
+            try {
+                getNodes(listener).remove(consumerName);
+            } catch (Exception ex) {
+                log.warn("[releaseAll][StreamKey({}) 注销节点失败]", listener.getStreamKey(), ex);
+            }
+        });
+    }
+
+    /**
+     * 循环拉取分区的消息，并按顺序消费，直到分区被撤销
+     *
+     * @param listener  监听器
+     * @param streamKey 分区的 Stream Key
+     * @param task      分区任务
+     */
+    private void poll(RedisStreamListener listener, String streamKey, PartitionTask task) {
+        StreamOperations<String, Object, Object> ops = redisTemplate.opsForStream();
+        Consumer consumer = Consumer.from(listener.getGroup(), consumerName);
+        StreamReadOptions readOptions = listener instanceof AbstractRedisStreamBatchMessageListener<?> batchListener
+                ? StreamReadOptions.empty().count(batchListener.getBatchSize()).block(batchListener.getPollTimeout())
+                : StreamReadOptions.empty().count(DEFAULT_BATCH_SIZE).block(DEFAULT_POLL_TIMEOUT);
+        StreamOffset<String> streamOffset = StreamOffset.create(streamKey, ReadOffset.lastConsumed());
+        while (task.running) {
+            try {
+                List<ObjectRecord<String, String>> records = RedisStreamBatchMessageListenerContainer.read(ops, consumer, readOptions, streamOffset);
+                if (CollUtil.isNotEmpty(records)) {
+                    listener.onRecords(records);
+                }
+            } catch (Exception ex) {
+                if (!task.running) {
+                    break;
+                }
+                log.error("[poll][StreamKey({}) 拉取或确认消息失败]", streamKey, ex);
+                ThreadUtil.sleep(ERROR_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private RScoredSortedSet<String> getNodes(RedisStreamListener listener) {
+        return redissonClient.getScoredSortedSet(NODES_KEY_PREFIX + listener.getStreamKey() + ":" + listener.getGroup(),
+                StringCodec.INSTANCE);
+    }
+
+    private static void unlock(RLock lock) {
+        try {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        } catch (Exception ex) {
+            log.warn("[unlock][释放分区的锁({})失败]", lock.getName(), ex);
+        }
+    }
+
+    /**
+     * 分区任务
+     */
+    private static class PartitionTask {
+
+        /**
+         * 分区的锁
+         */
+        private final RLock lock;
+
+        /**
+         * 拉取任务
+         */
+        private Future<?> future;
+
+        /**
+         * 是否继续消费
+         */
+        private volatile boolean running = true;
+
+        private PartitionTask(RLock lock) {
+            this.lock = lock;
+        }
+    }
+}
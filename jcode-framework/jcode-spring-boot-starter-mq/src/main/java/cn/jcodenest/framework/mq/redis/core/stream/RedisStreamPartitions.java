@@ -0,0 +1,91 @@
+package cn.jcodenest.framework.mq.redis.core.stream;
+
+import cn.hutool.core.io.checksum.crc16.CRC16XModem;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Redis Stream 分区的工具类
+ *
+ * <p>
+ * 分区的 Stream Key 格式为 "{" + streamKey + ":" + 分区 + "}"：
+ * 1. 使用 Hash Tag 包裹整个 Key，分区对应的死信 Stream（Key + 后缀）与分区位于同一个 slot
+ * 2. 不同分区的 Hash Tag 不同，在 Redis Cluster 下分散到不同的分片
+ * 3. 分区 Key 按 CRC16(UTF-8 字节) % 分区数量 路由，与 Redis Cluster 计算 slot 使用的 CRC16（XMODEM）相同；
+ *    该算法是生产者与消费者之间的约定，与语言、JDK 版本无关，不允许修改，否则同一个分区 Key 的消息会路由到不同的分区而乱序
+ * </p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+public class RedisStreamPartitions {
+
+    /**
+     * 构建分区的 Stream Key
+     *
+     * @param streamKey 逻辑 Stream Key
+     * @param partition 分区
+     * @return 分区的 Stream Key
+     */
+    public static String buildStreamKey(String streamKey, int partition) {
+        return "{" + streamKey + ":" + partition + "}";
+    }
+
+    /**
+     * 获得分区 Key 对应的分区
+     * <p>
+     * 使用 CRC16（XMODEM）计算分区 Key 的 UTF-8 字节，结果范围为 [0, 65535]，非 Java 的生产者按相同的算法即可路由到相同的分区
+     *
+     * @param partitionKey 分区 Key，为 null 时随机选择分区
+     * @param partitions   分区数量
+     * @return 分区
+     */
+    public static int partitionOf(String partitionKey, int partitions) {
+        if (partitionKey == null) {
+            return ThreadLocalRandom.current().nextInt(partitions);
+        }
+        CRC16XModem crc16 = new CRC16XModem();
+        crc16.update(partitionKey.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc16.getValue() % partitions);
+    }
+
+    /**
+     * 获得消息发送的 Stream Key，分区模式下按分区 Key 路由
+     *
+     * @param message 消息
+     * @return Stream Key
+     */
+    public static String resolveStreamKey(AbstractRedisStreamMessage message) {
+        int partitions = message.getPartitions();
+        if (partitions <= 0) {
+            return message.getStreamKey();
+        }
+        return buildStreamKey(message.getStreamKey(), partitionOf(message.getPartitionKey(), partitions));
+    }
+
+    /**
+     * 获得监听器对应的所有 Stream Key，分区模式下为所有分区的 Stream Key
+     *
+     * @param listener 监听器
+     * @return Stream Key 列表
+     */
+    public static List<String> getStreamKeys(RedisStreamListener listener) {
+        int partitions = listener.getPartitions();
+        if (partitions <= 0) {
+            return Collections.singletonList(listener.getStreamKey());
+        }
+        List<String> streamKeys = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            streamKeys.add(buildStreamKey(listener.getStreamKey(), i));
+        }
+        return streamKeys;
+    }
+}
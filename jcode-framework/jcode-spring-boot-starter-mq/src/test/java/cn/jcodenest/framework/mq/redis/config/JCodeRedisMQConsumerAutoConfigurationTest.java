@@ -0,0 +1,112 @@
+package cn.jcodenest.framework.mq.redis.config;
+
+import cn.jcodenest.framework.common.util.cache.CacheUtils;
+import cn.jcodenest.framework.common.util.cache.LocalCacheRegistry;
+import cn.jcodenest.framework.mq.redis.core.RedisMQTemplate;
+import cn.jcodenest.framework.mq.redis.core.cache.LocalCacheInvalidateMessage;
+import cn.jcodenest.framework.mq.redis.core.cache.LocalCacheInvalidateMessageListener;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.fppt.jedismock.RedisServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link JCodeRedisMQConsumerAutoConfiguration} 的单元测试, 使用内嵌的 Redis 数据库
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class JCodeRedisMQConsumerAutoConfigurationTest {
+
+    private static final String CACHE_NAME = "test:local-cache-invalidate-configuration";
+
+    private static RedisServer redisServer;
+
+    private static JedisConnectionFactory connectionFactory;
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(JCodeRedisMQConsumerAutoConfiguration.class))
+            .withBean(RedisMQTemplate.class, () -> new RedisMQTemplate(new StringRedisTemplate(connectionFactory)));
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redisServer = RedisServer.newRedisServer().start();
+        connectionFactory = new JedisConnectionFactory(
+                new RedisStandaloneConfiguration(redisServer.getHost(), redisServer.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @Test
+    void testLocalCacheInvalidate_disabled() {
+        // 调用，并断言：默认不注册本地缓存失效的广播消费者，也不创建 Pub/Sub 容器
+        contextRunner.run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context).doesNotHaveBean(LocalCacheInvalidateMessageListener.class);
+            assertThat(context).doesNotHaveBean(RedisMessageListenerContainer.class);
+        });
+    }
+
+    @Test
+    void testLocalCacheInvalidate_enabled() {
+        // 准备参数
+        AtomicInteger loadCount = new AtomicInteger();
+        LoadingCache<Long, Integer> cache = CacheUtils.buildCache(CACHE_NAME, Duration.ofMinutes(1),
+                Duration.ofMinutes(10), 100, key -> loadCount.incrementAndGet());
+        assertThat(cache.get(1L)).isEqualTo(1);
+
+        try {
+            // 调用，并断言：注册广播消费者，收到广播后失效本节点的缓存
+            contextRunner.withPropertyValues("jcode.mq.redis.local-cache-invalidate-enable=true")
+                    .run(context -> {
+                        assertThat(context).hasNotFailed();
+                        assertThat(context).hasSingleBean(LocalCacheInvalidateMessageListener.class);
+                        assertThat(context).hasSingleBean(RedisMessageListenerContainer.class);
+                        // 断言：开启广播消费后，延长为声明的广播刷新间隔
+                        assertThat(cache.policy().refreshAfterWrite().orElseThrow().getRefreshesAfter())
+                                .isEqualTo(Duration.ofMinutes(10));
+
+                        context.getBean(RedisMQTemplate.class).send(LocalCacheInvalidateMessage.of(CACHE_NAME, List.of(1L)));
+                        // 断言：收到广播后移除本节点的缓存项，下一次读取时重新加载
+                        awaitUntil(() -> !cache.asMap().containsKey(1L));
+                        assertThat(cache.get(1L)).isEqualTo(2);
+                    });
+        } finally {
+            LocalCacheRegistry.unregister(CACHE_NAME, cache);
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
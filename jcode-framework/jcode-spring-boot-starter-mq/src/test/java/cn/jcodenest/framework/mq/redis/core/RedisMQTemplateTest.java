@@ -0,0 +1,192 @@
+package cn.jcodenest.framework.mq.redis.core;
+
+import cn.jcodenest.framework.mq.redis.core.interceptor.RedisMessageInterceptor;
+import cn.jcodenest.framework.mq.redis.core.message.AbstractRedisMessage;
+import cn.jcodenest.framework.mq.redis.core.pubsub.AbstractRedisChannelMessage;
+import cn.jcodenest.framework.mq.redis.core.stream.AbstractRedisStreamMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.ReactiveStreamOperations;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import reactor.core.publisher.Sinks;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link RedisMQTemplate} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@ExtendWith(MockitoExtension.class)
+class RedisMQTemplateTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+    @Mock
+    private StreamOperations<String, Object, Object> streamOperations;
+    @Mock
+    private RedisMessageInterceptor interceptor;
+
+    private RedisMQTemplate redisMQTemplate;
+
+    @BeforeEach
+    void setUp() {
+        redisMQTemplate = new RedisMQTemplate(redisTemplate);
+        redisMQTemplate.addInterceptor(interceptor);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSendBatch_mixed() {
+        // 准备参数
+        TestStreamMessage first = new TestStreamMessage();
+        TestChannelMessage second = new TestChannelMessage();
+        TestStreamMessage third = new TestStreamMessage();
+        RedisOperations<String, Object> pipelineOperations = mock(RedisOperations.class);
+        // mock 方法：pipeline 按命令顺序返回结果，PUBLISH 返回订阅者数量
+        when(pipelineOperations.opsForStream()).thenReturn(streamOperations);
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            invocation.getArgument(0, SessionCallback.class).execute(pipelineOperations);
+            return Arrays.asList(RecordId.of("1-0"), 2L, RecordId.of("2-0"));
+        });
+
+        // 调用
+        List<RecordId> recordIds = redisMQTemplate.sendBatch(List.of(first, second, third));
+        // 断言：编号与消息按顺序一一对应，Channel 消息对应 null
+        assertEquals(Arrays.asList(RecordId.of("1-0"), null, RecordId.of("2-0")), recordIds);
+        // 断言：所有消息发送前调用 sendMessageBefore，pipeline 之后调用 sendMessageAfter
+        InOrder inOrder = inOrder(interceptor, redisTemplate, streamOperations, pipelineOperations);
+        inOrder.verify(interceptor).sendMessageBefore(same(first));
+        inOrder.verify(interceptor).sendMessageBefore(same(second));
+        inOrder.verify(interceptor).sendMessageBefore(same(third));
+        inOrder.verify(redisTemplate).executePipelined(any(SessionCallback.class));
+        inOrder.verify(streamOperations).add(argThat((ObjectRecord<String, String> record) -> "TestStreamMessage".equals(record.getStream())));
+        inOrder.verify(pipelineOperations).convertAndSend(eq("TestChannelMessage"), anyString());
+        inOrder.verify(streamOperations).add(any(ObjectRecord.class));
+        inOrder.verify(interceptor).sendMessageAfter(same(first));
+        inOrder.verify(interceptor).sendMessageAfter(same(second));
+        inOrder.verify(interceptor).sendMessageAfter(same(third));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSendBatch_pipelineFails() {
+        // 准备参数
+        TestStreamMessage first = new TestStreamMessage();
+        TestChannelMessage second = new TestChannelMessage();
+        // mock 方法
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenThrow(new IllegalStateException("pipeline failed"));
+
+        // 调用
+        assertThrows(IllegalStateException.class, () -> redisMQTemplate.sendBatch(List.of(first, second)));
+        // 断言：发送失败时，仍然调用 sendMessageAfter
+        verify(interceptor).sendMessageBefore(same(first));
+        verify(interceptor).sendMessageBefore(same(second));
+        verify(interceptor).sendMessageAfter(same(first));
+        verify(interceptor).sendMessageAfter(same(second));
+    }
+
+    @Test
+    void testSendBatch_empty() {
+        // 调用，并断言
+        assertEquals(List.of(), redisMQTemplate.sendBatch(List.of()));
+        verifyNoInteractions(redisTemplate, interceptor);
+    }
+
+    @Test
+    void testSendAsync_withoutReactiveTemplate() throws Exception {
+        // 准备参数
+        TestStreamMessage message = new TestStreamMessage();
+        // mock 方法
+        when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        when(streamOperations.add(ArgumentMatchers.<ObjectRecord<String, String>>any())).thenReturn(RecordId.of("1-0"));
+
+        // 调用
+        CompletableFuture<RecordId> future = redisMQTemplate.sendAsync(message);
+        // 断言：退化为同步发送
+        assertTrue(future.isDone());
+        assertEquals(RecordId.of("1-0"), future.get());
+        InOrder inOrder = inOrder(interceptor, streamOperations);
+        inOrder.verify(interceptor).sendMessageBefore(same(message));
+        inOrder.verify(streamOperations).add(ArgumentMatchers.<ObjectRecord<String, String>>any());
+        inOrder.verify(interceptor).sendMessageAfter(same(message));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSendAsync_afterCompleted() throws Exception {
+        // 准备参数
+        ReactiveStringRedisTemplate reactiveRedisTemplate = mock(ReactiveStringRedisTemplate.class);
+        ReactiveStreamOperations<String, Object, Object> reactiveStreamOperations = mock(ReactiveStreamOperations.class);
+        redisMQTemplate = new RedisMQTemplate(redisTemplate, reactiveRedisTemplate);
+        redisMQTemplate.addInterceptor(interceptor);
+        TestStreamMessage message = new TestStreamMessage();
+        Sinks.One<RecordId> xadd = Sinks.one();
+        // mock 方法
+        doReturn(reactiveStreamOperations).when(reactiveRedisTemplate).opsForStream();
+        when(reactiveStreamOperations.add(any(ObjectRecord.class))).thenReturn(xadd.asMono());
+
+        // 调用
+        CompletableFuture<RecordId> future = redisMQTemplate.sendAsync(message);
+        // 断言：XADD 完成之前，不调用 sendMessageAfter
+        verify(interceptor).sendMessageBefore(same(message));
+        assertFalse(future.isDone());
+        verify(interceptor, never()).sendMessageAfter(any(AbstractRedisMessage.class));
+        // 断言：XADD 完成之后，调用 sendMessageAfter
+        xadd.tryEmitValue(RecordId.of("1-0"));
+        assertEquals(RecordId.of("1-0"), future.get(1, TimeUnit.SECONDS));
+        verify(interceptor).sendMessageAfter(same(message));
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSendAsync_failed() {
+        // 准备参数
+        ReactiveStringRedisTemplate reactiveRedisTemplate = mock(ReactiveStringRedisTemplate.class);
+        ReactiveStreamOperations<String, Object, Object> reactiveStreamOperations = mock(ReactiveStreamOperations.class);
+        redisMQTemplate = new RedisMQTemplate(redisTemplate, reactiveRedisTemplate);
+        redisMQTemplate.addInterceptor(interceptor);
+        TestStreamMessage message = new TestStreamMessage();
+        Sinks.One<RecordId> xadd = Sinks.one();
+        // mock 方法
+        doReturn(reactiveStreamOperations).when(reactiveRedisTemplate).opsForStream();
+        when(reactiveStreamOperations.add(any(ObjectRecord.class))).thenReturn(xadd.asMono());
+
+        // 调用
+        CompletableFuture<RecordId> future = redisMQTemplate.sendAsync(message);
+        xadd.tryEmitError(new IllegalStateException("xadd failed"));
+        // 断言：XADD 失败时，同样调用 sendMessageAfter
+        assertThrows(Exception.class, () -> future.get(1, TimeUnit.SECONDS));
+        verify(interceptor).sendMessageAfter(same(message));
+    }
+
+    static class TestStreamMessage extends AbstractRedisStreamMessage {
+    }
+
+    static class TestChannelMessage extends AbstractRedisChannelMessage {
+    }
+}
@@ -0,0 +1,80 @@
+package cn.jcodenest.framework.mq.redis.core.cache;
+
+import cn.jcodenest.framework.common.util.cache.CacheUtils;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import cn.jcodenest.framework.common.util.cache.LocalCacheRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link LocalCacheInvalidateMessageListener} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class LocalCacheInvalidateMessageListenerTest {
+
+    private static final String CACHE_NAME = "test:local-cache-invalidate-listener";
+
+    private final LocalCacheInvalidateMessageListener listener = new LocalCacheInvalidateMessageListener();
+
+    /**
+     * 加载次数，作为缓存的值
+     */
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    private LoadingCache<Long, Integer> cache;
+
+    @BeforeEach
+    void setUp() {
+        // 同步刷新，刷新在当前线程完成
+        cache = CacheUtils.buildCache(CACHE_NAME, Duration.ofMinutes(10), 100, key -> loadCount.incrementAndGet());
+    }
+
+    @AfterEach
+    void tearDown() {
+        LocalCacheRegistry.unregister(CACHE_NAME, cache);
+    }
+
+    @Test
+    void testOnMessage_keys() {
+        // 准备参数
+        assertEquals(1, cache.get(1L));
+        assertEquals(2, cache.get(2L));
+
+        // 调用：Long 类型的 key 按字符串广播
+        listener.onMessage(LocalCacheInvalidateMessage.of(CACHE_NAME, List.of(1L)));
+        // 断言：只刷新匹配的缓存项
+        assertEquals(3, cache.get(1L));
+        assertEquals(2, cache.get(2L));
+    }
+
+    @Test
+    void testOnMessage_all() {
+        // 准备参数
+        cache.get(1L);
+        cache.get(2L);
+
+        // 调用
+        listener.onMessage(LocalCacheInvalidateMessage.ofAll(CACHE_NAME));
+        // 断言：清空全部的缓存项
+        assertTrue(cache.asMap().isEmpty());
+    }
+
+    @Test
+    void testOnMessage_unknownCache() {
+        // 调用，并断言：其它节点注册的缓存，本节点不存在时忽略
+        assertDoesNotThrow(() -> listener.onMessage(LocalCacheInvalidateMessage.of("test:unknown", List.of(1L))));
+    }
+}
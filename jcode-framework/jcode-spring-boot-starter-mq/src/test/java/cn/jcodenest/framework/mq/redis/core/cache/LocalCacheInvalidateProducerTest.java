@@ -0,0 +1,95 @@
+package cn.jcodenest.framework.mq.redis.core.cache;
+
+import cn.jcodenest.framework.common.util.cache.CacheUtils;
+import cn.jcodenest.framework.common.util.cache.LocalCacheRegistry;
+import cn.jcodenest.framework.mq.redis.core.RedisMQTemplate;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link LocalCacheInvalidateProducer} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@ExtendWith(MockitoExtension.class)
+class LocalCacheInvalidateProducerTest {
+
+    private static final String CACHE_NAME = "test:local-cache-invalidate-producer";
+
+    @Mock
+    private RedisMQTemplate redisMQTemplate;
+    @Captor
+    private ArgumentCaptor<LocalCacheInvalidateMessage> messageCaptor;
+
+    @InjectMocks
+    private LocalCacheInvalidateProducer producer;
+
+    @AfterEach
+    void tearDown() {
+        LocalCacheRegistry.setPublisher(null);
+    }
+
+    @Test
+    void testSendInvalidateMessage() {
+        // 调用
+        producer.sendInvalidateMessage(CACHE_NAME, List.of(1L, 2L));
+        // 断言：key 按字符串发送
+        verify(redisMQTemplate).send(messageCaptor.capture());
+        assertEquals(CACHE_NAME, messageCaptor.getValue().getCacheName());
+        assertEquals(List.of("1", "2"), messageCaptor.getValue().getKeys());
+    }
+
+    @Test
+    void testSendInvalidateMessage_emptyKeys() {
+        // 调用：key 为空时，发送刷新全部的消息
+        producer.sendInvalidateMessage(CACHE_NAME, Collections.emptyList());
+        producer.sendInvalidateMessage(CACHE_NAME, null);
+        // 断言
+        verify(redisMQTemplate, times(2)).send(messageCaptor.capture());
+        messageCaptor.getAllValues().forEach(message -> {
+            assertEquals(CACHE_NAME, message.getCacheName());
+            assertNull(message.getKeys());
+        });
+    }
+
+    @Test
+    void testPublish() {
+        // 准备参数
+        AtomicInteger loadCount = new AtomicInteger();
+        LoadingCache<Long, Integer> cache = CacheUtils.buildCache(CACHE_NAME, Duration.ofMinutes(10), 100,
+                key -> loadCount.incrementAndGet());
+        LocalCacheRegistry.setPublisher(producer::sendInvalidateMessage);
+        try {
+            assertEquals(1, cache.get(1L));
+
+            // 调用：写入方通过 LocalCacheRegistry 发布失效事件
+            LocalCacheRegistry.publish(CACHE_NAME, List.of(1L));
+            // 断言：本节点立即刷新，并广播到其它节点
+            assertEquals(2, cache.get(1L));
+            verify(redisMQTemplate).send(messageCaptor.capture());
+            assertEquals(List.of("1"), messageCaptor.getValue().getKeys());
+        } finally {
+            LocalCacheRegistry.unregister(CACHE_NAME, cache);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package cn.jcodenest.framework.mq.redis.core.job;
+
+import cn.jcodenest.framework.mq.redis.config.properties.JCodeRedisMQProperties;
+import cn.jcodenest.framework.mq.redis.core.RedisMQTemplate;
+import cn.jcodenest.framework.mq.redis.core.stream.AbstractRedisStreamBatchMessageListener;
+import cn.jcodenest.framework.mq.redis.core.stream.RedisStreamDispatcherRegistry;
+import cn.jcodenest.framework.mq.redis.core.stream.RedisStreamListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StreamOperations;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link RedisPendingMessageReclaimJob} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@ExtendWith(MockitoExtension.class)
+class RedisPendingMessageReclaimJobTest {
+
+    private static final String STREAM_KEY = "stream";
+    private static final String GROUP = "jcode";
+    private static final String CONSUMER = "node";
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+    @Mock
+    private StreamOperations<String, Object, Object> streamOperations;
+    @Mock
+    private RedissonClient redissonClient;
+    @Mock
+    private RLock lock;
+    @Mock
+    private RedisStreamListener listener;
+
+    private final JCodeRedisMQProperties.Reclaim properties = new JCodeRedisMQProperties.Reclaim();
+
+    private RedisStreamDispatcherRegistry dispatcherRegistry;
+
+    private RedisPendingMessageReclaimJob job;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        lenient().when(redissonClient.getLock(eq("redis:stream:pending-message-reclaim:lock:stream:jcode"))).thenReturn(lock);
+        lenient().when(lock.tryLock()).thenReturn(true);
+        lenient().when(listener.getStreamKey()).thenReturn(STREAM_KEY);
+        lenient().when(listener.getGroup()).thenReturn(GROUP);
+        lenient().when(listener.getMaxInFlight()).thenReturn(4);
+        lenient().when(streamOperations.map(anyList(), eq(String.class))).thenAnswer(invocation -> {
+            List<MapRecord<String, Object, Object>> records = invocation.getArgument(0);
+            return records.stream().map(record -> StreamRecords.newRecord().in(record.getStream())
+                    .withId(record.getId()).ofObject(String.valueOf(record.getValue().get("payload")))).toList();
+        });
+        dispatcherRegistry = new RedisStreamDispatcherRegistry();
+        job = new RedisPendingMessageReclaimJob(List.of(listener), new RedisMQTemplate(redisTemplate), redissonClient,
+                properties, CONSUMER, dispatcherRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        job.destroy();
+        dispatcherRegistry.destroy();
+    }
+
+    @Test
+    void testMinIdleTime_default() {
+        // 断言：批量消息逐段 ack，默认的 minIdleTime 为秒级，能够及时认领 crash 节点的消息，并且大于批量监听器默认的拉取等待时间
+        Duration minIdleTime = new JCodeRedisMQProperties.Reclaim().getMinIdleTime();
+        assertEquals(Duration.ofSeconds(30), minIdleTime);
+        assertTrue(minIdleTime.compareTo(AbstractRedisStreamBatchMessageListener.DEFAULT_POLL_TIMEOUT) > 0);
+    }
+
+    @Test
+    void testMessageReclaim_minIdleFilter() throws Exception {
+        // 准备参数：只有 1-0 空闲超过 minIdleTime
+        CountDownLatch consuming = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        // mock 方法
+        when(streamOperations.pending(eq(STREAM_KEY), eq(GROUP), eq(Range.unbounded()), eq(100L)))
+                .thenReturn(pending(pendingMessage("1-0", Duration.ofMinutes(1), 1),
+                        pendingMessage("2-0", Duration.ofSeconds(1), 1)));
+        when(streamOperations.claim(eq(STREAM_KEY), eq(GROUP), eq(CONSUMER), eq(Duration.ofSeconds(30)), any(RecordId[].class)))
+                .thenReturn(List.of(record("1-0")));
+        doAnswer(invocation -> {
+            consuming.countDown();
+            finish.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(listener).onRecords(anyList());
+
+        // 调用
+        job.messageReclaim();
+        // 断言：XCLAIM 带 minIdleTime 条件, 只认领空闲超时的消息
+        verify(streamOperations).claim(eq(STREAM_KEY), eq(GROUP), eq(CONSUMER), eq(Duration.ofSeconds(30)),
+                eq(RecordId.of("1-0")));
+        // 断言：重新消费异步执行, 消费还未完成时任务已返回并释放锁
+        assertTrue(consuming.await(1, TimeUnit.SECONDS));
+        verify(lock).unlock();
+        finish.countDown();
+        ArgumentCaptor<List<ObjectRecord<String, String>>> recordsCaptor = ArgumentCaptor.captor();
+        verify(listener).onRecords(recordsCaptor.capture());
+        assertEquals(List.of(RecordId.of("1-0")), recordsCaptor.getValue().stream().map(ObjectRecord::getId).toList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testMessageReclaim_deadLetter() {
+        // 准备参数：1-0 投递次数达到上限, 2-0 未达到
+        RedisOperations<String, Object> pipelineOperations = mock(RedisOperations.class);
+        StreamOperations<String, Object, Object> pipelineStreamOperations = mock(StreamOperations.class);
+        // mock 方法
+        when(streamOperations.pending(eq(STREAM_KEY), eq(GROUP), eq(Range.unbounded()), eq(100L)))
+                .thenReturn(pending(pendingMessage("1-0", Duration.ofMinutes(1), 16),
+                        pendingMessage("2-0", Duration.ofMinutes(1), 3)));
+        when(streamOperations.claim(eq(STREAM_KEY), eq(GROUP), eq(CONSUMER), any(Duration.class), any(RecordId[].class)))
+                .thenReturn(List.of(record("1-0"), record("2-0")));
+        when(pipelineOperations.opsForStream()).thenReturn(pipelineStreamOperations);
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            invocation.getArgument(0, SessionCallback.class).execute(pipelineOperations);
+            return List.of();
+        });
+
+        // 调用
+        job.messageReclaim();
+        // 断言：死信消息通过 pipeline 移动到死信 Stream, 并 XACK
+        InOrder inOrder = inOrder(pipelineStreamOperations);
+        inOrder.verify(pipelineStreamOperations).add(argThat((MapRecord<String, Object, Object> record) ->
+                        "stream:dlq".equals(record.getStream()) && Map.of("payload", "1-0").equals(record.getValue())),
+                argThat((RedisStreamCommands.XAddOptions options) -> options.getMaxlen() == 10000 && options.isApproximateTrimming()));
+        inOrder.verify(pipelineStreamOperations).acknowledge(eq(STREAM_KEY), eq(GROUP), eq(RecordId.of("1-0")));
+        verifyNoMoreInteractions(pipelineStreamOperations);
+        // 断言：只有未达到上限的消息重新消费
+        ArgumentCaptor<List<ObjectRecord<String, String>>> recordsCaptor = ArgumentCaptor.captor();
+        verify(listener, timeout(1000)).onRecords(recordsCaptor.capture());
+        assertEquals(List.of(RecordId.of("2-0")), recordsCaptor.getValue().stream().map(ObjectRecord::getId).toList());
+    }
+
+    @Test
+    void testMessageReclaim_pagination() {
+        // 准备参数
+        properties.setBatchSize(2);
+        // mock 方法：第一页满, 第二页不满
+        when(streamOperations.pending(eq(STREAM_KEY), eq(GROUP), eq(Range.unbounded()), eq(2L)))
+                .thenReturn(pending(pendingMessage("1-0", Duration.ofSeconds(1), 1),
+                        pendingMessage("2-5", Duration.ofSeconds(1), 1)));
+        when(streamOperations.pending(eq(STREAM_KEY), eq(GROUP),
+                eq(Range.of(Range.Bound.inclusive("2-6"), Range.Bound.unbounded())), eq(2L)))
+                .thenReturn(pending(pendingMessage("3-0", Duration.ofSeconds(1), 1)));
+
+        // 调用
+        job.messageReclaim();
+        // 断言：从上一页最后一条消息的下一个编号开始读取, 不满一页时结束
+        verify(streamOperations, times(2)).pending(anyString(), anyString(), any(Range.class), anyLong());
+        // 断言：没有空闲超时的消息, 不认领
+        verify(streamOperations, never()).claim(anyString(), anyString(), anyString(), any(Duration.class), any(RecordId[].class));
+        verify(lock).unlock();
+    }
+
+    @Test
+    void testMessageReclaim_maxInFlight() throws Exception {
+        // 准备参数：只有 1 个许可
+        when(listener.getMaxInFlight()).thenReturn(1);
+        CountDownLatch consumed = new CountDownLatch(1);
+        // mock 方法
+        when(streamOperations.pending(eq(STREAM_KEY), eq(GROUP), eq(Range.unbounded()), eq(100L)))
+                .thenReturn(pending(pendingMessage("1-0", Duration.ofMinutes(1), 1),
+                        pendingMessage("2-0", Duration.ofMinutes(1), 1)));
+        when(streamOperations.claim(eq(STREAM_KEY), eq(GROUP), eq(CONSUMER), any(Duration.class), any(RecordId[].class)))
+                .thenReturn(List.of(record("1-0")));
+        doAnswer(invocation -> {
+            consumed.countDown();
+            return null;
+        }).when(listener).onRecords(anyList());
+
+        // 调用
+        job.messageReclaim();
+        // 断言：按可用的许可数量认领, 其余的留给下次认领
+        verify(streamOperations).claim(anyString(), anyString(), anyString(), any(Duration.class), eq(RecordId.of("1-0")));
+        assertTrue(consumed.await(1, TimeUnit.SECONDS));
+    }
+
+    private static PendingMessages pending(PendingMessage... pendingMessages) {
+        return new PendingMessages(GROUP, Arrays.asList(pendingMessages));
+    }
+
+    private static PendingMessage pendingMessage(String id, Duration elapsed, long deliveryCount) {
+        return new PendingMessage(RecordId.of(id), Consumer.from(GROUP, "crashed"), elapsed, deliveryCount);
+    }
+
+    private static MapRecord<String, Object, Object> record(String id) {
+        return StreamRecords.<String, Object, Object>mapBacked(Map.of("payload", id)).withStreamKey(STREAM_KEY)
+                .withId(RecordId.of(id));
+    }
+}
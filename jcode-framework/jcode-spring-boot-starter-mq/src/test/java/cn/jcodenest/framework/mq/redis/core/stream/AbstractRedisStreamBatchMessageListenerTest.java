@@ -0,0 +1,166 @@
+package cn.jcodenest.framework.mq.redis.core.stream;
+
+import cn.jcodenest.framework.common.util.json.JsonUtils;
+import cn.jcodenest.framework.mq.redis.core.RedisMQTemplate;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link AbstractRedisStreamBatchMessageListener} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@ExtendWith(MockitoExtension.class)
+class AbstractRedisStreamBatchMessageListenerTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+    @Mock
+    private StreamOperations<String, Object, Object> streamOperations;
+
+    private TestBatchListener listener;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        listener = new TestBatchListener();
+        listener.init(new RedisMQTemplate(redisTemplate), "jcode");
+    }
+
+    @Test
+    void testOnRecords_singleAck() {
+        // 准备参数
+        List<ObjectRecord<String, String>> records = List.of(buildRecord("1-0", 1, null),
+                buildRecord("2-0", 2, null), buildRecord("3-0", 3, null));
+
+        // 调用
+        listener.onRecords(records);
+        // 断言：整批交给 onMessage 处理, 并且只 XACK 一次
+        assertEquals(List.of(List.of(1, 2, 3)), listener.getBatches());
+        verify(streamOperations, times(1)).acknowledge(eq("TestMessage"), eq("jcode"),
+                eq(RecordId.of("1-0")), eq(RecordId.of("2-0")), eq(RecordId.of("3-0")));
+        verifyNoMoreInteractions(streamOperations);
+    }
+
+    @Test
+    void testOnRecords_splitByHeaders() {
+        // 准备参数：消息头不同的消息, 按顺序切分成多段
+        List<ObjectRecord<String, String>> records = List.of(buildRecord("1-0", 1, "1"),
+                buildRecord("2-0", 2, "1"), buildRecord("3-0", 3, "2"));
+        listener.setHandler(messages -> {
+            // 断言：处理后一段时, 前一段已经 XACK, 不必等待整批处理完成
+            if (messages.get(0).getId() == 3) {
+                verify(streamOperations).acknowledge(eq("TestMessage"), eq("jcode"),
+                        eq(RecordId.of("1-0")), eq(RecordId.of("2-0")));
+            }
+        });
+
+        // 调用
+        listener.onRecords(records);
+        // 断言：每段调用一次 onMessage, 并且每段 XACK 一次
+        assertEquals(List.of(List.of(1, 2), List.of(3)), listener.getBatches());
+        verify(streamOperations).acknowledge(eq("TestMessage"), eq("jcode"), eq(RecordId.of("3-0")));
+        verifyNoMoreInteractions(streamOperations);
+    }
+
+    @Test
+    void testOnRecords_partialFailure() {
+        // 准备参数：第二段处理失败
+        List<ObjectRecord<String, String>> records = List.of(buildRecord("1-0", 1, "1"),
+                buildRecord("2-0", 2, "2"), buildRecord("3-0", 3, "3"));
+        listener.setHandler(messages -> {
+            if (messages.get(0).getId() == 2) {
+                throw new IllegalStateException("consume failed");
+            }
+        });
+
+        // 调用
+        listener.onRecords(records);
+        // 断言：只确认处理成功的消息, 其余消息留在 Pending 队列中
+        assertEquals(List.of(List.of(1), List.of(2)), listener.getBatches());
+        verify(streamOperations).acknowledge(eq("TestMessage"), eq("jcode"), eq(RecordId.of("1-0")));
+        verifyNoMoreInteractions(streamOperations);
+    }
+
+    static ObjectRecord<String, String> buildRecord(String id, Integer messageId, String tenantId) {
+        return buildRecord("TestMessage", id, messageId, tenantId);
+    }
+
+    static ObjectRecord<String, String> buildRecord(String streamKey, String id, Integer messageId, String tenantId) {
+        TestMessage message = new TestMessage();
+        message.setId(messageId);
+        if (tenantId != null) {
+            message.addHeader("tenant-id", tenantId);
+        }
+        return StreamRecords.newRecord().in(streamKey).withId(RecordId.of(id)).ofObject(JsonUtils.toJsonString(message));
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    static class TestMessage extends AbstractRedisStreamMessage {
+
+        private Integer id;
+
+    }
+
+    /**
+     * 记录每次调用 {@link #onMessage(List)} 时的消息编号
+     */
+    static class TestBatchListener extends AbstractRedisStreamBatchMessageListener<TestMessage> {
+
+        private final List<List<Integer>> batches = new ArrayList<>();
+
+        private Consumer<List<TestMessage>> handler = messages -> {
+        };
+
+        TestBatchListener() {
+            super(3, Duration.ofMillis(100));
+        }
+
+        void init(RedisMQTemplate redisMQTemplate, String group) {
+            setRedisMQTemplate(redisMQTemplate);
+            ReflectionTestUtils.setField(this, AbstractRedisStreamBatchMessageListener.class, "group", group, String.class);
+        }
+
+        void setHandler(Consumer<List<TestMessage>> handler) {
+            this.handler = handler;
+        }
+
+        synchronized List<List<Integer>> getBatches() {
+            return new ArrayList<>(batches);
+        }
+
+        @Override
+        public void onMessage(List<TestMessage> messages) {
+            synchronized (this) {
+                batches.add(messages.stream().map(TestMessage::getId).toList());
+            }
+            handler.accept(messages);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package cn.jcodenest.framework.mq.redis.core.stream;
+
+import cn.jcodenest.framework.mq.redis.core.RedisMQTemplate;
+import cn.jcodenest.framework.mq.redis.core.stream.AbstractRedisStreamBatchMessageListenerTest.TestBatchListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import static cn.jcodenest.framework.mq.redis.core.stream.AbstractRedisStreamBatchMessageListenerTest.buildRecord;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link RedisStreamBatchMessageListenerContainer} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@ExtendWith(MockitoExtension.class)
+class RedisStreamBatchMessageListenerContainerTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+    @Mock
+    private StreamOperations<String, Object, Object> streamOperations;
+
+    /**
+     * 待拉取的消息, 每次拉取返回一批; 没有时返回空列表, 模拟 BLOCK 超时
+     */
+    private final ConcurrentLinkedQueue<List<ObjectRecord<String, String>>> pendingBatches = new ConcurrentLinkedQueue<>();
+
+    private RedisStreamDispatcherRegistry dispatcherRegistry;
+
+    private RedisStreamBatchMessageListenerContainer container;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        when(streamOperations.read(eq(String.class), any(Consumer.class), any(StreamReadOptions.class), any(StreamOffset.class)))
+                .thenAnswer(invocation -> {
+                    List<ObjectRecord<String, String>> records = pendingBatches.poll();
+                    if (records != null) {
+                        return records;
+                    }
+                    TimeUnit.MILLISECONDS.sleep(10);
+                    return Collections.emptyList();
+                });
+        dispatcherRegistry = new RedisStreamDispatcherRegistry();
+        container = new RedisStreamBatchMessageListenerContainer(redisTemplate, dispatcherRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        container.stop();
+        dispatcherRegistry.destroy();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPoll_oneAckPerBatch() {
+        // 准备参数
+        TestBatchListener listener = new TestBatchListener();
+        listener.init(new RedisMQTemplate(redisTemplate), "jcode");
+        pendingBatches.add(List.of(buildRecord("1-0", 1, null), buildRecord("2-0", 2, null), buildRecord("3-0", 3, null)));
+        pendingBatches.add(List.of(buildRecord("4-0", 4, null)));
+        container.register(listener, "node");
+
+        // 调用
+        container.start();
+
+        // 断言：每批消息 XACK 一次
+        verify(streamOperations, timeout(1000)).acknowledge(eq("TestMessage"), eq("jcode"),
+                eq(RecordId.of("1-0")), eq(RecordId.of("2-0")), eq(RecordId.of("3-0")));
+        verify(streamOperations, timeout(1000)).acknowledge(eq("TestMessage"), eq("jcode"), eq(RecordId.of("4-0")));
+        verify(streamOperations, times(2)).acknowledge(any(String.class), any(String.class), any(RecordId[].class));
+        assertEquals(List.of(List.of(1, 2, 3), List.of(4)), listener.getBatches());
+        // 断言：XREADGROUP COUNT batchSize BLOCK pollTimeout, 从消费者分组的进度开始拉取
+        ArgumentCaptor<Consumer> consumerCaptor = ArgumentCaptor.forClass(Consumer.class);
+        ArgumentCaptor<StreamReadOptions> readOptionsCaptor = ArgumentCaptor.forClass(StreamReadOptions.class);
+        ArgumentCaptor<StreamOffset<String>> streamOffsetCaptor = ArgumentCaptor.forClass(StreamOffset.class);
+        verify(streamOperations, atLeastOnce()).read(eq(String.class), consumerCaptor.capture(),
+                readOptionsCaptor.capture(), streamOffsetCaptor.capture());
+        assertEquals(Consumer.from("jcode", "node"), consumerCaptor.getValue());
+        assertEquals(3L, readOptionsCaptor.getValue().getCount());
+        assertEquals(100L, readOptionsCaptor.getValue().getBlock());
+        assertEquals(StreamOffset.create("TestMessage", ReadOffset.lastConsumed()), streamOffsetCaptor.getValue());
+    }
+}
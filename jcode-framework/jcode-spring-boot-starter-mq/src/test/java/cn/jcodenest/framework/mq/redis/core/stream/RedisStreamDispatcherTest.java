@@ -0,0 +1,160 @@
+package cn.jcodenest.framework.mq.redis.core.stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link RedisStreamDispatcher} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class RedisStreamDispatcherTest {
+
+    private RedisStreamDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown(1000);
+        }
+    }
+
+    @Test
+    void testExecute_inPollingThread() throws InterruptedException {
+        // 准备参数
+        dispatcher = new RedisStreamDispatcher(mockListener(0));
+        Thread caller = Thread.currentThread();
+        AtomicInteger runs = new AtomicInteger();
+
+        // 调用，并断言：maxInFlight 为 0 时不限制许可, 在拉取线程中直接处理
+        assertEquals(10, dispatcher.acquire(10));
+        dispatcher.execute(() -> {
+            assertSame(caller, Thread.currentThread());
+            runs.incrementAndGet();
+        }, 10);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void testExecute_concurrency() throws Exception {
+        // 准备参数
+        dispatcher = new RedisStreamDispatcher(mockListener(4));
+        CountDownLatch started = new CountDownLatch(4);
+        CountDownLatch finish = new CountDownLatch(1);
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+        // 调用：提交 4 个同时阻塞的任务
+        for (int i = 0; i < 4; i++) {
+            assertEquals(1, dispatcher.acquire(1));
+            dispatcher.execute(() -> {
+                threadNames.add(Thread.currentThread().getName());
+                started.countDown();
+                await(finish);
+            }, 1);
+        }
+        // 断言：4 个任务在不同的处理线程中同时执行
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        assertEquals(4, threadNames.size());
+        threadNames.forEach(name -> assertTrue(name.startsWith("redis-stream-handler-test-"), name));
+        finish.countDown();
+    }
+
+    @Test
+    void testAcquire_backpressure() throws Exception {
+        // 准备参数
+        dispatcher = new RedisStreamDispatcher(mockListener(2));
+        CountDownLatch finish = new CountDownLatch(1);
+        // 调用：一批 2 条消息占满许可
+        assertEquals(2, dispatcher.acquire(5));
+        dispatcher.execute(() -> await(finish), 2);
+
+        // 断言：处理中的消息达到上限, 拉取线程阻塞
+        CompletableFuture<Integer> next = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dispatcher.acquire(5);
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        assertThrows(TimeoutException.class, () -> next.get(200, TimeUnit.MILLISECONDS));
+        // 断言：处理完成后归还许可, 拉取线程继续
+        finish.countDown();
+        assertEquals(2, next.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testExecute_taskFails() throws Exception {
+        // 准备参数
+        dispatcher = new RedisStreamDispatcher(mockListener(1));
+        CountDownLatch done = new CountDownLatch(1);
+
+        // 调用
+        dispatcher.acquire(1);
+        dispatcher.execute(() -> {
+            done.countDown();
+            throw new IllegalStateException("handle failed");
+        }, 1);
+        // 断言：处理失败时同样归还许可
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        assertEquals(1, CompletableFuture.supplyAsync(() -> {
+            try {
+                return dispatcher.acquire(1);
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }).get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testExecute_rejected() throws Exception {
+        // 准备参数：分发器已关闭
+        dispatcher = new RedisStreamDispatcher(mockListener(2));
+        dispatcher.shutdown(1000);
+
+        // 调用
+        assertEquals(2, dispatcher.acquire(2));
+        assertThrows(RejectedExecutionException.class, () -> dispatcher.execute(() -> {
+        }, 2));
+        // 断言：拒绝执行时归还许可, 不会永久占用
+        assertEquals(2, CompletableFuture.supplyAsync(() -> {
+            try {
+                return dispatcher.acquire(2);
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }).get(1, TimeUnit.SECONDS));
+    }
+
+    private static RedisStreamListener mockListener(int maxInFlight) {
+        RedisStreamListener listener = mock(RedisStreamListener.class);
+        when(listener.getStreamKey()).thenReturn("test");
+        when(listener.getMaxInFlight()).thenReturn(maxInFlight);
+        return listener;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
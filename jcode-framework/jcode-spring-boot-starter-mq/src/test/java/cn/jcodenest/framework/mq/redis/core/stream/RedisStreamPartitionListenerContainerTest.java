@@ -0,0 +1,240 @@
+package cn.jcodenest.framework.mq.redis.core.stream;
+
+import cn.jcodenest.framework.mq.redis.core.RedisMQTemplate;
+import cn.jcodenest.framework.mq.redis.core.stream.AbstractRedisStreamBatchMessageListenerTest.TestMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RLock;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static cn.jcodenest.framework.mq.redis.core.stream.AbstractRedisStreamBatchMessageListenerTest.buildRecord;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link RedisStreamPartitionListenerContainer} 的单元测试
+ * <p>
+ * 两个节点的容器消费同一个 Stream 的同一个消费者分组，使用内存中的 ZSET、锁模拟 Redisson
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class RedisStreamPartitionListenerContainerTest {
+
+    private static final String GROUP = "jcode";
+    private static final String PARTITION_0 = "{TestPartitionMessage:0}";
+    private static final String PARTITION_1 = "{TestPartitionMessage:1}";
+
+    /**
+     * 心跳间隔，缩短以加快测试
+     */
+    private static final long HEARTBEAT_INTERVAL_MILLIS = 50;
+
+    /**
+     * 节点心跳 ZSET：节点 -> 心跳时间
+     */
+    private final Map<String, Double> nodes = new ConcurrentHashMap<>();
+
+    /**
+     * 分区的锁：锁的 key -> 持有锁的节点
+     */
+    private final Map<String, String> owners = new ConcurrentHashMap<>();
+
+    /**
+     * 待拉取的消息：分区的 Stream Key -> 消息
+     */
+    private final Map<String, Queue<ObjectRecord<String, String>>> streams = new ConcurrentHashMap<>();
+
+    /**
+     * 未持有分区的锁时拉取消息的记录，正常情况下为空
+     */
+    private final Queue<String> violations = new ConcurrentLinkedQueue<>();
+
+    private final List<RedisStreamPartitionListenerContainer> containers = new ArrayList<>();
+
+    private RScoredSortedSet<String> nodesSet;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        nodesSet = mock(RScoredSortedSet.class);
+        when(nodesSet.add(anyDouble(), anyString())).thenAnswer(invocation ->
+                nodes.put(invocation.getArgument(1), invocation.getArgument(0)) == null);
+        when(nodesSet.removeRangeByScore(anyDouble(), eq(true), anyDouble(), eq(false))).thenAnswer(invocation -> {
+            double endScore = invocation.getArgument(2);
+            return nodes.entrySet().removeIf(entry -> entry.getValue() < endScore) ? 1 : 0;
+        });
+        when(nodesSet.readAll()).thenAnswer(invocation -> new ArrayList<>(nodes.keySet()));
+        when(nodesSet.remove(anyString())).thenAnswer(invocation -> nodes.remove(invocation.<String>getArgument(0)) != null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        containers.forEach(RedisStreamPartitionListenerContainer::stop);
+    }
+
+    @Test
+    void testTwoContainers_oneOwnerPerPartition() {
+        // 准备参数
+        Node nodeA = createNode("node-a");
+        Node nodeB = createNode("node-b");
+
+        // 调用：只有节点 A 时，消费所有的分区
+        nodeA.container.start();
+        awaitUntil(() -> Map.of(lockKey(PARTITION_0), "node-a", lockKey(PARTITION_1), "node-a").equals(owners));
+
+        // 调用：节点 B 加入，按节点名字排序后分配，节点 A 释放分区 1 之后由节点 B 接管
+        nodeB.container.start();
+        awaitUntil(() -> Map.of(lockKey(PARTITION_0), "node-a", lockKey(PARTITION_1), "node-b").equals(owners));
+
+        // 断言：批量消费的监听器按分区的 Stream Key（records.get(0).getStream()）确认消息
+        streams.get(PARTITION_1).add(buildRecord(PARTITION_1, "1-0", 1, null));
+        verify(nodeB.ops, timeout(1000)).acknowledge(eq(PARTITION_1), eq(GROUP), eq(RecordId.of("1-0")));
+        assertEquals(List.of(List.of(1)), nodeB.listener.getBatches());
+        streams.get(PARTITION_0).add(buildRecord(PARTITION_0, "2-0", 2, null));
+        verify(nodeA.ops, timeout(1000)).acknowledge(eq(PARTITION_0), eq(GROUP), eq(RecordId.of("2-0")));
+        assertEquals(List.of(List.of(2)), nodeA.listener.getBatches());
+
+        // 调用：节点 A 停止，释放分区的锁并注销节点
+        nodeA.container.stop();
+        assertFalse(owners.containsValue("node-a"));
+        assertFalse(nodes.containsKey("node-a"));
+        // 断言：节点 B 在下一次心跳时接管所有的分区
+        awaitUntil(() -> Map.of(lockKey(PARTITION_0), "node-b", lockKey(PARTITION_1), "node-b").equals(owners));
+        streams.get(PARTITION_0).add(buildRecord(PARTITION_0, "3-0", 3, null));
+        verify(nodeB.ops, timeout(1000)).acknowledge(eq(PARTITION_0), eq(GROUP), eq(RecordId.of("3-0")));
+
+        // 断言：任意时刻只有持有分区的锁的节点拉取该分区的消息
+        assertTrue(violations.isEmpty(), violations.toString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node createNode(String name) {
+        // mock Stream 的拉取：按分区的 Stream Key 返回待拉取的消息，没有时模拟 BLOCK 超时
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        StreamOperations<String, Object, Object> ops = mock(StreamOperations.class);
+        when(redisTemplate.opsForStream()).thenReturn(ops);
+        when(ops.read(eq(String.class), any(Consumer.class), any(StreamReadOptions.class), any(StreamOffset.class)))
+                .thenAnswer(invocation -> {
+                    Consumer consumer = invocation.getArgument(1);
+                    StreamOffset<String> streamOffset = invocation.getArgument(3);
+                    String streamKey = streamOffset.getKey();
+                    if (!consumer.getName().equals(owners.get(lockKey(streamKey)))) {
+                        violations.add(consumer.getName() + " -> " + streamKey);
+                    }
+                    ObjectRecord<String, String> record = streams.computeIfAbsent(streamKey,
+                            key -> new ConcurrentLinkedQueue<>()).poll();
+                    if (record != null) {
+                        return List.of(record);
+                    }
+                    TimeUnit.MILLISECONDS.sleep(10);
+                    return Collections.emptyList();
+                });
+        streams.computeIfAbsent(PARTITION_0, key -> new ConcurrentLinkedQueue<>());
+        streams.computeIfAbsent(PARTITION_1, key -> new ConcurrentLinkedQueue<>());
+
+        // mock Redisson：所有节点共享节点心跳 ZSET、分区的锁
+        RedissonClient redissonClient = mock(RedissonClient.class);
+        doReturn(nodesSet).when(redissonClient).getScoredSortedSet(
+                eq("redis:stream:partition:nodes:TestPartitionMessage:" + GROUP), any(Codec.class));
+        when(redissonClient.getLock(anyString())).thenAnswer(invocation -> mockLock(invocation.getArgument(0), name));
+
+        // 创建容器
+        TestPartitionBatchListener listener = new TestPartitionBatchListener();
+        listener.setRedisMQTemplate(new RedisMQTemplate(redisTemplate));
+        ReflectionTestUtils.setField(listener, AbstractRedisStreamBatchMessageListener.class, "group", GROUP, String.class);
+        RedisStreamPartitionListenerContainer container = new RedisStreamPartitionListenerContainer(redisTemplate,
+                redissonClient, name, HEARTBEAT_INTERVAL_MILLIS);
+        container.register(listener);
+        containers.add(container);
+        return new Node(container, ops, listener);
+    }
+
+    private RLock mockLock(String lockKey, String name) {
+        RLock lock = mock(RLock.class);
+        lenient().when(lock.getName()).thenReturn(lockKey);
+        when(lock.tryLock()).thenAnswer(invocation -> owners.putIfAbsent(lockKey, name) == null);
+        lenient().when(lock.isHeldByCurrentThread()).thenAnswer(invocation -> name.equals(owners.get(lockKey)));
+        lenient().doAnswer(invocation -> owners.remove(lockKey, name)).when(lock).unlock();
+        return lock;
+    }
+
+    private static String lockKey(String streamKey) {
+        return "redis:stream:partition:lock:" + streamKey + ":" + GROUP;
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(10);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private record Node(RedisStreamPartitionListenerContainer container, StreamOperations<String, Object, Object> ops,
+                        TestPartitionBatchListener listener) {
+    }
+
+    /**
+     * 分区数量为 2 的消息
+     */
+    static class TestPartitionMessage extends TestMessage {
+
+        @Override
+        public int getPartitions() {
+            return 2;
+        }
+    }
+
+    /**
+     * 记录每次调用 {@link #onMessage(List)} 时的消息编号
+     */
+    static class TestPartitionBatchListener extends AbstractRedisStreamBatchMessageListener<TestPartitionMessage> {
+
+        private final List<List<Integer>> batches = new ArrayList<>();
+
+        TestPartitionBatchListener() {
+            super(3, Duration.ofMillis(100));
+        }
+
+        synchronized List<List<Integer>> getBatches() {
+            return new ArrayList<>(batches);
+        }
+
+        @Override
+        public synchronized void onMessage(List<TestPartitionMessage> messages) {
+            batches.add(messages.stream().map(TestPartitionMessage::getId).toList());
+        }
+    }
+}
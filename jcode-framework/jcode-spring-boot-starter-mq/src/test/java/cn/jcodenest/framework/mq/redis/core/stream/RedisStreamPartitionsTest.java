@@ -0,0 +1,45 @@
+package cn.jcodenest.framework.mq.redis.core.stream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RedisStreamPartitions} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class RedisStreamPartitionsTest {
+
+    @Test
+    void testPartitionOf_crc16() {
+        // 调用，并断言：CRC16（XMODEM）的标准校验值
+        assertEquals(0x31C3, RedisStreamPartitions.partitionOf("123456789", 65536));
+        // 调用，并断言：与 Redis Cluster 的 CLUSTER KEYSLOT 一致，非 Java 的生产者可以按相同的算法路由
+        assertEquals(12182, RedisStreamPartitions.partitionOf("foo", 16384));
+        assertEquals(5061, RedisStreamPartitions.partitionOf("bar", 16384));
+    }
+
+    @Test
+    void testPartitionOf_range() {
+        // 调用，并断言：分区范围为 [0, partitions)，null 时随机选择分区
+        for (int i = 0; i < 100; i++) {
+            int partition = RedisStreamPartitions.partitionOf("user-" + i, 3);
+            assertTrue(partition >= 0 && partition < 3);
+            int randomPartition = RedisStreamPartitions.partitionOf(null, 3);
+            assertTrue(randomPartition >= 0 && randomPartition < 3);
+        }
+    }
+
+    @Test
+    void testBuildStreamKey() {
+        // 调用，并断言
+        assertEquals("{order:1}", RedisStreamPartitions.buildStreamKey("order", 1));
+    }
+}
@@ -1,7 +1,9 @@
 package cn.jcodenest.framework.mybatis.config;
 
 import cn.hutool.core.util.StrUtil;
+import cn.jcodenest.framework.mybatis.config.properties.SqlRewriteCacheProperties;
 import cn.jcodenest.framework.mybatis.core.handler.DefaultDBFieldHandler;
+import cn.jcodenest.framework.mybatis.core.rewrite.SqlRewriteCache;
 import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.autoconfigure.MybatisPlusAutoConfiguration;
 import com.baomidou.mybatisplus.core.handlers.MetaObjectHandler;
@@ -11,11 +13,16 @@ import com.baomidou.mybatisplus.extension.parser.JsqlParserGlobal;
 import com.baomidou.mybatisplus.extension.parser.cache.JdkSerialCaffeineJsqlParseCache;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.apache.ibatis.annotations.Mapper;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.ConfigurableEnvironment;
 
 import java.util.Objects;
@@ -42,6 +49,7 @@ import java.util.concurrent.TimeUnit;
         annotationClass = Mapper.class,
         lazyInitialization = "${mybatis.lazy-initialization:false}"
 )
+@EnableConfigurationProperties(SqlRewriteCacheProperties.class)
 public class JCodeMybatisAutoConfiguration {
 
     /*
@@ -68,6 +76,17 @@ public class JCodeMybatisAutoConfiguration {
         return mybatisPlusInterceptor;
     }
 
+    /**
+     * 配置多租户、数据权限拦截器共用的 SQL 重写缓存。
+     *
+     * @param properties SQL 重写缓存配置
+     * @return SQL 重写缓存
+     */
+    @Bean
+    public SqlRewriteCache sqlRewriteCache(SqlRewriteCacheProperties properties) {
+        return new SqlRewriteCache(properties);
+    }
+
     /**
      * 配置默认的字段自动填充处理器。
      *
@@ -105,4 +124,27 @@ public class JCodeMybatisAutoConfiguration {
             default -> throw new IllegalArgumentException(String.format("No suitable IKeyGenerator found for DbType %s", dbType));
         };
     }
+
+    /**
+     * SQL 重写缓存的 Metrics 配置，仅在引入 Micrometer 时生效。
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterBinder.class)
+    static class SqlRewriteCacheMetricsConfiguration {
+
+        /**
+         * 注册 SQL 重写缓存的 Metrics，未开启缓存时不注册。
+         *
+         * @param sqlRewriteCache SQL 重写缓存
+         * @return MeterBinder Bean
+         */
+        @Bean
+        public MeterBinder sqlRewriteCacheMeterBinder(SqlRewriteCache sqlRewriteCache) {
+            return registry -> {
+                if (sqlRewriteCache.getNativeCache() != null) {
+                    CaffeineCacheMetrics.monitor(registry, sqlRewriteCache.getNativeCache(), SqlRewriteCache.CACHE_NAME);
+                }
+            };
+        }
+    }
 }
@@ -0,0 +1,32 @@
+package cn.jcodenest.framework.mybatis.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * SQL 重写缓存配置
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@Data
+@ConfigurationProperties(prefix = "jcode.mybatis.sql-rewrite-cache")
+public class SqlRewriteCacheProperties {
+
+    /**
+     * 是否开启, 对应 jcode.mybatis.sql-rewrite-cache.enable, 默认关闭
+     * <p>
+     * 关闭时, 多租户、数据权限拦截器每次执行都重新解析、重写 SQL, 且租户编号等值以字面量拼接, 与原有的重写结果一致;
+     * 开启后, 查询 SQL 中的租户编号、部门编号等改为 ? 绑定参数, 重写结果按 shape 签名缓存复用
+     */
+    private Boolean enable = false;
+
+    /**
+     * 最大缓存数量
+     */
+    private Long maximumSize = 10000L;
+}
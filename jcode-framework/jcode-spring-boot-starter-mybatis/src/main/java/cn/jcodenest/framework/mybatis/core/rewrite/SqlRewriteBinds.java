@@ -0,0 +1,106 @@
+package cn.jcodenest.framework.mybatis.core.rewrite;
+
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.JdbcNamedParameter;
+import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.expression.StringValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * SQL 重写时的绑定值, 供 TenantLineHandler、DataPermissionRule 等生成与上下文相关的条件
+ *
+ * <p>
+ * 两种模式：
+ *  1. 默认模式：直接返回值对应的字面量, 与原有的重写结果一致
+ *  2. 录制模式：由 {@link SqlRewriteCache} 开启, 返回占位标记, 并记录取值函数；
+ *     缓存命中时, 通过取值函数获得当前上下文的值, 从而复用同一个重写结果
+ * </p>
+ *
+ * <p>注意：取值函数必须只依赖当前线程的上下文, 并且与 shape 签名保持一致, 例如 IN 条件的数量需要包含在 shape 签名中</p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+public class SqlRewriteBinds {
+
+    /**
+     * 占位标记的前缀, 完整格式为 :__jcode_bind_{序号}__
+     */
+    static final String MARKER_PREFIX = "__jcode_bind_";
+
+    /**
+     * 占位标记的后缀
+     */
+    static final String MARKER_SUFFIX = "__";
+
+    /**
+     * 录制中的取值函数, 为 null 表示未开启录制
+     */
+    private static final ThreadLocal<List<Supplier<?>>> RECORDING = new ThreadLocal<>();
+
+    /**
+     * 创建绑定值的表达式
+     *
+     * @param valueSupplier 取值函数, 只支持 Number、String 类型的值
+     * @return 表达式
+     */
+    public static Expression bind(Supplier<?> valueSupplier) {
+        List<Supplier<?>> suppliers = RECORDING.get();
+        if (suppliers == null) {
+            return toLiteral(valueSupplier.get());
+        }
+
+        suppliers.add(valueSupplier);
+        return new JdbcNamedParameter(MARKER_PREFIX + (suppliers.size() - 1) + MARKER_SUFFIX);
+    }
+
+    /**
+     * 将值转换为字面量表达式
+     *
+     * @param value 值
+     * @return 字面量表达式
+     */
+    static Expression toLiteral(Object value) {
+        if (value instanceof Number number) {
+            return new LongValue(number.longValue());
+        }
+        if (value instanceof String string) {
+            return new StringValue(string);
+        }
+        throw new IllegalArgumentException(String.format("不支持的绑定值类型(%s)", value == null ? null : value.getClass()));
+    }
+
+    /**
+     * 开启录制
+     *
+     * @return 之前的录制状态, 用于 {@link #stopRecording(List)} 恢复
+     */
+    static List<Supplier<?>> startRecording() {
+        List<Supplier<?>> previous = RECORDING.get();
+        RECORDING.set(new ArrayList<>());
+        return previous;
+    }
+
+    /**
+     * 结束录制
+     *
+     * @param previous 之前的录制状态
+     * @return 录制的取值函数, 下标即占位标记的序号
+     */
+    static List<Supplier<?>> stopRecording(List<Supplier<?>> previous) {
+        List<Supplier<?>> suppliers = RECORDING.get();
+        if (previous != null) {
+            RECORDING.set(previous);
+        } else {
+            RECORDING.remove();
+        }
+        return suppliers;
+    }
+}
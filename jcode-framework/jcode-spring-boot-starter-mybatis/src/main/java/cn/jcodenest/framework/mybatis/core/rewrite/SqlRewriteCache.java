@@ -0,0 +1,112 @@
+package cn.jcodenest.framework.mybatis.core.rewrite;
+
+import cn.jcodenest.framework.mybatis.config.properties.SqlRewriteCacheProperties;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import org.apache.ibatis.mapping.MappedStatement;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * 多租户、数据权限等拦截器共用的 SQL 重写缓存
+ *
+ * <p>
+ * 缓存 KEY：重写器 + mappedStatementId + shape 签名 + 原 SQL
+ *  1. shape 签名由重写器提供, 包含所有影响重写结果的因素, 例如是否忽略租户、生效的数据权限规则
+ *  2. 租户编号、部门编号等值不包含在 KEY 中, 而是通过 {@link SqlRewriteBinds#bind(Supplier)} 作为绑定参数,
+ *     因此同一个重写结果可以在不同租户、用户之间复用, 数据库侧的执行计划也可以复用
+ * </p>
+ *
+ * <p>shape 签名为 null 表示无法缓存, 此时与未开启缓存一样, 每次都重新重写</p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+public class SqlRewriteCache {
+
+    /**
+     * 缓存名, 用于 Metrics 统计
+     */
+    public static final String CACHE_NAME = "jcode.mybatis.sql-rewrite";
+
+    /**
+     * Caffeine 缓存, 未开启时为 null
+     */
+    @Getter
+    private final Cache<CacheKey, SqlRewriteTemplate> nativeCache;
+
+    public SqlRewriteCache(SqlRewriteCacheProperties properties) {
+        this.nativeCache = Boolean.TRUE.equals(properties.getEnable())
+                ? Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .recordStats()
+                .build()
+                : null;
+    }
+
+    /**
+     * 重写 SQL
+     *
+     * @param rewriter 重写器标识, 区分不同拦截器的重写结果
+     * @param ms       MappedStatement
+     * @param mpBs     BoundSql
+     * @param shape    shape 签名, 为 null 表示无法缓存
+     * @param bindable 是否使用 ? 绑定参数, 参见 {@link SqlRewriteTemplate#apply(PluginUtils.MPBoundSql, org.apache.ibatis.session.Configuration, boolean)}
+     * @param parser   重写函数, 一般为 JsqlParserSupport 的 parserSingle、parserMulti
+     */
+    public void rewrite(String rewriter, MappedStatement ms, PluginUtils.MPBoundSql mpBs, String shape,
+                        boolean bindable, UnaryOperator<String> parser) {
+        String sql = mpBs.sql();
+        if (nativeCache == null || shape == null) {
+            mpBs.sql(parser.apply(sql));
+            return;
+        }
+
+        // 不使用 Cache#get(key, mappingFunction), 避免解析 SQL 期间持有锁
+        CacheKey key = new CacheKey(rewriter, ms.getId(), shape, sql);
+        SqlRewriteTemplate template = nativeCache.getIfPresent(key);
+        if (template == null) {
+            template = record(sql, parser);
+            nativeCache.put(key, template);
+        }
+        template.apply(mpBs, ms.getConfiguration(), bindable);
+    }
+
+    /**
+     * 录制模式下重写 SQL, 生成模板
+     *
+     * @param sql    原 SQL
+     * @param parser 重写函数
+     * @return 模板
+     */
+    private static SqlRewriteTemplate record(String sql, UnaryOperator<String> parser) {
+        List<Supplier<?>> previous = SqlRewriteBinds.startRecording();
+        String rewrittenSql;
+        List<Supplier<?>> suppliers;
+        try {
+            rewrittenSql = parser.apply(sql);
+        } finally {
+            suppliers = SqlRewriteBinds.stopRecording(previous);
+        }
+        return SqlRewriteTemplate.compile(sql, rewrittenSql, suppliers);
+    }
+
+    /**
+     * 缓存 KEY
+     *
+     * @param rewriter          重写器标识
+     * @param mappedStatementId Mapper 方法的编号
+     * @param shape             shape 签名
+     * @param sql               原 SQL
+     */
+    record CacheKey(String rewriter, String mappedStatementId, String shape, String sql) {
+    }
+}
@@ -0,0 +1,221 @@
+package cn.jcodenest.framework.mybatis.core.rewrite;
+
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.session.Configuration;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * SQL 重写结果的模板, 由 {@link SqlRewriteCache} 缓存
+ *
+ * <p>
+ * 模板将重写后的 SQL 切分为文本片段与占位符：
+ *  1. 原有的 ? 占位符, 对应 BoundSql 原有的 ParameterMapping
+ *  2. {@link SqlRewriteBinds#bind(Supplier)} 生成的占位标记, 应用时通过取值函数获得当前上下文的值
+ * </p>
+ *
+ * <p>字符串、转义标识符、单行注释（--）与多行注释中的 ? 与占位标记不会被识别, 与 JDBC 驱动的处理方式一致</p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class SqlRewriteTemplate {
+
+    /**
+     * 占位符类型 - 原有的 ? 占位符
+     */
+    private static final int SLOT_ORIGINAL = -1;
+
+    /**
+     * 重写后的 SQL, 不包含占位标记时直接使用
+     */
+    private final String rewrittenSql;
+
+    /**
+     * 是否与原 SQL 相同, 相同时无需任何处理
+     */
+    private final boolean identity;
+
+    /**
+     * 文本片段, 数量为 slots.length + 1
+     */
+    private final String[] fragments;
+
+    /**
+     * 占位符, {@link #SLOT_ORIGINAL} 表示原有的 ? 占位符, 其它为取值函数的下标
+     */
+    private final int[] slots;
+
+    /**
+     * 原有的 ? 占位符数量
+     */
+    private final int originalCount;
+
+    /**
+     * 取值函数
+     */
+    private final List<Supplier<?>> suppliers;
+
+    private SqlRewriteTemplate(String rewrittenSql, boolean identity, String[] fragments, int[] slots,
+                               int originalCount, List<Supplier<?>> suppliers) {
+        this.rewrittenSql = rewrittenSql;
+        this.identity = identity;
+        this.fragments = fragments;
+        this.slots = slots;
+        this.originalCount = originalCount;
+        this.suppliers = suppliers;
+    }
+
+    /**
+     * 编译模板
+     *
+     * @param originalSql  原 SQL
+     * @param rewrittenSql 重写后的 SQL, 可能包含占位标记
+     * @param suppliers    录制的取值函数
+     * @return 模板
+     */
+    static SqlRewriteTemplate compile(String originalSql, String rewrittenSql, List<Supplier<?>> suppliers) {
+        List<String> fragments = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        int originalCount = 0;
+        int start = 0;
+        char quote = 0;
+        for (int i = 0; i < rewrittenSql.length(); i++) {
+            char c = rewrittenSql.charAt(i);
+            // 跳过字符串、转义标识符中的内容
+            if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+                continue;
+            }
+            // 跳过单行注释 -- 与多行注释 /* */
+            if (c == '-' && rewrittenSql.startsWith("-", i + 1)) {
+                int lineEnd = rewrittenSql.indexOf('\n', i + 2);
+                i = lineEnd < 0 ? rewrittenSql.length() : lineEnd;
+                continue;
+            }
+            if (c == '/' && rewrittenSql.startsWith("*", i + 1)) {
+                int commentEnd = rewrittenSql.indexOf("*/", i + 2);
+                i = commentEnd < 0 ? rewrittenSql.length() : commentEnd + 1;
+                continue;
+            }
+
+            // 原有的 ? 占位符
+            if (c == '?') {
+                fragments.add(rewrittenSql.substring(start, i));
+                slots.add(SLOT_ORIGINAL);
+                originalCount++;
+                start = i + 1;
+                continue;
+            }
+            // 占位标记 :__jcode_bind_{序号}__
+            if (c == ':' && rewrittenSql.startsWith(SqlRewriteBinds.MARKER_PREFIX, i + 1)) {
+                int indexStart = i + 1 + SqlRewriteBinds.MARKER_PREFIX.length();
+                int indexEnd = rewrittenSql.indexOf(SqlRewriteBinds.MARKER_SUFFIX, indexStart);
+                fragments.add(rewrittenSql.substring(start, i));
+                slots.add(Integer.parseInt(rewrittenSql.substring(indexStart, indexEnd)));
+                start = indexEnd + SqlRewriteBinds.MARKER_SUFFIX.length();
+                i = start - 1;
+            }
+        }
+        fragments.add(rewrittenSql.substring(start));
+
+        return new SqlRewriteTemplate(rewrittenSql, rewrittenSql.equals(originalSql),
+                fragments.toArray(new String[0]), slots.stream().mapToInt(Integer::intValue).toArray(),
+                originalCount, suppliers);
+    }
+
+    /**
+     * 应用模板到 BoundSql
+     *
+     * @param mpBs          BoundSql
+     * @param configuration MyBatis 配置
+     * @param bindable      是否使用 ? 绑定参数; 否则使用字面量, 例如 BatchExecutor 复用 Statement 时不会再次重写, 只能使用字面量
+     */
+    void apply(PluginUtils.MPBoundSql mpBs, Configuration configuration, boolean bindable) {
+        if (identity) {
+            return;
+        }
+        if (originalCount == slots.length) {
+            mpBs.sql(rewrittenSql);
+            return;
+        }
+
+        // 原有的 ? 占位符与 ParameterMapping 数量不一致时（例如方言特有的 ? 操作符），无法安全地插入参数, 使用字面量
+        List<ParameterMapping> originalMappings = mpBs.parameterMappings();
+        if (!bindable || originalMappings.size() != originalCount) {
+            mpBs.sql(build(null, null, null));
+            return;
+        }
+
+        List<ParameterMapping> mappings = new ArrayList<>(slots.length);
+        mpBs.sql(build(configuration, mpBs, mappings));
+        mpBs.parameterMappings(mappings);
+    }
+
+    /**
+     * 构建 SQL
+     *
+     * @param configuration MyBatis 配置, 为 null 时使用字面量
+     * @param mpBs          BoundSql, 为 null 时使用字面量
+     * @param mappings      新的 ParameterMapping 数组, 为 null 时使用字面量
+     * @return SQL
+     */
+    private String build(Configuration configuration, PluginUtils.MPBoundSql mpBs, List<ParameterMapping> mappings) {
+        Iterator<ParameterMapping> originalMappings = mpBs != null ? mpBs.parameterMappings().iterator() : null;
+        StringBuilder sql = new StringBuilder(rewrittenSql.length());
+        for (int i = 0; i < slots.length; i++) {
+            sql.append(fragments[i]);
+            int slot = slots[i];
+            if (slot == SLOT_ORIGINAL) {
+                sql.append('?');
+                if (mappings != null) {
+                    mappings.add(originalMappings.next());
+                }
+                continue;
+            }
+
+            Object value = suppliers.get(slot).get();
+            if (mappings == null) {
+                sql.append(SqlRewriteBinds.toLiteral(value));
+                continue;
+            }
+            sql.append('?');
+            String name = nextParameterName(mpBs);
+            mpBs.additionalParameters().put(name, value);
+            mappings.add(new ParameterMapping.Builder(configuration, name, value.getClass()).build());
+        }
+        sql.append(fragments[slots.length]);
+        return sql.toString();
+    }
+
+    /**
+     * 获得不重复的参数名, 租户、数据权限等多个拦截器可能先后添加参数
+     *
+     * @param mpBs BoundSql
+     * @return 参数名
+     */
+    private static String nextParameterName(PluginUtils.MPBoundSql mpBs) {
+        int index = mpBs.additionalParameters().size();
+        String name;
+        do {
+            name = SqlRewriteBinds.MARKER_PREFIX + index++ + SqlRewriteBinds.MARKER_SUFFIX;
+        } while (mpBs.additionalParameters().containsKey(name));
+        return name;
+    }
+}
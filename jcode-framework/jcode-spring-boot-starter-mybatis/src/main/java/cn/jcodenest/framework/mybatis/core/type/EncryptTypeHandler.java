@@ -11,6 +11,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * 基于 AES 加密的 MyBatis 字段类型处理器。
@@ -36,7 +37,7 @@ public class EncryptTypeHandler extends BaseTypeHandler<String> {
     /**
      * AES 加密器，线程安全
      */
-    private static volatile AES aes;
+    private static final AtomicReference<AES> AES_REF = new AtomicReference<>();
 
     /**
      * 设置非空参数，将字符串加密后存储到数据库。
@@ -129,21 +130,25 @@ public class EncryptTypeHandler extends BaseTypeHandler<String> {
     /**
      * 获取 AES 加密器，线程安全地进行懒加载。
      *
+     * <p>
+     *     不使用 synchronized，避免虚拟线程被固定（pinning）在载体线程上；
+     *     并发初始化时可能创建多个加密器，但只会保留第一个，且创建的开销很小。
+     * </p>
+     *
      * @return AES 加密器
      * @throws IllegalArgumentException 如果加密密钥配置为空
      */
     private static AES getEncryptor() {
-        if (aes == null) {
-            synchronized (EncryptTypeHandler.class) {
-                if (aes == null) {
-                    String password = SpringUtil.getProperty(ENCRYPTOR_PROPERTY_NAME);
-                    if (password == null || password.isBlank()) {
-                        throw new IllegalArgumentException("Configuration property 'mybatis-plus.encryptor.password' must not be empty");
-                    }
-                    aes = SecureUtil.aes(password.getBytes());
-                }
-            }
+        AES aes = AES_REF.get();
+        if (aes != null) {
+            return aes;
+        }
+
+        String password = SpringUtil.getProperty(ENCRYPTOR_PROPERTY_NAME);
+        if (password == null || password.isBlank()) {
+            throw new IllegalArgumentException("Configuration property 'mybatis-plus.encryptor.password' must not be empty");
         }
-        return aes;
+        AES_REF.compareAndSet(null, SecureUtil.aes(password.getBytes()));
+        return AES_REF.get();
     }
 }
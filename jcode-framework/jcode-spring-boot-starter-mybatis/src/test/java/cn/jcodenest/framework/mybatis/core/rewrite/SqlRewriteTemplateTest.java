@@ -0,0 +1,147 @@
+package cn.jcodenest.framework.mybatis.core.rewrite;
+
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link SqlRewriteTemplate} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class SqlRewriteTemplateTest {
+
+    private static final String MARKER = ":" + SqlRewriteBinds.MARKER_PREFIX + 0 + SqlRewriteBinds.MARKER_SUFFIX;
+
+    private final Configuration configuration = new Configuration();
+
+    /**
+     * 当前的租户编号
+     */
+    private final AtomicLong tenantId = new AtomicLong();
+
+    @Test
+    void testApply_bindCurrentValue() {
+        // 准备参数
+        SqlRewriteTemplate template = compile("SELECT * FROM t WHERE id = ?",
+                "SELECT * FROM t WHERE id = ? AND tenant_id = " + MARKER);
+
+        // 调用：同一个模板，应用到不同租户
+        tenantId.set(1L);
+        BoundSql boundSql01 = apply(template, "SELECT * FROM t WHERE id = ?", 1, true);
+        tenantId.set(2L);
+        BoundSql boundSql02 = apply(template, "SELECT * FROM t WHERE id = ?", 1, true);
+
+        // 断言：SQL 相同，绑定的租户编号不同
+        assertEquals("SELECT * FROM t WHERE id = ? AND tenant_id = ?", boundSql01.getSql());
+        assertEquals(boundSql01.getSql(), boundSql02.getSql());
+        assertEquals(1L, getBindValue(boundSql01));
+        assertEquals(2L, getBindValue(boundSql02));
+    }
+
+    @Test
+    void testApply_notBindable() {
+        // 准备参数
+        SqlRewriteTemplate template = compile("UPDATE t SET name = ? WHERE id = ?",
+                "UPDATE t SET name = ? WHERE id = ? AND tenant_id = " + MARKER);
+        tenantId.set(1024L);
+
+        // 调用
+        BoundSql boundSql = apply(template, "UPDATE t SET name = ? WHERE id = ?", 2, false);
+        // 断言：使用字面量，不新增参数
+        assertEquals("UPDATE t SET name = ? WHERE id = ? AND tenant_id = 1024", boundSql.getSql());
+        assertEquals(2, boundSql.getParameterMappings().size());
+    }
+
+    @Test
+    void testCompile_placeholderInString() {
+        // 准备参数
+        String sql = "SELECT * FROM t WHERE name = '?' AND remark = 'it''s ?' AND id = ?";
+        SqlRewriteTemplate template = compile(sql, sql + " AND tenant_id = " + MARKER);
+        tenantId.set(1L);
+
+        // 调用
+        BoundSql boundSql = apply(template, sql, 1, true);
+        // 断言：字符串中的 ? 不是占位符，租户编号仍然作为绑定参数
+        assertEquals(sql + " AND tenant_id = ?", boundSql.getSql());
+        assertEquals(2, boundSql.getParameterMappings().size());
+        assertEquals(1L, getBindValue(boundSql));
+    }
+
+    @Test
+    void testCompile_placeholderInComment() {
+        // 准备参数
+        String sql = "SELECT * FROM t /* id = ? " + MARKER + " */ WHERE id = ? -- name = ?\n";
+        SqlRewriteTemplate template = compile(sql, sql + "AND tenant_id = " + MARKER);
+        tenantId.set(1L);
+
+        // 调用
+        BoundSql boundSql = apply(template, sql, 1, true);
+        // 断言：注释中的 ? 与占位标记不参与绑定，参数顺序不错位
+        assertEquals(sql + "AND tenant_id = ?", boundSql.getSql());
+        assertEquals(2, boundSql.getParameterMappings().size());
+        assertEquals("id", boundSql.getParameterMappings().get(0).getProperty());
+        assertEquals(1L, getBindValue(boundSql));
+    }
+
+    @Test
+    void testCompile_unclosedComment() {
+        // 准备参数：未闭合的注释，直到 SQL 结束
+        String sql = "SELECT * FROM t WHERE id = ? /* ?";
+        SqlRewriteTemplate template = compile(sql, "SELECT * FROM t WHERE id = ? AND tenant_id = " + MARKER + " /* ?");
+        tenantId.set(1L);
+
+        // 调用
+        BoundSql boundSql = apply(template, sql, 1, true);
+        // 断言
+        assertEquals("SELECT * FROM t WHERE id = ? AND tenant_id = ? /* ?", boundSql.getSql());
+        assertEquals(2, boundSql.getParameterMappings().size());
+    }
+
+    @Test
+    void testCompile_identity() {
+        // 准备参数
+        String sql = "SELECT * FROM t WHERE id = ?";
+        SqlRewriteTemplate template = compile(sql, sql);
+
+        // 调用
+        BoundSql boundSql = apply(template, sql, 1, true);
+        // 断言
+        assertEquals(sql, boundSql.getSql());
+        assertEquals(1, boundSql.getParameterMappings().size());
+    }
+
+    private SqlRewriteTemplate compile(String originalSql, String rewrittenSql) {
+        List<Supplier<?>> suppliers = List.of(tenantId::get);
+        return SqlRewriteTemplate.compile(originalSql, rewrittenSql, suppliers);
+    }
+
+    private BoundSql apply(SqlRewriteTemplate template, String sql, int parameterCount, boolean bindable) {
+        List<ParameterMapping> mappings = new ArrayList<>();
+        for (int i = 0; i < parameterCount; i++) {
+            mappings.add(new ParameterMapping.Builder(configuration, i == 0 ? "id" : "param" + i, Object.class).build());
+        }
+        BoundSql boundSql = new BoundSql(configuration, sql, mappings, null);
+        template.apply(PluginUtils.mpBoundSql(boundSql), configuration, bindable);
+        return boundSql;
+    }
+
+    private static Object getBindValue(BoundSql boundSql) {
+        List<ParameterMapping> mappings = boundSql.getParameterMappings();
+        return boundSql.getAdditionalParameter(mappings.get(mappings.size() - 1).getProperty());
+    }
+}
@@ -0,0 +1,41 @@
+package cn.jcodenest.framework.guard.config;
+
+import cn.jcodenest.framework.guard.core.aop.RequestGuardAspect;
+import cn.jcodenest.framework.idempotent.config.JCodeIdempotentConfiguration;
+import cn.jcodenest.framework.idempotent.core.aop.IdempotentAspect;
+import cn.jcodenest.framework.idempotent.core.redis.IdempotentRedisDAO;
+import cn.jcodenest.framework.ratelimiter.config.JCodeRateLimiterConfiguration;
+import cn.jcodenest.framework.ratelimiter.core.aop.RateLimiterAspect;
+import cn.jcodenest.framework.ratelimiter.core.redis.RateLimiterRedisDAO;
+import cn.jcodenest.framework.signature.config.JCodeApiSignatureAutoConfiguration;
+import cn.jcodenest.framework.signature.core.aop.ApiSignatureAspect;
+import cn.jcodenest.framework.signature.core.redis.ApiSignatureRedisDAO;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * 请求防护配置类, 合并签名、幂等、限流的 Redis 命令
+ * <p>
+ * 默认关闭, 通过 jcode.protection.request-guard.enable = true 开启
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@AutoConfiguration(after = {JCodeApiSignatureAutoConfiguration.class, JCodeIdempotentConfiguration.class,
+        JCodeRateLimiterConfiguration.class})
+@ConditionalOnProperty(prefix = "jcode.protection.request-guard", value = "enable", havingValue = "true")
+public class JCodeRequestGuardConfiguration {
+
+    @Bean
+    public RequestGuardAspect requestGuardAspect(ApiSignatureAspect apiSignatureAspect, IdempotentAspect idempotentAspect,
+                                                 RateLimiterAspect rateLimiterAspect, ApiSignatureRedisDAO signatureRedisDAO,
+                                                 IdempotentRedisDAO idempotentRedisDAO, RateLimiterRedisDAO rateLimiterRedisDAO) {
+        return new RequestGuardAspect(apiSignatureAspect, idempotentAspect, rateLimiterAspect,
+                signatureRedisDAO, idempotentRedisDAO, rateLimiterRedisDAO);
+    }
+}
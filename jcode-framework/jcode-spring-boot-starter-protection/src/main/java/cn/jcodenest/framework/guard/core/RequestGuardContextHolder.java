@@ -0,0 +1,80 @@
+package cn.jcodenest.framework.guard.core;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Set;
+
+/**
+ * 请求防护的上下文 Holder
+ *
+ * <p>
+ * {@link cn.jcodenest.framework.guard.core.aop.RequestGuardAspect} 合并校验后, 记录已校验的方法与注解,
+ * {@code @ApiSignature}、{@code @Idempotent}、{@code @RateLimiter} 各自的切面据此跳过, 每个注解只跳过一次
+ * </p>
+ *
+ * <p>只在同一个线程的同一次调用内有效, 因此使用普通的 ThreadLocal, 而不是会传递到异步线程的 JCodeContext</p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+public class RequestGuardContextHolder {
+
+    private static final ThreadLocal<Context> CONTEXT = new ThreadLocal<>();
+
+    /**
+     * 记录已合并校验的方法与注解
+     *
+     * @param method          方法
+     * @param annotationTypes 已校验的注解
+     * @return 原上下文, 用于 {@link #restore(Object)}
+     */
+    public static Object set(Method method, Set<Class<? extends Annotation>> annotationTypes) {
+        Context previous = CONTEXT.get();
+        CONTEXT.set(new Context(method, annotationTypes));
+        return previous;
+    }
+
+    /**
+     * 恢复原上下文
+     *
+     * @param previous {@link #set(Method, Set)} 的返回值
+     */
+    public static void restore(Object previous) {
+        if (previous == null) {
+            CONTEXT.remove();
+        } else {
+            CONTEXT.set((Context) previous);
+        }
+    }
+
+    /**
+     * 判断注解是否已合并校验, 是则消费掉, 之后的调用不再跳过
+     *
+     * @param joinPoint      AOP 切面
+     * @param annotationType 注解
+     * @return 是否已合并校验
+     */
+    public static boolean consume(JoinPoint joinPoint, Class<? extends Annotation> annotationType) {
+        Context context = CONTEXT.get();
+        return context != null
+                && joinPoint.getSignature() instanceof MethodSignature signature
+                && context.method().equals(signature.getMethod())
+                && context.annotationTypes().remove(annotationType);
+    }
+
+    /**
+     * 上下文
+     *
+     * @param method          方法
+     * @param annotationTypes 已校验、尚未消费的注解
+     */
+    private record Context(Method method, Set<Class<? extends Annotation>> annotationTypes) {
+    }
+}
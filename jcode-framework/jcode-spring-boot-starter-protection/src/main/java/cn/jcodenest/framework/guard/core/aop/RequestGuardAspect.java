@@ -0,0 +1,180 @@
+package cn.jcodenest.framework.guard.core.aop;
+
+import cn.hutool.core.util.StrUtil;
+import cn.jcodenest.framework.common.exception.ServiceException;
+import cn.jcodenest.framework.common.util.servlet.ServletUtils;
+import cn.jcodenest.framework.guard.core.RequestGuardContextHolder;
+import cn.jcodenest.framework.idempotent.core.annotation.Idempotent;
+import cn.jcodenest.framework.idempotent.core.aop.IdempotentAspect;
+import cn.jcodenest.framework.idempotent.core.redis.IdempotentRedisDAO;
+import cn.jcodenest.framework.ratelimiter.core.annotation.RateLimiter;
+import cn.jcodenest.framework.ratelimiter.core.aop.RateLimiterAspect;
+import cn.jcodenest.framework.ratelimiter.core.redis.RateLimiterRedisDAO;
+import cn.jcodenest.framework.signature.core.annotation.ApiSignature;
+import cn.jcodenest.framework.signature.core.aop.ApiSignatureAspect;
+import cn.jcodenest.framework.signature.core.redis.ApiSignatureRedisDAO;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.Order;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static cn.jcodenest.framework.common.exception.enums.GlobalErrorCodeConstants.BAD_REQUEST;
+import static cn.jcodenest.framework.common.exception.enums.GlobalErrorCodeConstants.REPEATED_REQUESTS;
+
+/**
+ * 请求防护的切面：合并 {@link ApiSignature}、{@link Idempotent}、{@link RateLimiter} 的 Redis 命令
+ *
+ * <p>
+ * 方法声明了其中两个及以上的注解时, 各自的切面依次执行, 一次请求需要 5~6 次 Redis 往返：
+ * getNonce、getAppSecret、setNonce、幂等的 SET NX、限流的 getConfig、tryAcquire。合并后：
+ *  1. 签名在本地校验, 只读取 appSecret（可开启客户端缓存, 见 jcode.redis.client-side-caching）; nonce 只需 SET NX, 不再提前 GET
+ *  2. nonce 与幂等的 SET NX 同时异步发出, 总耗时约为一次往返
+ *  3. 两者都成功后, 再执行限流的 tryAcquire, 避免重复请求、重放请求消耗限流的令牌; 限流配置在本地确认过后不再读取
+ *  4. 任一校验失败时, 按 签名、幂等、限流 的顺序抛出异常, 并删除本次设置的幂等 Key, 避免重试时被误判为重复请求
+ *  5. 校验通过后, 通过 {@link RequestGuardContextHolder} 让各自的切面跳过
+ * </p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@Slf4j
+@Aspect
+@AllArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestGuardAspect {
+
+    private final ApiSignatureAspect apiSignatureAspect;
+    private final IdempotentAspect idempotentAspect;
+    private final RateLimiterAspect rateLimiterAspect;
+
+    private final ApiSignatureRedisDAO signatureRedisDAO;
+    private final IdempotentRedisDAO idempotentRedisDAO;
+    private final RateLimiterRedisDAO rateLimiterRedisDAO;
+
+    /**
+     * 切面方法
+     *
+     * @param joinPoint AOP 切面
+     * @return 方法返回值
+     */
+    @Around("@annotation(cn.jcodenest.framework.signature.core.annotation.ApiSignature)"
+            + " || @annotation(cn.jcodenest.framework.idempotent.core.annotation.Idempotent)"
+            + " || @annotation(cn.jcodenest.framework.ratelimiter.core.annotation.RateLimiter)")
+    public Object aroundPointCut(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
+        Method method = AopUtils.getMostSpecificMethod(methodSignature.getMethod(), Objects.requireNonNull(joinPoint.getTarget()).getClass());
+        ApiSignature signature = AnnotationUtils.getAnnotation(method, ApiSignature.class);
+        Idempotent idempotent = AnnotationUtils.getAnnotation(method, Idempotent.class);
+        RateLimiter rateLimiter = AnnotationUtils.getAnnotation(method, RateLimiter.class);
+        // 只有一个注解时, 没有可合并的命令, 由各自的切面处理
+        if ((signature != null ? 1 : 0) + (idempotent != null ? 1 : 0) + (rateLimiter != null ? 1 : 0) < 2) {
+            return joinPoint.proceed();
+        }
+
+        // 1. 本地校验签名
+        HttpServletRequest request = signature != null ? Objects.requireNonNull(ServletUtils.getRequest()) : null;
+        if (signature != null && !apiSignatureAspect.verifySignatureWithoutNonce(signature, request)) {
+            log.error("[aroundPointCut][方法{} 参数({}) 签名失败]", methodSignature, joinPoint.getArgs());
+            throw new ServiceException(BAD_REQUEST.getCode(), StrUtil.blankToDefault(signature.message(), BAD_REQUEST.getMsg()));
+        }
+
+        // 2. 同时发出 nonce、幂等的命令
+        String idempotentKey = idempotent != null ? idempotentAspect.resolveKey(joinPoint, idempotent) : null;
+        CompletableFuture<Boolean> nonceFuture = signature != null
+                ? signatureRedisDAO.setNonceAsync(request.getHeader(signature.appId()), request.getHeader(signature.nonce()),
+                        signature.timeout() * 2, signature.timeUnit()).toCompletableFuture()
+                : CompletableFuture.completedFuture(true);
+        CompletableFuture<Boolean> idempotentFuture = idempotent != null
+                ? idempotentRedisDAO.setIfAbsentAsync(idempotentKey, idempotent.timeout(), idempotent.timeUnit()).toCompletableFuture()
+                : CompletableFuture.completedFuture(true);
+        try {
+            CompletableFuture.allOf(nonceFuture, idempotentFuture).join();
+        } catch (CompletionException ex) {
+            // 任一命令失败时, 删除本次设置的幂等 Key
+            if (idempotent != null && isSuccess(idempotentFuture)) {
+                idempotentRedisDAO.delete(idempotentKey);
+            }
+            throw ex.getCause() != null ? ex.getCause() : ex;
+        }
+        boolean nonceSuccess = isSuccess(nonceFuture);
+        boolean idempotentSuccess = isSuccess(idempotentFuture);
+        if (!nonceSuccess || !idempotentSuccess) {
+            if (idempotent != null && idempotentSuccess) {
+                idempotentRedisDAO.delete(idempotentKey);
+            }
+            if (!nonceSuccess) {
+                throw apiSignatureAspect.buildRepeatedRequestException(signature, request);
+            }
+            log.info("[aroundPointCut][方法({}) 参数({}) 存在重复请求]", methodSignature, joinPoint.getArgs());
+            throw new ServiceException(REPEATED_REQUESTS.getCode(), idempotent.message());
+        }
+
+        // 3. 限流, 失败时删除本次设置的幂等 Key
+        if (rateLimiter != null) {
+            boolean rateLimiterSuccess;
+            try {
+                rateLimiterSuccess = Boolean.TRUE.equals(rateLimiterRedisDAO.tryAcquire(rateLimiterAspect.resolveKey(joinPoint, rateLimiter),
+                        rateLimiter.count(), rateLimiter.time(), rateLimiter.timeUnit()));
+            } catch (RuntimeException ex) {
+                if (idempotent != null) {
+                    idempotentRedisDAO.delete(idempotentKey);
+                }
+                throw ex;
+            }
+            if (!rateLimiterSuccess) {
+                if (idempotent != null) {
+                    idempotentRedisDAO.delete(idempotentKey);
+                }
+                log.info("[aroundPointCut][方法({}) 参数({}) 请求过于频繁]", methodSignature, joinPoint.getArgs());
+                throw rateLimiterAspect.buildTooManyRequestsException(rateLimiter);
+            }
+        }
+
+        // 4. 执行逻辑, 各自的切面跳过已合并的校验
+        Set<Class<? extends Annotation>> annotationTypes = new HashSet<>();
+        if (signature != null) {
+            annotationTypes.add(ApiSignature.class);
+        }
+        if (idempotent != null) {
+            annotationTypes.add(Idempotent.class);
+        }
+        if (rateLimiter != null) {
+            annotationTypes.add(RateLimiter.class);
+        }
+        Object previous = RequestGuardContextHolder.set(methodSignature.getMethod(), annotationTypes);
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable throwable) {
+            // 异常时删除幂等 Key, 与 IdempotentAspect 一致
+            if (idempotent != null && idempotent.deleteKeyWhenException()) {
+                idempotentRedisDAO.delete(idempotentKey);
+            }
+            throw throwable;
+        } finally {
+            RequestGuardContextHolder.restore(previous);
+        }
+    }
+
+    private static boolean isSuccess(CompletableFuture<Boolean> future) {
+        return future.isDone() && !future.isCompletedExceptionally() && Boolean.TRUE.equals(future.join());
+    }
+}
@@ -7,6 +7,7 @@ import cn.jcodenest.framework.idempotent.core.keyresolver.impl.ExpressionIdempot
 import cn.jcodenest.framework.idempotent.core.keyresolver.impl.UserIdempotentKeyResolver;
 import cn.jcodenest.framework.idempotent.core.redis.IdempotentRedisDAO;
 import cn.jcodenest.framework.redis.config.JCodeRedisAutoConfiguration;
+import org.redisson.api.RedissonClient;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.redis.core.StringRedisTemplate;
@@ -32,8 +33,9 @@ public class JCodeIdempotentConfiguration {
     }
 
     @Bean
-    public IdempotentRedisDAO idempotentRedisDAO(StringRedisTemplate stringRedisTemplate) {
-        return new IdempotentRedisDAO(stringRedisTemplate);
+    @SuppressWarnings("SpringJavaInjectionPointsAutowiringInspection")
+    public IdempotentRedisDAO idempotentRedisDAO(StringRedisTemplate stringRedisTemplate, RedissonClient redissonClient) {
+        return new IdempotentRedisDAO(stringRedisTemplate, redissonClient);
     }
 
     // ========== 各种 IdempotentKeyResolver Bean ==========
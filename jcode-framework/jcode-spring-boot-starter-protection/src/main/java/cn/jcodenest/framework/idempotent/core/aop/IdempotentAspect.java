@@ -3,10 +3,12 @@ package cn.jcodenest.framework.idempotent.core.aop;
 import cn.jcodenest.framework.common.exception.ServiceException;
 import cn.jcodenest.framework.common.exception.enums.GlobalErrorCodeConstants;
 import cn.jcodenest.framework.common.util.collection.CollectionUtils;
+import cn.jcodenest.framework.guard.core.RequestGuardContextHolder;
 import cn.jcodenest.framework.idempotent.core.annotation.Idempotent;
 import cn.jcodenest.framework.idempotent.core.keyresolver.IdempotentKeyResolver;
 import cn.jcodenest.framework.idempotent.core.redis.IdempotentRedisDAO;
 import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
@@ -58,12 +60,13 @@ public class IdempotentAspect {
      */
     @Around(value = "@annotation(idempotent)")
     public Object aroundPointCut(ProceedingJoinPoint joinPoint, Idempotent idempotent) throws Throwable {
-        // 获取 IdempotentKeyResolver
-        IdempotentKeyResolver keyResolver = keyResolvers.get(idempotent.keyResolver());
-        Assert.notNull(keyResolver, "找不到对应的 IdempotentKeyResolver");
+        // 已由 RequestGuardAspect 合并校验，直接执行
+        if (RequestGuardContextHolder.consume(joinPoint, Idempotent.class)) {
+            return joinPoint.proceed();
+        }
 
         // 解析 Key
-        String key = keyResolver.resolver(joinPoint, idempotent);
+        String key = resolveKey(joinPoint, idempotent);
 
         // 锁定 Key，锁定失败抛出异常
         boolean success = idempotentRedisDAO.setIfAbsent(key, idempotent.timeout(), idempotent.timeUnit());
@@ -84,4 +87,19 @@ public class IdempotentAspect {
             throw throwable;
         }
     }
+
+    /**
+     * 解析幂等的 Key
+     *
+     * @param joinPoint  AOP 切面
+     * @param idempotent 幂等注解
+     * @return Key
+     */
+    public String resolveKey(JoinPoint joinPoint, Idempotent idempotent) {
+        // 获取 IdempotentKeyResolver
+        IdempotentKeyResolver keyResolver = keyResolvers.get(idempotent.keyResolver());
+        Assert.notNull(keyResolver, "找不到对应的 IdempotentKeyResolver");
+
+        return keyResolver.resolver(joinPoint, idempotent);
+    }
 }
@@ -1,8 +1,13 @@
 package cn.jcodenest.framework.idempotent.core.redis;
 
 import lombok.AllArgsConstructor;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -32,6 +37,15 @@ public class IdempotentRedisDAO {
      */
     private final StringRedisTemplate redisTemplate;
 
+    /**
+     * Redisson 客户端, 用于异步命令, 为 null 时退化为同步命令
+     */
+    private final RedissonClient redissonClient;
+
+    public IdempotentRedisDAO(StringRedisTemplate redisTemplate) {
+        this(redisTemplate, null);
+    }
+
     /**
      * 设置幂等 Key
      *
@@ -45,6 +59,22 @@ public class IdempotentRedisDAO {
         return redisTemplate.opsForValue().setIfAbsent(redisKey, "", timeout, timeUnit);
     }
 
+    /**
+     * 异步设置幂等 Key, 用于 {@link cn.jcodenest.framework.guard.core.aop.RequestGuardAspect} 合并多个命令的往返
+     *
+     * @param key      幂等的 Key
+     * @param timeout  过期时间
+     * @param timeUnit 时间单位
+     * @return 是否成功
+     */
+    public CompletionStage<Boolean> setIfAbsentAsync(String key, long timeout, TimeUnit timeUnit) {
+        if (redissonClient == null) {
+            return CompletableFuture.completedFuture(setIfAbsent(key, timeout, timeUnit));
+        }
+        return redissonClient.<String>getBucket(formatKey(key), StringCodec.INSTANCE)
+                .setIfAbsentAsync("", Duration.ofMillis(timeUnit.toMillis(timeout)));
+    }
+
     /**
      * 删除幂等 Key
      *
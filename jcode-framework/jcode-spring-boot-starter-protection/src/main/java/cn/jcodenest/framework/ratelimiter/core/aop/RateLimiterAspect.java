@@ -4,6 +4,7 @@ import cn.hutool.core.util.StrUtil;
 import cn.jcodenest.framework.common.exception.ServiceException;
 import cn.jcodenest.framework.common.exception.enums.GlobalErrorCodeConstants;
 import cn.jcodenest.framework.common.util.collection.CollectionUtils;
+import cn.jcodenest.framework.guard.core.RequestGuardContextHolder;
 import cn.jcodenest.framework.ratelimiter.core.annotation.RateLimiter;
 import cn.jcodenest.framework.ratelimiter.core.keyresolver.RateLimiterKeyResolver;
 import cn.jcodenest.framework.ratelimiter.core.redis.RateLimiterRedisDAO;
@@ -59,19 +60,45 @@ public class RateLimiterAspect {
      */
     @Before("@annotation(rateLimiter)")
     public void beforePointCut(JoinPoint joinPoint, RateLimiter rateLimiter) {
-        // 获取 IdempotentKeyResolver 对象
-        RateLimiterKeyResolver keyResolver = keyResolvers.get(rateLimiter.keyResolver());
-        Assert.notNull(keyResolver, "找不到对应的 RateLimiterKeyResolver");
+        // 已由 RequestGuardAspect 合并校验，直接结束
+        if (RequestGuardContextHolder.consume(joinPoint, RateLimiter.class)) {
+            return;
+        }
 
         // 解析 Key
-        String key = keyResolver.resolver(joinPoint, rateLimiter);
+        String key = resolveKey(joinPoint, rateLimiter);
 
         // 获取 1 次限流
         boolean success = rateLimiterRedisDAO.tryAcquire(key, rateLimiter.count(), rateLimiter.time(), rateLimiter.timeUnit());
         if (!success) {
             log.info("[beforePointCut][方法({}) 参数({}) 请求过于频繁]", joinPoint.getSignature().toString(), joinPoint.getArgs());
-            String message = StrUtil.blankToDefault(rateLimiter.message(), GlobalErrorCodeConstants.TOO_MANY_REQUESTS.getMsg());
-            throw new ServiceException(GlobalErrorCodeConstants.TOO_MANY_REQUESTS.getCode(), message);
+            throw buildTooManyRequestsException(rateLimiter);
         }
     }
+
+    /**
+     * 解析限流的 Key
+     *
+     * @param joinPoint   AOP 切面
+     * @param rateLimiter 限流注解
+     * @return Key
+     */
+    public String resolveKey(JoinPoint joinPoint, RateLimiter rateLimiter) {
+        // 获取 RateLimiterKeyResolver 对象
+        RateLimiterKeyResolver keyResolver = keyResolvers.get(rateLimiter.keyResolver());
+        Assert.notNull(keyResolver, "找不到对应的 RateLimiterKeyResolver");
+
+        return keyResolver.resolver(joinPoint, rateLimiter);
+    }
+
+    /**
+     * 构建限流的异常
+     *
+     * @param rateLimiter 限流注解
+     * @return 异常
+     */
+    public ServiceException buildTooManyRequestsException(RateLimiter rateLimiter) {
+        String message = StrUtil.blankToDefault(rateLimiter.message(), GlobalErrorCodeConstants.TOO_MANY_REQUESTS.getMsg());
+        return new ServiceException(GlobalErrorCodeConstants.TOO_MANY_REQUESTS.getCode(), message);
+    }
 }
@@ -1,7 +1,10 @@
 package cn.jcodenest.framework.ratelimiter.core.redis;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.AllArgsConstructor;
 import org.redisson.api.*;
+import org.redisson.client.RedisException;
 
 import java.time.Duration;
 import java.util.Objects;
@@ -29,11 +32,24 @@ public class RateLimiterRedisDAO {
      */
     private static final String RATE_LIMITER = "rate_limiter:%s";
 
+    /**
+     * Redisson 未找到限流配置时的错误信息, 例如限流的 Key 因为长时间未访问而过期
+     */
+    private static final String NOT_INITIALIZED_MESSAGE = "RateLimiter is not initialized";
+
     /**
      * Redisson 客户端
      */
     private final RedissonClient redissonClient;
 
+    /**
+     * 已确认 rate 速率的限流, 避免每次限流都读取一次配置
+     * <p>
+     * KEY：Redis Key + 限流次数 + 限流时间; 配置被删除时, 由 {@link #NOT_INITIALIZED_MESSAGE} 触发重新设置
+     */
+    private final Cache<String, Boolean> configuredRates = Caffeine.newBuilder()
+            .maximumSize(10000L).expireAfterWrite(Duration.ofMinutes(1L)).build();
+
     /**
      * 限流操作
      *
@@ -47,7 +63,15 @@ public class RateLimiterRedisDAO {
         // 获取 RRateLimiter 并设置 rate 速率
         RRateLimiter rateLimiter = getRRateLimiter(key, count, time, timeUnit);
         // 尝试获取 1 个
-        return rateLimiter.tryAcquire();
+        try {
+            return rateLimiter.tryAcquire();
+        } catch (RedisException ex) {
+            if (!isNotInitialized(ex)) {
+                throw ex;
+            }
+            configuredRates.invalidate(buildConfiguredRateKey(key, count, time, timeUnit));
+            return getRRateLimiter(key, count, time, timeUnit).tryAcquire();
+        }
     }
 
     /**
@@ -74,10 +98,17 @@ public class RateLimiterRedisDAO {
         RRateLimiter rateLimiter = redissonClient.getRateLimiter(redisKey);
         Duration rateInterval = Duration.ofSeconds(timeUnit.toSeconds(time));
 
+        // 如果近期已确认过配置，则直接返回
+        String configuredRateKey = buildConfiguredRateKey(key, count, time, timeUnit);
+        if (configuredRates.getIfPresent(configuredRateKey) != null) {
+            return rateLimiter;
+        }
+
         // 如果不存在，设置 rate 速率
         RateLimiterConfig config = rateLimiter.getConfig();
         if (config == null) {
             rateLimiter.trySetRate(RateType.OVERALL, count, rateInterval, rateInterval);
+            configuredRates.put(configuredRateKey, Boolean.TRUE);
             return rateLimiter;
         }
 
@@ -85,11 +116,26 @@ public class RateLimiterRedisDAO {
         if (config.getRateType() == RateType.OVERALL
                 && Objects.equals(config.getRate(), count)
                 && Objects.equals(Duration.ofMillis(config.getRateInterval()), rateInterval)) {
+            configuredRates.put(configuredRateKey, Boolean.TRUE);
             return rateLimiter;
         }
 
         // 如果存在，并且配置不同，则进行新建
         rateLimiter.setRate(RateType.OVERALL, count, rateInterval, rateInterval);
+        configuredRates.put(configuredRateKey, Boolean.TRUE);
         return rateLimiter;
     }
+
+    private static String buildConfiguredRateKey(String key, long count, int time, TimeUnit timeUnit) {
+        return formatKey(key) + "#" + count + "#" + timeUnit.toSeconds(time);
+    }
+
+    private static boolean isNotInitialized(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains(NOT_INITIALIZED_MESSAGE)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
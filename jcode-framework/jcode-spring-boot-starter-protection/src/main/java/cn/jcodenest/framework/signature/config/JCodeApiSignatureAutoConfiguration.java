@@ -1,8 +1,11 @@
 package cn.jcodenest.framework.signature.config;
 
 import cn.jcodenest.framework.redis.config.JCodeRedisAutoConfiguration;
+import cn.jcodenest.framework.redis.core.RedisClientSideCache;
 import cn.jcodenest.framework.signature.core.aop.ApiSignatureAspect;
 import cn.jcodenest.framework.signature.core.redis.ApiSignatureRedisDAO;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.redis.core.StringRedisTemplate;
@@ -34,11 +37,15 @@ public class JCodeApiSignatureAutoConfiguration {
     /**
      * 签名RedisDAO
      *
-     * @param stringRedisTemplate Redis模板
+     * @param stringRedisTemplate     Redis模板
+     * @param redissonClient          Redisson 客户端
+     * @param clientSideCacheProvider 客户端缓存, 未开启时为空
      * @return 签名RedisDAO
      */
     @Bean
-    public ApiSignatureRedisDAO signatureRedisDAO(StringRedisTemplate stringRedisTemplate) {
-        return new ApiSignatureRedisDAO(stringRedisTemplate);
+    @SuppressWarnings("SpringJavaInjectionPointsAutowiringInspection")
+    public ApiSignatureRedisDAO signatureRedisDAO(StringRedisTemplate stringRedisTemplate, RedissonClient redissonClient,
+                                                  ObjectProvider<RedisClientSideCache> clientSideCacheProvider) {
+        return new ApiSignatureRedisDAO(stringRedisTemplate, redissonClient, clientSideCacheProvider.getIfAvailable());
     }
 }
@@ -9,6 +9,7 @@ import cn.hutool.crypto.digest.DigestUtil;
 import cn.jcodenest.framework.common.exception.ServiceException;
 import cn.jcodenest.framework.common.exception.enums.GlobalErrorCodeConstants;
 import cn.jcodenest.framework.common.util.servlet.ServletUtils;
+import cn.jcodenest.framework.guard.core.RequestGuardContextHolder;
 import cn.jcodenest.framework.signature.core.annotation.ApiSignature;
 import cn.jcodenest.framework.signature.core.redis.ApiSignatureRedisDAO;
 import jakarta.servlet.http.HttpServletRequest;
@@ -53,6 +54,11 @@ public class ApiSignatureAspect {
      */
     @Before("@annotation(signature)")
     public void beforePointCut(JoinPoint joinPoint, ApiSignature signature) {
+        // 已由 RequestGuardAspect 合并校验，直接结束
+        if (RequestGuardContextHolder.consume(joinPoint, ApiSignature.class)) {
+            return;
+        }
+
         // 验证通过，直接结束
         if (verifySignature(signature, Objects.requireNonNull(ServletUtils.getRequest()))) {
             return;
@@ -71,6 +77,36 @@ public class ApiSignatureAspect {
      * @return 是否通过
      */
     public boolean verifySignature(ApiSignature signature, HttpServletRequest request) {
+        // 校验 Header、签名
+        if (!verifySignatureWithoutNonce(signature, request)) {
+            return false;
+        }
+
+        // 检查 nonce 是否存在，有且仅能使用一次
+        String appId = request.getHeader(signature.appId());
+        String nonce = request.getHeader(signature.nonce());
+        if (signatureRedisDAO.getNonce(appId, nonce) != null) {
+            return false;
+        }
+
+        // 将 nonce 记入缓存，防止重复使用（重点：此处需要将 ttl 设定为允许 timestamp 时间差的值 x 2 ）
+        if (BooleanUtil.isFalse(signatureRedisDAO.setNonce(appId, nonce, signature.timeout() * 2, signature.timeUnit()))) {
+            throw buildRepeatedRequestException(signature, request);
+        }
+
+        return true;
+    }
+
+    /**
+     * 验证签名，不校验、不记录 nonce
+     * <p>
+     * 由 {@link cn.jcodenest.framework.guard.core.aop.RequestGuardAspect} 使用，nonce 通过 SET NX 与其它命令合并执行
+     *
+     * @param signature signature 注解
+     * @param request   request 请求
+     * @return 是否通过
+     */
+    public boolean verifySignatureWithoutNonce(ApiSignature signature, HttpServletRequest request) {
         // 校验 Header
         if (!verifyHeaders(signature, request)) {
             return false;
@@ -88,19 +124,20 @@ public class ApiSignatureAspect {
         String serverSignatureString = buildSignatureString(signature, request, appSecret);
         // 服务端签名
         String serverSignature = DigestUtil.sha256Hex(serverSignatureString);
-        if (ObjUtil.notEqual(clientSignature, serverSignature)) {
-            return false;
-        }
-
-        // 将 nonce 记入缓存，防止重复使用（重点：此处需要将 ttl 设定为允许 timestamp 时间差的值 x 2 ）
-        String nonce = request.getHeader(signature.nonce());
-        if (BooleanUtil.isFalse(signatureRedisDAO.setNonce(appId, nonce, signature.timeout() * 2, signature.timeUnit()))) {
-            String timestamp = request.getHeader(signature.timestamp());
-            log.info("[verifySignature][appId({}) timestamp({}) nonce({}) sign({}) 存在重复请求]", appId, timestamp, nonce, clientSignature);
-            throw new ServiceException(GlobalErrorCodeConstants.REPEATED_REQUESTS.getCode(), "存在重复请求");
-        }
+        return ObjUtil.equals(clientSignature, serverSignature);
+    }
 
-        return true;
+    /**
+     * 构建 nonce 重复使用的异常
+     *
+     * @param signature signature 注解
+     * @param request   request 请求
+     * @return 异常
+     */
+    public ServiceException buildRepeatedRequestException(ApiSignature signature, HttpServletRequest request) {
+        log.info("[verifySignature][appId({}) timestamp({}) nonce({}) sign({}) 存在重复请求]", request.getHeader(signature.appId()),
+                request.getHeader(signature.timestamp()), request.getHeader(signature.nonce()), request.getHeader(signature.sign()));
+        return new ServiceException(GlobalErrorCodeConstants.REPEATED_REQUESTS.getCode(), "存在重复请求");
     }
 
     /**
@@ -108,7 +145,7 @@ public class ApiSignatureAspect {
      * <p>
      * 1. appId 是否为空
      * 2. timestamp 是否为空，请求是否已经超时，默认 10 分钟
-     * 3. nonce 是否为空，随机数是否 10 位以上，是否在规定时间内已经访问过了
+     * 3. nonce 是否为空，随机数是否 10 位以上
      * 4. sign 是否为空
      *
      * @param signature signature
@@ -138,12 +175,7 @@ public class ApiSignatureAspect {
         long expireTime = signature.timeUnit().toMillis(signature.timeout());
         long requestTimestamp = Long.parseLong(timestamp);
         long timestampDisparity = Math.abs(System.currentTimeMillis() - requestTimestamp);
-        if (timestampDisparity > expireTime) {
-            return false;
-        }
-
-        // 检查 nonce 是否存在，有且仅能使用一次
-        return signatureRedisDAO.getNonce(appId, nonce) == null;
+        return timestampDisparity <= expireTime;
     }
 
     /**
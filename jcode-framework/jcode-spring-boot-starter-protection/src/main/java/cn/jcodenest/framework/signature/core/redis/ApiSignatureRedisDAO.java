@@ -1,8 +1,14 @@
 package cn.jcodenest.framework.signature.core.redis;
 
+import cn.jcodenest.framework.redis.core.RedisClientSideCache;
 import lombok.AllArgsConstructor;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -20,6 +26,24 @@ public class ApiSignatureRedisDAO {
 
     private final StringRedisTemplate stringRedisTemplate;
 
+    /**
+     * Redisson 客户端, 用于异步命令, 为 null 时退化为同步命令
+     */
+    private final RedissonClient redissonClient;
+
+    /**
+     * 客户端缓存, 未开启时为 null
+     */
+    private final RedisClientSideCache clientSideCache;
+
+    public ApiSignatureRedisDAO(StringRedisTemplate stringRedisTemplate) {
+        this(stringRedisTemplate, null, null);
+    }
+
+    public ApiSignatureRedisDAO(StringRedisTemplate stringRedisTemplate, RedisClientSideCache clientSideCache) {
+        this(stringRedisTemplate, null, clientSideCache);
+    }
+
     /**
      * 验签随机数
      * <p>
@@ -36,6 +60,8 @@ public class ApiSignatureRedisDAO {
      * KEY   格式：%s     // 参数为 appid
      * VALUE 格式：String
      * 过期时间：永不过期（预加载到 Redis）
+     * <p>
+     * 每个请求都会读取, 可配置 jcode.redis.client-side-caching.key-prefixes 包含该 KEY, 使用客户端缓存
      */
     private static final String SIGNATURE_APPID = "api_signature_app";
 
@@ -65,6 +91,23 @@ public class ApiSignatureRedisDAO {
         return stringRedisTemplate.opsForValue().setIfAbsent(formatNonceKey(appId, nonce), "", time, timeUnit);
     }
 
+    /**
+     * 异步设置验签随机数, 用于 {@link cn.jcodenest.framework.guard.core.aop.RequestGuardAspect} 合并多个命令的往返
+     *
+     * @param appId    appId
+     * @param nonce    随机数
+     * @param time     过期时间
+     * @param timeUnit 过期时间单位
+     * @return 是否成功
+     */
+    public CompletionStage<Boolean> setNonceAsync(String appId, String nonce, int time, TimeUnit timeUnit) {
+        if (redissonClient == null) {
+            return CompletableFuture.completedFuture(setNonce(appId, nonce, time, timeUnit));
+        }
+        return redissonClient.<String>getBucket(formatNonceKey(appId, nonce), StringCodec.INSTANCE)
+                .setIfAbsentAsync("", Duration.ofMillis(timeUnit.toMillis(time)));
+    }
+
     /**
      * 格式化验签随机数 KEY
      *
@@ -85,6 +128,9 @@ public class ApiSignatureRedisDAO {
      * @return 签名密钥
      */
     public String getAppSecret(String appId) {
+        if (clientSideCache != null && clientSideCache.supports(SIGNATURE_APPID)) {
+            return clientSideCache.hashGet(SIGNATURE_APPID, appId);
+        }
         return (String) stringRedisTemplate.opsForHash().get(SIGNATURE_APPID, appId);
     }
 }
@@ -0,0 +1,50 @@
+package cn.jcodenest.framework.guard.config;
+
+import cn.jcodenest.framework.guard.core.aop.RequestGuardAspect;
+import cn.jcodenest.framework.idempotent.core.aop.IdempotentAspect;
+import cn.jcodenest.framework.idempotent.core.redis.IdempotentRedisDAO;
+import cn.jcodenest.framework.ratelimiter.core.aop.RateLimiterAspect;
+import cn.jcodenest.framework.ratelimiter.core.redis.RateLimiterRedisDAO;
+import cn.jcodenest.framework.signature.core.aop.ApiSignatureAspect;
+import cn.jcodenest.framework.signature.core.redis.ApiSignatureRedisDAO;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * {@link JCodeRequestGuardConfiguration} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class JCodeRequestGuardConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(JCodeRequestGuardConfiguration.class))
+            .withBean(ApiSignatureAspect.class, () -> mock(ApiSignatureAspect.class))
+            .withBean(IdempotentAspect.class, () -> mock(IdempotentAspect.class))
+            .withBean(RateLimiterAspect.class, () -> mock(RateLimiterAspect.class))
+            .withBean(ApiSignatureRedisDAO.class, () -> mock(ApiSignatureRedisDAO.class))
+            .withBean(IdempotentRedisDAO.class, () -> mock(IdempotentRedisDAO.class))
+            .withBean(RateLimiterRedisDAO.class, () -> mock(RateLimiterRedisDAO.class));
+
+    @Test
+    void testDisabledByDefault() {
+        // 调用，并断言
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(RequestGuardAspect.class));
+    }
+
+    @Test
+    void testEnabled() {
+        // 调用，并断言
+        contextRunner.withPropertyValues("jcode.protection.request-guard.enable=true")
+                .run(context -> assertThat(context).hasSingleBean(RequestGuardAspect.class));
+    }
+}
@@ -0,0 +1,118 @@
+package cn.jcodenest.framework.guard.core;
+
+import cn.hutool.core.util.IdUtil;
+import cn.jcodenest.framework.guard.core.aop.RequestGuardAspect;
+import cn.jcodenest.framework.idempotent.core.redis.IdempotentRedisDAO;
+import cn.jcodenest.framework.ratelimiter.core.redis.RateLimiterRedisDAO;
+import cn.jcodenest.framework.signature.core.redis.ApiSignatureRedisDAO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.redisson.Redisson;
+import org.redisson.api.RRateLimiter;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.redisson.spring.data.connection.RedissonConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RequestGuardAspect} 的 JMH 基准测试, 对比同时声明 @ApiSignature、@Idempotent、@RateLimiter 的接口,
+ * 一次请求在 Redis 上的耗时（关注 p0.99）
+ *
+ * <p>
+ * 对比对象：
+ *  1. aspects: 各自的切面依次执行, getNonce、getAppSecret、setNonce、幂等的 SET NX、限流的 getConfig、tryAcquire
+ *  2. guard: 合并后, getAppSecret, 再同时发出 nonce、幂等的 SET NX, 两者成功后执行限流的 tryAcquire
+ * </p>
+ *
+ * <p>
+ * 需要一个 Redis, 地址通过 -Dredis.address 指定, 默认 redis://127.0.0.1:6379; 往返耗时越大（例如跨机房）, 差距越明显。
+ * 运行方式：直接运行 main 方法, 或者 mvn test-compile 后使用 org.openjdk.jmh.Main 运行
+ * </p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestGuardBenchmark {
+
+    private static final String APP_ID = "benchmark";
+
+    private static final String RATE_LIMITER_KEY = "benchmark";
+
+    /**
+     * 限流次数足够大, 保证每次都能获取成功
+     */
+    private static final int RATE_LIMITER_COUNT = Integer.MAX_VALUE;
+
+    private RedissonClient redissonClient;
+
+    private ApiSignatureRedisDAO signatureRedisDAO;
+    private IdempotentRedisDAO idempotentRedisDAO;
+    private RateLimiterRedisDAO rateLimiterRedisDAO;
+
+    @Setup
+    public void setup() {
+        Config config = new Config();
+        config.useSingleServer().setAddress(System.getProperty("redis.address", "redis://127.0.0.1:6379"));
+        redissonClient = Redisson.create(config);
+        StringRedisTemplate stringRedisTemplate = new StringRedisTemplate(new RedissonConnectionFactory(redissonClient));
+        stringRedisTemplate.opsForHash().put("api_signature_app", APP_ID, "secret");
+
+        signatureRedisDAO = new ApiSignatureRedisDAO(stringRedisTemplate, redissonClient, null);
+        idempotentRedisDAO = new IdempotentRedisDAO(stringRedisTemplate, redissonClient);
+        rateLimiterRedisDAO = new RateLimiterRedisDAO(redissonClient);
+        rateLimiterRedisDAO.tryAcquire(RATE_LIMITER_KEY, RATE_LIMITER_COUNT, 1, TimeUnit.SECONDS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        redissonClient.shutdown();
+    }
+
+    @Benchmark
+    public boolean aspects() {
+        String nonce = IdUtil.fastSimpleUUID();
+        // ApiSignatureAspect
+        boolean success = signatureRedisDAO.getNonce(APP_ID, nonce) == null
+                && signatureRedisDAO.getAppSecret(APP_ID) != null
+                && signatureRedisDAO.setNonce(APP_ID, nonce, 120, TimeUnit.SECONDS);
+        // IdempotentAspect
+        success &= idempotentRedisDAO.setIfAbsent(nonce, 1, TimeUnit.SECONDS);
+        // RateLimiterAspect: 原先每次都会读取一次限流配置
+        RRateLimiter rateLimiter = redissonClient.getRateLimiter("rate_limiter:" + RATE_LIMITER_KEY);
+        success &= rateLimiter.getConfig() != null && rateLimiter.tryAcquire();
+        return success;
+    }
+
+    @Benchmark
+    public boolean guard() {
+        String nonce = IdUtil.fastSimpleUUID();
+        if (signatureRedisDAO.getAppSecret(APP_ID) == null) {
+            return false;
+        }
+        CompletableFuture<Boolean> nonceFuture = signatureRedisDAO
+                .setNonceAsync(APP_ID, nonce, 120, TimeUnit.SECONDS).toCompletableFuture();
+        CompletableFuture<Boolean> idempotentFuture = idempotentRedisDAO
+                .setIfAbsentAsync(nonce, 1, TimeUnit.SECONDS).toCompletableFuture();
+        return nonceFuture.join() && idempotentFuture.join()
+                && rateLimiterRedisDAO.tryAcquire(RATE_LIMITER_KEY, RATE_LIMITER_COUNT, 1, TimeUnit.SECONDS);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RequestGuardBenchmark.class.getSimpleName()).build()).run();
+    }
+}
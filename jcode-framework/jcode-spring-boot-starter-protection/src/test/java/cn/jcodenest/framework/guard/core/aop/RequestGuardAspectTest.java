@@ -0,0 +1,229 @@
+package cn.jcodenest.framework.guard.core.aop;
+
+import cn.jcodenest.framework.common.exception.ServiceException;
+import cn.jcodenest.framework.guard.core.RequestGuardContextHolder;
+import cn.jcodenest.framework.idempotent.core.annotation.Idempotent;
+import cn.jcodenest.framework.idempotent.core.aop.IdempotentAspect;
+import cn.jcodenest.framework.idempotent.core.redis.IdempotentRedisDAO;
+import cn.jcodenest.framework.ratelimiter.core.annotation.RateLimiter;
+import cn.jcodenest.framework.ratelimiter.core.aop.RateLimiterAspect;
+import cn.jcodenest.framework.ratelimiter.core.redis.RateLimiterRedisDAO;
+import cn.jcodenest.framework.signature.core.annotation.ApiSignature;
+import cn.jcodenest.framework.signature.core.aop.ApiSignatureAspect;
+import cn.jcodenest.framework.signature.core.redis.ApiSignatureRedisDAO;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static cn.jcodenest.framework.common.exception.enums.GlobalErrorCodeConstants.REPEATED_REQUESTS;
+import static cn.jcodenest.framework.common.exception.enums.GlobalErrorCodeConstants.TOO_MANY_REQUESTS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link RequestGuardAspect} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@ExtendWith(MockitoExtension.class)
+class RequestGuardAspectTest {
+
+    @Mock
+    private ApiSignatureAspect apiSignatureAspect;
+    @Mock
+    private IdempotentAspect idempotentAspect;
+    @Mock
+    private RateLimiterAspect rateLimiterAspect;
+
+    @Mock
+    private ApiSignatureRedisDAO signatureRedisDAO;
+    @Mock
+    private IdempotentRedisDAO idempotentRedisDAO;
+    @Mock
+    private RateLimiterRedisDAO rateLimiterRedisDAO;
+
+    private RequestGuardAspect requestGuardAspect;
+
+    @BeforeEach
+    void setUp() {
+        requestGuardAspect = new RequestGuardAspect(apiSignatureAspect, idempotentAspect, rateLimiterAspect,
+                signatureRedisDAO, idempotentRedisDAO, rateLimiterRedisDAO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testAroundPointCut_singleAnnotation() throws Throwable {
+        // 准备参数
+        ProceedingJoinPoint joinPoint = mockJoinPoint("rateLimiterOnly");
+
+        // 调用
+        Object result = requestGuardAspect.aroundPointCut(joinPoint);
+        // 断言：只有一个注解时, 由各自的切面处理
+        assertEquals("success", result);
+        verifyNoInteractions(signatureRedisDAO, idempotentRedisDAO, rateLimiterRedisDAO);
+    }
+
+    @Test
+    void testAroundPointCut_success() throws Throwable {
+        // 准备参数
+        ProceedingJoinPoint joinPoint = mockJoinPoint("idempotentAndRateLimiter");
+        // mock 方法
+        mockResolveKeys();
+        when(idempotentRedisDAO.setIfAbsentAsync(eq("idempotent"), eq(1L), eq(TimeUnit.SECONDS)))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        when(rateLimiterRedisDAO.tryAcquire(eq("rate_limiter"), eq(10), eq(1), eq(TimeUnit.SECONDS))).thenReturn(true);
+        when(joinPoint.proceed()).thenAnswer(invocation -> {
+            // 断言：各自的切面跳过已合并的校验
+            assertTrue(RequestGuardContextHolder.consume(joinPoint, Idempotent.class));
+            assertTrue(RequestGuardContextHolder.consume(joinPoint, RateLimiter.class));
+            return "success";
+        });
+
+        // 调用
+        Object result = requestGuardAspect.aroundPointCut(joinPoint);
+        // 断言：幂等成功后才获取限流的令牌
+        assertEquals("success", result);
+        InOrder inOrder = inOrder(idempotentRedisDAO, rateLimiterRedisDAO);
+        inOrder.verify(idempotentRedisDAO).setIfAbsentAsync(anyString(), anyLong(), any());
+        inOrder.verify(rateLimiterRedisDAO).tryAcquire(anyString(), anyInt(), anyInt(), any());
+        verify(idempotentRedisDAO, never()).delete(anyString());
+        assertFalse(RequestGuardContextHolder.consume(joinPoint, Idempotent.class));
+    }
+
+    @Test
+    void testAroundPointCut_repeatedRequest() throws Throwable {
+        // 准备参数
+        ProceedingJoinPoint joinPoint = mockJoinPoint("idempotentAndRateLimiter");
+        // mock 方法
+        when(idempotentAspect.resolveKey(same(joinPoint), any())).thenReturn("idempotent");
+        when(idempotentRedisDAO.setIfAbsentAsync(eq("idempotent"), eq(1L), eq(TimeUnit.SECONDS)))
+                .thenReturn(CompletableFuture.completedFuture(false));
+
+        // 调用
+        ServiceException exception = assertThrows(ServiceException.class, () -> requestGuardAspect.aroundPointCut(joinPoint));
+        // 断言：重复请求不消耗限流的令牌, 也不删除其它请求设置的幂等 Key
+        assertEquals(REPEATED_REQUESTS.getCode(), exception.getCode());
+        verifyNoInteractions(rateLimiterRedisDAO);
+        verify(idempotentRedisDAO, never()).delete(anyString());
+        verify(joinPoint, never()).proceed();
+    }
+
+    @Test
+    void testAroundPointCut_repeatedNonce() throws Throwable {
+        // 准备参数
+        ProceedingJoinPoint joinPoint = mockJoinPoint("signatureAndRateLimiter");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("appId", "jcode");
+        request.addHeader("nonce", "nonce");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        // mock 方法
+        when(apiSignatureAspect.verifySignatureWithoutNonce(any(), same(request))).thenReturn(true);
+        when(signatureRedisDAO.setNonceAsync(eq("jcode"), eq("nonce"), eq(120), eq(TimeUnit.SECONDS)))
+                .thenReturn(CompletableFuture.completedFuture(false));
+        when(apiSignatureAspect.buildRepeatedRequestException(any(), same(request)))
+                .thenReturn(new ServiceException(REPEATED_REQUESTS.getCode(), "存在重复请求"));
+
+        // 调用
+        ServiceException exception = assertThrows(ServiceException.class, () -> requestGuardAspect.aroundPointCut(joinPoint));
+        // 断言：重放请求不消耗限流的令牌
+        assertEquals(REPEATED_REQUESTS.getCode(), exception.getCode());
+        verifyNoInteractions(rateLimiterRedisDAO);
+        verify(joinPoint, never()).proceed();
+    }
+
+    @Test
+    void testAroundPointCut_tooManyRequests() throws Throwable {
+        // 准备参数
+        ProceedingJoinPoint joinPoint = mockJoinPoint("idempotentAndRateLimiter");
+        // mock 方法
+        mockResolveKeys();
+        when(idempotentRedisDAO.setIfAbsentAsync(eq("idempotent"), eq(1L), eq(TimeUnit.SECONDS)))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        when(rateLimiterRedisDAO.tryAcquire(eq("rate_limiter"), eq(10), eq(1), eq(TimeUnit.SECONDS))).thenReturn(false);
+        when(rateLimiterAspect.buildTooManyRequestsException(any()))
+                .thenReturn(new ServiceException(TOO_MANY_REQUESTS.getCode(), TOO_MANY_REQUESTS.getMsg()));
+
+        // 调用
+        ServiceException exception = assertThrows(ServiceException.class, () -> requestGuardAspect.aroundPointCut(joinPoint));
+        // 断言：删除本次设置的幂等 Key, 重试时不会被误判为重复请求
+        assertEquals(TOO_MANY_REQUESTS.getCode(), exception.getCode());
+        verify(idempotentRedisDAO).delete(eq("idempotent"));
+        verify(joinPoint, never()).proceed();
+    }
+
+    @Test
+    void testAroundPointCut_methodFails() throws Throwable {
+        // 准备参数
+        ProceedingJoinPoint joinPoint = mockJoinPoint("idempotentAndRateLimiter");
+        // mock 方法
+        mockResolveKeys();
+        when(idempotentRedisDAO.setIfAbsentAsync(eq("idempotent"), eq(1L), eq(TimeUnit.SECONDS)))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        when(rateLimiterRedisDAO.tryAcquire(eq("rate_limiter"), eq(10), eq(1), eq(TimeUnit.SECONDS))).thenReturn(true);
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException("method failed"));
+
+        // 调用
+        assertThrows(IllegalStateException.class, () -> requestGuardAspect.aroundPointCut(joinPoint));
+        // 断言：与 IdempotentAspect 一致, 异常时删除幂等 Key, 并清理上下文
+        verify(idempotentRedisDAO).delete(eq("idempotent"));
+        assertFalse(RequestGuardContextHolder.consume(joinPoint, Idempotent.class));
+    }
+
+    private void mockResolveKeys() {
+        when(idempotentAspect.resolveKey(any(), any())).thenReturn("idempotent");
+        when(rateLimiterAspect.resolveKey(any(), any())).thenReturn("rate_limiter");
+    }
+
+    private static ProceedingJoinPoint mockJoinPoint(String methodName) throws Throwable {
+        MethodSignature signature = mock(MethodSignature.class);
+        lenient().when(signature.getMethod()).thenReturn(GuardedService.class.getMethod(methodName));
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        lenient().when(joinPoint.getSignature()).thenReturn(signature);
+        lenient().when(joinPoint.getTarget()).thenReturn(new GuardedService());
+        lenient().when(joinPoint.getArgs()).thenReturn(new Object[0]);
+        lenient().when(joinPoint.proceed()).thenReturn("success");
+        return joinPoint;
+    }
+
+    static class GuardedService {
+
+        @RateLimiter(count = 10)
+        public String rateLimiterOnly() {
+            return "success";
+        }
+
+        @Idempotent
+        @RateLimiter(count = 10)
+        public String idempotentAndRateLimiter() {
+            return "success";
+        }
+
+        @ApiSignature
+        @RateLimiter(count = 10)
+        public String signatureAndRateLimiter() {
+            return "success";
+        }
+    }
+}
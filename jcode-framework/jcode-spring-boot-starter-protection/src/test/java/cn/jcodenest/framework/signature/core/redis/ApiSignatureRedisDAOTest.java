@@ -0,0 +1,95 @@
+package cn.jcodenest.framework.signature.core.redis;
+
+import cn.jcodenest.framework.redis.core.RedisClientSideCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RClientSideCaching;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.options.ClientSideCachingOptions;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link ApiSignatureRedisDAO} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@ExtendWith(MockitoExtension.class)
+class ApiSignatureRedisDAOTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+    @Mock
+    private RedissonClient redissonClient;
+    @Mock
+    private RClientSideCaching clientSideCaching;
+
+    @BeforeEach
+    void setUp() {
+        lenient().doReturn(hashOperations).when(stringRedisTemplate).opsForHash();
+        lenient().when(redissonClient.getClientSideCaching(any(ClientSideCachingOptions.class))).thenReturn(clientSideCaching);
+    }
+
+    @Test
+    void testGetAppSecret_clientSideCacheDisabled() {
+        // 准备参数
+        ApiSignatureRedisDAO apiSignatureRedisDAO = new ApiSignatureRedisDAO(stringRedisTemplate);
+        // mock 方法
+        when(hashOperations.get(eq("api_signature_app"), eq("jcode"))).thenReturn("secret");
+
+        // 调用，并断言：未开启客户端缓存时，直接读取 Redis
+        assertEquals("secret", apiSignatureRedisDAO.getAppSecret("jcode"));
+    }
+
+    @Test
+    void testGetAppSecret_keyPrefixNotMatched() {
+        // 准备参数：客户端缓存的 Key 前缀不包含签名密钥
+        RedisClientSideCache clientSideCache = new RedisClientSideCache(redissonClient, List.of("config:"), 100,
+                Duration.ofMinutes(1));
+        ApiSignatureRedisDAO apiSignatureRedisDAO = new ApiSignatureRedisDAO(stringRedisTemplate, clientSideCache);
+        // mock 方法
+        when(hashOperations.get(eq("api_signature_app"), eq("jcode"))).thenReturn("secret");
+
+        // 调用，并断言：不匹配 Key 前缀时，直接读取 Redis
+        assertEquals("secret", apiSignatureRedisDAO.getAppSecret("jcode"));
+        verify(clientSideCaching, never()).getMap(anyString(), any(StringCodec.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetAppSecret_clientSideCache() {
+        // 准备参数
+        RedisClientSideCache clientSideCache = new RedisClientSideCache(redissonClient, List.of("api_signature_app"), 100,
+                Duration.ofMinutes(1));
+        ApiSignatureRedisDAO apiSignatureRedisDAO = new ApiSignatureRedisDAO(stringRedisTemplate, clientSideCache);
+        RMap<String, String> map = mock(RMap.class);
+        // mock 方法
+        doReturn(map).when(clientSideCaching).getMap(eq("api_signature_app"), eq(StringCodec.INSTANCE));
+        when(map.get(eq("jcode"))).thenReturn("secret");
+
+        // 调用，并断言：匹配 Key 前缀时，读取客户端缓存，不读取 Redis
+        assertEquals("secret", apiSignatureRedisDAO.getAppSecret("jcode"));
+        verify(stringRedisTemplate, never()).opsForHash();
+    }
+}
@@ -2,12 +2,38 @@ package cn.jcodenest.framework.redis.config;
 
 import cn.hutool.core.util.StrUtil;
 import cn.jcodenest.framework.redis.config.properties.JCodeCacheProperties;
+import cn.jcodenest.framework.redis.config.properties.JCodeRedisProperties;
+import cn.jcodenest.framework.redis.core.HotKeyCache;
+import cn.jcodenest.framework.redis.core.HotKeyCacheManager;
+import cn.jcodenest.framework.redis.core.HotKeyDetector;
+import cn.jcodenest.framework.redis.core.HotKeyEndpoint;
+import cn.jcodenest.framework.redis.core.RedisBatchCacheTemplate;
+import cn.jcodenest.framework.redis.core.RedisCacheGenerations;
+import cn.jcodenest.framework.redis.core.StampedeRefreshAdvisor;
 import cn.jcodenest.framework.redis.core.TimeoutRedisCacheManager;
+import cn.jcodenest.framework.redis.core.TwoLevelCache;
+import cn.jcodenest.framework.redis.core.TwoLevelCacheManager;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.BatchStrategies;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
@@ -15,6 +41,7 @@ import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.util.StringUtils;
 
@@ -36,7 +63,7 @@ import java.util.Objects;
  */
 @EnableCaching
 @AutoConfiguration
-@EnableConfigurationProperties({CacheProperties.class, JCodeCacheProperties.class})
+@EnableConfigurationProperties({CacheProperties.class, JCodeCacheProperties.class, JCodeRedisProperties.class})
 public class JCodeCacheAutoConfiguration {
 
     /**
@@ -50,12 +77,13 @@ public class JCodeCacheAutoConfiguration {
      * </p>
      *
      * @param cacheProperties Spring Boot 缓存属性配置
+     * @param jCodeRedisProperties Redis 属性配置，用于选择序列化方式
      * @return RedisCacheConfiguration 实例
      * @throws NullPointerException 如果 cacheProperties 为 null
      */
     @Bean
     @Primary
-    public RedisCacheConfiguration redisCacheConfiguration(CacheProperties cacheProperties) {
+    public RedisCacheConfiguration redisCacheConfiguration(CacheProperties cacheProperties, JCodeRedisProperties jCodeRedisProperties) {
         Objects.requireNonNull(cacheProperties, "CacheProperties must not be null");
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig();
 
@@ -70,9 +98,9 @@ public class JCodeCacheAutoConfiguration {
             return cacheName + StrUtil.COLON;
         });
 
-        // 设置 JSON 序列化方式
-        config = config.serializeValuesWith(
-                RedisSerializationContext.SerializationPair.fromSerializer(JCodeRedisAutoConfiguration.buildRedisSerializer()));
+        // 设置 JSON 或 Smile 序列化方式
+        config = config.serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                JCodeRedisAutoConfiguration.buildRedisSerializer(jCodeRedisProperties.getSerializer())));
 
         // 应用 CacheProperties.Redis 配置
         CacheProperties.Redis redisProperties = cacheProperties.getRedis();
@@ -95,6 +123,7 @@ public class JCodeCacheAutoConfiguration {
      * @param redisTemplate           Redis 模板
      * @param redisCacheConfiguration Redis 缓存配置
      * @param jCodeCacheProperties    自定义缓存属性配置
+     * @param generationsProvider     缓存的代数管理器，未开启时为空
      * @return RedisCacheManager 实例
      * @throws NullPointerException 如果 redisTemplate、redisCacheConfiguration 或 jCodeCacheProperties 为 null
      * @throws IllegalArgumentException 如果 redisScanBatchSize 小于或等于 0
@@ -102,7 +131,8 @@ public class JCodeCacheAutoConfiguration {
     @Bean
     public RedisCacheManager redisCacheManager(RedisTemplate<String, Object> redisTemplate,
                                                RedisCacheConfiguration redisCacheConfiguration,
-                                               JCodeCacheProperties jCodeCacheProperties) {
+                                               JCodeCacheProperties jCodeCacheProperties,
+                                               ObjectProvider<RedisCacheGenerations> generationsProvider) {
         Objects.requireNonNull(redisTemplate, "RedisTemplate must not be null");
         Objects.requireNonNull(redisCacheConfiguration, "RedisCacheConfiguration must not be null");
         Objects.requireNonNull(jCodeCacheProperties, "JCodeCacheProperties must not be null");
@@ -119,7 +149,225 @@ public class JCodeCacheAutoConfiguration {
         RedisCacheWriter cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory,
                 BatchStrategies.scan(batchSize));
 
-        // 创建 TimeoutRedisCacheManager
-        return new TimeoutRedisCacheManager(cacheWriter, redisCacheConfiguration);
+        // 创建 TimeoutRedisCacheManager，未开启缓存击穿防护时不注册 StampedeRefreshAdvisor，需要忽略缓存名中的防护选项
+        TimeoutRedisCacheManager cacheManager = new TimeoutRedisCacheManager(cacheWriter, redisCacheConfiguration,
+                generationsProvider.getIfAvailable());
+        cacheManager.setStampedeEnabled(Boolean.TRUE.equals(jCodeCacheProperties.getStampede().getEnable()));
+        return cacheManager;
+    }
+
+    /**
+     * 配置批量读写 Redis 缓存的模板类，使用主 RedisCacheManager（例如多租户的 TenantRedisCacheManager）的缓存规则
+     *
+     * @param redisCacheManager Redis 缓存管理器
+     * @param redisTemplate     Redis 模板
+     * @return RedisBatchCacheTemplate 实例
+     */
+    @Bean
+    public RedisBatchCacheTemplate redisBatchCacheTemplate(RedisCacheManager redisCacheManager,
+                                                           RedisTemplate<String, Object> redisTemplate) {
+        return new RedisBatchCacheTemplate(redisCacheManager, redisTemplate);
+    }
+
+    /**
+     * 配置缓存的代数管理器，开启后清空缓存只需递增代数
+     *
+     * @param stringRedisTemplate  Redis 模板
+     * @param jCodeCacheProperties 自定义缓存属性配置
+     * @return RedisCacheGenerations 实例
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "jcode.cache.versioned-eviction", value = "enable", havingValue = "true")
+    public RedisCacheGenerations redisCacheGenerations(StringRedisTemplate stringRedisTemplate,
+                                                       JCodeCacheProperties jCodeCacheProperties) {
+        return new RedisCacheGenerations(stringRedisTemplate, jCodeCacheProperties.getVersionedEviction().getLocalTtl());
+    }
+
+    /**
+     * 配置 @Cacheable 方法结束后清理缓存击穿防护的未命中记录，避免方法抛出异常时刷新锁只能等待过期
+     * <p>
+     * 只在开启缓存击穿防护时生效，避免未使用防护选项的应用也为所有 @Cacheable Bean 创建代理
+     *
+     * @return StampedeRefreshAdvisor 实例
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "jcode.cache.stampede", value = "enable", havingValue = "true")
+    public StampedeRefreshAdvisor stampedeRefreshAdvisor() {
+        return new StampedeRefreshAdvisor();
+    }
+
+    /**
+     * 让 {@link org.springframework.cache.annotation.Cacheable} 等注解使用热点缓存、二级缓存
+     * <p>
+     * 通过 CachingConfigurer 指定，而不是 @Primary，避免与 tenantRedisCacheManager 的 @Primary 冲突；
+     * 只在开启热点缓存或二级缓存、且应用未自定义 CachingConfigurer 时生效（Spring 只允许存在一个 CachingConfigurer），
+     * 应用自定义 CachingConfigurer 时，需要自行返回 HotKeyCacheManager 或 TwoLevelCacheManager
+     */
+    @Configuration(proxyBeanMethods = false)
+    @Conditional(CachingConfigurerCondition.class)
+    @ConditionalOnMissingBean(CachingConfigurer.class)
+    static class JCodeCachingConfigurerConfiguration {
+
+        /**
+         * 优先使用热点缓存，热点缓存会包装二级缓存
+         *
+         * @param hotKeyCacheManagerProvider   热点缓存的 CacheManager，未开启时为空
+         * @param twoLevelCacheManagerProvider 二级缓存的 CacheManager，未开启时为空
+         * @return CachingConfigurer 实例
+         */
+        @Bean
+        public CachingConfigurer jCodeCachingConfigurer(ObjectProvider<HotKeyCacheManager> hotKeyCacheManagerProvider,
+                                                        ObjectProvider<TwoLevelCacheManager> twoLevelCacheManagerProvider) {
+            return new CachingConfigurer() {
+
+                @Override
+                public CacheManager cacheManager() {
+                    HotKeyCacheManager hotKeyCacheManager = hotKeyCacheManagerProvider.getIfAvailable();
+                    return hotKeyCacheManager != null ? hotKeyCacheManager : twoLevelCacheManagerProvider.getIfAvailable();
+                }
+            };
+        }
+    }
+
+    /**
+     * 开启热点缓存或二级缓存中的任意一个
+     */
+    static class CachingConfigurerCondition extends AnyNestedCondition {
+
+        CachingConfigurerCondition() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnProperty(prefix = "jcode.cache.local", value = "enable", havingValue = "true")
+        static class TwoLevelCacheEnabled {
+        }
+
+        @ConditionalOnProperty(prefix = "jcode.cache.hot-key", value = "enable", havingValue = "true")
+        static class HotKeyCacheEnabled {
+        }
+    }
+
+    /**
+     * 二级缓存（Caffeine L1 + Redis L2）的配置
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "jcode.cache.local", value = "enable", havingValue = "true")
+    static class TwoLevelCacheConfiguration {
+
+        /**
+         * 配置二级缓存的 CacheManager，包装主 RedisCacheManager（例如多租户的 TenantRedisCacheManager）
+         *
+         * @param redisCacheManager    Redis 缓存管理器
+         * @param stringRedisTemplate  Redis 模板，用于广播失效
+         * @param jCodeCacheProperties 自定义缓存属性配置
+         * @return TwoLevelCacheManager 实例
+         */
+        @Bean
+        public TwoLevelCacheManager twoLevelCacheManager(RedisCacheManager redisCacheManager,
+                                                         StringRedisTemplate stringRedisTemplate,
+                                                         JCodeCacheProperties jCodeCacheProperties) {
+            return new TwoLevelCacheManager(redisCacheManager, stringRedisTemplate, jCodeCacheProperties.getLocal());
+        }
+
+        /**
+         * 二级缓存的 Metrics 统计
+         */
+        @Configuration(proxyBeanMethods = false)
+        @ConditionalOnClass(MeterRegistry.class)
+        static class TwoLevelCacheMetricsConfiguration {
+
+            /**
+             * 按缓存名、层级统计命中率：
+             * L1 注册 Caffeine 的 cache.* 指标，L2 注册 cache.gets 指标，均带 level 标签
+             *
+             * @param twoLevelCacheManager 二级缓存的 CacheManager
+             * @return MeterBinder 实例
+             */
+            @Bean
+            public MeterBinder twoLevelCacheMeterBinder(TwoLevelCacheManager twoLevelCacheManager) {
+                return registry -> twoLevelCacheManager.addListener(cache -> bindTo(registry, cache));
+            }
+
+            private static void bindTo(MeterRegistry registry, TwoLevelCache cache) {
+                CaffeineCacheMetrics.monitor(registry, cache.getLocalCache(), cache.getName(), Tags.of("level", "local"));
+                Tags tags = Tags.of("cache", cache.getName(), "level", "remote");
+                FunctionCounter.builder("cache.gets", cache, TwoLevelCache::getRemoteHitCount)
+                        .tags(tags).tag("result", "hit")
+                        .description("The number of times cache lookup methods have returned a cached value.")
+                        .register(registry);
+                FunctionCounter.builder("cache.gets", cache, TwoLevelCache::getRemoteMissCount)
+                        .tags(tags).tag("result", "miss")
+                        .description("The number of times cache lookup methods have returned an uncached (newly loaded) value.")
+                        .register(registry);
+            }
+        }
+    }
+
+    /**
+     * 热点 Key 探测的配置
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "jcode.cache.hot-key", value = "enable", havingValue = "true")
+    static class HotKeyCacheConfiguration {
+
+        /**
+         * 配置热点缓存的 CacheManager，开启二级缓存时包装二级缓存，否则包装主 RedisCacheManager
+         *
+         * @param twoLevelCacheManagerProvider 二级缓存的 CacheManager，未开启时为空
+         * @param redisCacheManager            Redis 缓存管理器
+         * @param jCodeCacheProperties         自定义缓存属性配置
+         * @return HotKeyCacheManager 实例
+         */
+        @Bean
+        public HotKeyCacheManager hotKeyCacheManager(ObjectProvider<TwoLevelCacheManager> twoLevelCacheManagerProvider,
+                                                     RedisCacheManager redisCacheManager,
+                                                     JCodeCacheProperties jCodeCacheProperties) {
+            CacheManager delegate = twoLevelCacheManagerProvider.getIfAvailable();
+            return new HotKeyCacheManager(delegate != null ? delegate : redisCacheManager, jCodeCacheProperties.getHotKey());
+        }
+
+        /**
+         * 热点 Key 的 Actuator 端点
+         */
+        @Configuration(proxyBeanMethods = false)
+        @ConditionalOnClass(Endpoint.class)
+        static class HotKeyEndpointConfiguration {
+
+            @Bean
+            public HotKeyEndpoint hotKeyEndpoint(HotKeyCacheManager hotKeyCacheManager) {
+                return new HotKeyEndpoint(hotKeyCacheManager);
+            }
+        }
+
+        /**
+         * 热点 Key 的 Metrics 统计
+         */
+        @Configuration(proxyBeanMethods = false)
+        @ConditionalOnClass(MeterRegistry.class)
+        static class HotKeyCacheMetricsConfiguration {
+
+            /**
+             * 按缓存名统计当前的热点数量、命中热点本地缓存的次数
+             *
+             * @param hotKeyCacheManager 热点缓存的 CacheManager
+             * @return MeterBinder 实例
+             */
+            @Bean
+            public MeterBinder hotKeyCacheMeterBinder(HotKeyCacheManager hotKeyCacheManager) {
+                return registry -> hotKeyCacheManager.addListener(cache -> bindTo(registry, cache));
+            }
+
+            private static void bindTo(MeterRegistry registry, HotKeyCache cache) {
+                Tags tags = Tags.of("cache", cache.getName());
+                Gauge.builder("jcode.cache.hot.keys", cache.getDetector(), HotKeyDetector::getHotKeyCount)
+                        .tags(tags)
+                        .description("The number of keys currently detected as hot.")
+                        .register(registry);
+                FunctionCounter.builder("jcode.cache.hot.hits", cache, HotKeyCache::getHotHitCount)
+                        .tags(tags)
+                        .description("The number of times hot keys have been served from the local cache.")
+                        .register(registry);
+            }
+        }
     }
 }
@@ -1,13 +1,20 @@
 package cn.jcodenest.framework.redis.config;
 
-import cn.hutool.core.util.ReflectUtil;
+import cn.jcodenest.framework.redis.config.properties.JCodeRedisProperties;
+import cn.jcodenest.framework.redis.core.CompactRedisSerializer;
+import cn.jcodenest.framework.redis.core.RedisClientSideCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.redisson.api.RedissonClient;
 import org.redisson.spring.starter.RedissonAutoConfigurationV2;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializer;
 
 import java.util.Objects;
@@ -17,6 +24,8 @@ import java.util.Objects;
  *
  * <p>
  * 配置 RedisTemplate，使用 JSON 序列化方式支持 LocalDateTime 等 Java 8 时间类型的序列化。
+ * 可通过 jcode.redis.serializer 切换为 Smile 二进制格式、开启 LZ4 压缩，见 {@link CompactRedisSerializer}。
+ * 可通过 jcode.redis.client-side-caching 开启客户端缓存，见 {@link RedisClientSideCache}。
  * </p>
  *
  * @author JCodeNest
@@ -27,17 +36,19 @@ import java.util.Objects;
  * All rights reserved.
  */
 @AutoConfiguration(before = RedissonAutoConfigurationV2.class)
+@EnableConfigurationProperties(JCodeRedisProperties.class)
 public class JCodeRedisAutoConfiguration {
 
     /**
      * 创建 RedisTemplate Bean，使用 JSON 序列化方式。
      *
-     * @param factory Redis 连接工厂
+     * @param factory         Redis 连接工厂
+     * @param redisProperties Redis 属性配置
      * @return RedisTemplate 实例
      * @throws NullPointerException 如果 factory 为 null
      */
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory factory) {
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory factory, JCodeRedisProperties redisProperties) {
         Objects.requireNonNull(factory, "RedisConnectionFactory must not be null");
 
         // 创建 RedisTemplate 对象
@@ -47,8 +58,8 @@ public class JCodeRedisAutoConfiguration {
         // 使用 String 序列化方式，序列化 KEY 和 HASH KEY
         template.setKeySerializer(RedisSerializer.string());
         template.setHashKeySerializer(RedisSerializer.string());
-        // 使用 JSON 序列化方式（基于 Jackson）序列化 VALUE 和 HASH VALUE
-        RedisSerializer<?> serializer = buildRedisSerializer();
+        // 使用 JSON 或 Smile 序列化方式（基于 Jackson）序列化 VALUE 和 HASH VALUE
+        RedisSerializer<?> serializer = buildRedisSerializer(redisProperties.getSerializer());
         template.setValueSerializer(serializer);
         template.setHashValueSerializer(serializer);
         return template;
@@ -60,15 +71,68 @@ public class JCodeRedisAutoConfiguration {
      * @return RedisSerializer 实例
      * @throws IllegalStateException 如果无法创建 JSON 序列化器
      */
-    @SuppressWarnings("unchecked")
     public static RedisSerializer<?> buildRedisSerializer() {
-        // 创建 Jackson JSON 序列化器
-        RedisSerializer<Object> json = RedisSerializer.json();
-        Objects.requireNonNull(json, "JSON serializer must not be null");
+        return buildJsonSerializer(buildObjectMapper());
+    }
+
+    /**
+     * 按配置构建序列化器
+     * <p>
+     * 总是使用 {@link CompactRedisSerializer}，以便读取其它节点写入的 Smile、压缩格式；
+     * JSON 且未开启压缩时，写入的格式与 {@link #buildRedisSerializer()} 一致
+     *
+     * @param properties 序列化配置
+     * @return RedisSerializer 实例
+     */
+    public static RedisSerializer<?> buildRedisSerializer(JCodeRedisProperties.Serializer properties) {
+        boolean smile = properties.getType() == JCodeRedisProperties.Type.SMILE;
+        int compressThreshold = Boolean.TRUE.equals(properties.getCompress()) ? properties.getCompressThreshold() : 0;
+        ObjectMapper objectMapper = buildObjectMapper();
+        return new CompactRedisSerializer(buildJsonSerializer(objectMapper), objectMapper, smile, compressThreshold);
+    }
+
+    /**
+     * 构建 JSON 序列化器使用的 ObjectMapper，支持 LocalDateTime 等 Java 8 时间类型
+     *
+     * @return ObjectMapper 实例
+     */
+    private static ObjectMapper buildObjectMapper() {
+        return new ObjectMapper().registerModules(new JavaTimeModule());
+    }
+
+    /**
+     * 使用指定的 ObjectMapper 构建 JSON 序列化器，配置与 {@link RedisSerializer#json()} 一致：
+     * 注册 NullValue 的序列化器，并开启类型信息
+     *
+     * @param objectMapper ObjectMapper 实例，会被修改
+     * @return RedisSerializer 实例
+     */
+    private static RedisSerializer<Object> buildJsonSerializer(ObjectMapper objectMapper) {
+        return GenericJackson2JsonRedisSerializer.builder().objectMapper(objectMapper).defaultTyping(true).build();
+    }
+
+    /**
+     * 客户端缓存（RESP3 CLIENT TRACKING）的配置
+     * <p>
+     * 客户端缓存依赖 RESP3 协议的推送消息，使用独立的 RESP3 Redisson 客户端，
+     * 应用共享的 Redisson 客户端及其 RedisConnectionFactory 保持原有的协议
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "jcode.redis.client-side-caching", value = "enable", havingValue = "true")
+    static class RedisClientSideCacheConfiguration {
 
-        // 配置 ObjectMapper 支持 Java 8 时间类型
-        ObjectMapper objectMapper = (ObjectMapper) ReflectUtil.getFieldValue(json, "mapper");
-        objectMapper.registerModules(new JavaTimeModule());
-        return json;
+        /**
+         * 创建客户端缓存
+         *
+         * @param redissonClient  Redisson 客户端
+         * @param redisProperties Redis 属性配置
+         * @return RedisClientSideCache 实例
+         */
+        @Bean
+        public RedisClientSideCache redisClientSideCache(RedissonClient redissonClient, JCodeRedisProperties redisProperties) {
+            JCodeRedisProperties.ClientSideCaching properties = redisProperties.getClientSideCaching();
+            return RedisClientSideCache.create(redissonClient, properties.getKeyPrefixes(), properties.getMaximumSize(),
+                    properties.getTtl());
+        }
     }
 }
@@ -4,6 +4,10 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Cache 属性配置类
  *
@@ -28,4 +32,156 @@ public class JCodeCacheProperties {
      * redis scan 一次返回数量
      */
     private Integer redisScanBatchSize = REDIS_SCAN_BATCH_SIZE_DEFAULT;
+
+    /**
+     * 基于代数清空缓存的配置
+     */
+    private VersionedEviction versionedEviction = new VersionedEviction();
+
+    /**
+     * 基于代数清空缓存的配置
+     * <p>
+     * 开启后, Key 前缀中拼接代数, {@code @CacheEvict(allEntries = true)} 只需一次 INCR, 不再 SCAN + DEL;
+     * 旧代数的 Key 依赖过期时间删除, 因此缓存需要设置过期时间
+     */
+    @Data
+    public static class VersionedEviction {
+
+        /**
+         * 是否开启
+         */
+        private Boolean enable = false;
+
+        /**
+         * 代数在本地缓存的时间, 兜底 Pub/Sub 消息丢失的情况
+         */
+        private Duration localTtl = Duration.ofMinutes(1L);
+    }
+
+    /**
+     * 二级缓存的本地缓存（L1）配置
+     */
+    private Local local = new Local();
+
+    /**
+     * 二级缓存的本地缓存（L1）配置
+     * <p>
+     * 开启后, 使用 {@link cn.jcodenest.framework.redis.core.TwoLevelCacheManager} 包装 RedisCacheManager,
+     * 读取优先命中本地缓存, 写入、删除通过 Redis Pub/Sub 广播失效
+     */
+    @Data
+    public static class Local {
+
+        /**
+         * 是否开启
+         */
+        private Boolean enable = false;
+
+        /**
+         * 每个缓存的最大数量
+         */
+        private Long maximumSize = 10000L;
+
+        /**
+         * 过期时间的上限, 实际取 "name#ttl" 中的过期时间与它的较小值
+         */
+        private Duration ttl = Duration.ofMinutes(1L);
+
+        /**
+         * 是否读取时复制, 默认开启
+         * <p>
+         * 开启时本地缓存存储序列化后的值, 每次读取返回新的对象; 关闭时直接返回本地缓存中的对象, 缓存的值必须是不可变的
+         */
+        private Boolean copyOnRead = true;
+
+        /**
+         * 按缓存名（不包含过期时间）覆盖的配置
+         */
+        private Map<String, Spec> caches = new HashMap<>();
+
+        /**
+         * 单个缓存的配置
+         */
+        @Data
+        public static class Spec {
+
+            /**
+             * 最大数量, 为 0 时不使用本地缓存
+             */
+            private Long maximumSize;
+
+            /**
+             * 过期时间的上限
+             */
+            private Duration ttl;
+        }
+    }
+
+    /**
+     * 缓存击穿防护的配置
+     */
+    private Stampede stampede = new Stampede();
+
+    /**
+     * 缓存击穿防护的配置
+     * <p>
+     * 开启后, 注册 {@link cn.jcodenest.framework.redis.core.StampedeRefreshAdvisor}, 在 @Cacheable 方法结束后清理未写入的未命中记录、
+     * 释放刷新锁; 缓存名使用 "name#ttl#options" 声明防护选项（见 {@link cn.jcodenest.framework.redis.core.StampedeOptions}）时需要开启,
+     * 未开启时忽略防护选项并打印告警
+     */
+    @Data
+    public static class Stampede {
+
+        /**
+         * 是否开启
+         */
+        private Boolean enable = false;
+    }
+
+    /**
+     * 热点 Key 探测的配置
+     */
+    private HotKey hotKey = new HotKey();
+
+    /**
+     * 热点 Key 探测的配置
+     * <p>
+     * 开启后, 使用 {@link cn.jcodenest.framework.redis.core.HotKeyCacheManager} 包装缓存, 滑动窗口内访问次数达到阈值的 Key
+     * 晋升到过期时间很短的本地缓存; 其它节点的写入不广播, 因此本地缓存可能读到 localTtl 时间内的旧值
+     */
+    @Data
+    public static class HotKey {
+
+        /**
+         * 是否开启
+         */
+        private Boolean enable = false;
+
+        /**
+         * 统计访问次数的滑动窗口
+         */
+        private Duration window = Duration.ofSeconds(10L);
+
+        /**
+         * 成为热点的访问次数阈值, 即每个窗口内的访问次数
+         */
+        private Integer threshold = 1000;
+
+        /**
+         * 每个缓存的热点数量上限, 也是热点本地缓存的容量
+         */
+        private Integer maxHotKeys = 100;
+
+        /**
+         * 热点本地缓存的过期时间
+         */
+        private Duration localTtl = Duration.ofSeconds(2L);
+
+        /**
+         * 热点本地缓存是否读取时复制, 默认开启
+         * <p>
+         * 与二级缓存的 copyOnRead 相同; 关闭时所有调用方共享同一个对象, 只适用于不可变的值
+         */
+        private Boolean copyOnRead = true;
+    }
 }
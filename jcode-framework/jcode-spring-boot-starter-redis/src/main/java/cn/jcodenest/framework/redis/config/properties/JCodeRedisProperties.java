@@ -0,0 +1,109 @@
+package cn.jcodenest.framework.redis.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Redis 属性配置类
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@Data
+@Validated
+@ConfigurationProperties("jcode.redis")
+public class JCodeRedisProperties {
+
+    /**
+     * RedisTemplate、Redis 缓存的 VALUE 序列化配置
+     */
+    private Serializer serializer = new Serializer();
+
+    /**
+     * 客户端缓存配置
+     */
+    private ClientSideCaching clientSideCaching = new ClientSideCaching();
+
+    /**
+     * VALUE 序列化配置
+     * <p>
+     * 无论配置哪种格式, 都可以读取原有的 JSON 值, 因此迁移时：
+     *  1. 先全量发布新版本（type 保持 json）, 保证所有节点都能读取新格式
+     *  2. 再修改 type 为 smile、开启 compress, 新写入的值使用新格式, 旧值过期后自然淘汰
+     */
+    @Data
+    public static class Serializer {
+
+        /**
+         * 序列化格式
+         */
+        private Type type = Type.JSON;
+
+        /**
+         * 是否开启 LZ4 压缩
+         */
+        private Boolean compress = false;
+
+        /**
+         * 开启压缩时, 超过该字节数的值才压缩
+         */
+        private Integer compressThreshold = 1024;
+    }
+
+    /**
+     * 客户端缓存配置
+     * <p>
+     * 开启后, 匹配 keyPrefixes 的 Key 由 {@link cn.jcodenest.framework.redis.core.RedisClientSideCache} 缓存在本地,
+     * 并由 Redis 服务端推送失效; 需要 Redis 6.0+
+     * <p>
+     * 客户端缓存使用独立的 RESP3 Redisson 客户端（多一组连接）, 应用共享的 Redisson 客户端仍然使用原有的协议
+     */
+    @Data
+    public static class ClientSideCaching {
+
+        /**
+         * 是否开启
+         */
+        private Boolean enable = false;
+
+        /**
+         * 走客户端缓存的 Key 前缀, 例如 API 签名密钥的 api_signature_app
+         */
+        private List<String> keyPrefixes = new ArrayList<>();
+
+        /**
+         * 本地缓存的最大数量
+         */
+        private Integer maximumSize = 10000;
+
+        /**
+         * 本地缓存的过期时间, 为空时只依赖 Redis 推送失效
+         */
+        private Duration ttl;
+    }
+
+    /**
+     * 序列化格式
+     */
+    public enum Type {
+
+        /**
+         * JSON, 带类名的 Jackson JSON, 可读性好
+         */
+        JSON,
+
+        /**
+         * Smile, Jackson 的二进制 JSON, 体积更小、编解码更快
+         */
+        SMILE
+    }
+}
@@ -0,0 +1,234 @@
+package cn.jcodenest.framework.redis.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 紧凑的 {@link RedisSerializer} 实现类, 支持 Smile 二进制格式与 LZ4 压缩
+ *
+ * <p>
+ * 存储格式：
+ *  1. 原有的 JSON 格式, 不带头部, 首字节不可能是 {@link #MAGIC}
+ *  2. 新格式：MAGIC(1 字节) + 版本(1 字节) + 标记(1 字节) [+ 压缩前的长度(4 字节)] + 内容
+ *     标记的 {@link #FLAG_SMILE} 表示内容为 Smile, {@link #FLAG_LZ4} 表示内容经过 LZ4 压缩
+ * </p>
+ *
+ * <p>
+ * 读取时按首字节区分格式, 因此可以同时读取迁移前的 JSON 值; 使用 JSON 且未压缩时, 写入的值与原有格式完全一致;
+ * 数据损坏（长度越界、解压失败）时统一抛出 {@link SerializationException}
+ * </p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    /**
+     * 新格式的首字节, 不是合法 JSON 的首字节
+     */
+    static final byte MAGIC = (byte) 0xC7;
+
+    /**
+     * 新格式的版本号
+     */
+    static final byte VERSION = 1;
+
+    static final byte FLAG_SMILE = 0x01;
+    static final byte FLAG_LZ4 = 0x02;
+
+    private static final int HEADER_LENGTH = 3;
+    private static final int LENGTH_FIELD_LENGTH = 4;
+
+    /**
+     * 压缩前的长度上限, 与 Redis 字符串的长度上限（512MB）一致, 避免损坏的数据导致分配过大的数组
+     */
+    static final int MAX_ORIGINAL_LENGTH = 512 * 1024 * 1024;
+
+    /**
+     * LZ4 的最大压缩比, 压缩前的长度不可能超过压缩后长度的该倍数
+     */
+    private static final int MAX_COMPRESSION_RATIO = 255;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    /**
+     * 原有的 JSON 序列化器, 用于读写 JSON 格式
+     */
+    private final RedisSerializer<Object> jsonSerializer;
+
+    /**
+     * Smile 格式的 ObjectMapper, 配置（类型信息、模块等）复制自 JSON 的 ObjectMapper
+     */
+    private final ObjectMapper smileMapper;
+
+    /**
+     * 是否写入 Smile 格式, 否则写入 JSON 格式
+     */
+    private final boolean writeSmile;
+
+    /**
+     * 超过该字节数的值才压缩, 小于等于 0 表示不压缩
+     */
+    private final int compressThreshold;
+
+    private final LZ4Compressor compressor;
+    private final LZ4FastDecompressor decompressor;
+
+    /**
+     * 构造器
+     *
+     * @param jsonSerializer    原有的 JSON 序列化器
+     * @param jsonMapper        JSON 序列化器使用的 ObjectMapper
+     * @param smile             是否写入 Smile 格式
+     * @param compressThreshold 超过该字节数的值才压缩, 小于等于 0 表示不压缩
+     */
+    public CompactRedisSerializer(RedisSerializer<Object> jsonSerializer, ObjectMapper jsonMapper,
+                                  boolean smile, int compressThreshold) {
+        this.jsonSerializer = Objects.requireNonNull(jsonSerializer, "JSON serializer must not be null");
+        // 读取 Smile 格式的值不依赖配置, 因此总是创建; 列表中重复的类名、字符串只写入一次
+        SmileFactory smileFactory = SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build();
+        this.smileMapper = Objects.requireNonNull(jsonMapper, "ObjectMapper must not be null").copyWith(smileFactory);
+        this.writeSmile = smile;
+        this.compressThreshold = compressThreshold;
+        LZ4Factory factory = LZ4Factory.fastestInstance();
+        this.compressor = factory.fastCompressor();
+        this.decompressor = factory.fastDecompressor();
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return EMPTY;
+        }
+
+        byte[] body = writeSmile ? writeSmile(value) : jsonSerializer.serialize(value);
+        boolean compress = compressThreshold > 0 && body.length > compressThreshold;
+        if (!writeSmile && !compress) {
+            return body;
+        }
+
+        byte flags = writeSmile ? FLAG_SMILE : 0;
+        if (compress) {
+            int maxLength = compressor.maxCompressedLength(body.length);
+            int offset = HEADER_LENGTH + LENGTH_FIELD_LENGTH;
+            byte[] result = new byte[offset + maxLength];
+            int compressedLength = compressor.compress(body, 0, body.length, result, offset, maxLength);
+            // 压缩后没有变小（例如已经是压缩过的数据）, 不压缩
+            if (compressedLength < body.length) {
+                writeHeader(result, (byte) (flags | FLAG_LZ4));
+                writeInt(result, HEADER_LENGTH, body.length);
+                return Arrays.copyOf(result, offset + compressedLength);
+            }
+        }
+        byte[] result = new byte[HEADER_LENGTH + body.length];
+        writeHeader(result, flags);
+        System.arraycopy(body, 0, result, HEADER_LENGTH, body.length);
+        return result;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        // 原有的 JSON 格式
+        if (bytes[0] != MAGIC) {
+            return jsonSerializer.deserialize(bytes);
+        }
+
+        if (bytes.length < HEADER_LENGTH || bytes[1] != VERSION) {
+            throw new SerializationException("Unsupported redis value format version: " + (bytes.length > 1 ? bytes[1] : -1));
+        }
+        byte flags = bytes[2];
+        byte[] body = bytes;
+        int offset = HEADER_LENGTH;
+        int length = bytes.length - HEADER_LENGTH;
+        if ((flags & FLAG_LZ4) != 0) {
+            body = decompress(bytes);
+            offset = 0;
+            length = body.length;
+        }
+
+        if ((flags & FLAG_SMILE) != 0) {
+            return readSmile(body, offset, length);
+        }
+        return jsonSerializer.deserialize(offset == 0 && length == body.length ? body : Arrays.copyOfRange(body, offset, offset + length));
+    }
+
+    private byte[] decompress(byte[] bytes) {
+        int compressedOffset = HEADER_LENGTH + LENGTH_FIELD_LENGTH;
+        if (bytes.length <= compressedOffset) {
+            throw new SerializationException("Could not read LZ4: value is truncated (" + bytes.length + " bytes)");
+        }
+        int compressedLength = bytes.length - compressedOffset;
+        int originalLength = readInt(bytes, HEADER_LENGTH);
+        if (originalLength <= 0 || originalLength > MAX_ORIGINAL_LENGTH
+                || (long) originalLength > (long) compressedLength * MAX_COMPRESSION_RATIO) {
+            throw new SerializationException("Could not read LZ4: invalid original length " + originalLength
+                    + " for " + compressedLength + " compressed bytes");
+        }
+
+        byte[] body = new byte[originalLength];
+        int read;
+        try {
+            read = decompressor.decompress(bytes, compressedOffset, body, 0, originalLength);
+        } catch (LZ4Exception ex) {
+            throw new SerializationException("Could not read LZ4: " + ex.getMessage(), ex);
+        }
+        // 解压时读取的字节数必须等于压缩后的长度, 否则数据已损坏
+        if (read != compressedLength) {
+            throw new SerializationException("Could not read LZ4: expected " + compressedLength
+                    + " compressed bytes, but read " + read);
+        }
+        return body;
+    }
+
+    private byte[] writeSmile(Object value) {
+        try {
+            return smileMapper.writeValueAsBytes(value);
+        } catch (IOException ex) {
+            throw new SerializationException("Could not write Smile: " + ex.getMessage(), ex);
+        }
+    }
+
+    private Object readSmile(byte[] bytes, int offset, int length) {
+        try {
+            return smileMapper.readValue(bytes, offset, length, Object.class);
+        } catch (IOException ex) {
+            throw new SerializationException("Could not read Smile: " + ex.getMessage(), ex);
+        }
+    }
+
+    private static void writeHeader(byte[] bytes, byte flags) {
+        bytes[0] = MAGIC;
+        bytes[1] = VERSION;
+        bytes[2] = flags;
+    }
+
+    private static void writeInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16)
+                | ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+    }
+}
@@ -0,0 +1,62 @@
+package cn.jcodenest.framework.redis.core;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.util.function.Supplier;
+
+/**
+ * 基于代数清空的 {@link RedisCache} 实现类
+ *
+ * <p>
+ * 缓存 Key 的前缀中包含代数, 见 {@link RedisCacheGenerations}。
+ * 清空缓存时递增代数即可, 无需 SCAN + DEL 扫描整个前缀, 耗时与缓存的 Key 数量无关
+ * </p>
+ *
+ * <p>未开启代数时（generations 为 null）, 使用默认的 SCAN + DEL 清空, 便于子类复用</p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+public class GenerationRedisCache extends RedisCache {
+
+    /**
+     * 缓存的代数管理器, 允许为 null
+     */
+    private final RedisCacheGenerations generations;
+
+    /**
+     * 当前需要清空的缓存范围, 例如多租户时为当前租户的范围
+     */
+    private final Supplier<String> scopeSupplier;
+
+    public GenerationRedisCache(String name, RedisCacheWriter cacheWriter, RedisCacheConfiguration cacheConfiguration,
+                                RedisCacheGenerations generations, Supplier<String> scopeSupplier) {
+        super(name, cacheWriter, cacheConfiguration);
+        this.generations = generations;
+        this.scopeSupplier = scopeSupplier;
+    }
+
+    @Override
+    public void clear() {
+        if (generations == null) {
+            super.clear();
+            return;
+        }
+        generations.increment(scopeSupplier.get());
+    }
+
+    @Override
+    public boolean invalidate() {
+        if (generations == null) {
+            return super.invalidate();
+        }
+        clear();
+        return true;
+    }
+}
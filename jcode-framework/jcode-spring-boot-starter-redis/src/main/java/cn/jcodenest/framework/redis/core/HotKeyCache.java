@@ -0,0 +1,250 @@
+package cn.jcodenest.framework.redis.core;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 热点 Key 的缓存装饰器
+ *
+ * <p>
+ * 实现要点：
+ *  1. 每次读取通过 {@link HotKeyDetector} 记录访问, Key 为 Redis 中的完整 Key（包含多租户、代数等前缀）
+ *  2. 热点 Key 晋升到容量很小、过期时间很短的本地缓存, 之后的读取不再访问 Redis, 减轻单个分片的压力
+ *  3. 当前节点写入、删除时立即删除本地缓存; 其它节点的写入不广播, 本地缓存最多读到 localTtl 时间的旧值
+ *  4. 被装饰的是 {@link TwoLevelCache} 时, 它已经有本地缓存, 只探测热点, 不重复晋升
+ *  5. 与 {@link TwoLevelCache} 一致, 设置 copySerializer 时本地缓存存储序列化后的字节, 每次命中反序列化出新的对象,
+ *     调用方修改返回值不会影响其它线程; 未设置时所有调用方共享同一个对象, 缓存的值必须是不可变的
+ * </p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+public class HotKeyCache implements Cache {
+
+    private final Cache delegate;
+
+    private final HotKeyDetector detector;
+
+    /**
+     * 热点 Key 的本地缓存, KEY 为 Redis 中的完整 Key; 为 null 时只探测, 不晋升
+     */
+    private final com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> hotCache;
+
+    /**
+     * 值的序列化方式, 用于读取时复制, 为 null 时本地缓存直接存储对象
+     */
+    private final RedisSerializationContext.SerializationPair<Object> copySerializer;
+
+    /**
+     * 失效次数, 用于丢弃并发的回填
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * 命中热点本地缓存的次数
+     */
+    private final LongAdder hotHits = new LongAdder();
+
+    public HotKeyCache(Cache delegate, HotKeyDetector detector,
+                       com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> hotCache) {
+        this(delegate, detector, hotCache, null);
+    }
+
+    public HotKeyCache(Cache delegate, HotKeyDetector detector,
+                       com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> hotCache,
+                       RedisSerializationContext.SerializationPair<Object> copySerializer) {
+        this.delegate = delegate;
+        this.detector = detector;
+        this.hotCache = delegate instanceof TwoLevelCache ? null : hotCache;
+        this.copySerializer = copySerializer;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String hotKey = buildHotKey(key);
+        boolean hot = detector.record(hotKey);
+        if (!hot || hotCache == null) {
+            return delegate.get(key);
+        }
+
+        ValueWrapper hotWrapper = hotCache.getIfPresent(hotKey);
+        if (hotWrapper != null) {
+            hotHits.increment();
+            return fromHot(hotWrapper);
+        }
+        long stamp = invalidations.get();
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper != null) {
+            putHot(hotKey, wrapper.get(), stamp);
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String hotKey = buildHotKey(key);
+        boolean hot = detector.record(hotKey);
+        if (!hot || hotCache == null) {
+            return delegate.get(key, valueLoader);
+        }
+
+        ValueWrapper hotWrapper = hotCache.getIfPresent(hotKey);
+        if (hotWrapper != null) {
+            hotHits.increment();
+            return (T) fromHot(hotWrapper).get();
+        }
+        long stamp = invalidations.get();
+        T value = delegate.get(key, valueLoader);
+        if (value != null) {
+            putHot(hotKey, value, stamp);
+        }
+        return value;
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        invalidateHot(key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        invalidateHot(key);
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        invalidateHot(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = delegate.evictIfPresent(key);
+        invalidateHot(key);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        invalidateAllHot();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean present = delegate.invalidate();
+        invalidateAllHot();
+        return present;
+    }
+
+    public HotKeyDetector getDetector() {
+        return detector;
+    }
+
+    public long getHotHitCount() {
+        return hotHits.sum();
+    }
+
+    private void putHot(String hotKey, Object value, long stamp) {
+        hotCache.put(hotKey, toHot(value));
+        // 回填期间发生了失效, 读取到的可能是旧值, 丢弃
+        if (invalidations.get() != stamp) {
+            hotCache.invalidate(hotKey);
+        }
+    }
+
+    private ValueWrapper toHot(Object value) {
+        if (value == null || copySerializer == null) {
+            return new SimpleValueWrapper(value);
+        }
+        return new SimpleValueWrapper(ByteUtils.getBytes(copySerializer.write(value)));
+    }
+
+    private ValueWrapper fromHot(ValueWrapper hotWrapper) {
+        if (hotWrapper.get() == null || copySerializer == null) {
+            return hotWrapper;
+        }
+        return new SimpleValueWrapper(copySerializer.read(ByteBuffer.wrap((byte[]) hotWrapper.get())));
+    }
+
+    private void invalidateHot(Object key) {
+        if (hotCache == null) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        hotCache.invalidate(buildHotKey(key));
+    }
+
+    private void invalidateAllHot() {
+        if (hotCache == null) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        hotCache.invalidateAll();
+    }
+
+    /**
+     * 构建热点 Key, 即 Redis 中的完整 Key
+     *
+     * @param key 缓存 Key
+     * @return 热点 Key
+     */
+    private String buildHotKey(Object key) {
+        if (delegate instanceof RedisCache redisCache) {
+            return RedisCacheKeys.createCacheKey(redisCache, key);
+        }
+        if (delegate instanceof TwoLevelCache twoLevelCache) {
+            return RedisCacheKeys.createCacheKey(twoLevelCache.getRemoteCache(), key);
+        }
+        return getName() + ":" + key;
+    }
+}
@@ -0,0 +1,114 @@
+package cn.jcodenest.framework.redis.core;
+
+import cn.jcodenest.framework.redis.config.properties.JCodeCacheProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 热点 Key 探测的 {@link CacheManager} 实现类, 包装 {@link TwoLevelCacheManager} 或 {@link TimeoutRedisCacheManager}
+ *
+ * <p>
+ * 1. 每个缓存使用独立的 {@link HotKeyDetector}, 在滑动窗口内访问次数达到阈值的 Key 视为热点
+ * 2. 热点 Key 晋升到本地缓存, 过期时间为 jcode.cache.hot-key.local-ttl; 默认读取时复制, 见 jcode.cache.hot-key.copy-on-read
+ * 3. 当前的热点列表可通过 Actuator 的 hotkeys 端点、jcode.cache.hot.* 指标查看
+ * </p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+public class HotKeyCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+
+    private final JCodeCacheProperties.HotKey properties;
+
+    /**
+     * 缓存名与缓存的映射
+     * <p>
+     * KEY：获取缓存时使用的缓存名, 可能包含过期时间（如 "user#30m"）
+     */
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * 热点缓存的创建监听器, 例如 Metrics 统计
+     */
+    private final List<Consumer<HotKeyCache>> listeners = new CopyOnWriteArrayList<>();
+
+    public HotKeyCacheManager(CacheManager delegate, JCodeCacheProperties.HotKey properties) {
+        this.delegate = Objects.requireNonNull(delegate, "CacheManager must not be null");
+        this.properties = Objects.requireNonNull(properties, "Hot key properties must not be null");
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache delegateCache = delegate.getCache(name);
+        if (delegateCache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> createCache(delegateCache));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    /**
+     * 添加热点缓存的创建监听器, 已创建的缓存会立即回调一次
+     *
+     * @param listener 监听器
+     */
+    public void addListener(Consumer<HotKeyCache> listener) {
+        listeners.add(listener);
+        getCaches().forEach(listener);
+    }
+
+    /**
+     * 获得已创建的热点缓存
+     * <p>
+     * 同一个 Redis 缓存以不同的过期时间写法获取过多次时, 返回多个同名的缓存
+     *
+     * @return 热点缓存列表
+     */
+    public List<HotKeyCache> getCaches() {
+        return caches.values().stream().filter(HotKeyCache.class::isInstance).map(HotKeyCache.class::cast).toList();
+    }
+
+    private Cache createCache(Cache delegateCache) {
+        HotKeyDetector detector = new HotKeyDetector(properties.getWindow(), properties.getThreshold(),
+                properties.getMaxHotKeys());
+        com.github.benmanes.caffeine.cache.Cache<String, Cache.ValueWrapper> hotCache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxHotKeys()).expireAfterWrite(properties.getLocalTtl()).build();
+        // 读取时复制使用 Redis 缓存的序列化方式; 无法序列化时不晋升, 只探测热点, 避免多个调用方共享可变的对象
+        RedisSerializationContext.SerializationPair<Object> copySerializer = null;
+        if (Boolean.TRUE.equals(properties.getCopyOnRead())) {
+            if (delegateCache instanceof RedisCache redisCache) {
+                copySerializer = redisCache.getCacheConfiguration().getValueSerializationPair();
+            } else {
+                hotCache = null;
+            }
+        }
+        HotKeyCache cache = new HotKeyCache(delegateCache, detector, hotCache, copySerializer);
+        listeners.forEach(listener -> listener.accept(cache));
+        return cache;
+    }
+}
@@ -0,0 +1,255 @@
+package cn.jcodenest.framework.redis.core;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 基于 Count-Min Sketch 的热点 Key 探测器
+ *
+ * <p>
+ * 实现原理：
+ *  1. 使用 Count-Min Sketch 统计每个 Key 的访问次数, 内存固定, 与 Key 的数量无关; 估算值只会偏大, 不会偏小
+ *     每行的位置由 Key 的 64 位哈希独立推导, 不依赖 {@link String#hashCode()}, 避免 hashCode 相同的 Key 在每一行都冲突
+ *  2. 滑动窗口拆分为前后两个半窗口, 估算值为两个半窗口之和; 每过半个窗口, 丢弃更早的半窗口
+ *  3. 估算值达到阈值的 Key 视为热点, 记录到热点列表; 轮转时, 上一个半窗口访问不足阈值一半的 Key 移出热点列表
+ * </p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+public class HotKeyDetector {
+
+    /**
+     * Sketch 的行数, 即哈希函数的数量
+     */
+    private static final int DEPTH = 4;
+
+    /**
+     * Sketch 每行的计数器数量, 必须是 2 的幂
+     */
+    private static final int WIDTH = 2048;
+
+    /**
+     * FNV-1a 64 位哈希的初始值与质数
+     */
+    private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    /**
+     * 热点的访问次数阈值, 即每个窗口内的访问次数
+     */
+    private final int threshold;
+
+    /**
+     * 热点列表的最大数量
+     */
+    private final int maxHotKeys;
+
+    /**
+     * 半个窗口的时间, 单位：纳秒
+     */
+    private final long halfWindowNanos;
+
+    private volatile AtomicIntegerArray current = new AtomicIntegerArray(DEPTH * WIDTH);
+    private volatile AtomicIntegerArray previous = new AtomicIntegerArray(DEPTH * WIDTH);
+
+    /**
+     * 时钟, 单位：纳秒
+     */
+    private final LongSupplier nanoClock;
+
+    /**
+     * 下一次轮转的时间, 单位：纳秒
+     */
+    private final AtomicLong nextRotateTime;
+
+    /**
+     * 热点列表
+     * <p>
+     * KEY：缓存 Key; VALUE：热点信息
+     */
+    private final Map<String, HotKey> hotKeys = new ConcurrentHashMap<>();
+
+    public HotKeyDetector(Duration window, int threshold, int maxHotKeys) {
+        this(window, threshold, maxHotKeys, System::nanoTime);
+    }
+
+    /**
+     * 指定时钟的构造方法, 用于单元测试控制窗口的轮转
+     */
+    HotKeyDetector(Duration window, int threshold, int maxHotKeys, LongSupplier nanoClock) {
+        this.threshold = threshold;
+        this.maxHotKeys = maxHotKeys;
+        this.halfWindowNanos = Math.max(window.toNanos() / 2, 1L);
+        this.nanoClock = nanoClock;
+        this.nextRotateTime = new AtomicLong(nanoClock.getAsLong() + halfWindowNanos);
+    }
+
+    /**
+     * 记录一次访问
+     *
+     * @param key 缓存 Key
+     * @return 是否为热点
+     */
+    public boolean record(String key) {
+        rotateIfNecessary();
+
+        // 每行计数器自增, 估算值取最小值
+        long hash = hash(key);
+        AtomicIntegerArray currentCounters = current;
+        AtomicIntegerArray previousCounters = previous;
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = index(row, hash);
+            int count = currentCounters.incrementAndGet(index) + previousCounters.get(index);
+            estimate = Math.min(estimate, count);
+        }
+        if (estimate < threshold) {
+            return false;
+        }
+
+        // 记录热点
+        HotKey hotKey = hotKeys.get(key);
+        if (hotKey == null) {
+            if (hotKeys.size() >= maxHotKeys) {
+                return false;
+            }
+            hotKey = hotKeys.computeIfAbsent(key, k -> new HotKey(k, System.currentTimeMillis()));
+        }
+        hotKey.count = estimate;
+        return true;
+    }
+
+    /**
+     * 判断是否为热点, 不记录访问
+     *
+     * @param key 缓存 Key
+     * @return 是否为热点
+     */
+    public boolean isHot(String key) {
+        return hotKeys.containsKey(key);
+    }
+
+    /**
+     * 获得热点列表, 按访问次数倒序
+     *
+     * @return 热点列表
+     */
+    public List<HotKey> getHotKeys() {
+        List<HotKey> result = new ArrayList<>(hotKeys.values());
+        result.sort(Comparator.comparingInt(HotKey::getCount).reversed());
+        return result;
+    }
+
+    /**
+     * 获得热点数量
+     *
+     * @return 数量
+     */
+    public int getHotKeyCount() {
+        return hotKeys.size();
+    }
+
+    private void rotateIfNecessary() {
+        long now = nanoClock.getAsLong();
+        long rotateTime = nextRotateTime.get();
+        if (now - rotateTime < 0 || !nextRotateTime.compareAndSet(rotateTime, now + halfWindowNanos)) {
+            return;
+        }
+
+        // 超过一个窗口未访问时, 两个半窗口都已过期
+        AtomicIntegerArray finished = now - rotateTime >= halfWindowNanos ? new AtomicIntegerArray(DEPTH * WIDTH) : current;
+        previous = finished;
+        current = new AtomicIntegerArray(DEPTH * WIDTH);
+        hotKeys.keySet().removeIf(key -> estimate(finished, hash(key)) < threshold / 2);
+    }
+
+    private static int estimate(AtomicIntegerArray counters, long hash) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, hash)));
+        }
+        return estimate;
+    }
+
+    /**
+     * 计算 Key 的 64 位哈希, 使用 FNV-1a 逐字符累积, 再用 MurmurHash3 的 fmix64 打散
+     *
+     * @param key 缓存 Key
+     * @return 64 位哈希
+     */
+    static long hash(String key) {
+        long h = FNV_OFFSET_BASIS;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= FNV_PRIME;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * 计算 Key 在指定行的计数器下标
+     *
+     * <p>使用 Kirsch-Mitzenmacher 双重哈希 h1 + row * h2 模拟每行独立的哈希函数, 两个 Key 要在每一行都冲突, 需要 h1、h2 同时冲突</p>
+     *
+     * @param row  行号
+     * @param hash Key 的 64 位哈希
+     * @return 计数器下标
+     */
+    private static int index(int row, long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        return row * WIDTH + ((h1 + row * h2) & (WIDTH - 1));
+    }
+
+    /**
+     * 热点信息
+     */
+    public static final class HotKey {
+
+        private final String key;
+
+        /**
+         * 成为热点的时间, 单位：毫秒
+         */
+        private final long since;
+
+        /**
+         * 最近一次估算的窗口内访问次数
+         */
+        private volatile int count;
+
+        private HotKey(String key, long since) {
+            this.key = key;
+            this.since = since;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getSince() {
+            return since;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+}
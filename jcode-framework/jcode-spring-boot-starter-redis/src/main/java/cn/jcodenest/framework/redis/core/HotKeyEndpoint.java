@@ -0,0 +1,82 @@
+package cn.jcodenest.framework.redis.core;
+
+import cn.hutool.crypto.digest.DigestUtil;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 热点 Key 的 Actuator 端点, 访问路径为 /actuator/hotkeys
+ * <p>
+ * 热点 Key 为 Redis 中的完整 Key, 包含租户编号、用户编号等信息, 因此只返回 Key 的哈希值（见 {@link #hashKey(String)}）;
+ * 排查时可以对怀疑的 Key 计算哈希值后比对
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@Endpoint(id = "hotkeys")
+public class HotKeyEndpoint {
+
+    private final HotKeyCacheManager hotKeyCacheManager;
+
+    public HotKeyEndpoint(HotKeyCacheManager hotKeyCacheManager) {
+        this.hotKeyCacheManager = hotKeyCacheManager;
+    }
+
+    /**
+     * 获得全部缓存的热点列表
+     *
+     * @return KEY：缓存名; VALUE：热点列表, 按访问次数倒序
+     */
+    @ReadOperation
+    public Map<String, List<HotKeyView>> hotKeys() {
+        Map<String, List<HotKeyView>> result = new TreeMap<>();
+        hotKeyCacheManager.getCaches().forEach(cache -> {
+            List<HotKeyView> hotKeys = result.computeIfAbsent(cache.getName(), key -> new ArrayList<>());
+            cache.getDetector().getHotKeys().forEach(hotKey ->
+                    hotKeys.add(new HotKeyView(hashKey(hotKey.getKey()), hotKey.getSince(), hotKey.getCount())));
+        });
+        result.values().removeIf(List::isEmpty);
+        return result;
+    }
+
+    /**
+     * 获得指定缓存的热点列表
+     *
+     * @param cacheName 缓存名, 不包含过期时间
+     * @return 热点列表, 按访问次数倒序
+     */
+    @ReadOperation
+    public List<HotKeyView> hotKeysOfCache(@Selector String cacheName) {
+        return hotKeys().getOrDefault(cacheName, List.of());
+    }
+
+    /**
+     * 计算 Key 的哈希值：SHA-256 的前 16 位十六进制
+     *
+     * @param key Redis 中的完整 Key
+     * @return 哈希值
+     */
+    public static String hashKey(String key) {
+        return DigestUtil.sha256Hex(key).substring(0, 16);
+    }
+
+    /**
+     * 端点返回的热点
+     *
+     * @param keyHash Key 的哈希值, 见 {@link #hashKey(String)}
+     * @param since   成为热点的时间, 单位：毫秒
+     * @param count   最近一次估算的窗口内访问次数
+     */
+    public record HotKeyView(String keyHash, long since, int count) {
+    }
+}
@@ -0,0 +1,191 @@
+package cn.jcodenest.framework.redis.core;
+
+import cn.hutool.core.collection.CollUtil;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.util.ObjectUtils;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * 批量读写 Redis 缓存的模板类, 用于按编号列表查询等场景
+ *
+ * <p>
+ * 与 {@link org.springframework.cache.annotation.Cacheable} 使用同一份缓存数据（Key 规则、序列化方式、过期时间一致）：
+ *  1. 一次 MGET 读取全部 Key
+ *  2. 只对未命中的 Key 调用一次 loader
+ *  3. 将 loader 的结果通过一次 pipeline 写回, 每个 Key 设置过期时间; 允许缓存 null 时, loader 未返回的 Key 缓存为 null, 避免反复穿透
+ *  4. 开启缓存击穿防护的缓存（{@link StampedeRedisCache}）, 读取时与 get 一样判断是否需要提前刷新、是否已逻辑过期,
+ *     抢到刷新锁的 Key 与未命中的 Key 一起回源; 写回时与 put 一样包装, 回源耗时为从读取到写回的时间, 并释放刷新锁
+ * </p>
+ *
+ * <p>Key 前缀与 RedisCache 在每次调用时计算的一致, 因此支持多租户（TenantRedisCacheManager）、代数等前缀</p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+public class RedisBatchCacheTemplate {
+
+    /**
+     * null 值在 Redis 中的存储格式, 与 {@link RedisCache} 一致
+     */
+    private static final byte[] BINARY_NULL_VALUE = RedisSerializer.java().serialize(NullValue.INSTANCE);
+
+    private final RedisCacheManager cacheManager;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    public RedisBatchCacheTemplate(RedisCacheManager cacheManager, RedisTemplate<String, Object> redisTemplate) {
+        this.cacheManager = Objects.requireNonNull(cacheManager, "RedisCacheManager must not be null");
+        this.redisTemplate = Objects.requireNonNull(redisTemplate, "RedisTemplate must not be null");
+    }
+
+    /**
+     * 批量获取缓存, 未命中的 Key 通过 loader 一次加载并写回缓存
+     *
+     * @param cacheName 缓存名, 与 @Cacheable 的 cacheNames 相同, 支持 "name#ttl" 格式
+     * @param keys      缓存 Key 集合
+     * @param loader    加载未命中的 Key, 返回 Key 与值的映射, 未返回的 Key 视为不存在
+     * @return Key 与值的映射, 按 keys 的顺序, 不包含不存在的 Key
+     */
+    public <K, V> Map<K, V> getAll(String cacheName, Collection<K> keys, Function<Collection<K>, Map<K, V>> loader) {
+        if (CollUtil.isEmpty(keys)) {
+            return new LinkedHashMap<>();
+        }
+
+        // 1. MGET 读取缓存
+        RedisCache cache = getRedisCache(cacheName);
+        List<K> keyList = new ArrayList<>(new LinkedHashSet<>(keys));
+        byte[][] rawKeys = new byte[keyList.size()][];
+        for (int i = 0; i < keyList.size(); i++) {
+            rawKeys[i] = serializeKey(cache, RedisCacheKeys.createCacheKey(cache, keyList.get(i)));
+        }
+        List<byte[]> rawValues = redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                connection.stringCommands().mGet(rawKeys));
+
+        // 2. 区分命中、未命中; 开启缓存击穿防护的缓存, 需要刷新的 Key 同样视为未命中
+        StampedeRedisCache stampedeCache = cache instanceof StampedeRedisCache c ? c : null;
+        Map<K, V> result = new LinkedHashMap<>(keyList.size() * 2);
+        List<K> missKeys = new ArrayList<>();
+        List<byte[]> missRawKeys = new ArrayList<>();
+        try {
+            for (int i = 0; i < keyList.size(); i++) {
+                byte[] rawValue = rawValues != null ? rawValues.get(i) : null;
+                Object stored = rawValue != null ? deserializeValue(cache, rawValue) : null;
+                if (stampedeCache != null) {
+                    stored = stampedeCache.resolve(keyList.get(i), stored);
+                }
+                if (stored == null) {
+                    missKeys.add(keyList.get(i));
+                    missRawKeys.add(rawKeys[i]);
+                    continue;
+                }
+                if (!(stored instanceof NullValue)) {
+                    result.put(keyList.get(i), castValue(stored));
+                }
+            }
+            if (missKeys.isEmpty()) {
+                return result;
+            }
+
+            // 3. 加载未命中的 Key, 并写回缓存
+            Map<K, V> loaded = loader.apply(missKeys);
+            put(cache, missKeys, missRawKeys, loaded != null ? loaded : Collections.emptyMap());
+            return reorder(keyList, result, loaded);
+        } finally {
+            // 清理未命中的记录, 释放刷新锁; 包括 loader 抛出异常、loader 未返回且不缓存 null 的 Key
+            if (stampedeCache != null) {
+                missKeys.forEach(stampedeCache::releaseRefresh);
+            }
+        }
+    }
+
+    private <K, V> void put(RedisCache cache, List<K> keys, List<byte[]> rawKeys, Map<K, V> values) {
+        RedisCacheConfiguration config = cache.getCacheConfiguration();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            RedisStringCommands commands = connection.stringCommands();
+            for (int i = 0; i < keys.size(); i++) {
+                K key = keys.get(i);
+                V value = values.get(key);
+                if (value == null && !cache.isAllowNullValues()) {
+                    continue;
+                }
+                // 开启缓存击穿防护的缓存, 与 put 一样包装, 过期时间按包装后的值计算（逻辑过期时间 + stale 时间）
+                Object storeValue = cache instanceof StampedeRedisCache stampedeCache ? stampedeCache.toEnvelope(key, value) : value;
+                Duration ttl = config.getTtlFunction().getTimeToLive(key, storeValue);
+                Expiration expiration = ttl == null || ttl.isZero() || ttl.isNegative()
+                        ? Expiration.persistent() : Expiration.from(ttl);
+                commands.set(rawKeys.get(i), serializeValue(cache, storeValue != null ? storeValue : NullValue.INSTANCE),
+                        expiration, RedisStringCommands.SetOption.upsert());
+            }
+            return null;
+        });
+    }
+
+    private RedisCache getRedisCache(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (!(cache instanceof RedisCache redisCache)) {
+            throw new IllegalArgumentException("Cache [" + cacheName + "] is not a RedisCache");
+        }
+        return redisCache;
+    }
+
+    private static byte[] serializeKey(RedisCache cache, String cacheKey) {
+        return ByteUtils.getBytes(cache.getCacheConfiguration().getKeySerializationPair().write(cacheKey));
+    }
+
+    private static byte[] serializeValue(RedisCache cache, Object value) {
+        if (value instanceof NullValue) {
+            return BINARY_NULL_VALUE;
+        }
+        return ByteUtils.getBytes(cache.getCacheConfiguration().getValueSerializationPair().write(value));
+    }
+
+    /**
+     * 反序列化缓存值
+     *
+     * @return 值, 缓存的 null 值返回 {@link NullValue#INSTANCE}; 开启缓存击穿防护的缓存, 返回包装后的值
+     */
+    private static Object deserializeValue(RedisCache cache, byte[] rawValue) {
+        if (cache.isAllowNullValues() && ObjectUtils.nullSafeEquals(rawValue, BINARY_NULL_VALUE)) {
+            return NullValue.INSTANCE;
+        }
+        Object value = cache.getCacheConfiguration().getValueSerializationPair().read(ByteBuffer.wrap(rawValue));
+        return value instanceof NullValue ? NullValue.INSTANCE : value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V castValue(Object value) {
+        return (V) value;
+    }
+
+    private static <K, V> Map<K, V> reorder(List<K> keys, Map<K, V> cached, Map<K, V> loaded) {
+        if (CollUtil.isEmpty(loaded)) {
+            return cached;
+        }
+        Map<K, V> result = new LinkedHashMap<>(keys.size() * 2);
+        for (K key : keys) {
+            V value = cached.containsKey(key) ? cached.get(key) : loaded.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,179 @@
+package cn.jcodenest.framework.redis.core;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis 缓存的代数（generation）管理器，用于 O(1) 清空缓存
+ *
+ * <p>
+ * 实现原理：
+ *  1. 每个缓存范围（缓存名，或者缓存名 + 租户）在 Redis 中有一个代数，拼接到缓存 Key 的前缀中
+ *  2. 清空缓存时只需 INCR 代数，旧代数的 Key 不再被访问，依赖过期时间自动删除，避免 SCAN + DEL 整个前缀
+ *  3. 代数在本地缓存，变更后通过 Redis Pub/Sub 广播给其它节点；本地缓存另有过期时间，兜底消息丢失的情况
+ * </p>
+ *
+ * <p>注意：缓存需要设置过期时间，否则旧代数的 Key 会一直占用内存</p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@Slf4j
+public class RedisCacheGenerations implements MessageListener, InitializingBean, DisposableBean {
+
+    /**
+     * 广播代数变更的 Channel
+     */
+    public static final String CHANNEL = "jcode:cache:generation";
+
+    /**
+     * 代数在 Redis 中的 Key 后缀，使用 @ 避免与缓存 Key 冲突
+     */
+    private static final String KEY_SUFFIX = "@generation";
+
+    /**
+     * 广播消息中，范围与代数的分隔符
+     */
+    private static final char MESSAGE_SEPARATOR = '=';
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 本地缓存的过期时间，单位：纳秒
+     */
+    private final long localTtlNanos;
+
+    /**
+     * 本地缓存的代数
+     * <p>
+     * KEY：缓存范围，即缓存 Key 的前缀
+     */
+    private final Map<String, Generation> generations = new ConcurrentHashMap<>();
+
+    /**
+     * 监听代数变更的容器，由当前对象管理生命周期，避免与其它模块的 RedisMessageListenerContainer Bean 冲突
+     */
+    private final RedisMessageListenerContainer listenerContainer = new RedisMessageListenerContainer();
+
+    public RedisCacheGenerations(StringRedisTemplate redisTemplate, Duration localTtl) {
+        this.redisTemplate = Objects.requireNonNull(redisTemplate, "StringRedisTemplate must not be null");
+        this.localTtlNanos = localTtl.toNanos();
+        this.listenerContainer.setConnectionFactory(Objects.requireNonNull(redisTemplate.getConnectionFactory(),
+                "RedisConnectionFactory must not be null"));
+        this.listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        listenerContainer.destroy();
+    }
+
+    /**
+     * 获得缓存范围的当前代数
+     *
+     * @param scope 缓存范围
+     * @return 代数，从未清空过时为 0
+     */
+    public long get(String scope) {
+        long now = System.nanoTime();
+        Generation generation = generations.get(scope);
+        if (generation != null && now < generation.expireTime) {
+            return generation.value;
+        }
+
+        String value = redisTemplate.opsForValue().get(scope + KEY_SUFFIX);
+        if (value == null) {
+            return update(scope, 0L, now);
+        }
+        try {
+            return update(scope, Long.parseLong(value), now);
+        } catch (NumberFormatException ex) {
+            // 代数被写坏时，沿用本地的代数，并同样缓存 localTtl 时间，避免每次读取都访问 Redis、打印日志
+            long fallback = generation != null ? generation.value : 0L;
+            log.error("[get][缓存范围({}) 的代数({}) 格式不正确，使用本地的代数({})]", scope, value, fallback);
+            return update(scope, fallback, now);
+        }
+    }
+
+    /**
+     * 递增缓存范围的代数，即清空该范围的缓存
+     *
+     * @param scope 缓存范围
+     */
+    public void increment(String scope) {
+        Long value = Objects.requireNonNull(redisTemplate.opsForValue().increment(scope + KEY_SUFFIX));
+        update(scope, value, System.nanoTime());
+        redisTemplate.convertAndSend(CHANNEL, scope + MESSAGE_SEPARATOR + value);
+    }
+
+    /**
+     * 接收其它节点广播的代数变更
+     *
+     * @param message 消息，格式为 scope=generation
+     * @param pattern 订阅的 Channel
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int index = body.lastIndexOf(MESSAGE_SEPARATOR);
+        if (index <= 0) {
+            log.warn("[onMessage][缓存代数消息({}) 格式不正确]", body);
+            return;
+        }
+        long value;
+        try {
+            value = Long.parseLong(body.substring(index + 1));
+        } catch (NumberFormatException ex) {
+            log.warn("[onMessage][缓存代数消息({}) 格式不正确]", body);
+            return;
+        }
+        update(body.substring(0, index), value, System.nanoTime());
+    }
+
+    /**
+     * 更新本地缓存的代数
+     * <p>
+     * 代数只增不减，因此未过期时取较大值，避免并发读取到的旧值覆盖广播的新值
+     *
+     * @param scope 缓存范围
+     * @param value 代数
+     * @param now   当前时间，单位：纳秒
+     * @return 更新后的代数
+     */
+    private long update(String scope, long value, long now) {
+        Generation updated = new Generation(value, now + localTtlNanos);
+        return generations.merge(scope, updated, (old, current) ->
+                now < old.expireTime && old.value > current.value ? new Generation(old.value, current.expireTime) : current).value;
+    }
+
+    /**
+     * 本地缓存的代数
+     *
+     * @param value      代数
+     * @param expireTime 过期时间，单位：纳秒
+     */
+    private record Generation(long value, long expireTime) {
+    }
+}
@@ -0,0 +1,59 @@
+package cn.jcodenest.framework.redis.core;
+
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+
+/**
+ * {@link RedisCache} 的 Key 工具类, 规则与 RedisCache#createCacheKey 一致
+ *
+ * <p>Key 前缀在每次调用时计算, 因此包含多租户、代数等动态前缀</p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+final class RedisCacheKeys {
+
+    private static final TypeDescriptor STRING_TYPE = TypeDescriptor.valueOf(String.class);
+
+    private RedisCacheKeys() {
+    }
+
+    /**
+     * 创建缓存在 Redis 中的完整 Key
+     *
+     * @param cache 缓存
+     * @param key   缓存 Key
+     * @return 完整 Key
+     */
+    static String createCacheKey(RedisCache cache, Object key) {
+        return createKeyPrefix(cache) + convertKey(cache.getCacheConfiguration(), key);
+    }
+
+    /**
+     * 创建缓存在 Redis 中的 Key 前缀, 即 {@link RedisCache#clear()} 清空的范围
+     *
+     * @param cache 缓存
+     * @return Key 前缀, 未使用前缀时为空字符串
+     */
+    static String createKeyPrefix(RedisCache cache) {
+        RedisCacheConfiguration config = cache.getCacheConfiguration();
+        return config.usePrefix() ? config.getKeyPrefixFor(cache.getName()) : "";
+    }
+
+    private static String convertKey(RedisCacheConfiguration config, Object key) {
+        if (key instanceof String stringKey) {
+            return stringKey;
+        }
+        ConversionService conversionService = config.getConversionService();
+        if (conversionService.canConvert(TypeDescriptor.forObject(key), STRING_TYPE)) {
+            return conversionService.convert(key, String.class);
+        }
+        return key.toString();
+    }
+}
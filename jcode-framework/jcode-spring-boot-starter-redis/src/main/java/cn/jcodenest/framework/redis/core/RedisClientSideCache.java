@@ -0,0 +1,146 @@
+package cn.jcodenest.framework.redis.core;
+
+import cn.hutool.core.util.StrUtil;
+import org.redisson.Redisson;
+import org.redisson.api.RClientSideCaching;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.options.ClientSideCachingOptions;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.config.Config;
+import org.redisson.config.Protocol;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 基于 Redis 服务端辅助（RESP3 CLIENT TRACKING）的客户端缓存
+ *
+ * <p>
+ * 实现要点：
+ *  1. 使用 Redisson 的 {@link RClientSideCaching}, 读取过的 Key 由 Redis 服务端记录, Key 变更时通过 RESP3 推送消息失效本地缓存,
+ *     因此本地缓存与 Redis 保持一致, 无需设置很短的过期时间
+ *  2. 只有匹配 keyPrefixes 的 Key 才走客户端缓存, 适合体积小、读多写少的配置类数据, 例如 API 签名的密钥
+ *  3. 编解码使用 {@link StringCodec}, 与 StringRedisTemplate 写入的格式一致
+ *  4. 需要 Redis 6.0+ 与 RESP3 协议：通过 {@link #create(RedissonClient, List, int, Duration)} 使用独立的 RESP3 Redisson 客户端,
+ *     应用共享的 Redisson 客户端（RedisTemplate、Stream 监听、CacheManager 使用的连接）仍然使用原有的协议
+ * </p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+public class RedisClientSideCache implements DisposableBean {
+
+    private final RClientSideCaching clientSideCaching;
+
+    /**
+     * 客户端缓存独占的 Redisson 客户端, 销毁时关闭; 使用外部传入的客户端时为 null
+     */
+    private final RedissonClient dedicatedClient;
+
+    /**
+     * 走客户端缓存的 Key 前缀
+     */
+    private final String[] keyPrefixes;
+
+    /**
+     * 使用已有的 Redisson 客户端创建客户端缓存, 该客户端需要已经使用 RESP3 协议
+     *
+     * @param redissonClient Redisson 客户端
+     * @param keyPrefixes    走客户端缓存的 Key 前缀
+     * @param maximumSize    本地缓存的最大数量
+     * @param ttl            本地缓存的过期时间, 允许为 null
+     */
+    public RedisClientSideCache(RedissonClient redissonClient, List<String> keyPrefixes, int maximumSize, Duration ttl) {
+        this(redissonClient, keyPrefixes, maximumSize, ttl, null);
+    }
+
+    private RedisClientSideCache(RedissonClient redissonClient, List<String> keyPrefixes, int maximumSize, Duration ttl,
+                                 RedissonClient dedicatedClient) {
+        Objects.requireNonNull(redissonClient, "RedissonClient must not be null");
+        ClientSideCachingOptions options = ClientSideCachingOptions.defaults()
+                .evictionPolicy(ClientSideCachingOptions.EvictionPolicy.LRU)
+                .size(maximumSize);
+        if (ttl != null) {
+            options.timeToLive(ttl);
+        }
+        this.clientSideCaching = redissonClient.getClientSideCaching(options);
+        this.keyPrefixes = keyPrefixes.toArray(new String[0]);
+        this.dedicatedClient = dedicatedClient;
+    }
+
+    /**
+     * 基于应用共享的 Redisson 客户端的配置, 创建独立的 RESP3 客户端, 并创建客户端缓存
+     *
+     * @param redissonClient 应用共享的 Redisson 客户端, 协议保持不变
+     * @param keyPrefixes    走客户端缓存的 Key 前缀
+     * @param maximumSize    本地缓存的最大数量
+     * @param ttl            本地缓存的过期时间, 允许为 null
+     * @return 客户端缓存
+     */
+    public static RedisClientSideCache create(RedissonClient redissonClient, List<String> keyPrefixes, int maximumSize,
+                                              Duration ttl) {
+        Objects.requireNonNull(redissonClient, "RedissonClient must not be null");
+        RedissonClient dedicatedClient = Redisson.create(buildResp3Config(redissonClient.getConfig()));
+        try {
+            return new RedisClientSideCache(dedicatedClient, keyPrefixes, maximumSize, ttl, dedicatedClient);
+        } catch (RuntimeException ex) {
+            dedicatedClient.shutdown();
+            throw ex;
+        }
+    }
+
+    /**
+     * 复制 Redisson 配置, 并切换为 RESP3 协议, 不修改原配置
+     *
+     * @param config 原配置
+     * @return RESP3 协议的配置
+     */
+    static Config buildResp3Config(Config config) {
+        return new Config(config).setProtocol(Protocol.RESP3);
+    }
+
+    /**
+     * 判断 Key 是否走客户端缓存
+     *
+     * @param key Redis Key
+     * @return 是否
+     */
+    public boolean supports(String key) {
+        return StrUtil.startWithAny(key, keyPrefixes);
+    }
+
+    /**
+     * 读取 String 类型的值, 等价于 GET
+     *
+     * @param key Redis Key
+     * @return 值
+     */
+    public String get(String key) {
+        return clientSideCaching.<String>getBucket(key, StringCodec.INSTANCE).get();
+    }
+
+    /**
+     * 读取 Hash 类型的值, 等价于 HGET
+     *
+     * @param key     Redis Key
+     * @param hashKey Hash Key
+     * @return 值
+     */
+    public String hashGet(String key, String hashKey) {
+        return clientSideCaching.<String, String>getMap(key, StringCodec.INSTANCE).get(hashKey);
+    }
+
+    @Override
+    public void destroy() {
+        clientSideCaching.destroy();
+        if (dedicatedClient != null) {
+            dedicatedClient.shutdown();
+        }
+    }
+}
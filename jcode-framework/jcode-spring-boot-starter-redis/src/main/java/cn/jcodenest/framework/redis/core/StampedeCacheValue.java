@@ -0,0 +1,36 @@
+package cn.jcodenest.framework.redis.core;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * {@link StampedeRedisCache} 写入 Redis 的缓存值, 在原值的基础上记录逻辑过期时间与回源耗时
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StampedeCacheValue {
+
+    /**
+     * 原值, null 值使用 {@link org.springframework.cache.support.NullValue} 表示
+     */
+    private Object value;
+
+    /**
+     * 逻辑过期时间, 单位：毫秒; Redis 中的实际过期时间会再加上 stale 时间
+     */
+    private long expireTime;
+
+    /**
+     * 回源耗时, 单位：毫秒, 用于概率提前刷新
+     */
+    private long computeTime;
+}
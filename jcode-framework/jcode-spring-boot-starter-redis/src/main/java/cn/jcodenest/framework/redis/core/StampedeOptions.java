@@ -0,0 +1,48 @@
+package cn.jcodenest.framework.redis.core;
+
+import java.time.Duration;
+
+/**
+ * 缓存击穿（stampede）的防护配置, 通过缓存名的后缀声明, 格式为 "name#ttl#options", 多个选项使用 "," 分隔
+ *
+ * <p>
+ * 支持的选项：
+ *  1. jitter=10%：过期时间随机增加 0 ~ 10%, 避免同一时间写入的 Key 同时过期
+ *  2. early=1：概率提前刷新（XFetch 算法）, 数值越大越早刷新; 越接近过期、加载越慢的 Key 越容易被提前刷新
+ *  3. stale=5m：过期后的 5 分钟内, 只有一个请求（持有分布式锁）回源刷新, 其它请求继续返回旧值
+ *  4. lock=10s：分布式锁的过期时间, 默认 10 秒, 应大于回源的耗时
+ *  5. sync：配合 @Cacheable(sync = true) 使用, 集群内只有一个节点回源, 其它节点等待结果
+ * </p>
+ *
+ * <p>例如：@Cacheable(cacheNames = "user#30m#jitter=10%,early=1,stale=5m")</p>
+ *
+ * <p>注意：使用防护选项时需要开启 jcode.cache.stampede.enable, 由 {@link StampedeRefreshAdvisor} 在方法结束后释放刷新锁</p>
+ *
+ * @param jitter      过期时间的随机增加比例, 0 表示不开启
+ * @param earlyBeta   概率提前刷新的系数, 0 表示不开启
+ * @param stale       过期后继续返回旧值的时间, null 表示不开启
+ * @param lockTimeout 分布式锁的过期时间
+ * @param sync        是否集群内单飞（single-flight）回源
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+public record StampedeOptions(double jitter, double earlyBeta, Duration stale, Duration lockTimeout, boolean sync) {
+
+    /**
+     * 分布式锁的默认过期时间
+     */
+    public static final Duration DEFAULT_LOCK_TIMEOUT = Duration.ofSeconds(10L);
+
+    /**
+     * 是否需要在缓存值中记录逻辑过期时间, 即开启提前刷新或返回旧值
+     *
+     * @return 是否
+     */
+    public boolean isEnvelopeRequired() {
+        return earlyBeta > 0 || stale != null;
+    }
+}
@@ -0,0 +1,382 @@
+package cn.jcodenest.framework.redis.core;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 支持缓存击穿（stampede）防护的 {@link org.springframework.data.redis.cache.RedisCache} 实现类, 配置见 {@link StampedeOptions}
+ *
+ * <p>
+ * 实现原理：
+ *  1. 缓存值使用 {@link StampedeCacheValue} 包装, 记录逻辑过期时间与回源耗时, Redis 中的实际过期时间再加上 stale 时间
+ *  2. 读取到需要刷新的值时（提前刷新、已逻辑过期）, 使用 SET NX PX 抢占刷新锁：
+ *     抢到锁的请求视为未命中, 由 @Cacheable 回源并写入缓存, 写入时释放锁; 其它请求继续返回旧值
+ *  3. sync = true 时, 未命中的请求同样抢占锁, 未抢到的节点轮询等待缓存写入, 超过锁的过期时间后自行回源
+ *  4. 未命中的记录存放在线程上下文中, 写入时清理; sync = true 时在 finally 中清理,
+ *     sync = false 时由 {@link StampedeRefreshInterceptor} 在 @Cacheable 方法结束后清理（例如方法抛出异常、unless 不写入）
+ *  5. 异步读取（返回 CompletableFuture、Mono 等的 @Cacheable 方法）同样拆包、包装缓存值, 但回源跨线程, 无法持有刷新锁：
+ *     不提前刷新, 已逻辑过期的值直接视为未命中
+ * </p>
+ *
+ * <p>
+ * 注意：刷新锁不校验持有者, 锁的过期时间应大于回源的耗时; 未经过 @Cacheable 直接调用 get(key) 时,
+ * 需要自行调用 {@link #releaseRefreshes()}, 否则锁依赖过期时间释放
+ * </p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@Slf4j
+public class StampedeRedisCache extends GenerationRedisCache {
+
+    /**
+     * 刷新锁的 Key 后缀
+     */
+    private static final String LOCK_SUFFIX = "@lock";
+
+    private static final byte[] LOCK_VALUE = "1".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * 等待其它节点回源时, 轮询缓存的间隔, 单位：毫秒
+     */
+    private static final long SYNC_POLL_INTERVAL = 50L;
+
+    private final StampedeOptions options;
+
+    private final StampedeTtlFunction ttlFunction;
+
+    /**
+     * 当前线程未命中的缓存, 用于写入时计算回源耗时、释放刷新锁; Key 为缓存的完整 Key, 嵌套的 @Cacheable 方法互不影响
+     * <p>
+     * 所有缓存共享, 便于 {@link #releaseRefreshes()} 统一清理
+     */
+    private static final ThreadLocal<Map<String, Refresh>> REFRESHES = new ThreadLocal<>();
+
+    public StampedeRedisCache(String name, RedisCacheWriter cacheWriter, RedisCacheConfiguration cacheConfiguration,
+                              RedisCacheGenerations generations, Supplier<String> scopeSupplier,
+                              StampedeOptions options, StampedeTtlFunction ttlFunction) {
+        super(name, cacheWriter, cacheConfiguration, generations, scopeSupplier);
+        this.options = Objects.requireNonNull(options, "StampedeOptions must not be null");
+        this.ttlFunction = Objects.requireNonNull(ttlFunction, "StampedeTtlFunction must not be null");
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        return resolve(key, super.lookup(key));
+    }
+
+    /**
+     * 判断读取到的缓存值是否命中, 需要回源时记录未命中（必要时抢占刷新锁）, 写入或 {@link #releaseRefresh(Object)} 时清理
+     * <p>
+     * 供 {@link RedisBatchCacheTemplate} 批量读取时使用, 与 get 的规则一致
+     *
+     * @param key    缓存 Key
+     * @param stored Redis 中读取到的值, 可能经过包装, null 表示不存在
+     * @return 拆包后的值, null 表示需要回源
+     */
+    Object resolve(Object key, Object stored) {
+        if (!(stored instanceof StampedeCacheValue cacheValue)) {
+            // 未开启包装前写入的值, 原样返回
+            if (stored == null) {
+                markMiss(key, null);
+            }
+            return stored;
+        }
+
+        long now = System.currentTimeMillis();
+        if (now < cacheValue.getExpireTime()) {
+            // 未过期：按概率提前刷新, 抢到锁的请求回源
+            if (shouldRefreshEarly(cacheValue, now) && tryLock(key)) {
+                return null;
+            }
+            return unwrap(cacheValue);
+        }
+        // 已逻辑过期, 但仍在 stale 时间内：抢到锁的请求回源, 其它请求返回旧值
+        if (options.stale() == null) {
+            markMiss(key, null);
+            return null;
+        }
+        return tryLock(key) ? null : unwrap(cacheValue);
+    }
+
+    @Override
+    public CompletableFuture<ValueWrapper> retrieve(Object key) {
+        return super.retrieve(key).thenApply(this::unwrapRetrieved);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return retrieve(key).thenCompose(result -> {
+            if (result != null) {
+                return CompletableFuture.completedFuture((T) result.get());
+            }
+            long startTime = System.nanoTime();
+            return valueLoader.get().thenCompose(value -> store(key, value, startTime).thenApply(ignored -> value));
+        });
+    }
+
+    /**
+     * 拆包异步读取的缓存值, 已逻辑过期的值视为未命中
+     */
+    private ValueWrapper unwrapRetrieved(ValueWrapper result) {
+        if (result == null || !(result.get() instanceof StampedeCacheValue cacheValue)) {
+            return result;
+        }
+        if (System.currentTimeMillis() >= cacheValue.getExpireTime()) {
+            return null;
+        }
+        return toValueWrapper(unwrap(cacheValue));
+    }
+
+    /**
+     * 异步写入回源的值, 按写入的规则包装
+     *
+     * @param key       缓存 Key
+     * @param value     缓存值
+     * @param startTime 开始回源的时间, 单位：纳秒
+     * @return 写入结果
+     */
+    private CompletableFuture<Void> store(Object key, Object value, long startTime) {
+        // null 值且不允许缓存 null 时, toStoreValue 抛出异常, 与同步写入一致
+        Object storeValue = toStoreValue(value);
+        Object cacheValue = options.isEnvelopeRequired() ? wrap(storeValue, computeTime(startTime)) : storeValue;
+        byte[] binaryKey = serializeCacheKey(createCacheKey(key));
+        Duration ttl = getCacheConfiguration().getTtlFunction().getTimeToLive(key, cacheValue);
+        return getCacheWriter().store(getName(), binaryKey, serializeCacheValue(cacheValue), ttl);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        try {
+            super.put(key, toEnvelope(key, value));
+        } finally {
+            releaseRefresh(key);
+        }
+    }
+
+    /**
+     * 按写入的规则包装缓存值, 供 {@link RedisBatchCacheTemplate} 批量写入时使用
+     *
+     * @param key   缓存 Key
+     * @param value 缓存值
+     * @return 写入 Redis 的值, 过期时间也需要按该值计算
+     */
+    Object toEnvelope(Object key, Object value) {
+        // null 值且不允许缓存 null 时, 不包装, 交给父类抛出异常
+        boolean wrap = options.isEnvelopeRequired() && (value != null || isAllowNullValues());
+        return wrap ? wrap(key, value) : value;
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        if (!options.isEnvelopeRequired() || (value == null && !isAllowNullValues())) {
+            return super.putIfAbsent(key, value);
+        }
+        ValueWrapper existing = super.putIfAbsent(key, wrap(key, value));
+        return existing != null ? toValueWrapper(unwrap(existing.get())) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper result = get(key);
+        if (result != null) {
+            return (T) result.get();
+        }
+
+        // 回源、等待过程中抛出异常（包括被中断）时, 同样需要清理未命中的记录、释放刷新锁
+        try {
+            // 未开启集群单飞, 或者已经持有刷新锁, 直接回源
+            Refresh refresh = getRefresh(key);
+            if (!options.sync() || (refresh != null && refresh.lockKey != null)) {
+                return load(key, valueLoader);
+            }
+
+            // 集群单飞：抢到锁的节点回源, 其它节点等待缓存写入
+            long deadline = System.currentTimeMillis() + options.lockTimeout().toMillis();
+            while (!tryLock(key)) {
+                if (System.currentTimeMillis() >= deadline) {
+                    log.warn("[get][缓存({}) key({}) 等待回源超时, 自行回源]", getName(), key);
+                    break;
+                }
+                sleep();
+                result = get(key);
+                if (result != null) {
+                    return (T) result.get();
+                }
+            }
+            // 抢到锁后再检查一次, 避免刚好有节点写入
+            Object stored = unwrap(super.lookup(key));
+            if (stored != null) {
+                return (T) fromStoreValue(stored);
+            }
+            return load(key, valueLoader);
+        } finally {
+            releaseRefresh(key);
+        }
+    }
+
+    private <T> T load(Object key, Callable<T> valueLoader) {
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        put(key, value);
+        return value;
+    }
+
+    /**
+     * 清理当前线程所有未写入的未命中记录, 并释放持有的刷新锁
+     * <p>
+     * 用于 @Cacheable（sync = false）先 get 再 put 的场景：方法抛出异常、unless 不写入时, 不会调用 put
+     */
+    public static void releaseRefreshes() {
+        Map<String, Refresh> refreshes = REFRESHES.get();
+        if (refreshes == null) {
+            return;
+        }
+        REFRESHES.remove();
+        for (Refresh refresh : new ArrayList<>(refreshes.values())) {
+            refresh.unlock();
+        }
+    }
+
+    /**
+     * 当前线程未写入的未命中记录数, 用于单元测试
+     *
+     * @return 记录数
+     */
+    static int getRefreshCount() {
+        Map<String, Refresh> refreshes = REFRESHES.get();
+        return refreshes != null ? refreshes.size() : 0;
+    }
+
+    /**
+     * XFetch 算法：now - computeTime * beta * ln(random) >= expireTime 时提前刷新
+     */
+    private boolean shouldRefreshEarly(StampedeCacheValue cacheValue, long now) {
+        if (options.earlyBeta() <= 0 || cacheValue.getComputeTime() <= 0) {
+            return false;
+        }
+        double random = ttlFunction.nextRandom();
+        return now - cacheValue.getComputeTime() * options.earlyBeta() * Math.log(random) >= cacheValue.getExpireTime();
+    }
+
+    private StampedeCacheValue wrap(Object key, Object value) {
+        Refresh refresh = getRefresh(key);
+        return wrap(value, refresh != null ? computeTime(refresh.startTime) : 0L);
+    }
+
+    private StampedeCacheValue wrap(Object value, long computeTime) {
+        long expireTime = System.currentTimeMillis() + ttlFunction.nextLogicalTtl().toMillis();
+        return new StampedeCacheValue(value != null ? value : NullValue.INSTANCE, expireTime, computeTime);
+    }
+
+    /**
+     * 回源耗时：从未命中到写入的时间, 不超过锁的过期时间, 避免跨请求残留的记录导致耗时过大
+     *
+     * @param startTime 未命中的时间, 单位：纳秒
+     * @return 回源耗时, 单位：毫秒
+     */
+    private long computeTime(long startTime) {
+        return Math.min(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), options.lockTimeout().toMillis());
+    }
+
+    /**
+     * 拆包缓存值; 包装内的 null 值反序列化后是新的 NullValue 实例, 统一为 {@link NullValue#INSTANCE}, 以便 fromStoreValue 识别
+     */
+    private static Object unwrap(Object stored) {
+        if (!(stored instanceof StampedeCacheValue cacheValue)) {
+            return stored;
+        }
+        return cacheValue.getValue() instanceof NullValue ? NullValue.INSTANCE : cacheValue.getValue();
+    }
+
+    private boolean tryLock(Object key) {
+        String lockKey = createCacheKey(key) + LOCK_SUFFIX;
+        byte[] existing = getCacheWriter().putIfAbsent(getName(), serializeCacheKey(lockKey), LOCK_VALUE, options.lockTimeout());
+        if (existing != null) {
+            return false;
+        }
+        markMiss(key, lockKey);
+        return true;
+    }
+
+    private void markMiss(Object key, String lockKey) {
+        Map<String, Refresh> refreshes = REFRESHES.get();
+        if (refreshes == null) {
+            refreshes = new HashMap<>();
+            REFRESHES.set(refreshes);
+        }
+        refreshes.put(createCacheKey(key), new Refresh(this, lockKey, System.nanoTime()));
+    }
+
+    private Refresh getRefresh(Object key) {
+        Map<String, Refresh> refreshes = REFRESHES.get();
+        return refreshes != null ? refreshes.get(createCacheKey(key)) : null;
+    }
+
+    /**
+     * 清理当前线程指定 Key 的未命中记录, 并释放持有的刷新锁
+     *
+     * @param key 缓存 Key
+     */
+    void releaseRefresh(Object key) {
+        Map<String, Refresh> refreshes = REFRESHES.get();
+        if (refreshes == null) {
+            return;
+        }
+        Refresh refresh = refreshes.remove(createCacheKey(key));
+        if (refreshes.isEmpty()) {
+            REFRESHES.remove();
+        }
+        if (refresh != null) {
+            refresh.unlock();
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(SYNC_POLL_INTERVAL);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for cache refresh", ex);
+        }
+    }
+
+    /**
+     * 当前线程未命中的缓存
+     *
+     * @param cache     未命中的缓存, 用于释放刷新锁
+     * @param lockKey   持有的刷新锁, null 表示未持有
+     * @param startTime 未命中的时间, 单位：纳秒
+     */
+    private record Refresh(StampedeRedisCache cache, String lockKey, long startTime) {
+
+        void unlock() {
+            if (lockKey != null) {
+                cache.getCacheWriter().remove(cache.getName(), cache.serializeCacheKey(lockKey));
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package cn.jcodenest.framework.redis.core;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.aopalliance.aop.Advice;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.AbstractPointcutAdvisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.Ordered;
+
+/**
+ * {@link StampedeRefreshInterceptor} 的 Advisor 实现类, 拦截 {@link Cacheable} 注解的方法
+ * <p>
+ * 优先级最高, 保证包裹在 Spring Cache 的拦截器之外
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class StampedeRefreshAdvisor extends AbstractPointcutAdvisor {
+
+    /**
+     * 拦截器
+     */
+    private final Advice advice;
+
+    /**
+     * 切点
+     */
+    private final Pointcut pointcut;
+
+    /**
+     * 构造函数
+     */
+    public StampedeRefreshAdvisor() {
+        this.advice = new StampedeRefreshInterceptor();
+        this.pointcut = this.buildPointcut();
+        setOrder(Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    /**
+     * 构建切点
+     *
+     * @return 切点
+     */
+    protected Pointcut buildPointcut() {
+        Pointcut classPointcut = new AnnotationMatchingPointcut(Cacheable.class, true);
+        Pointcut methodPointcut = new AnnotationMatchingPointcut(null, Cacheable.class, true);
+        return new ComposablePointcut(classPointcut).union(methodPointcut);
+    }
+}
@@ -0,0 +1,41 @@
+package cn.jcodenest.framework.redis.core;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * {@link org.springframework.cache.annotation.Cacheable} 方法的拦截器, 在方法结束后清理 {@link StampedeRedisCache} 未写入的未命中记录
+ * <p>
+ * sync = false 时, Spring 先调用 get 再调用 put, 方法抛出异常、unless 不写入时不会调用 put,
+ * 未命中的记录会残留在线程上下文中, 刷新锁也只能等待过期; 因此在最外层的方法结束后统一清理
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+public class StampedeRefreshInterceptor implements MethodInterceptor {
+
+    /**
+     * 当前线程 @Cacheable 方法的嵌套层数, 只在最外层清理, 避免内层方法清理外层方法的记录
+     */
+    private static final ThreadLocal<Integer> DEPTH = new ThreadLocal<>();
+
+    @Override
+    public Object invoke(MethodInvocation methodInvocation) throws Throwable {
+        Integer depth = DEPTH.get();
+        DEPTH.set(depth != null ? depth + 1 : 1);
+        try {
+            return methodInvocation.proceed();
+        } finally {
+            if (depth != null) {
+                DEPTH.set(depth);
+            } else {
+                DEPTH.remove();
+                StampedeRedisCache.releaseRefreshes();
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package cn.jcodenest.framework.redis.core;
+
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * 支持随机过期时间、旧值保留时间的 {@link RedisCacheWriter.TtlFunction} 实现类
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+public class StampedeTtlFunction implements RedisCacheWriter.TtlFunction {
+
+    private final Duration ttl;
+
+    private final StampedeOptions options;
+
+    /**
+     * 随机数来源, 返回 [0, 1) 之间的随机数, 用于随机过期时间、概率提前刷新
+     */
+    private final DoubleSupplier random;
+
+    public StampedeTtlFunction(Duration ttl, StampedeOptions options) {
+        this(ttl, options, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    StampedeTtlFunction(Duration ttl, StampedeOptions options, DoubleSupplier random) {
+        this.ttl = ttl;
+        this.options = options;
+        this.random = random;
+    }
+
+    @Override
+    public Duration getTimeToLive(Object key, Object value) {
+        // 缓存值中已经记录逻辑过期时间, 实际过期时间再加上旧值保留时间
+        if (value instanceof StampedeCacheValue cacheValue) {
+            long logicalTtl = Math.max(cacheValue.getExpireTime() - System.currentTimeMillis(), 1L);
+            return options.stale() != null ? Duration.ofMillis(logicalTtl).plus(options.stale()) : Duration.ofMillis(logicalTtl);
+        }
+        return nextLogicalTtl();
+    }
+
+    /**
+     * 计算逻辑过期时间：在原过期时间的基础上, 随机增加 0 ~ jitter 比例
+     *
+     * @return 逻辑过期时间
+     */
+    public Duration nextLogicalTtl() {
+        if (options.jitter() <= 0 || ttl.isZero() || ttl.isNegative()) {
+            return ttl;
+        }
+        long millis = ttl.toMillis();
+        return Duration.ofMillis(millis + (long) (millis * options.jitter() * nextRandom()));
+    }
+
+    /**
+     * 获得 [0, 1) 之间的随机数
+     *
+     * @return 随机数
+     */
+    double nextRandom() {
+        return random.getAsDouble();
+    }
+}
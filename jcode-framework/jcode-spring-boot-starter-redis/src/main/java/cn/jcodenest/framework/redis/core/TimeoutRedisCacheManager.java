@@ -1,6 +1,7 @@
 package cn.jcodenest.framework.redis.core;
 
 import cn.hutool.core.util.StrUtil;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.cache.RedisCache;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
@@ -8,6 +9,7 @@ import org.springframework.data.redis.cache.RedisCacheWriter;
 
 import java.time.Duration;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
  * 支持自定义过期时间的 {@link RedisCacheManager} 实现类
@@ -15,6 +17,11 @@ import java.util.Objects;
  * <p>
  * 1. 在 {@link org.springframework.cache.annotation.Cacheable#cacheNames()} 格式为 "key#ttl" 时，# 后面的 ttl 为过期时间。
  * 2. 单位为最后一个字母（支持的单位有：d 天，h 小时，m 分钟，s 秒），默认单位为 s 秒。
+ * 3. 格式为 "key#ttl#options" 时，options 为缓存击穿的防护配置，见 {@link StampedeOptions}；
+ *    未开启缓存击穿防护（{@link #setStampedeEnabled(boolean)}）时，忽略 options 并打印告警。
+ * 4. 子类可通过 {@link #getKeyNamespace(String)} 在 Key 前缀中拼接命名空间，例如多租户的租户编号。
+ * 5. 设置 {@link RedisCacheGenerations} 时，Key 前缀中拼接代数，清空缓存只需递增代数，Redis Key 格式为
+ *    name + ":v" + 代数 + ":" [+ 命名空间 + ":v" + 命名空间代数 + ":"] + key
  * </p>
  *
  * @author JCodeNest
@@ -24,6 +31,7 @@ import java.util.Objects;
  * Copyright (c) 2025 JCodeNest-Cloud-Initializer
  * All rights reserved.
  */
+@Slf4j
 public class TimeoutRedisCacheManager extends RedisCacheManager {
 
     /**
@@ -31,6 +39,24 @@ public class TimeoutRedisCacheManager extends RedisCacheManager {
      */
     private static final String SPLIT = "#";
 
+    /**
+     * 缓存击穿防护配置中，选项之间的分隔符
+     */
+    private static final String OPTION_SPLIT = ",";
+
+    /**
+     * 缓存的代数管理器，为 null 时不启用代数，清空缓存时 SCAN + DEL
+     */
+    private final RedisCacheGenerations generations;
+
+    /**
+     * 是否开启缓存击穿防护，默认开启
+     * <p>
+     * 防护依赖 {@link StampedeRefreshAdvisor} 在 @Cacheable 方法结束后清理线程上下文中的未命中记录，
+     * 未注册该 Advisor 时应关闭，否则未命中记录残留在线程上下文中，刷新锁只能等待过期
+     */
+    private boolean stampedeEnabled = true;
+
     /**
      * 构造函数，初始化 RedisCacheManager。
      *
@@ -39,10 +65,24 @@ public class TimeoutRedisCacheManager extends RedisCacheManager {
      * @throws NullPointerException 如果 cacheWriter 或 defaultCacheConfiguration 为 null
      */
     public TimeoutRedisCacheManager(RedisCacheWriter cacheWriter, RedisCacheConfiguration defaultCacheConfiguration) {
+        this(cacheWriter, defaultCacheConfiguration, null);
+    }
+
+    /**
+     * 构造函数，初始化 RedisCacheManager。
+     *
+     * @param cacheWriter             Redis 缓存写入器
+     * @param defaultCacheConfiguration 默认缓存配置
+     * @param generations             缓存的代数管理器，允许为 null
+     * @throws NullPointerException 如果 cacheWriter 或 defaultCacheConfiguration 为 null
+     */
+    public TimeoutRedisCacheManager(RedisCacheWriter cacheWriter, RedisCacheConfiguration defaultCacheConfiguration,
+                                    RedisCacheGenerations generations) {
         super(
                 Objects.requireNonNull(cacheWriter, "CacheWriter must not be null"),
                 Objects.requireNonNull(defaultCacheConfiguration, "DefaultCacheConfiguration must not be null")
         );
+        this.generations = generations;
     }
 
     /**
@@ -58,29 +98,132 @@ public class TimeoutRedisCacheManager extends RedisCacheManager {
      */
     @Override
     protected RedisCache createRedisCache(String name, RedisCacheConfiguration cacheConfig) {
-        if (StrUtil.isEmpty(name)) {
+        if (StrUtil.isEmpty(name) || cacheConfig == null) {
             return super.createRedisCache(name, cacheConfig);
         }
 
-        // 分割缓存名称，检查是否包含 TTL
+        // 分割缓存名称，检查是否包含 TTL、缓存击穿防护配置，有则解析并更新缓存配置
+        String cacheName = name;
+        StampedeOptions options = null;
         String[] names = name.split(SPLIT);
-        if (names.length != 2) {
-            return super.createRedisCache(name, cacheConfig);
+        if (names.length == 2 || names.length == 3) {
+            // 移除最后一部分可能的冒号后缀
+            String last = names[names.length - 1];
+            int colonIndex = last.indexOf(':');
+            String suffix = colonIndex >= 0 ? last.substring(colonIndex) : "";
+            names[names.length - 1] = colonIndex >= 0 ? last.substring(0, colonIndex) : last;
+            // 解析 TTL
+            Duration duration = parseDuration(names[1]);
+            cacheConfig = cacheConfig.entryTtl(duration);
+            // 解析缓存击穿防护配置
+            if (names.length == 3) {
+                options = parseStampedeOptions(names[2]);
+                if (stampedeEnabled) {
+                    cacheConfig = cacheConfig.entryTtl(new StampedeTtlFunction(duration, options));
+                } else {
+                    log.warn("[createRedisCache][缓存({}) 声明了缓存击穿防护选项，但未开启 jcode.cache.stampede.enable，忽略该选项]", name);
+                    options = null;
+                }
+            }
+            // 重构缓存名称，移除 TTL、防护配置部分
+            cacheName = names[0] + suffix;
         }
 
-        // 解析 TTL 并更新缓存配置
-        if (cacheConfig != null) {
-            // 提取 TTL 部分，移除可能的冒号后缀
-            int colonIndex = names[1].indexOf(':');
-            String ttlStr = colonIndex >= 0 ? names[1].substring(0, colonIndex) : names[1];
-            String suffix = colonIndex >= 0 ? names[1].substring(colonIndex) : "";
-            Duration duration = parseDuration(ttlStr);
-            cacheConfig = cacheConfig.entryTtl(duration);
-            // 重构缓存名称，移除 TTL 部分
-            name = names[0] + suffix;
+        // Key 前缀拼接命名空间、代数，在每次访问时计算
+        RedisCacheConfiguration originalConfig = cacheConfig;
+        cacheConfig = cacheConfig.computePrefixWith(prefixName ->
+                buildKeyPrefix(originalConfig.getKeyPrefixFor(prefixName), getKeyNamespace(name)));
+        String keyPrefix = originalConfig.getKeyPrefixFor(cacheName);
+        Supplier<String> scopeSupplier = () -> buildScope(keyPrefix, getKeyNamespace(name));
+        if (options != null) {
+            return new StampedeRedisCache(cacheName, getCacheWriter(), cacheConfig, generations, scopeSupplier,
+                    options, (StampedeTtlFunction) originalConfig.getTtlFunction());
+        }
+        if (generations != null) {
+            return new GenerationRedisCache(cacheName, getCacheWriter(), cacheConfig, generations, scopeSupplier);
         }
+        return super.createRedisCache(cacheName, cacheConfig);
+    }
 
-        return super.createRedisCache(name, cacheConfig);
+    /**
+     * 设置是否开启缓存击穿防护，需要在创建缓存前设置
+     *
+     * @param stampedeEnabled 是否开启
+     */
+    public void setStampedeEnabled(boolean stampedeEnabled) {
+        this.stampedeEnabled = stampedeEnabled;
+    }
+
+    /**
+     * 获得缓存 Key 的命名空间，拼接在 Key 前缀之后，例如多租户的租户编号
+     *
+     * @param name 缓存名称，即 {@link org.springframework.cache.annotation.Cacheable#cacheNames()}
+     * @return 命名空间，null 表示不拼接
+     */
+    protected String getKeyNamespace(String name) {
+        return null;
+    }
+
+    /**
+     * 拼接命名空间、代数到 Key 前缀
+     *
+     * @param keyPrefix 原 Key 前缀，以 ":" 结尾
+     * @param namespace 命名空间，允许为 null
+     * @return Key 前缀
+     */
+    private String buildKeyPrefix(String keyPrefix, String namespace) {
+        if (generations == null) {
+            return namespace == null ? keyPrefix : keyPrefix + namespace + StrUtil.COLON;
+        }
+
+        String prefix = keyPrefix + "v" + generations.get(keyPrefix) + StrUtil.COLON;
+        if (namespace == null) {
+            return prefix;
+        }
+        return prefix + namespace + ":v" + generations.get(buildScope(keyPrefix, namespace)) + StrUtil.COLON;
+    }
+
+    /**
+     * 获得清空缓存时递增代数的范围：有命名空间时只清空该命名空间，否则清空整个缓存
+     *
+     * @param keyPrefix 原 Key 前缀，以 ":" 结尾
+     * @param namespace 命名空间，允许为 null
+     * @return 范围
+     */
+    private static String buildScope(String keyPrefix, String namespace) {
+        return namespace == null ? keyPrefix : keyPrefix + namespace + StrUtil.COLON;
+    }
+
+    /**
+     * 解析缓存击穿的防护配置
+     *
+     * @param optionsStr 防护配置字符串（如 "jitter=10%,early=1,stale=5m,sync"）
+     * @return 防护配置
+     * @throws IllegalArgumentException 如果 optionsStr 格式无效或无法解析
+     */
+    private StampedeOptions parseStampedeOptions(String optionsStr) {
+        double jitter = 0;
+        double earlyBeta = 0;
+        Duration stale = null;
+        Duration lockTimeout = StampedeOptions.DEFAULT_LOCK_TIMEOUT;
+        boolean sync = false;
+        for (String option : optionsStr.split(OPTION_SPLIT)) {
+            String[] pair = option.trim().split("=", 2);
+            String value = pair.length == 2 ? pair[1].trim() : null;
+            try {
+                switch (pair[0].trim()) {
+                    case "jitter" -> jitter = Double.parseDouble(StrUtil.removeSuffix(Objects.requireNonNull(value), "%")) / 100;
+                    case "early" -> earlyBeta = Double.parseDouble(Objects.requireNonNull(value));
+                    case "stale" -> stale = parseDuration(value);
+                    case "lock" -> lockTimeout = parseDuration(value);
+                    case "sync" -> sync = true;
+                    default -> throw new IllegalArgumentException("Unknown cache option: " + option);
+                }
+            } catch (NullPointerException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cache option format: " + option, e);
+            }
+        }
+        return new StampedeOptions(jitter, earlyBeta, stale, lockTimeout, sync);
     }
 
     /**
@@ -0,0 +1,337 @@
+package cn.jcodenest.framework.redis.core;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * 二级缓存：本地 Caffeine（L1） + Redis（L2）
+ *
+ * <p>
+ * 实现要点：
+ *  1. 读取时优先读取 L1, 未命中时读取 L2 并回填 L1
+ *  2. 写入、删除时更新 L2, 并通过 {@link TwoLevelCacheManager} 广播, 各节点删除 L1 中对应的缓存项
+ *  3. L1 的 Key 为 L2 的完整 Key（包含多租户、代数等前缀）, 因此多租户之间互不影响, 代数变更后旧的 L1 缓存项不再命中
+ *  4. 回填 L1 前后对比失效次数, 期间有失效时丢弃回填, 避免并发读取到的旧值覆盖失效
+ *  5. 清空缓存时只删除 L1 中当前 Key 前缀下的缓存项, 例如多租户时只删除当前租户的缓存项
+ *  6. 开启 copyOnRead 时, L1 存储 L2 序列化后的字节, 每次读取反序列化出新的对象, 调用方修改返回值不会影响 L1;
+ *     关闭时 L1 直接存储对象, 缓存的值必须是不可变的
+ * </p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+public class TwoLevelCache implements Cache {
+
+    /**
+     * L1：本地缓存, 同名缓存共享
+     */
+    private final Local local;
+
+    /**
+     * L1 的过期时间, 单位：纳秒
+     */
+    private final long localTtlNanos;
+
+    /**
+     * L2：Redis 缓存
+     */
+    private final RedisCache remoteCache;
+
+    /**
+     * 值的序列化方式, 用于 copyOnRead, 关闭时为 null
+     */
+    private final RedisSerializationContext.SerializationPair<Object> copySerializer;
+
+    /**
+     * 广播失效, 参数为 L1 的 Key（或 Key 前缀）、是否为 Key 前缀
+     */
+    private final BiConsumer<String, Boolean> publisher;
+
+    public TwoLevelCache(Local local, Duration localTtl, RedisCache remoteCache, boolean copyOnRead,
+                         BiConsumer<String, Boolean> publisher) {
+        this.local = local;
+        this.localTtlNanos = localTtl.toNanos();
+        this.remoteCache = remoteCache;
+        this.copySerializer = copyOnRead ? remoteCache.getCacheConfiguration().getValueSerializationPair() : null;
+        this.publisher = publisher;
+    }
+
+    @Override
+    public String getName() {
+        return remoteCache.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remoteCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = buildLocalKey(key);
+        LocalValue localValue = local.cache.getIfPresent(localKey);
+        if (localValue != null) {
+            return fromLocal(localValue);
+        }
+
+        long stamp = local.invalidations.get();
+        ValueWrapper wrapper = getRemote(key);
+        if (wrapper != null) {
+            putLocal(localKey, wrapper.get(), stamp);
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = buildLocalKey(key);
+        LocalValue localValue = local.cache.getIfPresent(localKey);
+        if (localValue != null) {
+            return (T) fromLocal(localValue).get();
+        }
+
+        // 先尝试读取 L2, 未命中时再由 RedisCache 加锁加载, 与 sync = true 的语义一致
+        long stamp = local.invalidations.get();
+        ValueWrapper wrapper = getRemote(key);
+        if (wrapper != null) {
+            putLocal(localKey, wrapper.get(), stamp);
+            return (T) wrapper.get();
+        }
+        T value = remoteCache.get(key, valueLoader);
+        if (value != null || remoteCache.isAllowNullValues()) {
+            putLocal(localKey, value, stamp);
+        }
+        return value;
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return remoteCache.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return remoteCache.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remoteCache.put(key, value);
+        invalidateAndPublish(buildLocalKey(key), false);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remoteCache.putIfAbsent(key, value);
+        if (existing == null) {
+            invalidateAndPublish(buildLocalKey(key), false);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remoteCache.evict(key);
+        invalidateAndPublish(buildLocalKey(key), false);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = remoteCache.evictIfPresent(key);
+        invalidateAndPublish(buildLocalKey(key), false);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        // 先计算 Key 前缀, 清空后代数会变化
+        String localKeyPrefix = RedisCacheKeys.createKeyPrefix(remoteCache);
+        remoteCache.clear();
+        invalidateAndPublish(localKeyPrefix, true);
+    }
+
+    @Override
+    public boolean invalidate() {
+        String localKeyPrefix = RedisCacheKeys.createKeyPrefix(remoteCache);
+        boolean present = remoteCache.invalidate();
+        invalidateAndPublish(localKeyPrefix, true);
+        return present;
+    }
+
+    RedisCache getRemoteCache() {
+        return remoteCache;
+    }
+
+    Local getLocal() {
+        return local;
+    }
+
+    public com.github.benmanes.caffeine.cache.Cache<String, ?> getLocalCache() {
+        return local.cache;
+    }
+
+    public long getRemoteHitCount() {
+        return local.remoteHits.sum();
+    }
+
+    public long getRemoteMissCount() {
+        return local.remoteMisses.sum();
+    }
+
+    private ValueWrapper getRemote(Object key) {
+        ValueWrapper wrapper = remoteCache.get(key);
+        (wrapper != null ? local.remoteHits : local.remoteMisses).increment();
+        return wrapper;
+    }
+
+    private void putLocal(String localKey, Object value, long stamp) {
+        local.cache.put(localKey, toLocal(value));
+        // 回填期间发生了失效, 读取到的可能是旧值, 丢弃
+        if (local.invalidations.get() != stamp) {
+            local.cache.invalidate(localKey);
+        }
+    }
+
+    private LocalValue toLocal(Object value) {
+        if (value == null || copySerializer == null) {
+            return new LocalValue(value, localTtlNanos);
+        }
+        return new LocalValue(ByteUtils.getBytes(copySerializer.write(value)), localTtlNanos);
+    }
+
+    private ValueWrapper fromLocal(LocalValue localValue) {
+        if (localValue.value() == null || copySerializer == null) {
+            return new SimpleValueWrapper(localValue.value());
+        }
+        return new SimpleValueWrapper(copySerializer.read(ByteBuffer.wrap((byte[]) localValue.value())));
+    }
+
+    private void invalidateAndPublish(String localKey, boolean prefix) {
+        if (prefix) {
+            local.invalidatePrefix(localKey);
+        } else {
+            local.invalidate(localKey);
+        }
+        publisher.accept(localKey, prefix);
+    }
+
+    /**
+     * 构建 L1 的 Key, 即 L2 的完整 Key
+     *
+     * @param key 缓存 Key
+     * @return L1 的 Key
+     */
+    private String buildLocalKey(Object key) {
+        return RedisCacheKeys.createCacheKey(remoteCache, key);
+    }
+
+    /**
+     * L1 的缓存项
+     *
+     * @param value    值, copyOnRead 时为序列化后的字节
+     * @param ttlNanos 过期时间, 单位：纳秒
+     */
+    record LocalValue(Object value, long ttlNanos) {
+    }
+
+    /**
+     * 同名缓存（例如 "user#30m" 与 "user#1h"）共享的 L1, 以及失效次数、L2 的命中统计
+     * <p>
+     * 同名缓存对应同一批 Redis Key, 共享后任一写法的写入、删除都会使其它写法的 L1 失效, Metrics 也只需注册一次;
+     * 每个缓存项按写入它的缓存计算过期时间
+     */
+    public static final class Local {
+
+        private final com.github.benmanes.caffeine.cache.Cache<String, LocalValue> cache;
+
+        /**
+         * 失效次数, 用于丢弃并发的回填
+         */
+        private final AtomicLong invalidations = new AtomicLong();
+
+        /**
+         * L2 的命中、未命中次数; L1 的统计见 {@link #getLocalCache()} 的 stats
+         */
+        private final LongAdder remoteHits = new LongAdder();
+        private final LongAdder remoteMisses = new LongAdder();
+
+        public Local(long maximumSize) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfter(new Expiry<String, LocalValue>() {
+
+                        @Override
+                        public long expireAfterCreate(String key, LocalValue value, long currentTime) {
+                            return value.ttlNanos();
+                        }
+
+                        @Override
+                        public long expireAfterUpdate(String key, LocalValue value, long currentTime, long currentDuration) {
+                            return value.ttlNanos();
+                        }
+
+                        @Override
+                        public long expireAfterRead(String key, LocalValue value, long currentTime, long currentDuration) {
+                            return currentDuration;
+                        }
+
+                    })
+                    .recordStats()
+                    .build();
+        }
+
+        /**
+         * 删除 L1 中的缓存项
+         *
+         * @param localKey L1 的 Key, null 表示全部
+         */
+        void invalidate(String localKey) {
+            invalidations.incrementAndGet();
+            if (localKey == null) {
+                cache.invalidateAll();
+            } else {
+                cache.invalidate(localKey);
+            }
+        }
+
+        /**
+         * 删除 L1 中指定 Key 前缀的缓存项
+         *
+         * @param localKeyPrefix L1 的 Key 前缀
+         */
+        void invalidatePrefix(String localKeyPrefix) {
+            invalidations.incrementAndGet();
+            cache.asMap().keySet().removeIf(localKey -> localKey.startsWith(localKeyPrefix));
+        }
+    }
+}
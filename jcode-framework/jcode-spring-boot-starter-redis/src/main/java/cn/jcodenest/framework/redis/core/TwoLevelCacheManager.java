@@ -0,0 +1,215 @@
+package cn.jcodenest.framework.redis.core;
+
+import cn.hutool.core.util.IdUtil;
+import cn.jcodenest.framework.common.util.json.JsonUtils;
+import cn.jcodenest.framework.redis.config.properties.JCodeCacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 二级缓存的 {@link CacheManager} 实现类, 包装 {@link TimeoutRedisCacheManager} 等 {@link RedisCacheManager}
+ *
+ * <p>
+ * 1. 每个缓存创建一个有界的本地缓存（L1）, 过期时间取 "name#ttl" 解析出的 Redis 过期时间与配置的上限中的较小值
+ * 2. 写入、删除时通过 Redis Pub/Sub 广播, 其它节点删除 L1 中对应的缓存项; L1 的过期时间兜底消息丢失的情况
+ * 3. 可通过 jcode.cache.local.caches 按缓存名调整 L1 的容量、过期时间, 容量为 0 时不使用 L1
+ * 4. 同名缓存的不同过期时间写法（如 "user#30m"、"user#1h"）共享 L1, 创建监听器（例如 Metrics 统计）只回调第一次创建的缓存
+ * </p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, MessageListener, InitializingBean, DisposableBean {
+
+    /**
+     * 广播 L1 失效的 Channel
+     */
+    public static final String CHANNEL = "jcode:cache:local";
+
+    private final RedisCacheManager remoteCacheManager;
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final JCodeCacheProperties.Local properties;
+
+    /**
+     * 当前节点的编号, 用于忽略自己发送的广播
+     */
+    private final String nodeId = IdUtil.fastSimpleUUID();
+
+    /**
+     * 缓存名与缓存的映射
+     * <p>
+     * KEY：获取缓存时使用的缓存名, 可能包含过期时间（如 "user#30m"）
+     */
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * 缓存名与第一次创建的二级缓存的映射, 同名缓存共享它的 L1
+     * <p>
+     * KEY：缓存名, 不包含过期时间
+     */
+    private final Map<String, TwoLevelCache> primaryCaches = new ConcurrentHashMap<>();
+
+    /**
+     * 二级缓存的创建监听器, 例如 Metrics 统计
+     */
+    private final List<Consumer<TwoLevelCache>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 监听 L1 失效的容器, 由当前对象管理生命周期
+     */
+    private final RedisMessageListenerContainer listenerContainer = new RedisMessageListenerContainer();
+
+    public TwoLevelCacheManager(RedisCacheManager remoteCacheManager, StringRedisTemplate redisTemplate,
+                                JCodeCacheProperties.Local properties) {
+        this.remoteCacheManager = Objects.requireNonNull(remoteCacheManager, "RedisCacheManager must not be null");
+        this.redisTemplate = Objects.requireNonNull(redisTemplate, "StringRedisTemplate must not be null");
+        this.properties = Objects.requireNonNull(properties, "Local cache properties must not be null");
+        this.listenerContainer.setConnectionFactory(Objects.requireNonNull(redisTemplate.getConnectionFactory(),
+                "RedisConnectionFactory must not be null"));
+        this.listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        listenerContainer.destroy();
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remoteCacheManager.getCacheNames();
+    }
+
+    /**
+     * 添加二级缓存的创建监听器, 已创建的缓存会立即回调一次; 同名缓存只回调一次
+     *
+     * @param listener 监听器
+     */
+    public void addListener(Consumer<TwoLevelCache> listener) {
+        listeners.add(listener);
+        primaryCaches.values().forEach(listener);
+    }
+
+    /**
+     * 接收其它节点广播的 L1 失效
+     *
+     * @param message 消息
+     * @param pattern 订阅的 Channel
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        InvalidateMessage invalidateMessage = JsonUtils.parseObject(
+                new String(message.getBody(), StandardCharsets.UTF_8), InvalidateMessage.class);
+        if (invalidateMessage == null || nodeId.equals(invalidateMessage.nodeId())) {
+            return;
+        }
+
+        // 同一个 Redis 缓存的不同过期时间写法共享 L1, 只需删除一次
+        TwoLevelCache cache = primaryCaches.get(invalidateMessage.cacheName());
+        if (cache == null) {
+            return;
+        }
+        if (invalidateMessage.prefix()) {
+            cache.getLocal().invalidatePrefix(invalidateMessage.key());
+        } else {
+            cache.getLocal().invalidate(invalidateMessage.key());
+        }
+    }
+
+    private Cache createCache(String name) {
+        Cache cache = remoteCacheManager.getCache(name);
+        if (!(cache instanceof RedisCache remoteCache)) {
+            return cache;
+        }
+
+        // 计算 L1 的容量、过期时间
+        JCodeCacheProperties.Local.Spec spec = properties.getCaches().get(remoteCache.getName());
+        long maximumSize = spec != null && spec.getMaximumSize() != null ? spec.getMaximumSize() : properties.getMaximumSize();
+        if (maximumSize <= 0) {
+            return remoteCache;
+        }
+        Duration ttl = spec != null && spec.getTtl() != null ? spec.getTtl() : properties.getTtl();
+        Duration remoteTtl = remoteCache.getCacheConfiguration().getTtlFunction().getTimeToLive(name, null);
+        if (remoteTtl != null && !remoteTtl.isZero() && !remoteTtl.isNegative() && remoteTtl.compareTo(ttl) < 0) {
+            ttl = remoteTtl;
+        }
+
+        // 同名缓存共享 L1, 只有第一次创建时回调监听器
+        Duration localTtl = ttl;
+        boolean copyOnRead = Boolean.TRUE.equals(properties.getCopyOnRead());
+        TwoLevelCache primaryCache = primaryCaches.computeIfAbsent(remoteCache.getName(), cacheName ->
+                createTwoLevelCache(new TwoLevelCache.Local(maximumSize), localTtl, remoteCache, copyOnRead));
+        if (primaryCache.getRemoteCache() == remoteCache) {
+            listeners.forEach(listener -> listener.accept(primaryCache));
+            return primaryCache;
+        }
+        return createTwoLevelCache(primaryCache.getLocal(), localTtl, remoteCache, copyOnRead);
+    }
+
+    private TwoLevelCache createTwoLevelCache(TwoLevelCache.Local local, Duration localTtl, RedisCache remoteCache,
+                                              boolean copyOnRead) {
+        return new TwoLevelCache(local, localTtl, remoteCache, copyOnRead,
+                (key, prefix) -> publish(remoteCache.getName(), key, prefix));
+    }
+
+    private void publish(String cacheName, String key, boolean prefix) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, JsonUtils.toJsonString(new InvalidateMessage(nodeId, cacheName, key, prefix)));
+        } catch (Exception ex) {
+            // 广播失败不影响 L2 已经完成的写入, 其它节点的 L1 依赖过期时间兜底
+            log.error("[publish][缓存({}) key({}) 广播失效失败]", cacheName, key, ex);
+        }
+    }
+
+    /**
+     * L1 失效的广播消息
+     *
+     * @param nodeId    发送的节点编号
+     * @param cacheName 缓存名
+     * @param key       L1 的 Key 或 Key 前缀, null 表示全部
+     * @param prefix    key 是否为 Key 前缀
+     */
+    private record InvalidateMessage(String nodeId, String cacheName, String key, boolean prefix) {
+    }
+}
@@ -0,0 +1,117 @@
+package cn.jcodenest.framework.redis.config;
+
+import cn.jcodenest.framework.redis.core.HotKeyCacheManager;
+import cn.jcodenest.framework.redis.core.StampedeRedisCache;
+import cn.jcodenest.framework.redis.core.StampedeRefreshAdvisor;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * {@link JCodeCacheAutoConfiguration} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class JCodeCacheAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(JCodeCacheAutoConfiguration.class))
+            .withUserConfiguration(RedisConfiguration.class);
+
+    @Test
+    void testCachingConfigurer_disabled() {
+        // 调用，并断言：未开启热点缓存、二级缓存时，不注册 CachingConfigurer
+        contextRunner.run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context).doesNotHaveBean("jCodeCachingConfigurer");
+        });
+    }
+
+    @Test
+    void testCachingConfigurer_hotKeyEnabled() {
+        // 调用，并断言：@Cacheable 使用热点缓存
+        contextRunner.withPropertyValues("jcode.cache.hot-key.enable=true").run(context -> {
+            assertThat(context).hasNotFailed();
+            CachingConfigurer configurer = context.getBean("jCodeCachingConfigurer", CachingConfigurer.class);
+            assertThat(configurer.cacheManager()).isSameAs(context.getBean(HotKeyCacheManager.class));
+        });
+    }
+
+    @Test
+    void testCachingConfigurer_userDefined() {
+        // 调用，并断言：应用自定义 CachingConfigurer 时，不再注册，避免存在多个 CachingConfigurer
+        contextRunner.withPropertyValues("jcode.cache.hot-key.enable=true")
+                .withUserConfiguration(UserCachingConfiguration.class)
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context).doesNotHaveBean("jCodeCachingConfigurer");
+                    assertThat(context).hasSingleBean(CachingConfigurer.class);
+                });
+    }
+
+    @Test
+    void testStampedeRefreshAdvisor_disabled() {
+        // 调用，并断言：未开启缓存击穿防护时，不为 @Cacheable Bean 注册 Advisor
+        contextRunner.run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context).doesNotHaveBean(StampedeRefreshAdvisor.class);
+            // 断言：缓存名中的防护选项被忽略，避免未命中记录残留在线程上下文中
+            assertThat(context.getBean(RedisCacheManager.class).getCache("user#1h#stale=10m"))
+                    .isNotInstanceOf(StampedeRedisCache.class);
+        });
+    }
+
+    @Test
+    void testStampedeRefreshAdvisor_enabled() {
+        // 调用，并断言
+        contextRunner.withPropertyValues("jcode.cache.stampede.enable=true").run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context).hasSingleBean(StampedeRefreshAdvisor.class);
+            assertThat(context.getBean(RedisCacheManager.class).getCache("user#1h#stale=10m"))
+                    .isInstanceOf(StampedeRedisCache.class);
+        });
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class RedisConfiguration {
+
+        @Bean
+        public RedisTemplate<String, Object> redisTemplate() {
+            RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
+            redisTemplate.setConnectionFactory(mock(RedisConnectionFactory.class));
+            redisTemplate.afterPropertiesSet();
+            return redisTemplate;
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class UserCachingConfiguration {
+
+        @Bean
+        public CachingConfigurer userCachingConfigurer() {
+            return new CachingConfigurer() {
+
+                @Override
+                public CacheManager cacheManager() {
+                    return new ConcurrentMapCacheManager();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package cn.jcodenest.framework.redis.config;
+
+import cn.jcodenest.framework.redis.core.RedisClientSideCache;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.redisson.config.Protocol;
+import org.redisson.spring.starter.RedissonAutoConfigurationCustomizer;
+import org.springframework.boot.LazyInitializationBeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link JCodeRedisAutoConfiguration} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class JCodeRedisAutoConfigurationTest {
+
+    /**
+     * 应用共享的 Redisson 客户端的配置
+     */
+    private final Config sharedConfig = new Config();
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(JCodeRedisAutoConfiguration.class))
+            .withBean(RedisConnectionFactory.class, () -> mock(RedisConnectionFactory.class))
+            .withBean(RedissonClient.class, () -> {
+                RedissonClient redissonClient = mock(RedissonClient.class);
+                when(redissonClient.getConfig()).thenReturn(sharedConfig);
+                return redissonClient;
+            });
+
+    JCodeRedisAutoConfigurationTest() {
+        sharedConfig.useSingleServer().setAddress("redis://127.0.0.1:6379");
+    }
+
+    @Test
+    void testClientSideCache_disabled() {
+        // 调用，并断言：默认不开启客户端缓存
+        contextRunner.run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context).doesNotHaveBean(RedisClientSideCache.class);
+            assertThat(context).doesNotHaveBean(RedissonAutoConfigurationCustomizer.class);
+        });
+    }
+
+    @Test
+    void testClientSideCache_enabled() {
+        // 调用，并断言：延迟初始化 Bean，只校验装配关系，不连接 Redis
+        contextRunner.withBean(LazyInitializationBeanFactoryPostProcessor.class)
+                .withPropertyValues("jcode.redis.client-side-caching.enable=true",
+                        "jcode.redis.client-side-caching.key-prefixes=api_signature_app")
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context.getBeanNamesForType(RedisClientSideCache.class)).containsExactly("redisClientSideCache");
+                    // 断言：不修改共享 Redisson 客户端的协议，RedisTemplate、Stream 监听等仍然使用原有的协议
+                    assertThat(context).doesNotHaveBean(RedissonAutoConfigurationCustomizer.class);
+                    assertThat(sharedConfig.getProtocol()).isEqualTo(Protocol.RESP2);
+                });
+    }
+}
@@ -0,0 +1,134 @@
+package cn.jcodenest.framework.redis.core;
+
+import cn.jcodenest.framework.common.biz.system.dict.dto.DictDataRespDTO;
+import cn.jcodenest.framework.common.biz.system.oauth2.dto.OAuth2AccessTokenCheckRespDTO;
+import cn.jcodenest.framework.common.biz.system.permission.dto.UserPermissionRespDTO;
+import cn.jcodenest.framework.redis.config.JCodeRedisAutoConfiguration;
+import cn.jcodenest.framework.redis.config.properties.JCodeRedisProperties;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CompactRedisSerializer} 的 JMH 基准测试, 对比原有的 JSON 序列化器的体积与编解码耗时
+ *
+ * <p>
+ * 对比对象：
+ *  1. json: 原有的 {@link JCodeRedisAutoConfiguration#buildRedisSerializer()}
+ *  2. smile: Smile 二进制格式
+ *  3. smile_lz4: Smile 二进制格式, 超过 256 字节时 LZ4 压缩
+ * </p>
+ *
+ * <p>序列化后的字节数在 Setup 时输出; 运行方式：直接运行 main 方法, 或者 mvn test-compile 后使用 org.openjdk.jmh.Main 运行</p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompactRedisSerializerBenchmark {
+
+    @Param({"json", "smile", "smile_lz4"})
+    private String serializerType;
+
+    @Param({"token", "permission", "dict"})
+    private String valueType;
+
+    private RedisSerializer<Object> serializer;
+
+    private Object value;
+
+    private byte[] bytes;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        JCodeRedisProperties.Serializer properties = new JCodeRedisProperties.Serializer();
+        properties.setType("json".equals(serializerType) ? JCodeRedisProperties.Type.JSON : JCodeRedisProperties.Type.SMILE);
+        properties.setCompress("smile_lz4".equals(serializerType));
+        properties.setCompressThreshold(256);
+        serializer = "json".equals(serializerType) ? (RedisSerializer<Object>) JCodeRedisAutoConfiguration.buildRedisSerializer()
+                : (RedisSerializer<Object>) JCodeRedisAutoConfiguration.buildRedisSerializer(properties);
+        value = switch (valueType) {
+            case "token" -> buildToken();
+            case "permission" -> buildPermission();
+            default -> buildDictDataList();
+        };
+        bytes = serializer.serialize(value);
+        System.out.printf("%n[size] %s/%s = %d bytes%n", serializerType, valueType, bytes.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(bytes);
+    }
+
+    /**
+     * 访问令牌的校验结果, 每个请求都会读取
+     */
+    private static OAuth2AccessTokenCheckRespDTO buildToken() {
+        OAuth2AccessTokenCheckRespDTO token = new OAuth2AccessTokenCheckRespDTO();
+        token.setUserId(1024L);
+        token.setUserType(2);
+        token.setUserInfo(Map.of("nickname", "JCodeNest", "deptId", "103"));
+        token.setTenantId(1L);
+        token.setScopes(List.of("user.read", "user.write"));
+        token.setExpiresTime(LocalDateTime.of(2025, 8, 2, 12, 0));
+        return token;
+    }
+
+    /**
+     * 用户的权限与角色, 权限标识较多
+     */
+    private static UserPermissionRespDTO buildPermission() {
+        Set<String> permissions = new LinkedHashSet<>();
+        for (int i = 0; i < 200; i++) {
+            permissions.add("system:module" + (i / 10) + ":operation" + i);
+        }
+        UserPermissionRespDTO permission = new UserPermissionRespDTO();
+        permission.setUserId(1024L);
+        permission.setSuperAdmin(false);
+        permission.setPermissions(permissions);
+        permission.setRoles(Set.of("common", "tenant_admin"));
+        return permission;
+    }
+
+    /**
+     * 字典类型下的字典数据列表
+     */
+    private static List<DictDataRespDTO> buildDictDataList() {
+        List<DictDataRespDTO> dictDataList = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            DictDataRespDTO dictData = new DictDataRespDTO();
+            dictData.setLabel("选项" + i);
+            dictData.setValue(String.valueOf(i));
+            dictData.setDictType("system_common_status");
+            dictData.setStatus(0);
+            dictDataList.add(dictData);
+        }
+        return dictDataList;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CompactRedisSerializerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,187 @@
+package cn.jcodenest.framework.redis.core;
+
+import cn.jcodenest.framework.common.biz.system.dict.dto.DictDataRespDTO;
+import cn.jcodenest.framework.common.biz.system.oauth2.dto.OAuth2AccessTokenCheckRespDTO;
+import cn.jcodenest.framework.redis.config.JCodeRedisAutoConfiguration;
+import cn.jcodenest.framework.redis.config.properties.JCodeRedisProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link CompactRedisSerializer} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class CompactRedisSerializerTest {
+
+    @Test
+    void testRoundTrip_json() {
+        // 准备参数
+        RedisSerializer<Object> serializer = buildSerializer(JCodeRedisProperties.Type.JSON, false);
+        OAuth2AccessTokenCheckRespDTO token = buildToken();
+
+        // 调用
+        byte[] bytes = serializer.serialize(token);
+        // 断言：JSON 且未压缩时, 与原有的 JSON 格式完全一致
+        assertArrayEquals(jsonSerializer().serialize(token), bytes);
+        assertTokenEquals(token, (OAuth2AccessTokenCheckRespDTO) serializer.deserialize(bytes));
+    }
+
+    @Test
+    void testRoundTrip_smile() {
+        // 准备参数
+        RedisSerializer<Object> serializer = buildSerializer(JCodeRedisProperties.Type.SMILE, false);
+        OAuth2AccessTokenCheckRespDTO token = buildToken();
+
+        // 调用
+        byte[] bytes = serializer.serialize(token);
+        // 断言
+        assertEquals(CompactRedisSerializer.MAGIC, bytes[0]);
+        assertEquals(CompactRedisSerializer.FLAG_SMILE, bytes[2]);
+        assertTokenEquals(token, (OAuth2AccessTokenCheckRespDTO) serializer.deserialize(bytes));
+    }
+
+    @Test
+    void testRoundTrip_compressed() {
+        // 准备参数
+        List<DictDataRespDTO> dictDataList = buildDictDataList();
+        for (JCodeRedisProperties.Type type : JCodeRedisProperties.Type.values()) {
+            RedisSerializer<Object> serializer = buildSerializer(type, true);
+
+            // 调用
+            byte[] bytes = serializer.serialize(dictDataList);
+            // 断言：超过阈值时压缩, 体积小于未压缩的 JSON
+            assertEquals(CompactRedisSerializer.MAGIC, bytes[0]);
+            assertNotEquals(0, bytes[2] & CompactRedisSerializer.FLAG_LZ4);
+            assertTrue(bytes.length < jsonSerializer().serialize(dictDataList).length);
+            @SuppressWarnings("unchecked")
+            List<DictDataRespDTO> result = (List<DictDataRespDTO>) serializer.deserialize(bytes);
+            assertEquals(dictDataList, result);
+        }
+    }
+
+    @Test
+    void testDeserialize_legacyJson() {
+        // 准备参数：迁移前写入的 JSON 值、空值缓存
+        RedisSerializer<Object> serializer = buildSerializer(JCodeRedisProperties.Type.SMILE, true);
+        OAuth2AccessTokenCheckRespDTO token = buildToken();
+
+        // 调用，并断言
+        assertTokenEquals(token, (OAuth2AccessTokenCheckRespDTO) serializer.deserialize(jsonSerializer().serialize(token)));
+        assertInstanceOf(NullValue.class, serializer.deserialize(serializer.serialize(NullValue.INSTANCE)));
+        assertNull(serializer.deserialize(serializer.serialize(null)));
+    }
+
+    @Test
+    void testDeserialize_corruptLength() {
+        // 准备参数
+        RedisSerializer<Object> serializer = buildSerializer(JCodeRedisProperties.Type.SMILE, true);
+        byte[] bytes = serializer.serialize(buildDictDataList());
+
+        // 调用，并断言：压缩前的长度为负数、超过上限、超过最大压缩比
+        assertThrows(SerializationException.class, () -> serializer.deserialize(withOriginalLength(bytes, -1)));
+        assertThrows(SerializationException.class, () -> serializer.deserialize(withOriginalLength(bytes, 0)));
+        assertThrows(SerializationException.class, () -> serializer.deserialize(
+                withOriginalLength(bytes, CompactRedisSerializer.MAX_ORIGINAL_LENGTH + 1)));
+        assertThrows(SerializationException.class, () -> serializer.deserialize(
+                withOriginalLength(bytes, (bytes.length - 7) * 255 + 1)));
+        // 调用，并断言：压缩前的长度与内容不一致
+        assertThrows(SerializationException.class, () -> serializer.deserialize(
+                withOriginalLength(bytes, readOriginalLength(bytes) + 1)));
+        assertThrows(SerializationException.class, () -> serializer.deserialize(
+                withOriginalLength(bytes, readOriginalLength(bytes) - 1)));
+    }
+
+    @Test
+    void testDeserialize_corruptPayload() {
+        // 准备参数
+        RedisSerializer<Object> serializer = buildSerializer(JCodeRedisProperties.Type.SMILE, true);
+        byte[] bytes = serializer.serialize(buildDictDataList());
+        byte[] garbage = Arrays.copyOf(bytes, bytes.length);
+        Arrays.fill(garbage, 7, garbage.length, (byte) 0xFF);
+
+        // 调用，并断言：压缩内容损坏、被截断、头部被截断、版本未知
+        assertThrows(SerializationException.class, () -> serializer.deserialize(garbage));
+        assertThrows(SerializationException.class, () -> serializer.deserialize(Arrays.copyOf(bytes, bytes.length / 2)));
+        assertThrows(SerializationException.class, () -> serializer.deserialize(Arrays.copyOf(bytes, 5)));
+        assertThrows(SerializationException.class, () -> serializer.deserialize(Arrays.copyOf(bytes, 2)));
+        byte[] unknownVersion = Arrays.copyOf(bytes, bytes.length);
+        unknownVersion[1] = 99;
+        assertThrows(SerializationException.class, () -> serializer.deserialize(unknownVersion));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RedisSerializer<Object> buildSerializer(JCodeRedisProperties.Type type, boolean compress) {
+        JCodeRedisProperties.Serializer properties = new JCodeRedisProperties.Serializer();
+        properties.setType(type);
+        properties.setCompress(compress);
+        properties.setCompressThreshold(256);
+        return (RedisSerializer<Object>) JCodeRedisAutoConfiguration.buildRedisSerializer(properties);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RedisSerializer<Object> jsonSerializer() {
+        return (RedisSerializer<Object>) JCodeRedisAutoConfiguration.buildRedisSerializer();
+    }
+
+    private static byte[] withOriginalLength(byte[] bytes, int originalLength) {
+        byte[] result = Arrays.copyOf(bytes, bytes.length);
+        result[3] = (byte) (originalLength >>> 24);
+        result[4] = (byte) (originalLength >>> 16);
+        result[5] = (byte) (originalLength >>> 8);
+        result[6] = (byte) originalLength;
+        return result;
+    }
+
+    private static int readOriginalLength(byte[] bytes) {
+        return ((bytes[3] & 0xFF) << 24) | ((bytes[4] & 0xFF) << 16) | ((bytes[5] & 0xFF) << 8) | (bytes[6] & 0xFF);
+    }
+
+    private static OAuth2AccessTokenCheckRespDTO buildToken() {
+        OAuth2AccessTokenCheckRespDTO token = new OAuth2AccessTokenCheckRespDTO();
+        token.setUserId(1024L);
+        token.setUserType(2);
+        token.setUserInfo(Map.of("nickname", "JCodeNest"));
+        token.setTenantId(1L);
+        token.setScopes(List.of("user.read", "user.write"));
+        token.setExpiresTime(LocalDateTime.of(2025, 8, 2, 12, 0));
+        return token;
+    }
+
+    private static List<DictDataRespDTO> buildDictDataList() {
+        List<DictDataRespDTO> dictDataList = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            DictDataRespDTO dictData = new DictDataRespDTO();
+            dictData.setLabel("选项" + i);
+            dictData.setValue(String.valueOf(i));
+            dictData.setDictType("system_common_status");
+            dictData.setStatus(0);
+            dictDataList.add(dictData);
+        }
+        return dictDataList;
+    }
+
+    private static void assertTokenEquals(OAuth2AccessTokenCheckRespDTO expected, OAuth2AccessTokenCheckRespDTO actual) {
+        assertEquals(expected.getUserId(), actual.getUserId());
+        assertEquals(expected.getUserType(), actual.getUserType());
+        assertEquals(expected.getUserInfo(), actual.getUserInfo());
+        assertEquals(expected.getTenantId(), actual.getTenantId());
+        assertEquals(expected.getScopes(), actual.getScopes());
+        assertEquals(expected.getExpiresTime(), actual.getExpiresTime());
+    }
+}
@@ -0,0 +1,226 @@
+package cn.jcodenest.framework.redis.core;
+
+import com.github.fppt.jedismock.RedisServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link GenerationRedisCache}、{@link RedisCacheGenerations} 的单元测试, 使用内嵌的 Redis 数据库
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class GenerationRedisCacheTest {
+
+    private static RedisServer redisServer;
+
+    private static JedisConnectionFactory connectionFactory;
+
+    private StringRedisTemplate redisTemplate;
+
+    private RedisCacheGenerations generations;
+
+    /**
+     * 当前的租户编号, 作为缓存 Key 的命名空间
+     */
+    private final AtomicReference<String> tenantId = new AtomicReference<>();
+
+    private TimeoutRedisCacheManager cacheManager;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redisServer = RedisServer.newRedisServer().start();
+        connectionFactory = new JedisConnectionFactory(
+                new RedisStandaloneConfiguration(redisServer.getHost(), redisServer.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+        generations = new RedisCacheGenerations(redisTemplate, Duration.ofHours(1));
+        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
+                .computePrefixWith(name -> name + ":")
+                .entryTtl(Duration.ofHours(1));
+        cacheManager = new TimeoutRedisCacheManager(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory),
+                config, generations) {
+
+            @Override
+            protected String getKeyNamespace(String name) {
+                return tenantId.get();
+            }
+
+        };
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        generations.destroy();
+    }
+
+    @Test
+    void testClear_oldEntriesUnreachable() {
+        // 准备参数
+        Cache cache = cacheManager.getCache("user");
+        cache.put("1", "jcode");
+        assertEquals("jcode", getValue(cache, "1"));
+        assertTrue(redisTemplate.hasKey("user:v0:1"));
+
+        // 调用
+        cache.clear();
+
+        // 断言：旧代数的 Key 仍然存在（依赖过期时间删除），但不再被访问
+        assertNull(cache.get("1"));
+        assertTrue(redisTemplate.hasKey("user:v0:1"));
+        assertEquals("1", redisTemplate.opsForValue().get("user:@generation"));
+        // 断言：新写入的 Key 使用新的代数
+        cache.put("1", "jcode-v1");
+        assertTrue(redisTemplate.hasKey("user:v1:1"));
+        assertEquals("jcode-v1", getValue(cache, "1"));
+    }
+
+    @Test
+    void testClear_otherCacheUnaffected() {
+        // 准备参数
+        Cache userCache = cacheManager.getCache("user");
+        Cache roleCache = cacheManager.getCache("role");
+        userCache.put("1", "user");
+        roleCache.put("1", "role");
+
+        // 调用
+        userCache.clear();
+
+        // 断言
+        assertNull(userCache.get("1"));
+        assertEquals("role", getValue(roleCache, "1"));
+    }
+
+    @Test
+    void testClear_tenantIsolation() {
+        // 准备参数
+        Cache cache = cacheManager.getCache("user");
+        tenantId.set("1");
+        cache.put("1", "tenant-1");
+        tenantId.set("2");
+        cache.put("1", "tenant-2");
+        assertTrue(redisTemplate.hasKey("user:v0:1:v0:1"));
+        assertTrue(redisTemplate.hasKey("user:v0:2:v0:1"));
+
+        // 调用：只清空租户 1 的缓存
+        tenantId.set("1");
+        cache.clear();
+
+        // 断言：租户 1 的缓存不可达，租户 2 不受影响
+        assertNull(cache.get("1"));
+        tenantId.set("2");
+        assertEquals("tenant-2", getValue(cache, "1"));
+        assertNull(redisTemplate.opsForValue().get("user:@generation"));
+        assertEquals("1", redisTemplate.opsForValue().get("user:1:@generation"));
+    }
+
+    @Test
+    void testIncrement_visibleToOtherNode() {
+        // 准备参数：另一个节点，本地缓存的代数 1 小时内不过期，只能通过 Pub/Sub 感知变更
+        RedisCacheGenerations otherNode = new RedisCacheGenerations(redisTemplate, Duration.ofHours(1));
+        otherNode.afterPropertiesSet();
+        try {
+            assertEquals(0L, otherNode.get("user:"));
+
+            // 调用
+            generations.increment("user:");
+            // 断言：通过 Pub/Sub 收到代数变更
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (otherNode.get("user:") != 1L && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            assertEquals(1L, otherNode.get("user:"));
+        } finally {
+            assertDoesNotThrow(otherNode::destroy);
+        }
+    }
+
+    @Test
+    void testGet_localTtlExpired() {
+        // 准备参数：本地缓存立即过期的节点，未订阅变更
+        RedisCacheGenerations otherNode = new RedisCacheGenerations(redisTemplate, Duration.ZERO);
+        assertEquals(0L, otherNode.get("user:"));
+
+        // 调用
+        generations.increment("user:");
+        // 断言：兜底从 Redis 读取
+        assertEquals(1L, otherNode.get("user:"));
+    }
+
+    @Test
+    void testOnMessage_malformed() {
+        // 调用，并断言：格式不正确的消息被忽略，不抛出异常
+        for (String body : new String[]{"user:", "=1", "user:=", "user:=abc", "user:=1a"}) {
+            assertDoesNotThrow(() -> generations.onMessage(buildMessage(body), null));
+        }
+        assertEquals(0L, generations.get("user:"));
+
+        // 调用，并断言：之后的正常消息不受影响
+        generations.onMessage(buildMessage("user:=2"), null);
+        assertEquals(2L, generations.get("user:"));
+    }
+
+    @Test
+    void testGet_corruptValue() {
+        // 准备参数：本地缓存立即过期的节点，每次都从 Redis 读取
+        RedisCacheGenerations otherNode = new RedisCacheGenerations(redisTemplate, Duration.ZERO);
+        redisTemplate.opsForValue().set("user:@generation", "abc");
+        // 调用，并断言：没有本地的代数时，使用 0
+        assertEquals(0L, otherNode.get("user:"));
+
+        // 准备参数
+        redisTemplate.opsForValue().set("user:@generation", "1");
+        assertEquals(1L, otherNode.get("user:"));
+        redisTemplate.opsForValue().set("user:@generation", "abc");
+        // 调用，并断言：沿用本地的代数
+        assertEquals(1L, otherNode.get("user:"));
+    }
+
+    private static Message buildMessage(String body) {
+        return new DefaultMessage(RedisCacheGenerations.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Object getValue(Cache cache, Object key) {
+        Cache.ValueWrapper valueWrapper = cache.get(key);
+        assertNotNull(valueWrapper);
+        return valueWrapper.get();
+    }
+}
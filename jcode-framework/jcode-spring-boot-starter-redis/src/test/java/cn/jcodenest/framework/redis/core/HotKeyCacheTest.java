@@ -0,0 +1,166 @@
+package cn.jcodenest.framework.redis.core;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link HotKeyCache} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class HotKeyCacheTest {
+
+    /**
+     * 被装饰的缓存, 模拟 Redis
+     */
+    private ConcurrentMapCache delegate;
+
+    private HotKeyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new ConcurrentMapCache("user");
+        // 访问 2 次即为热点
+        cache = new HotKeyCache(delegate, new HotKeyDetector(Duration.ofMinutes(1), 2, 10),
+                Caffeine.newBuilder().maximumSize(10).expireAfterWrite(Duration.ofMinutes(1)).<String, Cache.ValueWrapper>build());
+    }
+
+    @Test
+    void testGet_notHot() {
+        // 准备参数
+        delegate.put("1", "v1");
+
+        // 调用
+        assertEquals("v1", cache.get("1", String.class));
+        delegate.put("1", "v2");
+        // 断言：未晋升为热点，读取被装饰的缓存
+        assertFalse(cache.getDetector().isHot("user:1"));
+        assertEquals(0, cache.getHotHitCount());
+    }
+
+    @Test
+    void testGet_hotServedLocally() {
+        // 准备参数：第 2 次访问晋升为热点，并回填本地缓存
+        delegate.put("1", "v1");
+        cache.get("1");
+        assertEquals("v1", cache.get("1").get());
+        assertTrue(cache.getDetector().isHot("user:1"));
+
+        // 调用：绕过装饰器直接修改被装饰的缓存，模拟其它节点的写入
+        delegate.put("1", "v2");
+        // 断言：热点从本地缓存读取
+        assertEquals("v1", cache.get("1").get());
+        assertEquals(1, cache.getHotHitCount());
+    }
+
+    @Test
+    void testGet_valueLoader() {
+        // 调用：第 1 次加载，第 2 次晋升并回填
+        assertEquals("v1", cache.get("1", () -> "v1"));
+        assertEquals("v1", cache.get("1", () -> "unused"));
+        delegate.put("1", "v2");
+        // 断言：热点从本地缓存读取
+        assertEquals("v1", cache.get("1", () -> "unused"));
+        assertEquals(1, cache.getHotHitCount());
+    }
+
+    @Test
+    void testGet_copyOnRead() {
+        // 准备参数：读取时复制
+        cache = new HotKeyCache(delegate, new HotKeyDetector(Duration.ofMinutes(1), 2, 10),
+                Caffeine.newBuilder().maximumSize(10).expireAfterWrite(Duration.ofMinutes(1)).<String, Cache.ValueWrapper>build(),
+                RedisSerializationContext.SerializationPair.fromSerializer(RedisSerializer.java()));
+        delegate.put("1", new ArrayList<>(List.of("v1")));
+        cache.get("1");
+        cache.get("1");
+
+        // 调用：修改命中本地缓存返回的对象
+        @SuppressWarnings("unchecked")
+        List<String> first = (List<String>) cache.get("1").get();
+        first.add("changed");
+        // 断言：每次命中反序列化出新的对象, 不影响其它调用方
+        Object second = cache.get("1").get();
+        assertEquals(List.of("v1"), second);
+        assertNotSame(first, second);
+        assertEquals(2, cache.getHotHitCount());
+    }
+
+    @Test
+    void testGet_copyOnReadValueLoader() {
+        // 准备参数：读取时复制
+        cache = new HotKeyCache(delegate, new HotKeyDetector(Duration.ofMinutes(1), 2, 10),
+                Caffeine.newBuilder().maximumSize(10).expireAfterWrite(Duration.ofMinutes(1)).<String, Cache.ValueWrapper>build(),
+                RedisSerializationContext.SerializationPair.fromSerializer(RedisSerializer.java()));
+        cache.get("1", () -> new ArrayList<>(List.of("v1")));
+        cache.get("1", () -> new ArrayList<>(List.of("unused")));
+
+        // 调用：修改命中本地缓存返回的对象
+        List<String> first = cache.get("1", () -> new ArrayList<>(List.of("unused")));
+        first.add("changed");
+        // 断言
+        assertEquals(List.of("v1"), cache.get("1", () -> new ArrayList<>(List.of("unused"))));
+        assertEquals(2, cache.getHotHitCount());
+    }
+
+    @Test
+    void testPut_invalidateHot() {
+        // 准备参数
+        promote("1", "v1");
+
+        // 调用
+        cache.put("1", "v2");
+        // 断言：本地缓存失效，读取到新值
+        assertEquals("v2", cache.get("1").get());
+    }
+
+    @Test
+    void testEvict_invalidateHot() {
+        // 准备参数
+        promote("1", "v1");
+
+        // 调用
+        cache.evict("1");
+        // 断言
+        assertNull(cache.get("1"));
+    }
+
+    @Test
+    void testClear_invalidateHot() {
+        // 准备参数
+        promote("1", "v1");
+        promote("2", "v2");
+
+        // 调用
+        cache.clear();
+        // 断言
+        assertNull(cache.get("1"));
+        assertNull(cache.get("2"));
+    }
+
+    /**
+     * 写入并访问到晋升为热点, 保证本地缓存已回填
+     */
+    private void promote(String key, String value) {
+        delegate.put(key, value);
+        cache.get(key);
+        cache.get(key);
+        delegate.put(key, value + "-remote");
+        assertEquals(value, cache.get(key).get());
+    }
+}
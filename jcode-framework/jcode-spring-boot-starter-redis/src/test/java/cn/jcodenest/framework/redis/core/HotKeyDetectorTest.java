@@ -0,0 +1,165 @@
+package cn.jcodenest.framework.redis.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link HotKeyDetector} 的单元测试, 使用可控的时钟驱动窗口轮转
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class HotKeyDetectorTest {
+
+    /**
+     * 窗口 10 秒, 即半窗口 5 秒
+     */
+    private static final Duration WINDOW = Duration.ofSeconds(10);
+
+    private static final long HALF_WINDOW_NANOS = WINDOW.toNanos() / 2;
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void testRecord_threshold() {
+        // 准备参数
+        HotKeyDetector detector = new HotKeyDetector(WINDOW, 3, 10, now::get);
+
+        // 调用，并断言：达到阈值才晋升为热点
+        assertFalse(detector.record("user:1"));
+        assertFalse(detector.record("user:1"));
+        assertFalse(detector.isHot("user:1"));
+        assertTrue(detector.record("user:1"));
+        assertTrue(detector.isHot("user:1"));
+        // 断言：热点信息
+        List<HotKeyDetector.HotKey> hotKeys = detector.getHotKeys();
+        assertEquals(1, hotKeys.size());
+        assertEquals("user:1", hotKeys.get(0).getKey());
+        assertEquals(3, hotKeys.get(0).getCount());
+        // 断言：其它 Key 不受影响
+        assertFalse(detector.record("user:2"));
+        assertFalse(detector.isHot("user:2"));
+    }
+
+    @Test
+    void testRecord_sameHashCode() {
+        // 准备参数："Aa" 与 "BB" 的 hashCode 相同
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        HotKeyDetector detector = new HotKeyDetector(WINDOW, 3, 10, now::get);
+        for (int i = 0; i < 3; i++) {
+            detector.record("Aa");
+        }
+
+        // 调用，并断言：每行的哈希独立，hashCode 相同的 Key 不会共享计数
+        assertTrue(detector.isHot("Aa"));
+        assertFalse(detector.record("BB"));
+        assertFalse(detector.isHot("BB"));
+    }
+
+    @Test
+    void testRecord_halfWindowRotate() {
+        // 准备参数
+        HotKeyDetector detector = new HotKeyDetector(WINDOW, 4, 10, now::get);
+        detector.record("user:1");
+        detector.record("user:1");
+
+        // 调用：过了半个窗口，前一个半窗口的计数仍然有效
+        now.addAndGet(HALF_WINDOW_NANOS);
+        assertFalse(detector.record("user:1"));
+        // 断言：两个半窗口之和达到阈值
+        assertTrue(detector.record("user:1"));
+
+        // 调用：再过半个窗口，最早的半窗口被丢弃
+        now.addAndGet(HALF_WINDOW_NANOS);
+        // 断言：上一个半窗口访问 2 次，不低于阈值的一半，仍然为热点
+        assertTrue(detector.isHot("user:1"));
+        // 断言：估算值只包含最近两个半窗口，2 + 1 次未达到阈值
+        assertFalse(detector.record("user:1"));
+        assertTrue(detector.record("user:1"));
+        assertEquals(4, detector.getHotKeys().get(0).getCount());
+    }
+
+    @Test
+    void testRecord_demote() {
+        // 准备参数
+        HotKeyDetector detector = new HotKeyDetector(WINDOW, 4, 10, now::get);
+        for (int i = 0; i < 4; i++) {
+            detector.record("user:1");
+        }
+        assertTrue(detector.isHot("user:1"));
+
+        // 调用：轮转后，上一个半窗口访问 4 次，保留
+        now.addAndGet(HALF_WINDOW_NANOS);
+        detector.record("user:1");
+        // 断言
+        assertTrue(detector.isHot("user:1"));
+
+        // 调用：再次轮转，上一个半窗口只访问 1 次，低于阈值的一半，移出热点列表
+        now.addAndGet(HALF_WINDOW_NANOS);
+        detector.record("user:2");
+        // 断言
+        assertFalse(detector.isHot("user:1"));
+        assertEquals(0, detector.getHotKeyCount());
+    }
+
+    @Test
+    void testRecord_idleOverWindow() {
+        // 准备参数
+        HotKeyDetector detector = new HotKeyDetector(WINDOW, 4, 10, now::get);
+        for (int i = 0; i < 4; i++) {
+            detector.record("user:1");
+        }
+
+        // 调用：超过一个窗口未访问，两个半窗口都已过期
+        now.addAndGet(WINDOW.toNanos() + 1);
+        // 断言：计数从零开始，并移出热点列表
+        assertFalse(detector.record("user:1"));
+        assertFalse(detector.isHot("user:1"));
+    }
+
+    @Test
+    void testRecord_maxHotKeys() {
+        // 准备参数
+        HotKeyDetector detector = new HotKeyDetector(WINDOW, 2, 2, now::get);
+
+        // 调用
+        for (String key : List.of("user:1", "user:2", "user:3")) {
+            detector.record(key);
+            detector.record(key);
+        }
+        // 断言：超过最大数量的热点不再记录
+        assertEquals(2, detector.getHotKeyCount());
+        assertTrue(detector.isHot("user:1"));
+        assertTrue(detector.isHot("user:2"));
+        assertFalse(detector.isHot("user:3"));
+        assertFalse(detector.record("user:3"));
+        // 断言：已有的热点不受影响
+        assertTrue(detector.record("user:1"));
+    }
+
+    @Test
+    void testGetHotKeys_sorted() {
+        // 准备参数
+        HotKeyDetector detector = new HotKeyDetector(WINDOW, 2, 10, now::get);
+        for (int i = 0; i < 2; i++) {
+            detector.record("user:1");
+        }
+        for (int i = 0; i < 5; i++) {
+            detector.record("user:2");
+        }
+
+        // 调用，并断言：按访问次数倒序
+        List<HotKeyDetector.HotKey> hotKeys = detector.getHotKeys();
+        assertEquals(List.of("user:2", "user:1"), hotKeys.stream().map(HotKeyDetector.HotKey::getKey).toList());
+        assertEquals(5, hotKeys.get(0).getCount());
+    }
+}
@@ -0,0 +1,73 @@
+package cn.jcodenest.framework.redis.core;
+
+import cn.jcodenest.framework.redis.config.properties.JCodeCacheProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link HotKeyEndpoint} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class HotKeyEndpointTest {
+
+    @Test
+    void testHotKeys_hashed() {
+        // 准备参数：Key 中包含租户编号、用户编号
+        HotKeyCacheManager cacheManager = buildCacheManager();
+        Cache cache = cacheManager.getCache("user");
+        for (int i = 0; i < 5; i++) {
+            cache.get("tenant-1:user-42");
+        }
+        cache.get("tenant-1:user-43");
+
+        // 调用
+        Map<String, List<HotKeyEndpoint.HotKeyView>> result = new HotKeyEndpoint(cacheManager).hotKeys();
+        // 断言：只返回热点 Key 的哈希值, 不返回原始 Key
+        List<HotKeyEndpoint.HotKeyView> hotKeys = result.get("user");
+        assertEquals(1, hotKeys.size());
+        HotKeyEndpoint.HotKeyView hotKey = hotKeys.get(0);
+        assertEquals(HotKeyEndpoint.hashKey("user:tenant-1:user-42"), hotKey.keyHash());
+        assertEquals(16, hotKey.keyHash().length());
+        assertFalse(result.toString().contains("user-42"));
+        assertTrue(hotKey.count() >= 3);
+        assertTrue(hotKey.since() > 0);
+    }
+
+    @Test
+    void testHotKeysOfCache() {
+        // 准备参数
+        HotKeyCacheManager cacheManager = buildCacheManager();
+        Cache cache = cacheManager.getCache("user");
+        for (int i = 0; i < 5; i++) {
+            cache.get("1");
+        }
+        cacheManager.getCache("role").get("1");
+
+        // 调用
+        HotKeyEndpoint endpoint = new HotKeyEndpoint(cacheManager);
+        // 断言：没有热点的缓存不返回
+        assertEquals(List.of("user"), List.copyOf(endpoint.hotKeys().keySet()));
+        assertEquals(1, endpoint.hotKeysOfCache("user").size());
+        assertEquals(List.of(), endpoint.hotKeysOfCache("role"));
+    }
+
+    private static HotKeyCacheManager buildCacheManager() {
+        JCodeCacheProperties.HotKey properties = new JCodeCacheProperties.HotKey();
+        properties.setWindow(Duration.ofMinutes(1));
+        properties.setThreshold(3);
+        return new HotKeyCacheManager(new ConcurrentMapCacheManager(), properties);
+    }
+}
@@ -0,0 +1,265 @@
+package cn.jcodenest.framework.redis.core;
+
+import com.github.fppt.jedismock.RedisServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link RedisBatchCacheTemplate} 的单元测试, 使用内嵌的 Redis 数据库
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class RedisBatchCacheTemplateTest {
+
+    private static RedisServer redisServer;
+
+    private static JedisConnectionFactory connectionFactory;
+
+    private RedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * 当前的租户编号, 作为缓存 Key 的命名空间
+     */
+    private final AtomicReference<String> tenantId = new AtomicReference<>();
+
+    /**
+     * loader 每次调用时传入的 Key
+     */
+    private final List<Collection<Long>> loadedKeys = new ArrayList<>();
+
+    private TimeoutRedisCacheManager cacheManager;
+
+    private RedisBatchCacheTemplate batchCacheTemplate;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redisServer = RedisServer.newRedisServer().start();
+        connectionFactory = new JedisConnectionFactory(
+                new RedisStandaloneConfiguration(redisServer.getHost(), redisServer.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(RedisSerializer.string());
+        redisTemplate.afterPropertiesSet();
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
+                .computePrefixWith(name -> name + ":")
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(RedisSerializer.json()));
+        cacheManager = new TimeoutRedisCacheManager(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory), config) {
+
+            @Override
+            protected String getKeyNamespace(String name) {
+                return tenantId.get();
+            }
+
+        };
+        batchCacheTemplate = new RedisBatchCacheTemplate(cacheManager, redisTemplate);
+    }
+
+    @Test
+    void testGetAll_loadsMissingKeysOnce() {
+        // 准备参数：1 已经缓存
+        cacheManager.getCache("user#1h").put(1L, "user-1-cached");
+
+        // 调用
+        Map<Long, String> result = batchCacheTemplate.getAll("user#1h", List.of(3L, 1L, 2L, 3L), this::load);
+        // 断言：只加载一次未命中的 Key, 结果按 keys 的顺序, 不包含不存在的 Key
+        assertEquals(List.of(List.of(3L, 2L)), loadedKeys);
+        assertEquals(List.of(3L, 1L), List.copyOf(result.keySet()));
+        assertEquals("user-1-cached", result.get(1L));
+        assertEquals("user-3", result.get(3L));
+
+        // 调用：再次读取, 不存在的 Key 已经缓存为 null, 不再加载
+        Map<Long, String> again = batchCacheTemplate.getAll("user#1h", List.of(1L, 2L, 3L), this::load);
+        // 断言
+        assertEquals(1, loadedKeys.size());
+        assertEquals(result, again);
+    }
+
+    @Test
+    void testGetAll_ttlPerKey() {
+        // 调用
+        batchCacheTemplate.getAll("user#1h", List.of(1L, 3L), this::load);
+
+        // 断言：每个 Key 都按缓存的过期时间设置
+        for (String key : List.of("user:1", "user:3")) {
+            Long ttl = redisTemplate.getExpire(key, TimeUnit.SECONDS);
+            assertNotNull(ttl);
+            assertTrue(ttl > 3500 && ttl <= 3600, "ttl of " + key + " = " + ttl);
+        }
+    }
+
+    @Test
+    void testGetAll_readableByRedisCache() {
+        // 调用
+        batchCacheTemplate.getAll("user#1h", List.of(1L, 2L), this::load);
+
+        // 断言：@Cacheable 使用的 RedisCache 可以读取批量写入的值, 包括 null 值
+        Cache cache = cacheManager.getCache("user#1h");
+        assertEquals("user-1", cache.get(1L).get());
+        Cache.ValueWrapper nullValue = cache.get(2L);
+        assertNotNull(nullValue);
+        assertNull(nullValue.get());
+    }
+
+    @Test
+    void testGetAll_tenantIsolation() {
+        // 调用
+        tenantId.set("1");
+        batchCacheTemplate.getAll("user#1h", List.of(1L), this::load);
+        tenantId.set("2");
+        batchCacheTemplate.getAll("user#1h", List.of(1L), this::load);
+
+        // 断言：每个租户各自加载, 写入各自的 Key
+        assertEquals(List.of(List.of(1L), List.of(1L)), loadedKeys);
+        assertTrue(redisTemplate.hasKey("user:1:1"));
+        assertTrue(redisTemplate.hasKey("user:2:1"));
+    }
+
+    @Test
+    void testGetAll_stampedeEnvelope() {
+        // 调用
+        batchCacheTemplate.getAll("user#1h#stale=10m", List.of(1L, 2L), this::load);
+
+        // 断言：与 put 一样包装, 过期时间为逻辑过期时间 + stale 时间
+        byte[] rawValue = redisTemplate.execute(connection -> connection.stringCommands().get("user:1".getBytes()), true);
+        assertInstanceOf(StampedeCacheValue.class, RedisSerializer.json().deserialize(rawValue));
+        Long ttl = redisTemplate.getExpire("user:1", TimeUnit.SECONDS);
+        assertNotNull(ttl);
+        assertTrue(ttl > 3600, "ttl = " + ttl);
+        // 断言：StampedeRedisCache、批量读取都能读取包装后的值
+        Cache cache = cacheManager.getCache("user#1h#stale=10m");
+        assertEquals("user-1", cache.get(1L).get());
+        assertNull(cache.get(2L).get());
+        assertEquals(Map.of(1L, "user-1"), batchCacheTemplate.getAll("user#1h#stale=10m", List.of(1L, 2L), this::load));
+        assertEquals(1, loadedKeys.size());
+    }
+
+    @Test
+    void testGetAll_stampedeLogicallyExpired() {
+        // 准备参数：1 已逻辑过期, 仍在 stale 时间内; 3 未过期
+        putCacheValue("user:1", "old-1", System.currentTimeMillis() - 1000L);
+        putCacheValue("user:3", "old-3", System.currentTimeMillis() + 60000L);
+
+        // 调用
+        Map<Long, String> result = batchCacheTemplate.getAll("user#1h#stale=10m", List.of(1L, 3L), keys -> {
+            // 断言：回源时持有刷新锁
+            assertTrue(redisTemplate.hasKey("user:1@lock"));
+            sleep(50L);
+            return load(keys);
+        });
+        // 断言：抢到刷新锁的 Key 回源, 未过期的 Key 直接返回
+        assertEquals(Map.of(1L, "user-1", 3L, "old-3"), result);
+        assertEquals(List.of(List.of(1L)), loadedKeys);
+        // 断言：写回后释放刷新锁, 并记录从读取到写回的回源耗时
+        assertFalse(redisTemplate.hasKey("user:1@lock"));
+        assertEquals(0, StampedeRedisCache.getRefreshCount());
+        StampedeCacheValue cacheValue = getCacheValue("user:1");
+        assertEquals("user-1", cacheValue.getValue());
+        assertTrue(cacheValue.getComputeTime() >= 50L, "computeTime = " + cacheValue.getComputeTime());
+        assertTrue(cacheValue.getExpireTime() > System.currentTimeMillis());
+    }
+
+    @Test
+    void testGetAll_stampedeLockedByOthers() {
+        // 准备参数：1 已逻辑过期, 刷新锁被其它请求持有
+        putCacheValue("user:1", "old-1", System.currentTimeMillis() - 1000L);
+        redisTemplate.opsForValue().set("user:1@lock", "1");
+
+        // 调用，并断言：未抢到刷新锁时返回旧值, 不回源
+        assertEquals(Map.of(1L, "old-1"), batchCacheTemplate.getAll("user#1h#stale=10m", List.of(1L), this::load));
+        assertTrue(loadedKeys.isEmpty());
+        assertEquals(0, StampedeRedisCache.getRefreshCount());
+    }
+
+    @Test
+    void testGetAll_stampedeLoaderFails() {
+        // 准备参数
+        putCacheValue("user:1", "old-1", System.currentTimeMillis() - 1000L);
+
+        // 调用
+        assertThrows(IllegalStateException.class, () -> batchCacheTemplate.getAll("user#1h#stale=10m", List.of(1L, 2L),
+                keys -> {
+                    throw new IllegalStateException("load failed");
+                }));
+        // 断言：回源失败时同样清理未命中的记录, 并释放刷新锁
+        assertFalse(redisTemplate.hasKey("user:1@lock"));
+        assertEquals(0, StampedeRedisCache.getRefreshCount());
+    }
+
+    /**
+     * 直接写入包装后的缓存值, 指定逻辑过期时间
+     */
+    private void putCacheValue(String key, Object value, long expireTime) {
+        byte[] rawValue = RedisSerializer.json().serialize(new StampedeCacheValue(value, expireTime, 10L));
+        redisTemplate.execute(connection -> connection.stringCommands().set(key.getBytes(), rawValue), true);
+    }
+
+    private StampedeCacheValue getCacheValue(String key) {
+        byte[] rawValue = redisTemplate.execute(connection -> connection.stringCommands().get(key.getBytes()), true);
+        return (StampedeCacheValue) RedisSerializer.json().deserialize(rawValue);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * 加载用户, 只存在奇数编号的用户
+     */
+    private Map<Long, String> load(Collection<Long> keys) {
+        loadedKeys.add(List.copyOf(keys));
+        Map<Long, String> result = new HashMap<>();
+        for (Long key : keys) {
+            if (key % 2 == 1) {
+                result.put(key, "user-" + key);
+            }
+        }
+        return result;
+    }
+}
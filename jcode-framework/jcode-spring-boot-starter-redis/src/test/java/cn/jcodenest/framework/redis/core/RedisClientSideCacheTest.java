@@ -0,0 +1,96 @@
+package cn.jcodenest.framework.redis.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RClientSideCaching;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.options.ClientSideCachingOptions;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.config.Config;
+import org.redisson.config.Protocol;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link RedisClientSideCache} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@ExtendWith(MockitoExtension.class)
+class RedisClientSideCacheTest {
+
+    @Mock
+    private RedissonClient redissonClient;
+    @Mock
+    private RClientSideCaching clientSideCaching;
+
+    private RedisClientSideCache clientSideCache;
+
+    @BeforeEach
+    void setUp() {
+        when(redissonClient.getClientSideCaching(any(ClientSideCachingOptions.class))).thenReturn(clientSideCaching);
+        clientSideCache = new RedisClientSideCache(redissonClient, List.of("api_signature_app", "config:"), 100,
+                Duration.ofMinutes(1));
+    }
+
+    @Test
+    void testSupports() {
+        // 调用，并断言：只有匹配前缀的 Key 走客户端缓存
+        assertTrue(clientSideCache.supports("api_signature_app"));
+        assertTrue(clientSideCache.supports("config:1"));
+        assertFalse(clientSideCache.supports("user:1"));
+        assertFalse(clientSideCache.supports("api_signature_nonce:1:2"));
+        assertFalse(clientSideCache.supports(null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testHashGet() {
+        // mock 方法
+        RMap<String, String> map = mock(RMap.class);
+        doReturn(map).when(clientSideCaching).getMap(eq("api_signature_app"), eq(StringCodec.INSTANCE));
+        when(map.get(eq("jcode"))).thenReturn("secret");
+
+        // 调用，并断言：使用 StringCodec，与 StringRedisTemplate 写入的格式一致
+        assertEquals("secret", clientSideCache.hashGet("api_signature_app", "jcode"));
+    }
+
+    @Test
+    void testDestroy_sharedClient() {
+        // 调用
+        clientSideCache.destroy();
+        // 断言：只销毁客户端缓存，不关闭外部传入的 Redisson 客户端
+        verify(clientSideCaching).destroy();
+        verify(redissonClient, never()).shutdown();
+    }
+
+    @Test
+    void testBuildResp3Config() {
+        // 准备参数
+        Config config = new Config();
+        config.useSingleServer().setAddress("redis://127.0.0.1:6379").setDatabase(3);
+
+        // 调用
+        Config resp3Config = RedisClientSideCache.buildResp3Config(config);
+        // 断言：独立客户端使用 RESP3，共享客户端的配置保持原有的协议
+        assertEquals(Protocol.RESP3, resp3Config.getProtocol());
+        assertEquals(Protocol.RESP2, config.getProtocol());
+        assertTrue(resp3Config.isSingleConfig());
+        assertNotSame(config, resp3Config);
+    }
+}
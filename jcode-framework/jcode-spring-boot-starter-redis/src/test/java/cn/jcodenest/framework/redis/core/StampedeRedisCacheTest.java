@@ -0,0 +1,382 @@
+package cn.jcodenest.framework.redis.core;
+
+import com.github.fppt.jedismock.RedisServer;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link StampedeRedisCache}、{@link StampedeRefreshInterceptor} 的单元测试, 使用内嵌的 Redis 数据库
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class StampedeRedisCacheTest {
+
+    private static RedisServer redisServer;
+
+    private static JedisConnectionFactory connectionFactory;
+
+    private StringRedisTemplate redisTemplate;
+
+    private RedisCacheConfiguration config;
+
+    private TimeoutRedisCacheManager cacheManager;
+
+    private final StampedeRefreshInterceptor interceptor = new StampedeRefreshInterceptor();
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redisServer = RedisServer.newRedisServer().start();
+        connectionFactory = new JedisConnectionFactory(
+                new RedisStandaloneConfiguration(redisServer.getHost(), redisServer.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+        config = RedisCacheConfiguration.defaultCacheConfig()
+                .computePrefixWith(name -> name + ":")
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(RedisSerializer.json()))
+                .entryTtl(Duration.ofHours(1));
+        cacheManager = new TimeoutRedisCacheManager(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory), config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        StampedeRedisCache.releaseRefreshes();
+    }
+
+    @Test
+    void testGet_sync() {
+        // 准备参数
+        Cache cache = cacheManager.getCache("user#1h#sync");
+        AtomicInteger loads = new AtomicInteger();
+
+        // 调用
+        String first = cache.get("1", () -> "jcode-" + loads.incrementAndGet());
+        String second = cache.get("1", () -> "jcode-" + loads.incrementAndGet());
+        // 断言
+        assertEquals("jcode-1", first);
+        assertEquals("jcode-1", second);
+        assertEquals(1, loads.get());
+        assertEquals(0, StampedeRedisCache.getRefreshCount());
+        assertFalse(redisTemplate.hasKey("user:1@lock"));
+    }
+
+    @Test
+    void testGet_syncLoaderFails() {
+        // 准备参数
+        Cache cache = cacheManager.getCache("user#1h#sync");
+
+        // 调用
+        assertThrows(Cache.ValueRetrievalException.class, () -> cache.get("1", () -> {
+            // 断言：回源时持有刷新锁
+            assertTrue(redisTemplate.hasKey("user:1@lock"));
+            throw new IllegalStateException("load failed");
+        }));
+        // 断言：回源失败时同样清理未命中的记录, 并释放刷新锁
+        assertEquals(0, StampedeRedisCache.getRefreshCount());
+        assertFalse(redisTemplate.hasKey("user:1@lock"));
+        assertEquals("jcode", cache.get("1", () -> "jcode"));
+    }
+
+    @Test
+    void testCacheable_methodFails() throws Throwable {
+        // 准备参数：写入后等待逻辑过期, 仍在 stale 时间内
+        Cache cache = cacheManager.getCache("user#1s#stale=1h");
+        cache.put("1", "jcode");
+        Thread.sleep(1100L);
+        // mock 方法：模拟 @Cacheable（sync = false）先 get, 方法抛出异常后不再 put
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.proceed()).thenAnswer(ignored -> {
+            assertNull(cache.get("1"));
+            assertTrue(redisTemplate.hasKey("user:1@lock"));
+            assertEquals(1, StampedeRedisCache.getRefreshCount());
+            throw new IllegalStateException("method failed");
+        });
+
+        // 调用
+        assertThrows(IllegalStateException.class, () -> interceptor.invoke(invocation));
+        // 断言：方法结束后清理未命中的记录, 并释放刷新锁, 下一次请求可以立即回源
+        assertEquals(0, StampedeRedisCache.getRefreshCount());
+        assertFalse(redisTemplate.hasKey("user:1@lock"));
+    }
+
+    @Test
+    void testCacheable_nested() throws Throwable {
+        // 准备参数
+        Cache cache = cacheManager.getCache("user#1h#stale=1h");
+        // mock 方法：外层方法未命中 1, 内层方法未命中 2 且不写入
+        MethodInvocation inner = mock(MethodInvocation.class);
+        when(inner.proceed()).thenAnswer(ignored -> cache.get("2"));
+        MethodInvocation outer = mock(MethodInvocation.class);
+        when(outer.proceed()).thenAnswer(ignored -> {
+            assertNull(cache.get("1"));
+            interceptor.invoke(inner);
+            // 断言：内层方法结束后, 不清理外层方法的记录
+            assertEquals(2, StampedeRedisCache.getRefreshCount());
+            cache.put("1", "jcode");
+            return null;
+        });
+
+        // 调用
+        interceptor.invoke(outer);
+        // 断言
+        assertEquals(0, StampedeRedisCache.getRefreshCount());
+        assertEquals("jcode", cache.get("1").get());
+    }
+
+    @Test
+    void testPut_nullValue() {
+        // 准备参数
+        Cache cache = cacheManager.getCache("user#1h#stale=1h");
+
+        // 调用
+        cache.put("1", null);
+        // 断言：包装内的 null 值读取为 null, 而不是 NullValue
+        Cache.ValueWrapper valueWrapper = cache.get("1");
+        assertNotNull(valueWrapper);
+        assertNull(valueWrapper.get());
+        assertNull(cache.get("1", () -> "jcode"));
+    }
+
+    @Test
+    void testPut_releasesRefresh() {
+        // 准备参数
+        Cache cache = cacheManager.getCache("user#1h#stale=1h");
+        assertNull(cache.get("1"));
+        assertEquals(1, StampedeRedisCache.getRefreshCount());
+
+        // 调用
+        cache.put("1", "jcode");
+        // 断言
+        assertEquals(0, StampedeRedisCache.getRefreshCount());
+        assertEquals("jcode", cache.get("1").get());
+    }
+
+    @Test
+    void testNextLogicalTtl_jitter() {
+        // 准备参数：jitter=10%
+        StampedeOptions options = new StampedeOptions(0.1D, 0D, null, StampedeOptions.DEFAULT_LOCK_TIMEOUT, false);
+
+        // 调用，并断言：过期时间在 [1h, 1.1h) 之间, 按随机数线性分布
+        assertEquals(Duration.ofMinutes(60), new StampedeTtlFunction(Duration.ofHours(1), options, () -> 0D).nextLogicalTtl());
+        assertEquals(Duration.ofMinutes(63), new StampedeTtlFunction(Duration.ofHours(1), options, () -> 0.5D).nextLogicalTtl());
+        Duration max = new StampedeTtlFunction(Duration.ofHours(1), options, () -> Math.nextDown(1D)).nextLogicalTtl();
+        assertTrue(max.compareTo(Duration.ofMinutes(66)) < 0);
+        assertTrue(max.compareTo(Duration.ofMinutes(66).minusSeconds(1)) > 0);
+    }
+
+    @Test
+    void testPut_jitter() {
+        // 准备参数：jitter=10%, 随机数固定为 0.5
+        Cache cache = createCache(new StampedeOptions(0.1D, 0D, null, StampedeOptions.DEFAULT_LOCK_TIMEOUT, false), 0.5D);
+
+        // 调用
+        cache.put("1", "jcode");
+        // 断言：Redis 中的过期时间为 1h + 3m
+        assertTtl(Duration.ofMinutes(63), redisTemplate.getExpire("user:1", TimeUnit.MILLISECONDS));
+        assertEquals("jcode", cache.get("1").get());
+    }
+
+    @Test
+    void testPut_jitterWithStale() {
+        // 准备参数：jitter=10%, stale=5m, 随机数固定为 0.5
+        Cache cache = createCache(new StampedeOptions(0.1D, 0D, Duration.ofMinutes(5), StampedeOptions.DEFAULT_LOCK_TIMEOUT, false), 0.5D);
+
+        // 调用
+        cache.put("1", "jcode");
+        // 断言：Redis 中的过期时间为逻辑过期时间 1h + 3m, 再加上 stale 时间 5m
+        assertTtl(Duration.ofMinutes(68), redisTemplate.getExpire("user:1", TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testGet_earlyRefreshNearExpiry() {
+        // 准备参数：early=1, 随机数固定为 0.5, 即提前 computeTime * ln(2) ≈ 6.9s 刷新
+        Cache cache = createCache(new StampedeOptions(0D, 1D, null, StampedeOptions.DEFAULT_LOCK_TIMEOUT, false), 0.5D);
+        putCacheValue("1", "jcode", System.currentTimeMillis() + 3000L, 10000L);
+
+        // 调用：距离逻辑过期 3s, 小于 6.9s, 抢到刷新锁的请求视为未命中
+        assertNull(cache.get("1"));
+        // 断言
+        assertTrue(redisTemplate.hasKey("user:1@lock"));
+        assertEquals(1, StampedeRedisCache.getRefreshCount());
+        // 断言：刷新期间其它请求继续返回旧值
+        assertEquals("jcode", cache.get("1").get());
+
+        // 调用：回源写入后释放刷新锁
+        cache.put("1", "jcode2");
+        // 断言
+        assertFalse(redisTemplate.hasKey("user:1@lock"));
+        assertEquals(0, StampedeRedisCache.getRefreshCount());
+        assertEquals("jcode2", cache.get("1").get());
+    }
+
+    @Test
+    void testGet_noEarlyRefreshFarFromExpiry() {
+        // 准备参数：early=1, 随机数固定为 0.5
+        Cache cache = createCache(new StampedeOptions(0D, 1D, null, StampedeOptions.DEFAULT_LOCK_TIMEOUT, false), 0.5D);
+        putCacheValue("1", "jcode", System.currentTimeMillis() + 60000L, 10000L);
+
+        // 调用，并断言：距离逻辑过期 60s, 大于 6.9s, 不提前刷新
+        assertEquals("jcode", cache.get("1").get());
+        assertFalse(redisTemplate.hasKey("user:1@lock"));
+        assertEquals(0, StampedeRedisCache.getRefreshCount());
+    }
+
+    @Test
+    void testGet_earlyRefreshByRandom() {
+        // 准备参数：距离逻辑过期 60s
+        long expireTime = System.currentTimeMillis() + 60000L;
+        putCacheValue("1", "jcode", expireTime, 10000L);
+
+        // 调用，并断言：随机数接近 1 时, 提前的时间接近 0, 不刷新
+        Cache cache01 = createCache(new StampedeOptions(0D, 1D, null, StampedeOptions.DEFAULT_LOCK_TIMEOUT, false), Math.nextDown(1D));
+        assertEquals("jcode", cache01.get("1").get());
+        assertFalse(redisTemplate.hasKey("user:1@lock"));
+        // 调用，并断言：随机数很小时, 提前 computeTime * -ln(1e-10) ≈ 230s, 刷新
+        Cache cache02 = createCache(new StampedeOptions(0D, 1D, null, StampedeOptions.DEFAULT_LOCK_TIMEOUT, false), 1e-10D);
+        assertNull(cache02.get("1"));
+        assertTrue(redisTemplate.hasKey("user:1@lock"));
+    }
+
+    @Test
+    void testRetrieve_unwrap() throws Exception {
+        // 准备参数
+        StampedeRedisCache cache = createAsyncCache(new StampedeOptions(0D, 0D, Duration.ofMinutes(5), StampedeOptions.DEFAULT_LOCK_TIMEOUT, false));
+        cache.put("1", "jcode");
+        cache.put("2", null);
+
+        // 调用，并断言：异步读取返回拆包后的值, 而不是 StampedeCacheValue
+        assertEquals("jcode", cache.retrieve("1").get().get());
+        Cache.ValueWrapper nullWrapper = cache.retrieve("2").get();
+        assertNotNull(nullWrapper);
+        assertNull(nullWrapper.get());
+        assertNull(cache.retrieve("3").get());
+    }
+
+    @Test
+    void testRetrieve_logicallyExpired() throws Exception {
+        // 准备参数：已逻辑过期, 仍在 stale 时间内
+        StampedeRedisCache cache = createAsyncCache(new StampedeOptions(0D, 0D, Duration.ofMinutes(5), StampedeOptions.DEFAULT_LOCK_TIMEOUT, false));
+        putCacheValue("1", "jcode", System.currentTimeMillis() - 1000L, 10L);
+
+        // 调用，并断言：异步读取无法持有刷新锁, 视为未命中, 由调用方回源
+        assertNull(cache.retrieve("1").get());
+        assertEquals("jcode2", cache.retrieve("1", () -> CompletableFuture.completedFuture("jcode2")).get());
+        assertFalse(redisTemplate.hasKey("user:1@lock"));
+        assertEquals(0, StampedeRedisCache.getRefreshCount());
+    }
+
+    @Test
+    void testRetrieve_loaderWraps() throws Exception {
+        // 准备参数：jitter=10%, stale=5m, 随机数固定为 0.5
+        StampedeRedisCache cache = createAsyncCache(new StampedeOptions(0.1D, 0D, Duration.ofMinutes(5), StampedeOptions.DEFAULT_LOCK_TIMEOUT, false));
+        AtomicInteger loads = new AtomicInteger();
+
+        // 调用
+        String first = cache.retrieve("1", () -> CompletableFuture.completedFuture("jcode-" + loads.incrementAndGet())).get();
+        String second = cache.retrieve("1", () -> CompletableFuture.completedFuture("jcode-" + loads.incrementAndGet())).get();
+        // 断言：写入的值同样包装, 过期时间为逻辑过期时间 1h + 3m, 再加上 stale 时间 5m
+        assertEquals("jcode-1", first);
+        assertEquals("jcode-1", second);
+        assertEquals(1, loads.get());
+        byte[] bytes = redisTemplate.execute(connection -> connection.stringCommands()
+                .get("user:1".getBytes(StandardCharsets.UTF_8)), true);
+        assertInstanceOf(StampedeCacheValue.class, config.getValueSerializationPair().read(ByteBuffer.wrap(bytes)));
+        assertTtl(Duration.ofMinutes(68), redisTemplate.getExpire("user:1", TimeUnit.MILLISECONDS));
+        assertEquals("jcode-1", cache.get("1").get());
+    }
+
+    /**
+     * 创建随机数固定的缓存, 过期时间为 1h
+     */
+    private StampedeRedisCache createCache(StampedeOptions options, double random) {
+        StampedeTtlFunction ttlFunction = new StampedeTtlFunction(Duration.ofHours(1), options, () -> random);
+        return new StampedeRedisCache("user", RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory),
+                config.entryTtl(ttlFunction), null, () -> "user:", options, ttlFunction);
+    }
+
+    /**
+     * 创建支持异步读取的缓存, 随机数固定为 0.5, 过期时间为 1h
+     * <p>
+     * Jedis 不支持异步读取, 因此由 RedisCacheWriter 的同步方法模拟
+     */
+    private StampedeRedisCache createAsyncCache(StampedeOptions options) {
+        RedisCacheWriter cacheWriter = spy(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory));
+        doReturn(true).when(cacheWriter).supportsAsyncRetrieve();
+        doAnswer(invocation -> CompletableFuture.completedFuture(
+                cacheWriter.get(invocation.getArgument(0), invocation.getArgument(1))))
+                .when(cacheWriter).retrieve(anyString(), any(byte[].class), any());
+        doAnswer(invocation -> {
+            cacheWriter.put(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2),
+                    invocation.getArgument(3));
+            return CompletableFuture.completedFuture(null);
+        }).when(cacheWriter).store(anyString(), any(byte[].class), any(byte[].class), any());
+        StampedeTtlFunction ttlFunction = new StampedeTtlFunction(Duration.ofHours(1), options, () -> 0.5D);
+        return new StampedeRedisCache("user", cacheWriter, config.entryTtl(ttlFunction), null, () -> "user:", options, ttlFunction);
+    }
+
+    /**
+     * 直接写入包装后的缓存值, 指定逻辑过期时间与回源耗时
+     */
+    private void putCacheValue(String key, Object value, long expireTime, long computeTime) {
+        byte[] bytes = ByteUtils.getBytes(config.getValueSerializationPair()
+                .write(new StampedeCacheValue(value, expireTime, computeTime)));
+        redisTemplate.execute(connection -> connection.stringCommands()
+                .set(("user:" + key).getBytes(StandardCharsets.UTF_8), bytes), true);
+    }
+
+    private static void assertTtl(Duration expected, Long actualMillis) {
+        assertNotNull(actualMillis);
+        // 允许写入到读取之间的耗时
+        assertTrue(actualMillis <= expected.toMillis(), "ttl " + actualMillis);
+        assertTrue(actualMillis > expected.minusSeconds(5).toMillis(), "ttl " + actualMillis);
+    }
+}
@@ -0,0 +1,237 @@
+package cn.jcodenest.framework.redis.core;
+
+import cn.jcodenest.framework.redis.config.properties.JCodeCacheProperties;
+import com.github.fppt.jedismock.RedisServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link TwoLevelCache}、{@link TwoLevelCacheManager} 的单元测试, 使用内嵌的 Redis 数据库
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class TwoLevelCacheTest {
+
+    private static RedisServer redisServer;
+
+    private static JedisConnectionFactory connectionFactory;
+
+    private StringRedisTemplate redisTemplate;
+
+    /**
+     * 当前的租户编号, 作为缓存 Key 的命名空间
+     */
+    private final AtomicReference<String> tenantId = new AtomicReference<>();
+
+    private final List<TwoLevelCacheManager> cacheManagers = new ArrayList<>();
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redisServer = RedisServer.newRedisServer().start();
+        connectionFactory = new JedisConnectionFactory(
+                new RedisStandaloneConfiguration(redisServer.getHost(), redisServer.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (TwoLevelCacheManager cacheManager : cacheManagers) {
+            cacheManager.destroy();
+        }
+    }
+
+    @Test
+    void testGet_copyOnRead() {
+        // 准备参数
+        Cache cache = createCacheManager(true).getCache("user");
+        cache.put("1", new ArrayList<>(List.of("jcode")));
+
+        // 调用：第一次读取回填 L1，修改 L1 返回的值
+        getValue(cache, "1");
+        @SuppressWarnings("unchecked")
+        List<String> first = (List<String>) getValue(cache, "1");
+        first.add("hacker");
+        Object second = getValue(cache, "1");
+
+        // 断言：L1 中的值不受影响
+        assertNotSame(first, second);
+        assertEquals(List.of("jcode"), second);
+    }
+
+    @Test
+    void testGet_withoutCopyOnRead() {
+        // 准备参数
+        Cache cache = createCacheManager(false).getCache("user");
+        cache.put("1", new ArrayList<>(List.of("jcode")));
+
+        // 调用
+        getValue(cache, "1");
+        Object first = getValue(cache, "1");
+        Object second = getValue(cache, "1");
+
+        // 断言：关闭时直接返回 L1 中的对象
+        assertSame(first, second);
+    }
+
+    @Test
+    void testGet_nullValue() {
+        // 准备参数
+        Cache cache = createCacheManager(true).getCache("user");
+        cache.put("1", null);
+
+        // 调用，并断言：缓存的 null 值同样命中 L1
+        assertNull(getValue(cache, "1"));
+        assertNull(getValue(cache, "1"));
+        assertEquals(1L, ((TwoLevelCache) cache).getRemoteHitCount());
+    }
+
+    @Test
+    void testClear_tenantScoped() {
+        // 准备参数：两个节点，节点 B 的 L1 缓存了两个租户的缓存项；
+        // 直接写入 L2，避免写入的广播晚于节点 B 的回填到达，删除刚回填的缓存项
+        TwoLevelCacheManager nodeA = createCacheManager(true);
+        TwoLevelCacheManager nodeB = createCacheManager(true);
+        TwoLevelCache cacheA = (TwoLevelCache) nodeA.getCache("user");
+        TwoLevelCache cacheB = (TwoLevelCache) nodeB.getCache("user");
+        tenantId.set("1");
+        cacheA.getRemoteCache().put("1", "tenant-1");
+        getValue(cacheA, "1");
+        getValue(cacheB, "1");
+        tenantId.set("2");
+        cacheA.getRemoteCache().put("1", "tenant-2");
+        getValue(cacheA, "1");
+        getValue(cacheB, "1");
+        assertEquals(2, cacheA.getLocalCache().asMap().size());
+        assertEquals(2, cacheB.getLocalCache().asMap().size());
+
+        // 调用：清空租户 1 的缓存
+        tenantId.set("1");
+        cacheA.clear();
+
+        // 断言：两个节点都只删除租户 1 的 L1 缓存项
+        assertEquals(List.of("user:2:1"), List.copyOf(cacheA.getLocalCache().asMap().keySet()));
+        await(() -> cacheB.getLocalCache().asMap().size() == 1);
+        assertEquals(List.of("user:2:1"), List.copyOf(cacheB.getLocalCache().asMap().keySet()));
+        assertNull(cacheA.get("1"));
+        tenantId.set("2");
+        assertEquals("tenant-2", getValue(cacheB, "1"));
+    }
+
+    @Test
+    void testEvict_broadcast() {
+        // 准备参数
+        TwoLevelCacheManager nodeA = createCacheManager(true);
+        TwoLevelCacheManager nodeB = createCacheManager(true);
+        Cache cacheA = nodeA.getCache("user");
+        TwoLevelCache cacheB = (TwoLevelCache) nodeB.getCache("user");
+        cacheA.put("1", "jcode");
+        getValue(cacheB, "1");
+
+        // 调用
+        cacheA.put("1", "jcode-v2");
+
+        // 断言：节点 B 的 L1 失效，重新读取到新值
+        await(() -> cacheB.getLocalCache().asMap().isEmpty());
+        assertEquals("jcode-v2", getValue(cacheB, "1"));
+    }
+
+    @Test
+    void testGetCache_ttlVariantsShareLocal() {
+        // 准备参数
+        TwoLevelCacheManager cacheManager = createCacheManager(true);
+        AtomicInteger created = new AtomicInteger();
+        cacheManager.addListener(cache -> created.incrementAndGet());
+
+        // 调用：同一个缓存的两种过期时间写法
+        TwoLevelCache shortCache = (TwoLevelCache) cacheManager.getCache("user#1s");
+        TwoLevelCache longCache = (TwoLevelCache) cacheManager.getCache("user#1h");
+        longCache.put("1", "jcode");
+        getValue(shortCache, "1");
+
+        // 断言：共享 L1，Metrics 等监听器只回调一次
+        assertNotSame(shortCache, longCache);
+        assertSame(shortCache.getLocalCache(), longCache.getLocalCache());
+        assertEquals(1, created.get());
+        // 断言：L1 的过期时间按写入的缓存计算
+        Duration expiresAfter = shortCache.getLocalCache().policy().expireVariably().orElseThrow()
+                .getExpiresAfter("user:1").orElseThrow();
+        assertTrue(expiresAfter.compareTo(Duration.ofSeconds(1)) <= 0);
+        // 断言：任一写法的写入，都会使同一节点内其它写法的 L1 失效
+        longCache.put("1", "jcode-v2");
+        assertEquals("jcode-v2", getValue(shortCache, "1"));
+    }
+
+    private TwoLevelCacheManager createCacheManager(boolean copyOnRead) {
+        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
+                .computePrefixWith(name -> name + ":");
+        TimeoutRedisCacheManager remoteCacheManager = new TimeoutRedisCacheManager(
+                RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory), config) {
+
+            @Override
+            protected String getKeyNamespace(String name) {
+                return tenantId.get();
+            }
+
+        };
+        JCodeCacheProperties.Local properties = new JCodeCacheProperties.Local();
+        properties.setCopyOnRead(copyOnRead);
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(remoteCacheManager, redisTemplate, properties);
+        cacheManager.afterPropertiesSet();
+        cacheManagers.add(cacheManager);
+        return cacheManager;
+    }
+
+    private static Object getValue(Cache cache, Object key) {
+        Cache.ValueWrapper valueWrapper = cache.get(key);
+        assertNotNull(valueWrapper);
+        return valueWrapper.get();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
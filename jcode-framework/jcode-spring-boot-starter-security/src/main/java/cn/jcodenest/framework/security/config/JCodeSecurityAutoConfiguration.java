@@ -3,19 +3,32 @@ package cn.jcodenest.framework.security.config;
 import cn.jcodenest.framework.common.biz.system.oauth2.OAuth2TokenCommonApi;
 import cn.jcodenest.framework.common.biz.system.permission.PermissionCommonApi;
 import cn.jcodenest.framework.security.config.properties.SecurityProperties;
+import cn.jcodenest.framework.security.core.cache.AccessTokenLocalCache;
 import cn.jcodenest.framework.security.core.content.TransmittableThreadLocalSecurityContextHolderStrategy;
+import cn.jcodenest.framework.security.core.enums.TokenVerifyModeEnum;
 import cn.jcodenest.framework.security.core.filter.TokenAuthenticationFilter;
 import cn.jcodenest.framework.security.core.handler.AccessDeniedHandlerImpl;
 import cn.jcodenest.framework.security.core.handler.AuthenticationEntryPointImpl;
+import cn.jcodenest.framework.security.core.rpc.LoginUserHeaderCodec;
 import cn.jcodenest.framework.security.core.service.SecurityFrameworkService;
 import cn.jcodenest.framework.security.core.service.SecurityFrameworkServiceImpl;
+import cn.jcodenest.framework.security.core.token.AccessTokenRevocationSet;
+import cn.jcodenest.framework.security.core.token.SignedAccessTokenVerifier;
 import cn.jcodenest.framework.web.core.handler.GlobalExceptionHandler;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.annotation.Resource;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.MethodInvokingFactoryBean;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureOrder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -71,12 +84,36 @@ public class JCodeSecurityAutoConfiguration {
         return new BCryptPasswordEncoder(securityProperties.getPasswordEncoderLength());
     }
 
+    /**
+     * 访问令牌本地缓存 Bean
+     */
+    @Bean
+    public AccessTokenLocalCache accessTokenLocalCache(OAuth2TokenCommonApi oauth2TokenApi) {
+        return new AccessTokenLocalCache(securityProperties, oauth2TokenApi);
+    }
+
+    /**
+     * login-user Header 编解码器 Bean
+     */
+    @Bean
+    public LoginUserHeaderCodec loginUserHeaderCodec() {
+        return new LoginUserHeaderCodec(securityProperties);
+    }
+
     /**
      * Token 认证过滤器 Bean
      */
     @Bean
-    public TokenAuthenticationFilter authenticationTokenFilter(GlobalExceptionHandler globalExceptionHandler, OAuth2TokenCommonApi oauth2TokenApi) {
-        return new TokenAuthenticationFilter(securityProperties, globalExceptionHandler, oauth2TokenApi);
+    public TokenAuthenticationFilter authenticationTokenFilter(GlobalExceptionHandler globalExceptionHandler,
+                                                               AccessTokenLocalCache accessTokenLocalCache,
+                                                               ObjectProvider<SignedAccessTokenVerifier> signedAccessTokenVerifierProvider,
+                                                               LoginUserHeaderCodec loginUserHeaderCodec) {
+        SignedAccessTokenVerifier signedAccessTokenVerifier = signedAccessTokenVerifierProvider.getIfAvailable();
+        if (securityProperties.getTokenVerifyMode() == TokenVerifyModeEnum.SIGNED && signedAccessTokenVerifier == null) {
+            throw new IllegalStateException("签名令牌模式依赖 Redis 同步吊销令牌, 请引入 spring-data-redis 依赖");
+        }
+        return new TokenAuthenticationFilter(securityProperties, globalExceptionHandler, accessTokenLocalCache,
+                signedAccessTokenVerifier, loginUserHeaderCodec);
     }
 
     /**
@@ -86,7 +123,7 @@ public class JCodeSecurityAutoConfiguration {
      */
     @Bean("ss")
     public SecurityFrameworkService securityFrameworkService(PermissionCommonApi permissionApi) {
-        return new SecurityFrameworkServiceImpl(permissionApi);
+        return new SecurityFrameworkServiceImpl(permissionApi, securityProperties.getPermissionSnapshotEnable());
     }
 
     /**
@@ -101,4 +138,40 @@ public class JCodeSecurityAutoConfiguration {
         methodInvokingFactoryBean.setArguments(TransmittableThreadLocalSecurityContextHolderStrategy.class.getName());
         return methodInvokingFactoryBean;
     }
+
+    /**
+     * 访问令牌本地缓存的 Metrics 配置, 暴露命中、未命中（即远程调用）、淘汰等统计
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterBinder.class)
+    @ConditionalOnProperty(prefix = "jcode.security", value = "token-cache-enable", havingValue = "true")
+    public static class AccessTokenLocalCacheMetricsConfiguration {
+
+        @Bean
+        public MeterBinder accessTokenLocalCacheMeterBinder(AccessTokenLocalCache accessTokenLocalCache) {
+            return registry -> CaffeineCacheMetrics.monitor(registry, accessTokenLocalCache.getNativeCache(), AccessTokenLocalCache.CACHE_NAME);
+        }
+    }
+
+    /**
+     * 签名令牌模式的配置, 本地校验访问令牌, 通过 Redis 同步吊销令牌集合
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(StringRedisTemplate.class)
+    @ConditionalOnProperty(prefix = "jcode.security", value = "token-verify-mode", havingValue = "SIGNED")
+    @EnableScheduling // 启用定时任务, 用于 AccessTokenRevocationSet 同步吊销令牌
+    public static class SignedAccessTokenConfiguration {
+
+        @Bean
+        public AccessTokenRevocationSet accessTokenRevocationSet(StringRedisTemplate stringRedisTemplate, SecurityProperties securityProperties) {
+            return new AccessTokenRevocationSet(stringRedisTemplate, securityProperties);
+        }
+
+        @Bean
+        public SignedAccessTokenVerifier signedAccessTokenVerifier(SecurityProperties securityProperties,
+                                                                   AccessTokenRevocationSet accessTokenRevocationSet,
+                                                                   AccessTokenLocalCache accessTokenLocalCache) {
+            return new SignedAccessTokenVerifier(securityProperties, accessTokenRevocationSet, accessTokenLocalCache);
+        }
+    }
 }
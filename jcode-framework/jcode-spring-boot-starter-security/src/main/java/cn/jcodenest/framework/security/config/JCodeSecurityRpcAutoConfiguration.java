@@ -2,6 +2,7 @@ package cn.jcodenest.framework.security.config;
 
 import cn.jcodenest.framework.common.biz.system.oauth2.OAuth2TokenCommonApi;
 import cn.jcodenest.framework.common.biz.system.permission.PermissionCommonApi;
+import cn.jcodenest.framework.security.core.rpc.LoginUserHeaderCodec;
 import cn.jcodenest.framework.security.core.rpc.LoginUserRequestInterceptor;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.cloud.openfeign.EnableFeignClients;
@@ -22,7 +23,7 @@ import org.springframework.context.annotation.Bean;
 public class JCodeSecurityRpcAutoConfiguration {
 
     @Bean
-    public LoginUserRequestInterceptor loginUserRequestInterceptor() {
-        return new LoginUserRequestInterceptor();
+    public LoginUserRequestInterceptor loginUserRequestInterceptor(LoginUserHeaderCodec loginUserHeaderCodec) {
+        return new LoginUserRequestInterceptor(loginUserHeaderCodec);
     }
 }
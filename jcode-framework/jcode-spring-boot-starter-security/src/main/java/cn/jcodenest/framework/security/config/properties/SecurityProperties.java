@@ -1,11 +1,13 @@
 package cn.jcodenest.framework.security.config.properties;
 
+import cn.jcodenest.framework.security.core.enums.TokenVerifyModeEnum;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 
@@ -61,4 +63,101 @@ public class SecurityProperties {
      * PasswordEncoder 加密复杂度, 越高开销越大
      */
     private Integer passwordEncoderLength = 4;
+
+    /**
+     * 访问令牌本地缓存的开关
+     *
+     * <p>开启后, 校验通过的访问令牌会在本地缓存, 避免每个请求都远程调用 OAuth2TokenCommonApi 校验</p>
+     * <p>注意: 令牌被移除后, 其它节点最多在 {@link #tokenCacheMaxTtl} 后才会感知</p>
+     */
+    @NotNull(message = "访问令牌本地缓存的开关不能为空")
+    private Boolean tokenCacheEnable = false;
+
+    /**
+     * 访问令牌本地缓存的最大数量
+     */
+    @NotNull(message = "访问令牌本地缓存的最大数量不能为空")
+    private Long tokenCacheMaximumSize = 10000L;
+
+    /**
+     * 访问令牌本地缓存的最大过期时间
+     *
+     * <p>实际过期时间取该值与令牌 expiresTime 中较早的一个</p>
+     */
+    @NotNull(message = "访问令牌本地缓存的最大过期时间不能为空")
+    private Duration tokenCacheMaxTtl = Duration.ofSeconds(30);
+
+    /**
+     * 校验不通过的访问令牌的本地缓存时间, 避免无效令牌反复远程校验
+     */
+    @NotNull(message = "校验不通过的访问令牌的本地缓存时间不能为空")
+    private Duration tokenCacheNegativeTtl = Duration.ofSeconds(5);
+
+    /**
+     * 访问令牌的校验模式, 默认远程校验
+     */
+    @NotNull(message = "访问令牌的校验模式不能为空")
+    private TokenVerifyModeEnum tokenVerifyMode = TokenVerifyModeEnum.REMOTE;
+
+    /**
+     * 签名令牌的 HMAC-SHA256 密钥, 需要与签发令牌的 system 服务保持一致
+     *
+     * <p>只有 tokenVerifyMode 为 {@link TokenVerifyModeEnum#SIGNED} 时才需要配置</p>
+     */
+    private String tokenSignSecret;
+
+    /**
+     * 签名令牌过期时间校验允许的时钟偏差
+     */
+    @NotNull(message = "签名令牌的时钟偏差不能为空")
+    private Duration tokenSignLeeway = Duration.ofSeconds(5);
+
+    /**
+     * 吊销令牌集合的增量同步间隔
+     */
+    @NotNull(message = "吊销令牌集合的增量同步间隔不能为空")
+    private Duration tokenRevocationSyncInterval = Duration.ofSeconds(5);
+
+    /**
+     * 吊销令牌集合的全量同步间隔, 全量同步时会重建布隆过滤器
+     */
+    @NotNull(message = "吊销令牌集合的全量同步间隔不能为空")
+    private Duration tokenRevocationFullSyncInterval = Duration.ofMinutes(10);
+
+    /**
+     * 吊销记录的保留时间, 需要不小于访问令牌的最大有效期
+     */
+    @NotNull(message = "吊销记录的保留时间不能为空")
+    private Duration tokenRevocationRetention = Duration.ofDays(1);
+
+    /**
+     * 吊销令牌布隆过滤器的预期数量
+     */
+    @NotNull(message = "吊销令牌布隆过滤器的预期数量不能为空")
+    private Integer tokenRevocationExpectedSize = 100000;
+
+    /**
+     * 服务间透传 login-user Header 是否使用紧凑格式编码
+     *
+     * <p>接收方同时兼容 JSON 与紧凑格式, 需要所有服务升级后再开启</p>
+     */
+    @NotNull(message = "login-user Header 紧凑格式的开关不能为空")
+    private Boolean loginUserHeaderCompactEnable = false;
+
+    /**
+     * 紧凑格式 login-user Header 的 HMAC 签名密钥, 为空时不签名
+     *
+     * <p>配置后, 发送方一律使用带签名的紧凑格式; 接收方只接受签名正确的紧凑格式 Header, 拒绝 JSON 格式与签名缺失、错误的 Header</p>
+     * <p>因此需要所有服务配置相同的密钥</p>
+     */
+    private String loginUserHeaderSecret;
+
+    /**
+     * 用户权限快照的开关
+     *
+     * <p>开启后, 每个用户通过一次远程调用加载全部权限与角色, 之后的权限、角色校验在本地完成</p>
+     * <p>需要 system 服务已提供 /permission/get-user-permission-list 接口; 加载失败时降级为逐项远程校验</p>
+     */
+    @NotNull(message = "用户权限快照的开关不能为空")
+    private Boolean permissionSnapshotEnable = false;
 }
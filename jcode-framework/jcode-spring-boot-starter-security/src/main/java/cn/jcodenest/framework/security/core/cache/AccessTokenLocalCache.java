@@ -0,0 +1,202 @@
+package cn.jcodenest.framework.security.core.cache;
+
+import cn.jcodenest.framework.common.biz.system.oauth2.OAuth2TokenCommonApi;
+import cn.jcodenest.framework.common.biz.system.oauth2.dto.OAuth2AccessTokenCheckRespDTO;
+import cn.jcodenest.framework.common.exception.ServiceException;
+import cn.jcodenest.framework.security.config.properties.SecurityProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * 访问令牌的本地缓存, 减少 {@link OAuth2TokenCommonApi#checkAccessToken(String)} 的远程调用
+ *
+ * <p>
+ * 缓存规则：
+ *  1. 校验通过的令牌, 在 expiresTime 与 {@link SecurityProperties#getTokenCacheMaxTtl()} 中较早的时间过期
+ *  2. 校验不通过的令牌, 在 {@link SecurityProperties#getTokenCacheNegativeTtl()} 后过期, 避免无效令牌反复远程校验
+ *  3. 同一令牌的并发校验, 由 Caffeine 合并为一次远程调用
+ *  4. 缓存的令牌信息被多个请求共享, 因此每次读取返回一份拷贝, 避免某个请求的修改影响其它请求
+ * </p>
+ *
+ * <p>未开启时, 直接远程调用校验, 不做任何缓存</p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/1
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+public class AccessTokenLocalCache {
+
+    /**
+     * 缓存名, 用于 Metrics 统计
+     */
+    public static final String CACHE_NAME = "jcode.security.access-token";
+
+    private final OAuth2TokenCommonApi oauth2TokenApi;
+
+    private final Duration maxTtl;
+
+    private final Duration negativeTtl;
+
+    /**
+     * Caffeine 缓存, 未开启时为 null
+     */
+    @Getter
+    private final Cache<String, CachedAccessToken> nativeCache;
+
+    public AccessTokenLocalCache(SecurityProperties securityProperties, OAuth2TokenCommonApi oauth2TokenApi) {
+        this(securityProperties, oauth2TokenApi, Ticker.systemTicker());
+    }
+
+    /**
+     * 构造器, 用于单元测试指定时钟
+     *
+     * @param securityProperties 安全配置
+     * @param oauth2TokenApi     OAuth2 令牌 API
+     * @param ticker             缓存过期使用的时钟
+     */
+    AccessTokenLocalCache(SecurityProperties securityProperties, OAuth2TokenCommonApi oauth2TokenApi, Ticker ticker) {
+        this.oauth2TokenApi = oauth2TokenApi;
+        this.maxTtl = securityProperties.getTokenCacheMaxTtl();
+        this.negativeTtl = securityProperties.getTokenCacheNegativeTtl();
+        this.nativeCache = Boolean.TRUE.equals(securityProperties.getTokenCacheEnable())
+                ? Caffeine.newBuilder()
+                .maximumSize(securityProperties.getTokenCacheMaximumSize())
+                .expireAfter(new CachedAccessTokenExpiry())
+                .ticker(ticker)
+                .recordStats()
+                .build()
+                : null;
+    }
+
+    /**
+     * 校验访问令牌
+     *
+     * <p>注意: 远程调用失败（非 {@link ServiceException}）时直接抛出, 不会被缓存</p>
+     *
+     * @param token 访问令牌
+     * @return 访问令牌信息, 校验不通过时返回 null；开启缓存时为缓存项的拷贝, 调用方可以修改
+     */
+    public OAuth2AccessTokenCheckRespDTO checkAccessToken(String token) {
+        if (nativeCache == null) {
+            return remoteCheckAccessToken(token).getAccessToken();
+        }
+
+        return copy(nativeCache.get(token, this::remoteCheckAccessToken).getAccessToken());
+    }
+
+    /**
+     * 移除本地缓存的访问令牌, 例如本节点处理了登出
+     *
+     * @param token 访问令牌
+     */
+    public void invalidate(String token) {
+        if (nativeCache != null) {
+            nativeCache.invalidate(token);
+        }
+    }
+
+    /**
+     * 远程校验访问令牌
+     *
+     * @param token 访问令牌
+     * @return 缓存项
+     */
+    private CachedAccessToken remoteCheckAccessToken(String token) {
+        try {
+            OAuth2AccessTokenCheckRespDTO accessToken = oauth2TokenApi.checkAccessToken(token).getCheckedData();
+            return new CachedAccessToken(accessToken, computeTtl(accessToken));
+        } catch (ServiceException serviceException) {
+            // 校验 Token 不通过时, 考虑到一些接口是无需登录的, 所以缓存为 null 即可
+            return new CachedAccessToken(null, negativeTtl.toNanos());
+        }
+    }
+
+    /**
+     * 计算缓存项的存活时间
+     *
+     * @param accessToken 访问令牌信息
+     * @return 存活时间, 单位: 纳秒
+     */
+    private long computeTtl(OAuth2AccessTokenCheckRespDTO accessToken) {
+        if (accessToken == null) {
+            return negativeTtl.toNanos();
+        }
+        if (accessToken.getExpiresTime() == null) {
+            return maxTtl.toNanos();
+        }
+
+        Duration remaining = Duration.between(LocalDateTime.now(), accessToken.getExpiresTime());
+        if (remaining.isNegative()) {
+            return 0L;
+        }
+        return Math.min(remaining.toNanos(), maxTtl.toNanos());
+    }
+
+    /**
+     * 拷贝访问令牌信息, 包括可变的 userInfo、scopes 集合
+     *
+     * @param accessToken 访问令牌信息
+     * @return 拷贝, accessToken 为 null 时返回 null
+     */
+    private static OAuth2AccessTokenCheckRespDTO copy(OAuth2AccessTokenCheckRespDTO accessToken) {
+        if (accessToken == null) {
+            return null;
+        }
+        OAuth2AccessTokenCheckRespDTO copy = new OAuth2AccessTokenCheckRespDTO();
+        copy.setUserId(accessToken.getUserId());
+        copy.setUserType(accessToken.getUserType());
+        copy.setUserInfo(accessToken.getUserInfo() != null ? new HashMap<>(accessToken.getUserInfo()) : null);
+        copy.setTenantId(accessToken.getTenantId());
+        copy.setScopes(accessToken.getScopes() != null ? new ArrayList<>(accessToken.getScopes()) : null);
+        copy.setExpiresTime(accessToken.getExpiresTime());
+        return copy;
+    }
+
+    /**
+     * 缓存项, accessToken 为 null 表示校验不通过
+     */
+    @Getter
+    public static class CachedAccessToken {
+
+        private final OAuth2AccessTokenCheckRespDTO accessToken;
+
+        private final long ttlNanos;
+
+        CachedAccessToken(OAuth2AccessTokenCheckRespDTO accessToken, long ttlNanos) {
+            this.accessToken = accessToken;
+            this.ttlNanos = ttlNanos;
+        }
+    }
+
+    /**
+     * 按缓存项各自的存活时间过期, 读取不延长存活时间
+     */
+    private static class CachedAccessTokenExpiry implements Expiry<String, CachedAccessToken> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedAccessToken value, long currentTime) {
+            return value.getTtlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedAccessToken value, long currentTime, long currentDuration) {
+            return value.getTtlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedAccessToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
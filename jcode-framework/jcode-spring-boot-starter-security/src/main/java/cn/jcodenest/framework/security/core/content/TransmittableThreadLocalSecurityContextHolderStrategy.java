@@ -1,6 +1,7 @@
 package cn.jcodenest.framework.security.core.content;
 
-import com.alibaba.ttl.TransmittableThreadLocal;
+import cn.jcodenest.framework.common.content.JCodeContext;
+import cn.jcodenest.framework.common.content.JCodeContextHolder;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.core.context.SecurityContextImpl;
@@ -10,6 +11,7 @@ import org.springframework.util.Assert;
  * 基于 TransmittableThreadLocal 实现的 Security Context 持有者策略
  *
  * <p>避免 @Async 等异步执行时, 原生 ThreadLocal 的丢失问题</p>
+ * <p>作为 {@link JCodeContext} 的视图, 读写其中的 securityContext, 与租户等上下文共用一个 TransmittableThreadLocal</p>
  *
  * @author JCodeNest
  * @version 1.0.0
@@ -20,17 +22,12 @@ import org.springframework.util.Assert;
  */
 public class TransmittableThreadLocalSecurityContextHolderStrategy implements SecurityContextHolderStrategy {
 
-    /**
-     * 使用 TransmittableThreadLocal 作为上下文
-     */
-    private static final ThreadLocal<SecurityContext> CONTEXT_HOLDER = new TransmittableThreadLocal<>();
-
     /**
      * 清理上下文
      */
     @Override
     public void clearContext() {
-        CONTEXT_HOLDER.remove();
+        JCodeContextHolder.update(context -> context.withSecurityContext(null));
     }
 
     /**
@@ -40,10 +37,10 @@ public class TransmittableThreadLocalSecurityContextHolderStrategy implements Se
      */
     @Override
     public SecurityContext getContext() {
-        SecurityContext ctx = CONTEXT_HOLDER.get();
+        SecurityContext ctx = (SecurityContext) JCodeContextHolder.get().getSecurityContext();
         if (ctx == null) {
             ctx = createEmptyContext();
-            CONTEXT_HOLDER.set(ctx);
+            setContext(ctx);
         }
 
         return ctx;
@@ -57,7 +54,7 @@ public class TransmittableThreadLocalSecurityContextHolderStrategy implements Se
     @Override
     public void setContext(SecurityContext context) {
         Assert.notNull(context, "Only non-null SecurityContext instances are permitted");
-        CONTEXT_HOLDER.set(context);
+        JCodeContextHolder.update(current -> current.withSecurityContext(context));
     }
 
     /**
@@ -0,0 +1,27 @@
+package cn.jcodenest.framework.security.core.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 访问令牌的校验模式枚举
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/1
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum TokenVerifyModeEnum {
+
+    REMOTE("远程校验, 调用 OAuth2TokenCommonApi 校验访问令牌"),
+    SIGNED("本地校验, 访问令牌为签名的自描述令牌（JWT）, 本地校验签名 + 吊销集合");
+
+    /**
+     * 描述
+     */
+    private final String description;
+}
@@ -2,14 +2,14 @@ package cn.jcodenest.framework.security.core.filter;
 
 import cn.hutool.core.util.ObjectUtil;
 import cn.hutool.core.util.StrUtil;
-import cn.jcodenest.framework.common.biz.system.oauth2.OAuth2TokenCommonApi;
 import cn.jcodenest.framework.common.biz.system.oauth2.dto.OAuth2AccessTokenCheckRespDTO;
-import cn.jcodenest.framework.common.exception.ServiceException;
 import cn.jcodenest.framework.common.pojo.CommonResult;
-import cn.jcodenest.framework.common.util.json.JsonUtils;
 import cn.jcodenest.framework.common.util.servlet.ServletUtils;
 import cn.jcodenest.framework.security.config.properties.SecurityProperties;
 import cn.jcodenest.framework.security.core.LoginUser;
+import cn.jcodenest.framework.security.core.cache.AccessTokenLocalCache;
+import cn.jcodenest.framework.security.core.rpc.LoginUserHeaderCodec;
+import cn.jcodenest.framework.security.core.token.SignedAccessTokenVerifier;
 import cn.jcodenest.framework.security.core.util.SecurityFrameworkUtils;
 import cn.jcodenest.framework.web.core.handler.GlobalExceptionHandler;
 import cn.jcodenest.framework.web.core.util.WebFrameworkUtils;
@@ -23,8 +23,6 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
 
 /**
  * Token 过滤器, 验证 token 的有效性
@@ -44,7 +42,14 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
 
     private final SecurityProperties securityProperties;
     private final GlobalExceptionHandler globalExceptionHandler;
-    private final OAuth2TokenCommonApi oauth2TokenApi;
+    private final AccessTokenLocalCache accessTokenCache;
+
+    /**
+     * 签名令牌的本地校验器, 仅 SIGNED 模式下不为 null
+     */
+    private final SignedAccessTokenVerifier signedAccessTokenVerifier;
+
+    private final LoginUserHeaderCodec loginUserHeaderCodec;
 
     /**
      * 过滤器逻辑
@@ -100,32 +105,29 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
      * @return LoginUser
      */
     private LoginUser buildLoginUserByToken(String token, Integer userType) {
-        try {
-            // 校验访问令牌
-            OAuth2AccessTokenCheckRespDTO accessToken = oauth2TokenApi.checkAccessToken(token).getCheckedData();
-            if (accessToken == null) {
-                return null;
-            }
-
-            // 用户类型不匹配, 无权限
-            // 注意：只有 /admin-api/* 和 /app-api/* 有 userType, 才需要比对用户类型. 类似 WebSocket 的 /ws/* 连接地址, 不需要比对用户类型
-            if (userType != null && ObjectUtil.notEqual(accessToken.getUserType(), userType)) {
-                throw new AccessDeniedException("错误的用户类型");
-            }
-
-            // 构建登录用户
-            return new LoginUser()
-                    .setId(accessToken.getUserId())
-                    .setUserType(accessToken.getUserType())
-                    // 额外的用户信息
-                    .setInfo(accessToken.getUserInfo())
-                    .setTenantId(accessToken.getTenantId())
-                    .setScopes(accessToken.getScopes())
-                    .setExpiresTime(accessToken.getExpiresTime());
-        } catch (ServiceException serviceException) {
-            // 校验 Token 不通过时, 考虑到一些接口是无需登录的, 所以直接返回 null 即可
+        // 校验访问令牌: SIGNED 模式下本地校验签名, 否则远程校验（优先读取本地缓存）
+        // 校验 Token 不通过时, 考虑到一些接口是无需登录的, 所以直接返回 null 即可
+        OAuth2AccessTokenCheckRespDTO accessToken = signedAccessTokenVerifier != null
+                ? signedAccessTokenVerifier.verify(token) : accessTokenCache.checkAccessToken(token);
+        if (accessToken == null) {
             return null;
         }
+
+        // 用户类型不匹配, 无权限
+        // 注意：只有 /admin-api/* 和 /app-api/* 有 userType, 才需要比对用户类型. 类似 WebSocket 的 /ws/* 连接地址, 不需要比对用户类型
+        if (userType != null && ObjectUtil.notEqual(accessToken.getUserType(), userType)) {
+            throw new AccessDeniedException("错误的用户类型");
+        }
+
+        // 构建登录用户
+        return new LoginUser()
+                .setId(accessToken.getUserId())
+                .setUserType(accessToken.getUserType())
+                // 额外的用户信息
+                .setInfo(accessToken.getUserInfo())
+                .setTenantId(accessToken.getTenantId())
+                .setScopes(accessToken.getScopes())
+                .setExpiresTime(accessToken.getExpiresTime());
     }
 
     /**
@@ -169,9 +171,8 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
         }
 
         try {
-            // 解码, 解决中文乱码问题
-            loginUserStr = URLDecoder.decode(loginUserStr, StandardCharsets.UTF_8);
-            LoginUser loginUser = JsonUtils.parseObject(loginUserStr, LoginUser.class);
+            // 解码, 兼容 JSON 与紧凑格式
+            LoginUser loginUser = loginUserHeaderCodec.decode(loginUserStr);
 
             // 用户类型不匹配, 无权限
             // 注意：只有 /admin-api/* 和 /app-api/* 有 userType 才需要比对用户类型, 类似 WebSocket 的 /ws/* 连接地址, 不需要比对用户类型
@@ -183,7 +184,6 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
             return loginUser;
         } catch (Exception ex) {
             log.error("[buildLoginUserByHeader][解析 LoginUser({}) 发生异常]", loginUserStr, ex);
-            ;
             throw ex;
         }
     }
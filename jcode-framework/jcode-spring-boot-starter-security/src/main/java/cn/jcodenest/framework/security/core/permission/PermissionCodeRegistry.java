@@ -0,0 +1,59 @@
+package cn.jcodenest.framework.security.core.permission;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 权限、角色标识的注册表, 将字符串标识映射为连续的整数编号, 便于 {@link UserPermissionSnapshot} 使用位图存储
+ *
+ * <p>权限、角色标识是有限集合, 因此注册表不做淘汰; 查询未注册的标识不会注册, 避免被任意字符串撑爆</p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/1
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+public class PermissionCodeRegistry {
+
+    /**
+     * 未注册的编号
+     */
+    public static final int NOT_FOUND = -1;
+
+    private final Map<String, Integer> codeIds = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    /**
+     * 获得标识的编号
+     *
+     * @param code 标识
+     * @return 编号, 未注册时返回 {@link #NOT_FOUND}
+     */
+    public int getId(String code) {
+        Integer id = codeIds.get(code);
+        return id != null ? id : NOT_FOUND;
+    }
+
+    /**
+     * 将标识集合转换为位图, 未注册的标识会被注册
+     *
+     * @param codes 标识集合
+     * @return 位图
+     */
+    public BitSet toBitSet(Collection<String> codes) {
+        BitSet bitSet = new BitSet();
+        if (codes == null) {
+            return bitSet;
+        }
+        for (String code : codes) {
+            bitSet.set(codeIds.computeIfAbsent(code, key -> nextId.getAndIncrement()));
+        }
+        return bitSet;
+    }
+}
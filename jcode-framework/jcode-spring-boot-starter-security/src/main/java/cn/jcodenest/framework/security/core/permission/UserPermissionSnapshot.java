@@ -0,0 +1,92 @@
+package cn.jcodenest.framework.security.core.permission;
+
+import lombok.Getter;
+
+import java.util.BitSet;
+
+/**
+ * 用户的权限快照, 使用 {@link PermissionCodeRegistry} 编号后的位图存储用户拥有的全部权限与角色
+ *
+ * <p>快照创建后不再修改, 可以在多线程下安全读取</p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/1
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+public class UserPermissionSnapshot {
+
+    /**
+     * 空快照, 用于没有任何权限的用户
+     */
+    public static final UserPermissionSnapshot EMPTY = new UserPermissionSnapshot(new PermissionCodeRegistry(), false, new BitSet(), new BitSet());
+
+    private final PermissionCodeRegistry registry;
+
+    /**
+     * 是否超级管理员, 超级管理员拥有全部权限
+     *
+     * <p>与 system 服务的 hasAnyPermissions 一致; 角色不做特殊处理, 仍按角色标识判断</p>
+     */
+    @Getter
+    private final boolean superAdmin;
+
+    /**
+     * 权限位图
+     */
+    @Getter
+    private final BitSet permissions;
+
+    /**
+     * 角色位图
+     */
+    @Getter
+    private final BitSet roles;
+
+    public UserPermissionSnapshot(PermissionCodeRegistry registry, boolean superAdmin, BitSet permissions, BitSet roles) {
+        this.registry = registry;
+        this.superAdmin = superAdmin;
+        this.permissions = permissions;
+        this.roles = roles;
+    }
+
+    /**
+     * 判断是否有权限, 任一一个即可
+     *
+     * @param codes 权限标识数组
+     * @return 是否
+     */
+    public boolean hasAnyPermissions(String... codes) {
+        // 超级管理员, 说明已经有权限
+        if (superAdmin) {
+            return true;
+        }
+        return containsAny(permissions, codes);
+    }
+
+    /**
+     * 判断是否有角色, 任一一个即可
+     *
+     * @param codes 角色标识数组
+     * @return 是否
+     */
+    public boolean hasAnyRoles(String... codes) {
+        return containsAny(roles, codes);
+    }
+
+    private boolean containsAny(BitSet bitSet, String... codes) {
+        // 为空, 说明已经有权限
+        if (codes.length == 0) {
+            return true;
+        }
+        for (String code : codes) {
+            int id = registry.getId(code);
+            if (id != PermissionCodeRegistry.NOT_FOUND && bitSet.get(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,289 @@
+package cn.jcodenest.framework.security.core.rpc;
+
+import cn.hutool.core.util.StrUtil;
+import cn.jcodenest.framework.common.core.KeyValue;
+import cn.jcodenest.framework.common.util.json.JsonUtils;
+import cn.jcodenest.framework.security.config.properties.SecurityProperties;
+import cn.jcodenest.framework.security.core.LoginUser;
+import cn.jcodenest.framework.security.core.util.SecurityFrameworkUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.SneakyThrows;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.*;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * {@link SecurityFrameworkUtils#LOGIN_USER_HEADER} 的编解码器
+ *
+ * <p>
+ * 支持两种格式：
+ *  1. JSON 格式：URL 编码的 JSON 字符串, 兼容存量服务
+ *  2. 紧凑格式：v1.{Base64URL(定长字段布局)}[.{Base64URL(HMAC-SHA256 前 16 字节)}], 配置 loginUserHeaderSecret 后携带签名
+ * </p>
+ *
+ * <p>
+ * 配置 loginUserHeaderSecret 后：
+ *  1. 编码一律使用带签名的紧凑格式
+ *  2. 解码只接受签名正确的紧凑格式, JSON 格式与缺少签名的紧凑格式一律拒绝, 避免伪造 LoginUser 绕过签名校验
+ * 未配置时, 两种格式均不签名, 解码同时兼容
+ * </p>
+ *
+ * <p>编码时, 结果按 {@link LoginUser} 实例缓存在本地, 同一请求的多次 Feign 调用只编码一次</p>
+ * <p>解码时, 紧凑格式的结果缓存在本地, 每次返回新的 {@link LoginUser} 副本, 避免请求之间互相修改</p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/1
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+public class LoginUserHeaderCodec {
+
+    /**
+     * 紧凑格式 v1 的前缀
+     */
+    private static final String COMPACT_V1_PREFIX = "v1.";
+
+    /**
+     * HMAC 签名截取的字节数
+     */
+    private static final int SIGNATURE_LENGTH = 16;
+
+    private static final int FLAG_ID = 1;
+    private static final int FLAG_USER_TYPE = 1 << 1;
+    private static final int FLAG_TENANT_ID = 1 << 2;
+    private static final int FLAG_EXPIRES_TIME = 1 << 3;
+    private static final int FLAG_VISIT_TENANT_ID = 1 << 4;
+    private static final int FLAG_SCOPES = 1 << 5;
+    private static final int FLAG_INFO = 1 << 6;
+
+    private static final Base64.Encoder BASE64_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64_DECODER = Base64.getUrlDecoder();
+
+    /**
+     * 是否使用紧凑格式编码
+     */
+    private final boolean compactEnable;
+
+    /**
+     * HMAC 原型, 使用时 clone 一份, 为 null 表示不签名
+     */
+    private final Mac macPrototype;
+
+    /**
+     * 编码缓存, KEY 为 LoginUser 实例（按引用比较, 弱引用, 请求结束后随 LoginUser 回收）, VALUE 为 [visitTenantId, 编码结果]
+     */
+    private final Cache<LoginUser, KeyValue<Long, String>> encodeCache = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(10240)
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .build();
+
+    /**
+     * 紧凑格式的解码缓存
+     */
+    private final Cache<String, LoginUser> decodeCache = Caffeine.newBuilder()
+            .maximumSize(1024)
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .build();
+
+    @SneakyThrows
+    public LoginUserHeaderCodec(SecurityProperties securityProperties) {
+        // 配置密钥时, 只有紧凑格式可以签名, 因此强制使用紧凑格式
+        this.compactEnable = Boolean.TRUE.equals(securityProperties.getLoginUserHeaderCompactEnable())
+                || StrUtil.isNotEmpty(securityProperties.getLoginUserHeaderSecret());
+        if (StrUtil.isNotEmpty(securityProperties.getLoginUserHeaderSecret())) {
+            this.macPrototype = Mac.getInstance("HmacSHA256");
+            this.macPrototype.init(new SecretKeySpec(securityProperties.getLoginUserHeaderSecret().getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        } else {
+            this.macPrototype = null;
+        }
+    }
+
+    /**
+     * 编码 LoginUser
+     *
+     * @param loginUser 登录用户
+     * @return Header 值
+     */
+    public String encode(LoginUser loginUser) {
+        if (!compactEnable) {
+            // 编码, 避免中文乱码
+            return URLEncoder.encode(JsonUtils.toJsonString(loginUser), StandardCharsets.UTF_8);
+        }
+
+        // visitTenantId 会在请求过程中被设置, 变化时需要重新编码
+        KeyValue<Long, String> cached = encodeCache.getIfPresent(loginUser);
+        if (cached != null && Objects.equals(cached.getKey(), loginUser.getVisitTenantId())) {
+            return cached.getValue();
+        }
+        String value = encodeCompact(loginUser);
+        encodeCache.put(loginUser, new KeyValue<>(loginUser.getVisitTenantId(), value));
+        return value;
+    }
+
+    /**
+     * 解码 LoginUser
+     *
+     * <p>未配置密钥时, 同时兼容 JSON 格式与紧凑格式; 配置密钥时, 只接受签名正确的紧凑格式</p>
+     *
+     * @param value Header 值
+     * @return 登录用户
+     * @throws IllegalArgumentException 配置密钥时, 格式不是紧凑格式, 或签名缺失、错误
+     */
+    public LoginUser decode(String value) {
+        if (!value.startsWith(COMPACT_V1_PREFIX)) {
+            // JSON 格式无法签名, 配置密钥时拒绝, 避免伪造 LoginUser
+            if (macPrototype != null) {
+                throw new IllegalArgumentException("LoginUser 缺少签名");
+            }
+            // 解码, 解决中文乱码问题
+            return JsonUtils.parseObject(URLDecoder.decode(value, StandardCharsets.UTF_8), LoginUser.class);
+        }
+
+        LoginUser template = decodeCache.get(value, this::decodeCompact);
+        return copy(template);
+    }
+
+    @SneakyThrows
+    private String encodeCompact(LoginUser loginUser) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        int flags = (loginUser.getId() != null ? FLAG_ID : 0)
+                | (loginUser.getUserType() != null ? FLAG_USER_TYPE : 0)
+                | (loginUser.getTenantId() != null ? FLAG_TENANT_ID : 0)
+                | (loginUser.getExpiresTime() != null ? FLAG_EXPIRES_TIME : 0)
+                | (loginUser.getVisitTenantId() != null ? FLAG_VISIT_TENANT_ID : 0)
+                | (loginUser.getScopes() != null ? FLAG_SCOPES : 0)
+                | (loginUser.getInfo() != null ? FLAG_INFO : 0);
+        out.writeByte(flags);
+        if (loginUser.getId() != null) {
+            out.writeLong(loginUser.getId());
+        }
+        if (loginUser.getUserType() != null) {
+            out.writeInt(loginUser.getUserType());
+        }
+        if (loginUser.getTenantId() != null) {
+            out.writeLong(loginUser.getTenantId());
+        }
+        if (loginUser.getExpiresTime() != null) {
+            out.writeLong(loginUser.getExpiresTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+        if (loginUser.getVisitTenantId() != null) {
+            out.writeLong(loginUser.getVisitTenantId());
+        }
+        if (loginUser.getScopes() != null) {
+            out.writeShort(loginUser.getScopes().size());
+            for (String scope : loginUser.getScopes()) {
+                out.writeUTF(scope);
+            }
+        }
+        if (loginUser.getInfo() != null) {
+            out.writeShort(loginUser.getInfo().size());
+            for (Map.Entry<String, String> entry : loginUser.getInfo().entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeBoolean(entry.getValue() != null);
+                if (entry.getValue() != null) {
+                    out.writeUTF(entry.getValue());
+                }
+            }
+        }
+        out.flush();
+
+        String payload = BASE64_ENCODER.encodeToString(bytes.toByteArray());
+        if (macPrototype == null) {
+            return COMPACT_V1_PREFIX + payload;
+        }
+        return COMPACT_V1_PREFIX + payload + StrUtil.DOT + BASE64_ENCODER.encodeToString(sign(payload));
+    }
+
+    @SneakyThrows
+    private LoginUser decodeCompact(String value) {
+        String body = value.substring(COMPACT_V1_PREFIX.length());
+        int dotIndex = body.indexOf('.');
+        String payload = dotIndex >= 0 ? body.substring(0, dotIndex) : body;
+
+        // 配置密钥时, 必须携带正确的签名
+        if (macPrototype != null) {
+            if (dotIndex < 0) {
+                throw new IllegalArgumentException("LoginUser 缺少签名");
+            }
+            byte[] signature = BASE64_DECODER.decode(body.substring(dotIndex + 1));
+            if (!MessageDigest.isEqual(signature, sign(payload))) {
+                throw new IllegalArgumentException("LoginUser 签名错误");
+            }
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(BASE64_DECODER.decode(payload)));
+        int flags = in.readUnsignedByte();
+        LoginUser loginUser = new LoginUser();
+        if ((flags & FLAG_ID) != 0) {
+            loginUser.setId(in.readLong());
+        }
+        if ((flags & FLAG_USER_TYPE) != 0) {
+            loginUser.setUserType(in.readInt());
+        }
+        if ((flags & FLAG_TENANT_ID) != 0) {
+            loginUser.setTenantId(in.readLong());
+        }
+        if ((flags & FLAG_EXPIRES_TIME) != 0) {
+            loginUser.setExpiresTime(LocalDateTime.ofInstant(Instant.ofEpochMilli(in.readLong()), ZoneId.systemDefault()));
+        }
+        if ((flags & FLAG_VISIT_TENANT_ID) != 0) {
+            loginUser.setVisitTenantId(in.readLong());
+        }
+        if ((flags & FLAG_SCOPES) != 0) {
+            int size = in.readUnsignedShort();
+            List<String> scopes = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                scopes.add(in.readUTF());
+            }
+            loginUser.setScopes(Collections.unmodifiableList(scopes));
+        }
+        if ((flags & FLAG_INFO) != 0) {
+            int size = in.readUnsignedShort();
+            Map<String, String> info = new HashMap<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                String key = in.readUTF();
+                info.put(key, in.readBoolean() ? in.readUTF() : null);
+            }
+            loginUser.setInfo(Collections.unmodifiableMap(info));
+        }
+        return loginUser;
+    }
+
+    @SneakyThrows
+    private byte[] sign(String payload) {
+        Mac mac = (Mac) macPrototype.clone();
+        return Arrays.copyOf(mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII)), SIGNATURE_LENGTH);
+    }
+
+    /**
+     * 复制 LoginUser, 不包括上下文
+     *
+     * @param template 模板
+     * @return 新的 LoginUser
+     */
+    private static LoginUser copy(LoginUser template) {
+        return new LoginUser()
+                .setId(template.getId())
+                .setUserType(template.getUserType())
+                .setTenantId(template.getTenantId())
+                .setExpiresTime(template.getExpiresTime())
+                .setVisitTenantId(template.getVisitTenantId())
+                .setScopes(template.getScopes())
+                .setInfo(template.getInfo());
+    }
+}
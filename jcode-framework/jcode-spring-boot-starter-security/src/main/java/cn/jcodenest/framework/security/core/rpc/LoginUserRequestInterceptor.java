@@ -1,15 +1,12 @@
 package cn.jcodenest.framework.security.core.rpc;
 
-import cn.jcodenest.framework.common.util.json.JsonUtils;
 import cn.jcodenest.framework.security.core.LoginUser;
 import cn.jcodenest.framework.security.core.util.SecurityFrameworkUtils;
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
-
 /**
  * LoginUser 的 RequestInterceptor 实现类
  *
@@ -23,8 +20,11 @@ import java.nio.charset.StandardCharsets;
  * All rights reserved.
  */
 @Slf4j
+@RequiredArgsConstructor
 public class LoginUserRequestInterceptor implements RequestInterceptor {
 
+    private final LoginUserHeaderCodec loginUserHeaderCodec;
+
     /**
      * 重写 apply 方法
      *
@@ -38,9 +38,8 @@ public class LoginUserRequestInterceptor implements RequestInterceptor {
         }
 
         try {
-            String userStr = JsonUtils.toJsonString(user);
-            // 编码, 避免中文乱码
-            userStr = URLEncoder.encode(userStr, StandardCharsets.UTF_8);
+            // 编码, 同一请求内的多次调用复用编码结果
+            String userStr = loginUserHeaderCodec.encode(user);
             // 设置到 header 中
             requestTemplate.header(SecurityFrameworkUtils.LOGIN_USER_HEADER, userStr);
         } catch (Exception ex) {
@@ -1,5 +1,7 @@
 package cn.jcodenest.framework.security.core.service;
 
+import java.util.Collection;
+
 /**
  * Security 框架 Service 接口, 定义权限相关校验操作
  *
@@ -61,4 +63,11 @@ public interface SecurityFrameworkService {
      * @return 是否
      */
     boolean hasAnyScopes(String... scope);
+
+    /**
+     * 批量预加载用户的权限, 避免后续校验时逐个远程加载
+     *
+     * @param userIds 用户编号集合
+     */
+    void preloadPermissions(Collection<Long> userIds);
 }
@@ -2,22 +2,35 @@ package cn.jcodenest.framework.security.core.service;
 
 import cn.hutool.core.collection.CollUtil;
 import cn.jcodenest.framework.common.biz.system.permission.PermissionCommonApi;
+import cn.jcodenest.framework.common.biz.system.permission.dto.UserPermissionRespDTO;
 import cn.jcodenest.framework.common.core.KeyValue;
 import cn.jcodenest.framework.common.util.cache.CacheUtils;
+import cn.jcodenest.framework.common.util.cache.LocalCacheRegistry;
+import cn.jcodenest.framework.common.util.collection.CollectionUtils;
 import cn.jcodenest.framework.security.core.LoginUser;
+import cn.jcodenest.framework.security.core.permission.PermissionCodeRegistry;
+import cn.jcodenest.framework.security.core.permission.UserPermissionSnapshot;
 import cn.jcodenest.framework.security.core.util.SecurityFrameworkUtils;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-import lombok.AllArgsConstructor;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
 
 import java.time.Duration;
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
 
 /**
  * 默认的 {@link SecurityFrameworkService} 实现类
  *
+ * <p>
+ * 权限、角色的校验有两种方式：
+ *  1. 默认：按 用户 + 权限组合 缓存 {@link PermissionCommonApi#hasAnyPermissions(Long, String...)}、
+ *     {@link PermissionCommonApi#hasAnyRoles(Long, String...)} 的结果
+ *  2. 开启 jcode.security.permission-snapshot-enable 后：通过 {@link PermissionCommonApi#getUserPermissionList(Collection)}
+ *     加载用户的全部权限与角色，在本地校验；需要 system 服务已提供该接口，加载失败时（例如 system 服务尚未升级）
+ *     降级为方式 1，并在 {@link #SNAPSHOT_RETRY_INTERVAL} 后再次尝试
+ * </p>
+ *
  * @author JCodeNest
  * @version 1.0.0
  * @since 2025/8/1
@@ -25,17 +38,86 @@ import java.util.List;
  * Copyright (c) 2025 JCodeNest-Cloud-Initializer
  * All rights reserved.
  */
-@AllArgsConstructor
+@Slf4j
 public class SecurityFrameworkServiceImpl implements SecurityFrameworkService {
 
+    /**
+     * 用户权限快照的缓存名, 用于广播失效
+     *
+     * <p>修改用户的角色、角色的权限后, 写入方以受影响的用户编号调用 {@link LocalCacheRegistry#publish(String, Collection)}</p>
+     */
+    public static final String USER_PERMISSION_CACHE_NAME = "security:user-permission";
+
+    /**
+     * {@link #hasAnyRoles(String...)} 的缓存名, key 为用户与角色的组合, 不参与广播失效
+     */
+    private static final String HAS_ANY_ROLES_CACHE_NAME = "security:has-any-roles";
+
+    /**
+     * {@link #hasAnyPermissions(String...)} 的缓存名, key 为用户与权限的组合, 不参与广播失效
+     */
+    private static final String HAS_ANY_PERMISSIONS_CACHE_NAME = "security:has-any-permissions";
+
+    /**
+     * 权限快照加载失败后，降级为逐项远程校验的时长
+     */
+    private static final Duration SNAPSHOT_RETRY_INTERVAL = Duration.ofMinutes(1L);
+
     private final PermissionCommonApi permissionApi;
 
     /**
-     * 针对 {@link #hasAnyRoles(String...)} 的缓存
+     * 是否开启用户权限快照
+     */
+    private final boolean permissionSnapshotEnable;
+
+    /**
+     * 权限快照下次允许加载的时间，加载失败后在此之前降级为逐项远程校验
+     */
+    private volatile long snapshotRetryTime;
+
+    /**
+     * 权限、角色标识的注册表
+     */
+    private final PermissionCodeRegistry permissionCodeRegistry = new PermissionCodeRegistry();
+
+    /**
+     * 用户权限快照的缓存, 每个用户加载一次全部权限与角色, 之后的校验在本地完成
+     */
+    private final LoadingCache<Long, UserPermissionSnapshot> userPermissionCache = CacheUtils.buildCache(
+            USER_PERMISSION_CACHE_NAME,
+            // 过期时间 1 分钟
+            Duration.ofMinutes(1L),
+            // 开启广播消费后, 依赖失效事件刷新, 过期时间延长为 10 分钟
+            Duration.ofMinutes(10L),
+            // 最多缓存 10000 个用户
+            10000L,
+            new CacheLoader<>() {
+
+                @Override
+                public UserPermissionSnapshot load(Long userId) {
+                    return CollUtil.getFirst(loadAll(Collections.singleton(userId)).values());
+                }
+
+                @Override
+                public Map<Long, UserPermissionSnapshot> loadAll(Set<? extends Long> userIds) {
+                    List<Long> userIdList = new ArrayList<>(userIds);
+                    Map<Long, UserPermissionRespDTO> permissionMap = CollectionUtils.convertMap(
+                            permissionApi.getUserPermissionList(userIdList).getCheckedData(), UserPermissionRespDTO::getUserId);
+                    // 未返回的用户, 视为没有任何权限
+                    return CollectionUtils.convertMap(userIdList, userId -> userId,
+                            userId -> buildSnapshot(permissionMap.get(userId)));
+                }
+            });
+
+    /**
+     * 针对 {@link #hasAnyRoles(String...)} 的缓存，未开启权限快照或快照加载失败时使用
      */
     private final LoadingCache<KeyValue<Long, List<String>>, Boolean> hasAnyRolesCache = CacheUtils.buildCache(
+            HAS_ANY_ROLES_CACHE_NAME,
             // 过期时间 1 分钟
             Duration.ofMinutes(1L),
+            // 最多缓存 10000 个用户与角色的组合
+            10000L,
             new CacheLoader<>() {
 
                 @Override
@@ -45,11 +127,14 @@ public class SecurityFrameworkServiceImpl implements SecurityFrameworkService {
             });
 
     /**
-     * 针对 {@link #hasAnyPermissions(String...)} 的缓存
+     * 针对 {@link #hasAnyPermissions(String...)} 的缓存，未开启权限快照或快照加载失败时使用
      */
     private final LoadingCache<KeyValue<Long, List<String>>, Boolean> hasAnyPermissionsCache = CacheUtils.buildCache(
+            HAS_ANY_PERMISSIONS_CACHE_NAME,
             // 过期时间 1 分钟
             Duration.ofMinutes(1L),
+            // 最多缓存 10000 个用户与权限的组合
+            10000L,
             new CacheLoader<>() {
 
                 @Override
@@ -58,6 +143,15 @@ public class SecurityFrameworkServiceImpl implements SecurityFrameworkService {
                 }
             });
 
+    public SecurityFrameworkServiceImpl(PermissionCommonApi permissionApi) {
+        this(permissionApi, false);
+    }
+
+    public SecurityFrameworkServiceImpl(PermissionCommonApi permissionApi, boolean permissionSnapshotEnable) {
+        this.permissionApi = permissionApi;
+        this.permissionSnapshotEnable = permissionSnapshotEnable;
+    }
+
     /**
      * 判断是否有权限
      *
@@ -89,6 +183,10 @@ public class SecurityFrameworkServiceImpl implements SecurityFrameworkService {
             return false;
         }
 
+        UserPermissionSnapshot snapshot = getSnapshot(userId);
+        if (snapshot != null) {
+            return snapshot.hasAnyPermissions(permissions);
+        }
         return hasAnyPermissionsCache.get(new KeyValue<>(userId, Arrays.asList(permissions)));
     }
 
@@ -125,6 +223,10 @@ public class SecurityFrameworkServiceImpl implements SecurityFrameworkService {
             return false;
         }
 
+        UserPermissionSnapshot snapshot = getSnapshot(userId);
+        if (snapshot != null) {
+            return snapshot.hasAnyRoles(roles);
+        }
         return hasAnyRolesCache.get(new KeyValue<>(userId, Arrays.asList(roles)));
     }
 
@@ -160,4 +262,77 @@ public class SecurityFrameworkServiceImpl implements SecurityFrameworkService {
 
         return CollUtil.containsAny(user.getScopes(), Arrays.asList(scope));
     }
+
+    /**
+     * 批量预加载用户的权限快照, 一次远程调用加载全部未缓存的用户
+     *
+     * <p>未开启权限快照或快照降级中时, 不执行任何操作</p>
+     *
+     * @param userIds 用户编号集合
+     */
+    @Override
+    public void preloadPermissions(Collection<Long> userIds) {
+        if (CollUtil.isEmpty(userIds) || !isSnapshotAvailable()) {
+            return;
+        }
+
+        try {
+            userPermissionCache.getAll(userIds);
+        } catch (Exception ex) {
+            degradeSnapshot(ex);
+        }
+    }
+
+    /**
+     * 注销本地缓存, 由 Spring 容器关闭时调用
+     */
+    public void close() {
+        LocalCacheRegistry.unregister(USER_PERMISSION_CACHE_NAME, userPermissionCache);
+        LocalCacheRegistry.unregister(HAS_ANY_ROLES_CACHE_NAME, hasAnyRolesCache);
+        LocalCacheRegistry.unregister(HAS_ANY_PERMISSIONS_CACHE_NAME, hasAnyPermissionsCache);
+    }
+
+    /**
+     * 获得用户的权限快照
+     *
+     * @param userId 用户编号
+     * @return 权限快照；未开启权限快照或加载失败时返回 null, 由调用方降级为逐项远程校验
+     */
+    private UserPermissionSnapshot getSnapshot(Long userId) {
+        if (!isSnapshotAvailable()) {
+            return null;
+        }
+
+        try {
+            return userPermissionCache.get(userId);
+        } catch (Exception ex) {
+            degradeSnapshot(ex);
+            return null;
+        }
+    }
+
+    private boolean isSnapshotAvailable() {
+        return permissionSnapshotEnable && System.currentTimeMillis() >= snapshotRetryTime;
+    }
+
+    private void degradeSnapshot(Exception ex) {
+        snapshotRetryTime = System.currentTimeMillis() + SNAPSHOT_RETRY_INTERVAL.toMillis();
+        log.warn("[degradeSnapshot][加载用户权限快照失败, {} 内降级为逐项远程校验]", SNAPSHOT_RETRY_INTERVAL, ex);
+    }
+
+    /**
+     * 构建用户的权限快照
+     *
+     * @param permission 用户权限
+     * @return 权限快照
+     */
+    private UserPermissionSnapshot buildSnapshot(UserPermissionRespDTO permission) {
+        if (permission == null) {
+            return UserPermissionSnapshot.EMPTY;
+        }
+
+        return new UserPermissionSnapshot(permissionCodeRegistry, Boolean.TRUE.equals(permission.getSuperAdmin()),
+                permissionCodeRegistry.toBitSet(permission.getPermissions()),
+                permissionCodeRegistry.toBitSet(permission.getRoles()));
+    }
 }
@@ -0,0 +1,195 @@
+package cn.jcodenest.framework.security.core.token;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.jcodenest.framework.security.config.properties.SecurityProperties;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 吊销令牌集合, 从 Redis 同步到内存, 供 {@link SignedAccessTokenVerifier} 本地判断令牌是否被吊销
+ *
+ * <p>
+ * Redis 存储结构：ZSET, member 为令牌的 jti, score 为吊销时间（毫秒）
+ * 内存存储结构：
+ *  1. 布隆过滤器：保留期内所有的吊销令牌, 全量同步时重建, 增量同步时追加
+ *  2. 精确集合：上次全量同步后新增的吊销令牌
+ * 清理：超过保留期的吊销记录, 由抢到清理锁的一个节点在全量同步时删除, 锁在一个全量同步间隔后自动过期
+ * </p>
+ *
+ * <p>
+ * 判断规则：
+ *  1. 在精确集合中, 一定被吊销
+ *  2. 仅布隆过滤器命中, 可能被吊销, 需要远程校验确认
+ *  3. 都未命中, 一定未被吊销
+ * </p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/1
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@Slf4j
+public class AccessTokenRevocationSet {
+
+    /**
+     * 吊销令牌的 Redis Key
+     *
+     * <p>KEY 格式: oauth2_access_token_revoked, VALUE 数据格式: ZSET [jti, 吊销时间]</p>
+     */
+    public static final String REDIS_KEY = "oauth2_access_token_revoked";
+
+    /**
+     * 清理过期吊销记录的锁的 Redis Key
+     */
+    public static final String CLEANUP_LOCK_KEY = "oauth2_access_token_revoked:cleanup_lock";
+
+    /**
+     * 布隆过滤器的误判率
+     */
+    private static final double BLOOM_FILTER_FPP = 0.01;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final SecurityProperties securityProperties;
+
+    /**
+     * 当前快照, 为 null 表示尚未完成首次全量同步
+     */
+    private volatile Snapshot snapshot;
+
+    public AccessTokenRevocationSet(StringRedisTemplate stringRedisTemplate, SecurityProperties securityProperties) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.securityProperties = securityProperties;
+    }
+
+    /**
+     * 是否一定被吊销
+     *
+     * @param jti 令牌编号
+     * @return 是否
+     */
+    public boolean isRevoked(String jti) {
+        Snapshot current = snapshot;
+        return current != null && current.recent.contains(jti);
+    }
+
+    /**
+     * 是否可能被吊销
+     *
+     * <p>尚未完成首次全量同步时, 一律视为可能被吊销, 避免漏判</p>
+     *
+     * @param jti 令牌编号
+     * @return 是否
+     */
+    public boolean mightBeRevoked(String jti) {
+        Snapshot current = snapshot;
+        return current == null || current.bloomFilter.mightContain(jti);
+    }
+
+    /**
+     * 吊销令牌, 写入 Redis 并更新本地集合
+     *
+     * <p>一般由签发令牌的 system 服务在登出、踢下线时调用</p>
+     *
+     * @param jti 令牌编号
+     */
+    public void revoke(String jti) {
+        stringRedisTemplate.opsForZSet().add(REDIS_KEY, jti, System.currentTimeMillis());
+        Snapshot current = snapshot;
+        if (current != null) {
+            current.add(jti);
+        }
+    }
+
+    /**
+     * 全量同步, 清理过期的吊销记录并重建布隆过滤器
+     */
+    @Scheduled(fixedDelayString = "${jcode.security.token-revocation-full-sync-interval:10m}")
+    public void fullSync() {
+        try {
+            long now = System.currentTimeMillis();
+            long minScore = now - securityProperties.getTokenRevocationRetention().toMillis();
+            cleanup(minScore);
+            Set<ZSetOperations.TypedTuple<String>> tuples = stringRedisTemplate.opsForZSet()
+                    .rangeByScoreWithScores(REDIS_KEY, minScore, Double.MAX_VALUE);
+
+            Snapshot newSnapshot = new Snapshot(BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8),
+                    Math.max(securityProperties.getTokenRevocationExpectedSize(), CollUtil.size(tuples)), BLOOM_FILTER_FPP), now);
+            CollUtil.emptyIfNull(tuples).forEach(tuple -> newSnapshot.bloomFilter.put(tuple.getValue()));
+            snapshot = newSnapshot;
+            log.info("[fullSync][同步吊销令牌({}) 个]", CollUtil.size(tuples));
+        } catch (Exception ex) {
+            log.error("[fullSync][同步吊销令牌发生异常]", ex);
+        }
+    }
+
+    /**
+     * 清理超过保留期的吊销记录
+     *
+     * <p>每个全量同步间隔内, 只有抢到锁的一个节点执行; 锁不主动释放, 过期后由下一个间隔的节点重新抢占</p>
+     *
+     * @param minScore 保留的最小吊销时间
+     */
+    private void cleanup(long minScore) {
+        Boolean locked = stringRedisTemplate.opsForValue().setIfAbsent(CLEANUP_LOCK_KEY, "1",
+                securityProperties.getTokenRevocationFullSyncInterval());
+        if (Boolean.TRUE.equals(locked)) {
+            stringRedisTemplate.opsForZSet().removeRangeByScore(REDIS_KEY, 0, minScore);
+        }
+    }
+
+    /**
+     * 增量同步, 拉取上次同步后新增的吊销记录
+     */
+    @Scheduled(fixedDelayString = "${jcode.security.token-revocation-sync-interval:5s}")
+    public void incrementalSync() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+
+        try {
+            long now = System.currentTimeMillis();
+            // 多拉取一个同步间隔, 容忍各节点之间的时钟偏差
+            long minScore = current.syncedTime - securityProperties.getTokenRevocationSyncInterval().toMillis();
+            Set<ZSetOperations.TypedTuple<String>> tuples = stringRedisTemplate.opsForZSet()
+                    .rangeByScoreWithScores(REDIS_KEY, minScore, Double.MAX_VALUE);
+            CollUtil.emptyIfNull(tuples).forEach(tuple -> current.add(tuple.getValue()));
+            current.syncedTime = now;
+        } catch (Exception ex) {
+            log.error("[incrementalSync][同步吊销令牌发生异常]", ex);
+        }
+    }
+
+    /**
+     * 吊销令牌集合的快照
+     */
+    private static class Snapshot {
+
+        private final BloomFilter<CharSequence> bloomFilter;
+
+        private final Set<String> recent = ConcurrentHashMap.newKeySet();
+
+        private volatile long syncedTime;
+
+        private Snapshot(BloomFilter<CharSequence> bloomFilter, long syncedTime) {
+            this.bloomFilter = bloomFilter;
+            this.syncedTime = syncedTime;
+        }
+
+        private void add(String jti) {
+            bloomFilter.put(jti);
+            recent.add(jti);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package cn.jcodenest.framework.security.core.token;
+
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.date.DateUtil;
+import cn.hutool.core.date.LocalDateTimeUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONArray;
+import cn.hutool.json.JSONObject;
+import cn.hutool.jwt.JWT;
+import cn.hutool.jwt.JWTValidator;
+import cn.hutool.jwt.RegisteredPayload;
+import cn.hutool.jwt.signers.JWTSigner;
+import cn.hutool.jwt.signers.JWTSignerUtil;
+import cn.jcodenest.framework.common.biz.system.oauth2.dto.OAuth2AccessTokenCheckRespDTO;
+import cn.jcodenest.framework.security.config.properties.SecurityProperties;
+import cn.jcodenest.framework.security.core.cache.AccessTokenLocalCache;
+import org.springframework.util.Assert;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 签名令牌的本地校验器, 校验签名、过期时间与吊销状态后直接构建访问令牌信息, 无需远程调用
+ *
+ * <p>
+ * 令牌格式：HS256 签名的 JWT, 由 system 服务签发, 载荷如下：
+ *  1. jti: 令牌编号, 用于吊销
+ *  2. exp: 过期时间（秒）
+ *  3. uid / utp / tid: 用户编号 / 用户类型 / 租户编号
+ *  4. scp / info: 授权范围 / 额外的用户信息
+ * </p>
+ *
+ * <p>以下情况降级为 {@link AccessTokenLocalCache} 远程校验: 非 JWT 格式的令牌（兼容存量令牌）、可能被吊销的令牌</p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/1
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+public class SignedAccessTokenVerifier {
+
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_USER_TYPE = "utp";
+    public static final String CLAIM_TENANT_ID = "tid";
+    public static final String CLAIM_SCOPES = "scp";
+    public static final String CLAIM_USER_INFO = "info";
+
+    private final JWTSigner signer;
+
+    private final long leewaySeconds;
+
+    private final AccessTokenRevocationSet revocationSet;
+
+    private final AccessTokenLocalCache accessTokenCache;
+
+    public SignedAccessTokenVerifier(SecurityProperties securityProperties, AccessTokenRevocationSet revocationSet,
+                                     AccessTokenLocalCache accessTokenCache) {
+        Assert.hasText(securityProperties.getTokenSignSecret(), "签名令牌模式下, tokenSignSecret 不能为空");
+        this.signer = JWTSignerUtil.hs256(securityProperties.getTokenSignSecret().getBytes(StandardCharsets.UTF_8));
+        this.leewaySeconds = securityProperties.getTokenSignLeeway().getSeconds();
+        this.revocationSet = revocationSet;
+        this.accessTokenCache = accessTokenCache;
+    }
+
+    /**
+     * 校验访问令牌
+     *
+     * @param token 访问令牌
+     * @return 访问令牌信息, 校验不通过时返回 null
+     */
+    public OAuth2AccessTokenCheckRespDTO verify(String token) {
+        // 非 JWT 格式的令牌, 兼容远程校验
+        if (StrUtil.count(token, '.') != 2) {
+            return accessTokenCache.checkAccessToken(token);
+        }
+
+        // 校验签名与过期时间
+        JWT jwt;
+        try {
+            jwt = JWT.of(token);
+            JWTValidator.of(jwt).validateAlgorithm(signer).validateDate(DateUtil.date(), leewaySeconds);
+        } catch (Exception ex) {
+            // 格式错误、签名错误、已过期, 均视为校验不通过
+            return null;
+        }
+        JSONObject payloads = jwt.getPayloads();
+        String jti = payloads.getStr(RegisteredPayload.JWT_ID);
+        Long expiresAt = payloads.getLong(RegisteredPayload.EXPIRES_AT);
+        if (StrUtil.isEmpty(jti) || expiresAt == null) {
+            return null;
+        }
+
+        // 校验吊销状态
+        if (revocationSet.isRevoked(jti)) {
+            return null;
+        }
+        if (revocationSet.mightBeRevoked(jti)) {
+            return accessTokenCache.checkAccessToken(token);
+        }
+
+        // 构建访问令牌信息
+        JSONArray scopes = payloads.getJSONArray(CLAIM_SCOPES);
+        JSONObject userInfo = payloads.getJSONObject(CLAIM_USER_INFO);
+        OAuth2AccessTokenCheckRespDTO accessToken = new OAuth2AccessTokenCheckRespDTO();
+        accessToken.setUserId(payloads.getLong(CLAIM_USER_ID));
+        accessToken.setUserType(payloads.getInt(CLAIM_USER_TYPE));
+        accessToken.setTenantId(payloads.getLong(CLAIM_TENANT_ID));
+        accessToken.setScopes(scopes != null ? scopes.toList(String.class) : null);
+        accessToken.setUserInfo(userInfo != null ? Convert.toMap(String.class, String.class, userInfo) : null);
+        accessToken.setExpiresTime(LocalDateTimeUtil.of(expiresAt * 1000));
+        return accessToken;
+    }
+}
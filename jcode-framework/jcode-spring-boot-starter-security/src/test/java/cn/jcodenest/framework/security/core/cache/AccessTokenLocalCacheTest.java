@@ -0,0 +1,160 @@
+package cn.jcodenest.framework.security.core.cache;
+
+import cn.jcodenest.framework.common.biz.system.oauth2.OAuth2TokenCommonApi;
+import cn.jcodenest.framework.common.biz.system.oauth2.dto.OAuth2AccessTokenCheckRespDTO;
+import cn.jcodenest.framework.common.exception.ServiceException;
+import cn.jcodenest.framework.common.pojo.CommonResult;
+import cn.jcodenest.framework.security.config.properties.SecurityProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link AccessTokenLocalCache} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/1
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@ExtendWith(MockitoExtension.class)
+class AccessTokenLocalCacheTest {
+
+    @Mock
+    private OAuth2TokenCommonApi oauth2TokenApi;
+
+    /**
+     * 缓存使用的时钟，单位：纳秒
+     */
+    private final AtomicLong nanos = new AtomicLong();
+
+    private AccessTokenLocalCache cache;
+
+    @BeforeEach
+    void setUp() {
+        SecurityProperties properties = new SecurityProperties();
+        properties.setTokenCacheEnable(true);
+        properties.setTokenCacheMaxTtl(Duration.ofSeconds(30));
+        properties.setTokenCacheNegativeTtl(Duration.ofSeconds(5));
+        cache = new AccessTokenLocalCache(properties, oauth2TokenApi, nanos::get);
+    }
+
+    @Test
+    void testCheckAccessToken_hit() {
+        // mock 方法
+        when(oauth2TokenApi.checkAccessToken("token")).thenReturn(CommonResult.success(buildAccessToken(1L)));
+
+        // 调用
+        OAuth2AccessTokenCheckRespDTO first = cache.checkAccessToken("token");
+        OAuth2AccessTokenCheckRespDTO second = cache.checkAccessToken("token");
+        // 断言
+        assertEquals(1L, first.getUserId());
+        assertEquals(1L, second.getUserId());
+        verify(oauth2TokenApi, times(1)).checkAccessToken("token");
+    }
+
+    @Test
+    void testCheckAccessToken_miss() {
+        // mock 方法
+        when(oauth2TokenApi.checkAccessToken("token01")).thenReturn(CommonResult.success(buildAccessToken(1L)));
+        when(oauth2TokenApi.checkAccessToken("token02")).thenReturn(CommonResult.success(buildAccessToken(2L)));
+
+        // 调用，并断言
+        assertEquals(1L, cache.checkAccessToken("token01").getUserId());
+        assertEquals(2L, cache.checkAccessToken("token02").getUserId());
+        verify(oauth2TokenApi, times(1)).checkAccessToken("token01");
+        verify(oauth2TokenApi, times(1)).checkAccessToken("token02");
+    }
+
+    @Test
+    void testCheckAccessToken_expireAfterMaxTtl() {
+        // mock 方法
+        when(oauth2TokenApi.checkAccessToken("token")).thenReturn(CommonResult.success(buildAccessToken(1L)));
+
+        // 调用：未超过 maxTtl 时命中缓存，超过后重新远程校验
+        cache.checkAccessToken("token");
+        nanos.addAndGet(Duration.ofSeconds(29).toNanos());
+        cache.checkAccessToken("token");
+        verify(oauth2TokenApi, times(1)).checkAccessToken("token");
+        nanos.addAndGet(Duration.ofSeconds(2).toNanos());
+        cache.checkAccessToken("token");
+        // 断言
+        verify(oauth2TokenApi, times(2)).checkAccessToken("token");
+    }
+
+    @Test
+    void testCheckAccessToken_expireAtExpiresTime() {
+        // mock 方法：令牌 10 秒后过期，早于 maxTtl
+        OAuth2AccessTokenCheckRespDTO accessToken = buildAccessToken(1L);
+        accessToken.setExpiresTime(LocalDateTime.now().plusSeconds(10));
+        when(oauth2TokenApi.checkAccessToken("token")).thenReturn(CommonResult.success(accessToken));
+
+        // 调用
+        cache.checkAccessToken("token");
+        nanos.addAndGet(Duration.ofSeconds(11).toNanos());
+        cache.checkAccessToken("token");
+        // 断言
+        verify(oauth2TokenApi, times(2)).checkAccessToken("token");
+    }
+
+    @Test
+    void testCheckAccessToken_negative() {
+        // mock 方法
+        when(oauth2TokenApi.checkAccessToken("token")).thenThrow(new ServiceException(401, "令牌无效"));
+
+        // 调用：校验不通过的结果缓存 negativeTtl
+        assertNull(cache.checkAccessToken("token"));
+        assertNull(cache.checkAccessToken("token"));
+        verify(oauth2TokenApi, times(1)).checkAccessToken("token");
+        nanos.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertNull(cache.checkAccessToken("token"));
+        // 断言
+        verify(oauth2TokenApi, times(2)).checkAccessToken("token");
+    }
+
+    @Test
+    void testCheckAccessToken_copyOnRead() {
+        // mock 方法
+        when(oauth2TokenApi.checkAccessToken("token")).thenReturn(CommonResult.success(buildAccessToken(1L)));
+
+        // 调用：修改第一次读取的结果
+        OAuth2AccessTokenCheckRespDTO first = cache.checkAccessToken("token");
+        first.setUserId(2L);
+        first.getUserInfo().put("nickname", "hacker");
+        first.getScopes().add("admin");
+        OAuth2AccessTokenCheckRespDTO second = cache.checkAccessToken("token");
+
+        // 断言：第二次读取不受影响
+        assertNotSame(first, second);
+        assertEquals(1L, second.getUserId());
+        assertEquals("jcode", second.getUserInfo().get("nickname"));
+        assertEquals(List.of("user_info"), second.getScopes());
+    }
+
+    private static OAuth2AccessTokenCheckRespDTO buildAccessToken(Long userId) {
+        OAuth2AccessTokenCheckRespDTO accessToken = new OAuth2AccessTokenCheckRespDTO();
+        accessToken.setUserId(userId);
+        accessToken.setUserType(1);
+        accessToken.setTenantId(1L);
+        Map<String, String> userInfo = new HashMap<>();
+        userInfo.put("nickname", "jcode");
+        accessToken.setUserInfo(userInfo);
+        accessToken.setScopes(new ArrayList<>(List.of("user_info")));
+        return accessToken;
+    }
+}
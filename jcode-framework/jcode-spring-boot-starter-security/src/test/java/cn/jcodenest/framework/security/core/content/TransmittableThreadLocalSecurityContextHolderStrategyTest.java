@@ -0,0 +1,119 @@
+package cn.jcodenest.framework.security.core.content;
+
+import cn.jcodenest.framework.common.content.JCodeContext;
+import cn.jcodenest.framework.common.content.JCodeContextHolder;
+import com.alibaba.ttl.threadpool.TtlExecutors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link TransmittableThreadLocalSecurityContextHolderStrategy} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class TransmittableThreadLocalSecurityContextHolderStrategyTest {
+
+    private final TransmittableThreadLocalSecurityContextHolderStrategy strategy = new TransmittableThreadLocalSecurityContextHolderStrategy();
+
+    @BeforeEach
+    void setUp() {
+        JCodeContextHolder.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        JCodeContextHolder.clear();
+    }
+
+    @Test
+    void testGetContext_empty() {
+        // 调用
+        SecurityContext context = strategy.getContext();
+        // 断言：不存在时创建空的上下文，并写入共享的上下文
+        assertNotNull(context);
+        assertNull(context.getAuthentication());
+        assertSame(context, strategy.getContext());
+        assertSame(context, JCodeContextHolder.get().getSecurityContext());
+    }
+
+    @Test
+    void testSetContext() {
+        // 准备参数
+        SecurityContext context = buildContext("jcode");
+
+        // 调用
+        strategy.setContext(context);
+        // 断言
+        assertSame(context, strategy.getContext());
+        // 调用，并断言：不允许设置 null
+        assertThrows(IllegalArgumentException.class, () -> strategy.setContext(null));
+        assertSame(context, strategy.getContext());
+    }
+
+    @Test
+    void testClearContext() {
+        // 准备参数：其它模块写入的内容
+        JCodeContextHolder.update(context -> context.withTenantId(1L).pushEnvTag("dev"));
+        strategy.setContext(buildContext("jcode"));
+
+        // 调用
+        strategy.clearContext();
+        // 断言：只清理 SecurityContext，不影响其它模块
+        assertNull(JCodeContextHolder.get().getSecurityContext());
+        assertEquals(1L, JCodeContextHolder.get().getTenantId());
+        assertEquals("dev", JCodeContextHolder.get().getEnvTags().get(0));
+
+        // 调用，并断言：只有 SecurityContext 时，清理后上下文为空
+        JCodeContextHolder.clear();
+        strategy.setContext(buildContext("jcode"));
+        strategy.clearContext();
+        assertSame(JCodeContext.EMPTY, JCodeContextHolder.get());
+    }
+
+    @Test
+    void testPropagation_childThread() throws Exception {
+        // 准备参数：线程池的线程在登录之前创建，只能通过 TTL 传递
+        ExecutorService executor = TtlExecutors.getTtlExecutorService(Executors.newSingleThreadExecutor());
+        try {
+            executor.submit(() -> null).get(1, TimeUnit.SECONDS);
+            SecurityContext context = buildContext("jcode");
+            strategy.setContext(context);
+
+            // 调用：子线程读取后切换用户
+            SecurityContext childContext = executor.submit(() -> {
+                SecurityContext current = strategy.getContext();
+                strategy.setContext(buildContext("other"));
+                return current;
+            }).get(1, TimeUnit.SECONDS);
+            // 断言：子线程继承父线程的 SecurityContext，切换用户不影响父线程
+            assertSame(context, childContext);
+            assertSame(context, strategy.getContext());
+
+            // 调用：父线程清理后提交
+            strategy.clearContext();
+            // 断言
+            assertNull(executor.submit(() -> JCodeContextHolder.get().getSecurityContext()).get(1, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static SecurityContext buildContext(String username) {
+        return new SecurityContextImpl(new UsernamePasswordAuthenticationToken(username, null));
+    }
+}
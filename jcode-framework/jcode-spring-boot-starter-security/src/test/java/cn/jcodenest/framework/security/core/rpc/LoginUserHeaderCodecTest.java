@@ -0,0 +1,174 @@
+package cn.jcodenest.framework.security.core.rpc;
+
+import cn.jcodenest.framework.common.util.json.JsonUtils;
+import cn.jcodenest.framework.security.config.properties.SecurityProperties;
+import cn.jcodenest.framework.security.core.LoginUser;
+import org.junit.jupiter.api.Test;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link LoginUserHeaderCodec} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/1
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class LoginUserHeaderCodecTest {
+
+    private static final String SECRET = "jcode-login-user-secret";
+
+    @Test
+    void testRoundTrip_signed() {
+        // 准备参数
+        LoginUserHeaderCodec codec = buildCodec(false, SECRET);
+        LoginUser loginUser = buildLoginUser();
+
+        // 调用
+        String value = codec.encode(loginUser);
+        LoginUser result = codec.decode(value);
+        // 断言：配置密钥时，即使未开启紧凑格式，也使用带签名的紧凑格式
+        assertTrue(value.startsWith("v1."));
+        assertEquals(3, value.split("\\.").length);
+        assertLoginUserEquals(loginUser, result);
+    }
+
+    @Test
+    void testRoundTrip_unsigned() {
+        // 准备参数
+        LoginUserHeaderCodec codec = buildCodec(true, null);
+        LoginUser loginUser = buildLoginUser();
+
+        // 调用
+        String value = codec.encode(loginUser);
+        LoginUser result = codec.decode(value);
+        // 断言
+        assertTrue(value.startsWith("v1."));
+        assertEquals(2, value.split("\\.").length);
+        assertLoginUserEquals(loginUser, result);
+    }
+
+    @Test
+    void testDecode_tamperedSignature() {
+        // 准备参数：替换载荷为其它用户的载荷，保留原签名
+        LoginUserHeaderCodec codec = buildCodec(true, SECRET);
+        String value = codec.encode(buildLoginUser());
+        String otherValue = codec.encode(buildLoginUser().setId(1L));
+        String[] parts = value.split("\\.");
+        String tampered = parts[0] + "." + otherValue.split("\\.")[1] + "." + parts[2];
+
+        // 调用，并断言
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(tampered));
+    }
+
+    @Test
+    void testDecode_wrongSecret() {
+        // 准备参数：使用其它密钥签名
+        String value = buildCodec(true, "other-secret").encode(buildLoginUser());
+
+        // 调用，并断言
+        assertThrows(IllegalArgumentException.class, () -> buildCodec(true, SECRET).decode(value));
+    }
+
+    @Test
+    void testDecode_missingSignature() {
+        // 准备参数：未签名的紧凑格式
+        String value = buildCodec(true, null).encode(buildLoginUser());
+
+        // 调用，并断言
+        assertThrows(IllegalArgumentException.class, () -> buildCodec(true, SECRET).decode(value));
+    }
+
+    @Test
+    void testDecode_legacyJsonRejectedWithSecret() {
+        // 准备参数：伪造的 JSON 格式
+        String value = URLEncoder.encode(JsonUtils.toJsonString(buildLoginUser().setId(1L)), StandardCharsets.UTF_8);
+
+        // 调用，并断言
+        assertThrows(IllegalArgumentException.class, () -> buildCodec(true, SECRET).decode(value));
+    }
+
+    @Test
+    void testDecode_legacyJsonWithoutSecret() {
+        // 准备参数
+        LoginUser loginUser = buildLoginUser();
+        String value = buildCodec(false, null).encode(loginUser);
+
+        // 调用
+        LoginUser result = buildCodec(false, null).decode(value);
+        // 断言
+        assertFalse(value.startsWith("v1."));
+        assertLoginUserEquals(loginUser, result);
+    }
+
+    @Test
+    void testDecode_returnsCopy() {
+        // 准备参数
+        LoginUserHeaderCodec codec = buildCodec(true, SECRET);
+        String value = codec.encode(buildLoginUser());
+
+        // 调用：修改第一次解码的结果
+        LoginUser first = codec.decode(value);
+        first.setVisitTenantId(2048L);
+        LoginUser second = codec.decode(value);
+        // 断言：缓存的解码结果不受影响
+        assertNotSame(first, second);
+        assertEquals(1024L, second.getVisitTenantId());
+    }
+
+    @Test
+    void testEncode_cachedUntilVisitTenantIdChanges() {
+        // 准备参数
+        LoginUserHeaderCodec codec = buildCodec(true, SECRET);
+        LoginUser loginUser = buildLoginUser();
+
+        // 调用
+        String first = codec.encode(loginUser);
+        String second = codec.encode(loginUser);
+        loginUser.setVisitTenantId(2048L);
+        String third = codec.encode(loginUser);
+        // 断言：编码结果不再存放在 LoginUser 的上下文中
+        assertSame(first, second);
+        assertNotEquals(first, third);
+        assertEquals(2048L, codec.decode(third).getVisitTenantId());
+        assertNull(loginUser.getContext());
+    }
+
+    private static LoginUserHeaderCodec buildCodec(boolean compactEnable, String secret) {
+        SecurityProperties properties = new SecurityProperties();
+        properties.setLoginUserHeaderCompactEnable(compactEnable);
+        properties.setLoginUserHeaderSecret(secret);
+        return new LoginUserHeaderCodec(properties);
+    }
+
+    private static LoginUser buildLoginUser() {
+        return new LoginUser()
+                .setId(10L)
+                .setUserType(1)
+                .setTenantId(1L)
+                .setVisitTenantId(1024L)
+                .setScopes(List.of("user_info"))
+                .setInfo(Map.of("nickname", "芋道"))
+                .setExpiresTime(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    private static void assertLoginUserEquals(LoginUser expected, LoginUser actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getUserType(), actual.getUserType());
+        assertEquals(expected.getTenantId(), actual.getTenantId());
+        assertEquals(expected.getVisitTenantId(), actual.getVisitTenantId());
+        assertEquals(expected.getScopes(), actual.getScopes());
+        assertEquals(expected.getInfo(), actual.getInfo());
+        assertEquals(expected.getExpiresTime(), actual.getExpiresTime());
+    }
+}
@@ -0,0 +1,205 @@
+package cn.jcodenest.framework.security.core.service;
+
+import cn.jcodenest.framework.common.biz.system.permission.PermissionCommonApi;
+import cn.jcodenest.framework.common.biz.system.permission.dto.UserPermissionRespDTO;
+import cn.jcodenest.framework.common.pojo.CommonResult;
+import cn.jcodenest.framework.security.core.LoginUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static cn.jcodenest.framework.common.exception.enums.GlobalErrorCodeConstants.NOT_FOUND;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link SecurityFrameworkServiceImpl} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/1
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@ExtendWith(MockitoExtension.class)
+class SecurityFrameworkServiceImplTest {
+
+    @Mock
+    private PermissionCommonApi permissionApi;
+
+    private SecurityFrameworkServiceImpl securityFrameworkService;
+
+    @BeforeEach
+    void setUp() {
+        securityFrameworkService = new SecurityFrameworkServiceImpl(permissionApi, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        securityFrameworkService.close();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testHasAnyPermissions() {
+        // mock 方法
+        mockPermissionList(buildPermission(1L, false, Set.of("system:user:query"), Set.of("common")));
+        login(1L);
+
+        // 调用，并断言
+        assertTrue(securityFrameworkService.hasAnyPermissions("system:user:query"));
+        assertTrue(securityFrameworkService.hasAnyPermissions("system:user:delete", "system:user:query"));
+        assertFalse(securityFrameworkService.hasAnyPermissions("system:user:delete"));
+        assertFalse(securityFrameworkService.hasPermission("system:role:query"));
+        // 断言：同一用户只加载一次
+        verify(permissionApi, times(1)).getUserPermissionList(anyCollection());
+    }
+
+    @Test
+    void testHasAnyRoles() {
+        // mock 方法
+        mockPermissionList(buildPermission(1L, false, Set.of(), Set.of("common")));
+        login(1L);
+
+        // 调用，并断言
+        assertTrue(securityFrameworkService.hasRole("common"));
+        assertTrue(securityFrameworkService.hasAnyRoles("tenant_admin", "common"));
+        assertFalse(securityFrameworkService.hasAnyRoles("tenant_admin"));
+    }
+
+    @Test
+    void testSuperAdmin() {
+        // mock 方法
+        mockPermissionList(buildPermission(1L, true, Set.of(), Set.of("super_admin")));
+        login(1L);
+
+        // 调用，并断言：超级管理员拥有全部权限，但角色仍按角色标识判断
+        assertTrue(securityFrameworkService.hasAnyPermissions("system:user:delete"));
+        assertTrue(securityFrameworkService.hasRole("super_admin"));
+        assertFalse(securityFrameworkService.hasRole("tenant_admin"));
+    }
+
+    @Test
+    void testUserNotReturned() {
+        // mock 方法：未返回的用户，视为没有任何权限
+        mockPermissionList();
+        login(1L);
+
+        // 调用，并断言
+        assertFalse(securityFrameworkService.hasPermission("system:user:query"));
+        assertFalse(securityFrameworkService.hasRole("common"));
+    }
+
+    @Test
+    void testNotLogin() {
+        // 调用，并断言
+        assertFalse(securityFrameworkService.hasPermission("system:user:query"));
+        assertFalse(securityFrameworkService.hasRole("common"));
+        verifyNoInteractions(permissionApi);
+    }
+
+    @Test
+    void testPreloadPermissions() {
+        // mock 方法
+        mockPermissionList(buildPermission(1L, false, Set.of("system:user:query"), Set.of()),
+                buildPermission(2L, false, Set.of("system:role:query"), Set.of()));
+
+        // 调用：一次远程调用加载全部用户
+        securityFrameworkService.preloadPermissions(List.of(1L, 2L, 3L));
+        login(1L);
+        assertTrue(securityFrameworkService.hasPermission("system:user:query"));
+        login(2L);
+        assertTrue(securityFrameworkService.hasPermission("system:role:query"));
+        login(3L);
+        assertFalse(securityFrameworkService.hasPermission("system:role:query"));
+
+        // 断言
+        verify(permissionApi, times(1)).getUserPermissionList(argThat((Collection<Long> userIds) ->
+                userIds.size() == 3 && userIds.containsAll(List.of(1L, 2L, 3L))));
+        verifyNoMoreInteractions(permissionApi);
+    }
+
+    @Test
+    void testPreloadPermissions_onlyMissing() {
+        // mock 方法
+        mockPermissionList(buildPermission(1L, false, Set.of("system:user:query"), Set.of()));
+        login(1L);
+        securityFrameworkService.hasPermission("system:user:query");
+
+        // 调用：已缓存的用户不再加载
+        securityFrameworkService.preloadPermissions(List.of(1L, 2L));
+        // 断言
+        verify(permissionApi).getUserPermissionList(argThat((Collection<Long> userIds) -> userIds.equals(List.of(2L))));
+    }
+
+    @Test
+    void testSnapshotDisabled() {
+        // 准备参数：默认不开启权限快照
+        securityFrameworkService.close();
+        securityFrameworkService = new SecurityFrameworkServiceImpl(permissionApi);
+        // mock 方法
+        when(permissionApi.hasAnyPermissions(eq(1L), eq("system:user:query"))).thenReturn(CommonResult.success(true));
+        when(permissionApi.hasAnyRoles(eq(1L), eq("common"))).thenReturn(CommonResult.success(false));
+        login(1L);
+
+        // 调用，并断言：逐项远程校验，并按 用户 + 权限组合 缓存
+        assertTrue(securityFrameworkService.hasPermission("system:user:query"));
+        assertTrue(securityFrameworkService.hasPermission("system:user:query"));
+        assertFalse(securityFrameworkService.hasRole("common"));
+        verify(permissionApi, times(1)).hasAnyPermissions(eq(1L), eq("system:user:query"));
+        // 断言：不调用批量接口, 预加载不执行任何操作
+        securityFrameworkService.preloadPermissions(List.of(1L, 2L));
+        verify(permissionApi, never()).getUserPermissionList(anyCollection());
+    }
+
+    @Test
+    void testSnapshotFallback() {
+        // mock 方法：system 服务尚未提供批量接口
+        when(permissionApi.getUserPermissionList(anyCollection())).thenReturn(CommonResult.error(NOT_FOUND));
+        when(permissionApi.hasAnyPermissions(eq(1L), eq("system:user:query"))).thenReturn(CommonResult.success(true));
+        when(permissionApi.hasAnyPermissions(eq(1L), eq("system:user:delete"))).thenReturn(CommonResult.success(false));
+        when(permissionApi.hasAnyRoles(eq(1L), eq("common"))).thenReturn(CommonResult.success(true));
+        login(1L);
+
+        // 调用，并断言：降级为逐项远程校验
+        assertTrue(securityFrameworkService.hasPermission("system:user:query"));
+        assertTrue(securityFrameworkService.hasRole("common"));
+        assertFalse(securityFrameworkService.hasPermission("system:user:delete"));
+        // 断言：降级期间不再调用批量接口
+        verify(permissionApi, times(1)).getUserPermissionList(anyCollection());
+        verify(permissionApi).hasAnyPermissions(eq(1L), eq("system:user:delete"));
+    }
+
+    private void mockPermissionList(UserPermissionRespDTO... permissions) {
+        when(permissionApi.getUserPermissionList(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> userIds = invocation.getArgument(0);
+            return CommonResult.success(List.of(permissions).stream()
+                    .filter(permission -> userIds.contains(permission.getUserId())).toList());
+        });
+    }
+
+    private static UserPermissionRespDTO buildPermission(Long userId, boolean superAdmin, Set<String> permissions, Set<String> roles) {
+        return new UserPermissionRespDTO().setUserId(userId).setSuperAdmin(superAdmin)
+                .setPermissions(permissions).setRoles(roles);
+    }
+
+    private static void login(Long userId) {
+        LoginUser loginUser = new LoginUser().setId(userId).setTenantId(1L);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(loginUser, null, Collections.emptyList()));
+    }
+}
@@ -0,0 +1,142 @@
+package cn.jcodenest.framework.security.core.token;
+
+import cn.jcodenest.framework.security.config.properties.SecurityProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link AccessTokenRevocationSet} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/1
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AccessTokenRevocationSetTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private AccessTokenRevocationSet revocationSet;
+
+    @BeforeEach
+    void setUp() {
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        SecurityProperties properties = new SecurityProperties();
+        properties.setTokenRevocationExpectedSize(1000);
+        revocationSet = new AccessTokenRevocationSet(stringRedisTemplate, properties);
+    }
+
+    @Test
+    void testMightBeRevoked_beforeFirstSync() {
+        // 断言：尚未全量同步时，一律视为可能被吊销，避免漏判
+        assertTrue(revocationSet.mightBeRevoked("jti-1"));
+        assertFalse(revocationSet.isRevoked("jti-1"));
+    }
+
+    @Test
+    void testFullSync() {
+        // mock 方法
+        mockRevoked("jti-1", "jti-2");
+
+        // 调用
+        revocationSet.fullSync();
+        // 断言：全量同步的令牌只进入布隆过滤器，需要远程确认
+        assertTrue(revocationSet.mightBeRevoked("jti-1"));
+        assertTrue(revocationSet.mightBeRevoked("jti-2"));
+        assertFalse(revocationSet.isRevoked("jti-1"));
+        assertFalse(revocationSet.mightBeRevoked("jti-3"));
+    }
+
+    @Test
+    void testIncrementalSync() {
+        // mock 方法
+        mockRevoked("jti-1");
+        revocationSet.fullSync();
+        mockRevoked("jti-1", "jti-2");
+
+        // 调用
+        revocationSet.incrementalSync();
+        // 断言：增量同步的令牌进入精确集合，一定被吊销
+        assertTrue(revocationSet.isRevoked("jti-2"));
+        assertTrue(revocationSet.mightBeRevoked("jti-2"));
+        assertFalse(revocationSet.mightBeRevoked("jti-3"));
+    }
+
+    @Test
+    void testRevoke() {
+        // mock 方法
+        mockRevoked();
+        revocationSet.fullSync();
+
+        // 调用
+        revocationSet.revoke("jti-1");
+        // 断言
+        verify(zSetOperations).add(eq(AccessTokenRevocationSet.REDIS_KEY), eq("jti-1"), anyDouble());
+        assertTrue(revocationSet.isRevoked("jti-1"));
+    }
+
+    @Test
+    void testFullSync_cleanupWithLock() {
+        // mock 方法：抢到清理锁
+        mockRevoked();
+        when(valueOperations.setIfAbsent(eq(AccessTokenRevocationSet.CLEANUP_LOCK_KEY), anyString(), any(Duration.class)))
+                .thenReturn(true);
+
+        // 调用
+        revocationSet.fullSync();
+        // 断言
+        verify(zSetOperations).removeRangeByScore(eq(AccessTokenRevocationSet.REDIS_KEY), eq(0D), anyDouble());
+    }
+
+    @Test
+    void testFullSync_cleanupWithoutLock() {
+        // mock 方法：其它节点持有清理锁
+        mockRevoked("jti-1");
+        when(valueOperations.setIfAbsent(eq(AccessTokenRevocationSet.CLEANUP_LOCK_KEY), anyString(), any(Duration.class)))
+                .thenReturn(false);
+
+        // 调用
+        revocationSet.fullSync();
+        // 断言：不清理，但仍然同步
+        verify(zSetOperations, never()).removeRangeByScore(anyString(), anyDouble(), anyDouble());
+        assertTrue(revocationSet.mightBeRevoked("jti-1"));
+    }
+
+    private void mockRevoked(String... jtis) {
+        Set<ZSetOperations.TypedTuple<String>> tuples = Arrays.stream(jtis)
+                .map(jti -> ZSetOperations.TypedTuple.of(jti, (double) System.currentTimeMillis()))
+                .collect(Collectors.toSet());
+        when(zSetOperations.rangeByScoreWithScores(eq(AccessTokenRevocationSet.REDIS_KEY), anyDouble(), anyDouble()))
+                .thenReturn(tuples);
+    }
+}
@@ -0,0 +1,158 @@
+package cn.jcodenest.framework.security.core.token;
+
+import cn.hutool.jwt.JWT;
+import cn.hutool.jwt.RegisteredPayload;
+import cn.hutool.jwt.signers.JWTSignerUtil;
+import cn.jcodenest.framework.common.biz.system.oauth2.dto.OAuth2AccessTokenCheckRespDTO;
+import cn.jcodenest.framework.security.config.properties.SecurityProperties;
+import cn.jcodenest.framework.security.core.cache.AccessTokenLocalCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link SignedAccessTokenVerifier} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/1
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+@ExtendWith(MockitoExtension.class)
+class SignedAccessTokenVerifierTest {
+
+    private static final String SECRET = "jcode-token-sign-secret";
+
+    @Mock
+    private AccessTokenRevocationSet revocationSet;
+
+    @Mock
+    private AccessTokenLocalCache accessTokenCache;
+
+    private SignedAccessTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        SecurityProperties properties = new SecurityProperties();
+        properties.setTokenSignSecret(SECRET);
+        verifier = new SignedAccessTokenVerifier(properties, revocationSet, accessTokenCache);
+    }
+
+    @Test
+    void testVerify_success() {
+        // 准备参数
+        String token = sign(SECRET, "jti-1", nowSeconds() + 60);
+
+        // 调用
+        OAuth2AccessTokenCheckRespDTO accessToken = verifier.verify(token);
+        // 断言：本地校验通过，无需远程调用
+        assertNotNull(accessToken);
+        assertEquals(10L, accessToken.getUserId());
+        assertEquals(1, accessToken.getUserType());
+        assertEquals(1024L, accessToken.getTenantId());
+        assertEquals(List.of("user_info"), accessToken.getScopes());
+        assertEquals("jcode", accessToken.getUserInfo().get("nickname"));
+        assertNotNull(accessToken.getExpiresTime());
+        verify(accessTokenCache, never()).checkAccessToken(anyString());
+    }
+
+    @Test
+    void testVerify_expired() {
+        // 准备参数：过期时间早于 leeway（默认 5 秒）
+        String token = sign(SECRET, "jti-1", nowSeconds() - 60);
+
+        // 调用，并断言
+        assertNull(verifier.verify(token));
+        verify(accessTokenCache, never()).checkAccessToken(anyString());
+    }
+
+    @Test
+    void testVerify_badSignature() {
+        // 准备参数：篡改载荷，签名不再匹配
+        String token = sign(SECRET, "jti-1", nowSeconds() + 60);
+        String[] parts = token.split("\\.");
+        String forgedPayload = JWT.create().setPayload(SignedAccessTokenVerifier.CLAIM_USER_ID, 1L)
+                .setPayload(RegisteredPayload.JWT_ID, "jti-1")
+                .setPayload(RegisteredPayload.EXPIRES_AT, nowSeconds() + 60)
+                .sign(JWTSignerUtil.hs256(SECRET.getBytes(StandardCharsets.UTF_8))).split("\\.")[1];
+        String forged = parts[0] + "." + forgedPayload + "." + parts[2];
+
+        // 调用，并断言
+        assertNull(verifier.verify(forged));
+        verify(accessTokenCache, never()).checkAccessToken(anyString());
+    }
+
+    @Test
+    void testVerify_wrongKey() {
+        // 准备参数：使用其它密钥签名
+        String token = sign("other-secret", "jti-1", nowSeconds() + 60);
+
+        // 调用，并断言
+        assertNull(verifier.verify(token));
+        verify(accessTokenCache, never()).checkAccessToken(anyString());
+    }
+
+    @Test
+    void testVerify_revoked() {
+        // 准备参数
+        String token = sign(SECRET, "jti-1", nowSeconds() + 60);
+        // mock 方法：一定被吊销
+        when(revocationSet.isRevoked("jti-1")).thenReturn(true);
+
+        // 调用，并断言
+        assertNull(verifier.verify(token));
+        verify(accessTokenCache, never()).checkAccessToken(anyString());
+    }
+
+    @Test
+    void testVerify_mightBeRevoked() {
+        // 准备参数
+        String token = sign(SECRET, "jti-1", nowSeconds() + 60);
+        // mock 方法：布隆过滤器命中，降级远程校验
+        when(revocationSet.mightBeRevoked("jti-1")).thenReturn(true);
+        OAuth2AccessTokenCheckRespDTO remote = new OAuth2AccessTokenCheckRespDTO();
+        when(accessTokenCache.checkAccessToken(token)).thenReturn(remote);
+
+        // 调用，并断言
+        assertSame(remote, verifier.verify(token));
+    }
+
+    @Test
+    void testVerify_opaqueToken() {
+        // mock 方法：非 JWT 格式的令牌，降级远程校验
+        OAuth2AccessTokenCheckRespDTO remote = new OAuth2AccessTokenCheckRespDTO();
+        when(accessTokenCache.checkAccessToken("opaque-token")).thenReturn(remote);
+
+        // 调用，并断言
+        assertSame(remote, verifier.verify("opaque-token"));
+        verifyNoInteractions(revocationSet);
+    }
+
+    private static String sign(String secret, String jti, long expiresAt) {
+        return JWT.create()
+                .setPayload(RegisteredPayload.JWT_ID, jti)
+                .setPayload(RegisteredPayload.EXPIRES_AT, expiresAt)
+                .setPayload(SignedAccessTokenVerifier.CLAIM_USER_ID, 10L)
+                .setPayload(SignedAccessTokenVerifier.CLAIM_USER_TYPE, 1)
+                .setPayload(SignedAccessTokenVerifier.CLAIM_TENANT_ID, 1024L)
+                .setPayload(SignedAccessTokenVerifier.CLAIM_SCOPES, List.of("user_info"))
+                .setPayload(SignedAccessTokenVerifier.CLAIM_USER_INFO, Map.of("nickname", "jcode"))
+                .sign(JWTSignerUtil.hs256(secret.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static long nowSeconds() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
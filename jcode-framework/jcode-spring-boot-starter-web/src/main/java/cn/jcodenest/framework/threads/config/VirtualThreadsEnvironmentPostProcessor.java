@@ -0,0 +1,87 @@
+package cn.jcodenest.framework.threads.config;
+
+import org.apache.commons.logging.Log;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+/**
+ * 虚拟线程模式的 {@link EnvironmentPostProcessor} 实现类
+ * 将 jcode.threads.virtual 设置到 spring.threads.virtual.enabled 配置项，当且仅当它不存在时
+ *
+ * <p>
+ * 开启后, 由 Spring Boot 使用虚拟线程执行：
+ *  1. Tomcat 处理 HTTP 请求
+ *  2. @Async 异步任务, 使用 SimpleAsyncTaskExecutor, 已由 JCodeAsyncAutoConfiguration 装饰 TtlRunnable 传递上下文
+ *  3. @Scheduled 定时任务, 使用 SimpleAsyncTaskScheduler
+ * </p>
+ *
+ * <p>注意: 虚拟线程需要 JDK 21 及以上版本, 低版本下仅打印告警, 仍使用平台线程</p>
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+public class VirtualThreadsEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    /**
+     * 是否开启虚拟线程的配置项
+     */
+    private static final String JCODE_THREADS_VIRTUAL_KEY = "jcode.threads.virtual";
+
+    /**
+     * Spring Boot 开启虚拟线程的配置项
+     */
+    private static final String SPRING_THREADS_VIRTUAL_KEY = "spring.threads.virtual.enabled";
+
+    /**
+     * 日志对象, 日志系统初始化前先缓存, 初始化后再输出
+     */
+    private final Log log;
+
+    /**
+     * 当前 JDK 版本
+     */
+    private final JavaVersion javaVersion;
+
+    public VirtualThreadsEnvironmentPostProcessor(DeferredLogFactory logFactory) {
+        this(logFactory, JavaVersion.getJavaVersion());
+    }
+
+    /**
+     * 指定 JDK 版本的构造方法, 用于单元测试覆盖不同 JDK 版本的分支
+     */
+    VirtualThreadsEnvironmentPostProcessor(DeferredLogFactory logFactory, JavaVersion javaVersion) {
+        this.log = logFactory.getLog(VirtualThreadsEnvironmentPostProcessor.class);
+        this.javaVersion = javaVersion;
+    }
+
+    /**
+     * 处理 Spring 环境配置
+     *
+     * @param environment Spring 的环境配置对象
+     * @param application Spring 应用对象
+     */
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!environment.getProperty(JCODE_THREADS_VIRTUAL_KEY, Boolean.class, false)) {
+            return;
+        }
+        if (!javaVersion.isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            log.warn(String.format("[postProcessEnvironment][当前 JDK 版本(%s) 不支持虚拟线程, 忽略 %s 配置]",
+                    javaVersion, JCODE_THREADS_VIRTUAL_KEY));
+            return;
+        }
+
+        // 如果有 spring.threads.virtual.enabled 配置项，则以它为准
+        if (environment.containsProperty(SPRING_THREADS_VIRTUAL_KEY)) {
+            return;
+        }
+        environment.getSystemProperties().put(SPRING_THREADS_VIRTUAL_KEY, "true");
+    }
+}
@@ -0,0 +1,93 @@
+package cn.jcodenest.framework.threads.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.logging.DeferredLogs;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link VirtualThreadsEnvironmentPostProcessor} 的单元测试
+ *
+ * @author JCodeNest
+ * @version 1.0.0
+ * @since 2025/8/2
+ * <p>
+ * Copyright (c) 2025 JCodeNest-Cloud-Initializer
+ * All rights reserved.
+ */
+class VirtualThreadsEnvironmentPostProcessorTest {
+
+    private static final String SPRING_THREADS_VIRTUAL_KEY = "spring.threads.virtual.enabled";
+
+    private final StandardEnvironment environment = new StandardEnvironment();
+
+    @AfterEach
+    void tearDown() {
+        // 配置项写入到了 JVM 的系统属性，需要清理，避免影响其它测试
+        System.clearProperty(SPRING_THREADS_VIRTUAL_KEY);
+    }
+
+    @Test
+    void testPostProcessEnvironment_enabled() {
+        // 准备参数
+        addProperties(Map.of("jcode.threads.virtual", "true"));
+
+        // 调用
+        postProcess(JavaVersion.TWENTY_ONE);
+        // 断言：设置 spring.threads.virtual.enabled
+        assertEquals("true", environment.getProperty(SPRING_THREADS_VIRTUAL_KEY));
+    }
+
+    @Test
+    void testPostProcessEnvironment_disabled() {
+        // 调用：默认不开启
+        postProcess(JavaVersion.TWENTY_ONE);
+        // 断言
+        assertNull(environment.getProperty(SPRING_THREADS_VIRTUAL_KEY));
+
+        // 调用：显式关闭
+        addProperties(Map.of("jcode.threads.virtual", "false"));
+        postProcess(JavaVersion.TWENTY_ONE);
+        // 断言
+        assertNull(environment.getProperty(SPRING_THREADS_VIRTUAL_KEY));
+    }
+
+    @Test
+    void testPostProcessEnvironment_userValue() {
+        // 准备参数：用户显式关闭 spring.threads.virtual.enabled
+        addProperties(Map.of("jcode.threads.virtual", "true", SPRING_THREADS_VIRTUAL_KEY, "false"));
+
+        // 调用
+        postProcess(JavaVersion.TWENTY_ONE);
+        // 断言：以用户的配置为准，不写入系统属性
+        assertEquals("false", environment.getProperty(SPRING_THREADS_VIRTUAL_KEY));
+        assertNull(System.getProperty(SPRING_THREADS_VIRTUAL_KEY));
+    }
+
+    @Test
+    void testPostProcessEnvironment_unsupportedJdk() {
+        // 准备参数
+        addProperties(Map.of("jcode.threads.virtual", "true"));
+
+        // 调用：JDK 21 以下不支持虚拟线程
+        postProcess(JavaVersion.SEVENTEEN);
+        // 断言：忽略，仍使用平台线程
+        assertNull(environment.getProperty(SPRING_THREADS_VIRTUAL_KEY));
+    }
+
+    private void addProperties(Map<String, Object> properties) {
+        environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+    }
+
+    private void postProcess(JavaVersion javaVersion) {
+        new VirtualThreadsEnvironmentPostProcessor(new DeferredLogs(), javaVersion)
+                .postProcessEnvironment(environment, new SpringApplication());
+    }
+}